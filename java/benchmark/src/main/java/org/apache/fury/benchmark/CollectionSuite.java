@@ -20,7 +20,9 @@
 package org.apache.fury.benchmark;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.fury.Fury;
 import org.apache.fury.logging.Logger;
 import org.apache.fury.logging.LoggerFactory;
@@ -44,13 +46,18 @@ public class CollectionSuite {
   private static Fury fury = Fury.builder().build();
   private static List<Integer> list1 = new ArrayList<>(1024);
   private static byte[] list1Bytes;
+  private static Set<Integer> set1 = new HashSet<>();
+  private static byte[] set1Bytes;
 
   static {
     for (int i = 0; i < 1024; i++) {
       list1.add(i % 255);
+      set1.add(i);
     }
     list1Bytes = fury.serialize(list1);
+    set1Bytes = fury.serialize(set1);
     LOG.info("Size: {}", list1Bytes.length);
+    LOG.info("Set size: {}", set1Bytes.length);
   }
 
   @Benchmark
@@ -62,6 +69,21 @@ public class CollectionSuite {
   public Object deserializeArrayList() {
     return fury.deserialize(list1Bytes);
   }
+
+  @Benchmark
+  public Object serializeHashSet() {
+    return fury.serialize(set1);
+  }
+
+  /**
+   * HashSet is presized from the serialized size, so no rehash happens when elements are added
+   * back.
+   */
+  @Benchmark
+  public Object deserializeHashSet() {
+    return fury.deserialize(set1Bytes);
+  }
+
   // Benchmark                              Mode  Cnt       Score        Error  Units
   // CollectionSuite.deserializeArrayList  thrpt    3  175281.624 ± 142913.891  ops/s
   // CollectionSuite.serializeArrayList    thrpt    3  137648.540 ± 158192.786  ops/s
@@ -24,6 +24,8 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.stream.IntStream;
+import org.apache.fury.Fury;
+import org.apache.fury.collection.Collections;
 import org.apache.fury.collection.IdentityMap;
 import org.apache.fury.collection.IdentityObjectIntMap;
 import org.apache.fury.collection.ObjectMap;
@@ -31,6 +33,7 @@ import org.openjdk.jmh.Main;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 
@@ -156,4 +159,51 @@ public class MapSuite {
 
   @State(Scope.Thread)
   public static class StringState {}
+
+  @State(Scope.Thread)
+  public static class DeserializeState {
+    @Param({"16", "1024"})
+    public int size;
+
+    Fury fury = Fury.builder().requireClassRegistration(false).build();
+    String[] keys;
+    byte[] hashMapBytes;
+
+    @Setup
+    public void setup() {
+      keys = IntStream.range(0, size).mapToObj(i -> "key" + i).toArray(String[]::new);
+      HashMap<String, Integer> map = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        map.put(keys[i], i);
+      }
+      hashMapBytes = fury.serialize(map);
+    }
+  }
+
+  @Benchmark
+  public Object deserializeHashMap(DeserializeState state) {
+    return state.fury.deserialize(state.hashMapBytes);
+  }
+
+  /** Baseline of old deserialization behaviour: capacity equal to the serialized size. */
+  @Benchmark
+  public Object hashMapPutSizeCapacity(DeserializeState state) {
+    String[] keys = state.keys;
+    HashMap<String, Integer> map = new HashMap<>(keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      map.put(keys[i], i);
+    }
+    return map;
+  }
+
+  /** Capacity used by fury map deserialization, which avoids rehashing during puts. */
+  @Benchmark
+  public Object hashMapPutPresized(DeserializeState state) {
+    String[] keys = state.keys;
+    HashMap<String, Integer> map = new HashMap<>(Collections.hashCapacity(keys.length));
+    for (int i = 0; i < keys.length; i++) {
+      map.put(keys[i], i);
+    }
+    return map;
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.fury.Fury;
+import org.apache.fury.ThreadSafeFury;
+import org.apache.fury.benchmark.data.MediaContent;
+import org.apache.fury.config.FuryBuilder;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compare {@link ThreadSafeFury} implementations under shared usage, run with `-t` to control
+ * concurrency. `threadPerTask` benchmarks spawn a thread for every task, which uses virtual
+ * threads when running on JDK21+.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ThreadSafeFurySuite {
+
+  public enum ThreadSafeFuryType {
+    THREAD_LOCAL,
+    THREAD_POOL,
+    STRIPED
+  }
+
+  @State(Scope.Benchmark)
+  public static class FuryState {
+    @Param() public ThreadSafeFuryType furyType;
+    public ThreadSafeFury fury;
+    public Object object;
+    public byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      FuryBuilder builder = Fury.builder().requireClassRegistration(false);
+      int processors = Runtime.getRuntime().availableProcessors();
+      switch (furyType) {
+        case THREAD_LOCAL:
+          fury = builder.buildThreadLocalFury();
+          break;
+        case THREAD_POOL:
+          fury = builder.buildThreadSafeFuryPool(processors, processors * 2);
+          break;
+        case STRIPED:
+          fury = builder.buildStripedThreadSafeFury(processors);
+          break;
+        default:
+          throw new UnsupportedOperationException(String.valueOf(furyType));
+      }
+      object = new MediaContent().populate(false);
+      bytes = fury.serialize(object);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class ExecutorState {
+    @Param({"64"})
+    public int numTasks;
+
+    public ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      executor = newThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      executor.shutdownNow();
+    }
+  }
+
+  private static ExecutorService newThreadPerTaskExecutor() {
+    try {
+      // Use virtual threads if available, reflection keeps this module compiling with JDK8.
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  @Benchmark
+  public Object serialize(FuryState state) {
+    return state.fury.serialize(state.object);
+  }
+
+  @Benchmark
+  public Object deserialize(FuryState state) {
+    return state.fury.deserialize(state.bytes);
+  }
+
+  @Benchmark
+  public Object threadPerTask(FuryState state, ExecutorState executorState) {
+    CompletableFuture<?>[] futures = new CompletableFuture[executorState.numTasks];
+    for (int i = 0; i < futures.length; i++) {
+      futures[i] =
+          CompletableFuture.supplyAsync(
+              () -> state.fury.deserialize(state.fury.serialize(state.object)),
+              executorState.executor);
+    }
+    return CompletableFuture.allOf(futures).join();
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      String commandLine =
+          "org.apache.fury.*ThreadSafeFurySuite.* -f 1 -wi 3 -i 3 -t 8 -w 2s -r 2s -rf csv";
+      System.out.println(commandLine);
+      args = commandLine.split(" ");
+    }
+    Main.main(args);
+  }
+}
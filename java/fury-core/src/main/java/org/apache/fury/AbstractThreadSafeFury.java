@@ -19,6 +19,8 @@
 
 package org.apache.fury;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.fury.annotation.Internal;
@@ -72,6 +74,16 @@ public abstract class AbstractThreadSafeFury implements ThreadSafeFury {
     registerCallback(fury -> fury.getClassResolver().setClassChecker(classChecker));
   }
 
+  /**
+   * Warm up every fury instance of this thread safe fury, including instances created later. The
+   * returned future is the warm-up of one instance, serializer classes are shared by all instances.
+   */
+  @Override
+  public CompletableFuture<Void> warmUp(Collection<Class<?>> classes) {
+    registerCallback(fury -> fury.warmUp(classes));
+    return execute(fury -> fury.warmUp(classes));
+  }
+
   @Internal
   public abstract void registerCallback(Consumer<Fury> callback);
 }
@@ -20,10 +20,16 @@
 package org.apache.fury;
 
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import org.apache.fury.io.FuryInputStream;
 import org.apache.fury.io.FuryReadableChannel;
 import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.memory.MemoryBufferPool;
 import org.apache.fury.serializer.BufferCallback;
 import org.apache.fury.serializer.Serializer;
 import org.apache.fury.serializer.SerializerFactory;
@@ -82,6 +88,17 @@ public interface BaseFury {
 
   void setSerializerFactory(SerializerFactory serializerFactory);
 
+  /**
+   * Create serializers for <code>classes</code> and the classes of their fields ahead of the first
+   * serialization, so that the first requests won't be served by interpreter mode serializers.
+   * Generated serializer classes are shared between fury instances, other instances will load them
+   * from cache.
+   *
+   * @return a future which will be completed when all serializers are switched to jit serializers.
+   * @see org.apache.fury.config.FuryBuilder#withAsyncCompilation
+   */
+  CompletableFuture<Void> warmUp(Collection<Class<?>> classes);
+
   /** Return serialized <code>obj</code> as a byte array. */
   byte[] serialize(Object obj);
 
@@ -100,10 +117,47 @@ public interface BaseFury {
   /** Serialize <code>obj</code> to a <code>buffer</code>. */
   MemoryBuffer serialize(MemoryBuffer buffer, Object obj, BufferCallback callback);
 
+  /**
+   * Serialize <code>obj</code> into a buffer acquired from <code>pool</code>. The returned buffer
+   * is reference counted, and must be released by {@link MemoryBuffer#release} after the serialized
+   * data is consumed, so that its memory can be reused by later serialization.
+   */
+  MemoryBuffer serialize(Object obj, MemoryBufferPool pool);
+
+  /**
+   * Serialize <code>obj</code> to <code>outputStream</code>. If the stream is a {@link
+   * org.apache.fury.io.FuryOutputStream}, the serialized data will be flushed to the stream every
+   * time its buffer chunk is full, so the memory won't grow with the object graph size. Otherwise
+   * the whole object will be serialized into memory before writing to the stream.
+   */
   void serialize(OutputStream outputStream, Object obj);
 
   void serialize(OutputStream outputStream, Object obj, BufferCallback callback);
 
+  /**
+   * Serialize <code>obj</code> into a memory-mapped region of the file from current position of
+   * <code>channel</code>, no heap copy will be made for the serialized data. The channel must be
+   * opened for both reading and writing, and its position will be moved to the end of serialized
+   * data.
+   */
+  void serialize(FileChannel channel, Object obj);
+
+  /** Serialize <code>obj</code> into the file of <code>path</code> by memory-mapped file. */
+  void serialize(Path path, Object obj);
+
+  /**
+   * Serialize <code>objects</code> into <code>buffer</code> as one batch. The batch writes the
+   * header only once, and class/meta string info written by an element will be reused by later
+   * elements. Every element has an independent object graph, references between elements are not
+   * preserved. Since later elements refer to class info and meta strings written by earlier
+   * elements, a single element can't be deserialized alone, the batch must be deserialized as a
+   * whole by {@link #deserializeBatch}.
+   */
+  MemoryBuffer serializeBatch(List<?> objects, MemoryBuffer buffer);
+
+  /** Deserialize a batch of objects serialized by {@link #serializeBatch}. */
+  List<Object> deserializeBatch(MemoryBuffer buffer);
+
   /** Deserialize <code>obj</code> from a byte array. */
   Object deserialize(byte[] bytes);
 
@@ -128,6 +182,15 @@ public interface BaseFury {
 
   Object deserialize(FuryReadableChannel channel, Iterable<MemoryBuffer> outOfBandBuffers);
 
+  /**
+   * Deserialize <code>obj</code> from current position of <code>channel</code> by memory-mapped
+   * file. The position of the channel will be moved to the end of deserialized data.
+   */
+  Object deserialize(FileChannel channel);
+
+  /** Deserialize <code>obj</code> from the file of <code>path</code> by memory-mapped file. */
+  Object deserialize(Path path);
+
   /**
    * Serialize java object without class info, deserialization should use {@link
    * #deserializeJavaObject}.
@@ -22,15 +22,23 @@ package org.apache.fury;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.ref.WeakReference;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.fury.annotation.Internal;
 import org.apache.fury.builder.JITContext;
 import org.apache.fury.collection.IdentityMap;
 import org.apache.fury.config.CompatibleMode;
@@ -40,9 +48,12 @@ import org.apache.fury.config.Language;
 import org.apache.fury.config.LongEncoding;
 import org.apache.fury.io.FuryInputStream;
 import org.apache.fury.io.FuryReadableChannel;
+import org.apache.fury.io.FuryStreamWriter;
+import org.apache.fury.io.MappedFileWriter;
 import org.apache.fury.logging.Logger;
 import org.apache.fury.logging.LoggerFactory;
 import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.memory.MemoryBufferPool;
 import org.apache.fury.memory.MemoryUtils;
 import org.apache.fury.resolver.ClassInfo;
 import org.apache.fury.resolver.ClassInfoHolder;
@@ -53,6 +64,7 @@ import org.apache.fury.resolver.MetaStringResolver;
 import org.apache.fury.resolver.NoRefResolver;
 import org.apache.fury.resolver.RefResolver;
 import org.apache.fury.resolver.SerializationContext;
+import org.apache.fury.resolver.SharedRegistry;
 import org.apache.fury.serializer.ArraySerializers;
 import org.apache.fury.serializer.BufferCallback;
 import org.apache.fury.serializer.BufferObject;
@@ -107,10 +119,13 @@ public final class Fury implements BaseFury {
   private final RefResolver refResolver;
   private final ClassResolver classResolver;
   private final MetaStringResolver metaStringResolver;
+  private final SharedRegistry sharedRegistry;
   private final SerializationContext serializationContext;
   private final ClassLoader classLoader;
   private final JITContext jitContext;
   private MemoryBuffer buffer;
+  // Size of last serialized data into pooled buffer, used to acquire a big enough buffer directly.
+  private int pooledBufferSizeHint;
   private final List<Object> nativeObjects;
   private final StringSerializer stringSerializer;
   private final ArrayListSerializer arrayListSerializer;
@@ -128,6 +143,8 @@ public final class Fury implements BaseFury {
   private final boolean copyRefTracking;
   private final IdentityMap<Object, Object> originToCopyMap;
   private int classDefEndOffset;
+  // Weak reference to avoid retaining a `ThreadLocalFury` from values of its thread local.
+  private WeakReference<ThreadSafeFury> threadSafeFury;
 
   public Fury(FuryBuilder builder, ClassLoader classLoader) {
     // Avoid set classLoader in `FuryBuilder`, which won't be clear when
@@ -140,15 +157,17 @@ public final class Fury implements BaseFury {
     compressInt = config.compressInt();
     longEncoding = config.longEncoding();
     if (refTracking) {
-      this.refResolver = new MapRefResolver();
+      this.refResolver =
+          config.isAdaptiveRefTrackingEnabled() ? new MapRefResolver(this) : new MapRefResolver();
     } else {
       this.refResolver = new NoRefResolver();
     }
     jitContext = new JITContext(this);
-    metaStringResolver = new MetaStringResolver();
+    sharedRegistry = SharedRegistry.of(config);
+    metaStringResolver = new MetaStringResolver(sharedRegistry);
+    serializationContext = new SerializationContext(config);
     classResolver = new ClassResolver(this);
     classResolver.initialize();
-    serializationContext = new SerializationContext(config);
     this.classLoader = classLoader;
     nativeObjects = new ArrayList<>();
     generics = new Generics(this);
@@ -205,6 +224,11 @@ public final class Fury implements BaseFury {
     classResolver.setSerializerFactory(serializerFactory);
   }
 
+  @Override
+  public CompletableFuture<Void> warmUp(Collection<Class<?>> classes) {
+    return jitContext.warmUp(classes);
+  }
+
   public SerializerFactory getSerializerFactory() {
     return classResolver.getSerializerFactory();
   }
@@ -241,6 +265,19 @@ public final class Fury implements BaseFury {
     return serialize(buffer, obj, null);
   }
 
+  @Override
+  public MemoryBuffer serialize(Object obj, MemoryBufferPool pool) {
+    MemoryBuffer buffer = pool.acquire(pooledBufferSizeHint);
+    try {
+      serialize(buffer, obj, null);
+      pooledBufferSizeHint = Math.min(buffer.writerIndex(), BUFFER_SIZE_LIMIT);
+      return buffer;
+    } catch (Throwable t) {
+      buffer.release();
+      throw t;
+    }
+  }
+
   @Override
   public MemoryBuffer serialize(MemoryBuffer buffer, Object obj, BufferCallback callback) {
     if (language == Language.XLANG) {
@@ -290,6 +327,97 @@ public final class Fury implements BaseFury {
     serializeToStream(outputStream, buf -> serialize(buf, obj, callback));
   }
 
+  @Override
+  public void serialize(FileChannel channel, Object obj) {
+    MappedFileWriter writer = new MappedFileWriter(channel);
+    serialize(writer.getBuffer(), obj, null);
+    writer.finish();
+  }
+
+  @Override
+  public void serialize(Path path, Object obj) {
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      serialize(channel, obj);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public MemoryBuffer serializeBatch(List<?> objects, MemoryBuffer buffer) {
+    Preconditions.checkArgument(
+        language == Language.JAVA, "Batch serialization is only supported in java mode");
+    int size = objects.size();
+    buffer.writeByte(BITMAP);
+    try {
+      jitContext.lock();
+      if (depth != 0) {
+        throwDepthSerializationException();
+      }
+      int startOffset = buffer.writerIndex();
+      if (shareMeta) {
+        buffer.writeInt32(-1); // preserve 4-byte for class defs offset.
+      }
+      buffer.writeVarUint32Small7(size);
+      for (int i = 0; i < size; i++) {
+        writeRef(buffer, objects.get(i));
+        // Class and meta string state are shared by the whole batch, but every element has its
+        // own object graph, so that elements don't reference objects of other elements.
+        refResolver.resetWrite();
+      }
+      MetaContext metaContext = serializationContext.getMetaContext();
+      if (shareMeta && metaContext != null && !metaContext.writingClassDefs.isEmpty()) {
+        buffer.putInt32(startOffset, buffer.writerIndex() - startOffset - 4);
+        classResolver.writeClassDefs(buffer);
+      }
+      return buffer;
+    } catch (StackOverflowError t) {
+      throw processStackOverflowError(t);
+    } finally {
+      resetWrite();
+      jitContext.unlock();
+    }
+  }
+
+  @Override
+  public List<Object> deserializeBatch(MemoryBuffer buffer) {
+    try {
+      jitContext.lock();
+      if (depth != 0) {
+        throwDepthDeserializationException();
+      }
+      byte bitmap = buffer.readByte();
+      Preconditions.checkArgument(
+          (bitmap & (isNilFlag | isCrossLanguageFlag | isOutOfBandFlag)) == 0,
+          "Data isn't serialized by Fury#serializeBatch");
+      peerLanguage = Language.JAVA;
+      if (shareMeta) {
+        readClassDefs(buffer);
+      }
+      int size = buffer.readVarUint32Small7();
+      List<Object> objects = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        objects.add(readRef(buffer));
+        refResolver.resetRead();
+      }
+      return objects;
+    } catch (Throwable t) {
+      throw ExceptionUtils.handleReadFailed(this, t);
+    } finally {
+      if (classDefEndOffset != -1) {
+        buffer.readerIndex(classDefEndOffset);
+      }
+      resetRead();
+      jitContext.unlock();
+    }
+  }
+
   private StackOverflowError processStackOverflowError(StackOverflowError e) {
     if (!refTracking) {
       String msg =
@@ -830,6 +958,30 @@ public final class Fury implements BaseFury {
     return deserialize(buf, outOfBandBuffers);
   }
 
+  @Override
+  public Object deserialize(FileChannel channel) {
+    try {
+      long position = channel.position();
+      long size = Math.min(channel.size() - position, Integer.MAX_VALUE);
+      MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+      MemoryBuffer buf = MemoryBuffer.fromByteBuffer(mappedBuffer);
+      Object obj = deserialize(buf, null);
+      channel.position(position + buf.readerIndex());
+      return obj;
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public Object deserialize(Path path) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return deserialize(channel);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private Object xdeserializeInternal(MemoryBuffer buffer) {
     Object obj;
     int nativeObjectsStartOffset = buffer.readInt32();
@@ -1423,6 +1575,17 @@ public final class Fury implements BaseFury {
       function.accept(buf);
       MemoryUtils.wrap(buf, (ByteArrayOutputStream) outputStream);
       buf.pointTo(oldBytes, 0, oldBytes.length);
+    } else if (outputStream instanceof FuryStreamWriter
+        && language == Language.JAVA
+        && !shareMeta) {
+      // Meta share and xlang will update the header after the object is written, which can't be
+      // supported if the header is flushed already.
+      function.accept(((FuryStreamWriter) outputStream).getBuffer());
+      try {
+        outputStream.flush();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
     } else {
       buf.writerIndex(0);
       function.accept(buf);
@@ -1532,6 +1695,11 @@ public final class Fury implements BaseFury {
     return metaStringResolver;
   }
 
+  /** Returns class metadata shared by fury instances with same config. */
+  public SharedRegistry getSharedRegistry() {
+    return sharedRegistry;
+  }
+
   public SerializationContext getSerializationContext() {
     return serializationContext;
   }
@@ -1540,6 +1708,20 @@ public final class Fury implements BaseFury {
     return generics;
   }
 
+  /**
+   * Returns the thread safe fury which manages this fury, or null if this fury is used directly.
+   */
+  @Internal
+  public ThreadSafeFury getThreadSafeFury() {
+    WeakReference<ThreadSafeFury> ref = threadSafeFury;
+    return ref == null ? null : ref.get();
+  }
+
+  @Internal
+  public void setThreadSafeFury(ThreadSafeFury threadSafeFury) {
+    this.threadSafeFury = threadSafeFury == null ? null : new WeakReference<>(threadSafeFury);
+  }
+
   public int getDepth() {
     return depth;
   }
@@ -20,8 +20,12 @@
 package org.apache.fury;
 
 import java.io.OutputStream;
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.function.Consumer;
@@ -31,6 +35,7 @@ import org.apache.fury.annotation.Internal;
 import org.apache.fury.io.FuryInputStream;
 import org.apache.fury.io.FuryReadableChannel;
 import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.memory.MemoryBufferPool;
 import org.apache.fury.memory.MemoryUtils;
 import org.apache.fury.serializer.BufferCallback;
 import org.apache.fury.util.LoaderBinding;
@@ -53,7 +58,9 @@ public class ThreadLocalFury extends AbstractThreadSafeFury {
   private ClassLoader classLoader;
 
   public ThreadLocalFury(Function<ClassLoader, Fury> furyFactory) {
-    factoryCallback = f -> {};
+    // Callbacks are held by thread local values, which mustn't reference this fury strongly.
+    WeakReference<ThreadSafeFury> ref = new WeakReference<>(this);
+    factoryCallback = f -> f.setThreadSafeFury(ref.get());
     allFury = Collections.synchronizedMap(new WeakHashMap<>());
     bindingThreadLocal =
         ThreadLocal.withInitial(
@@ -122,6 +129,11 @@ public class ThreadLocalFury extends AbstractThreadSafeFury {
     return bindingThreadLocal.get().get().serialize(buffer, obj, callback);
   }
 
+  @Override
+  public MemoryBuffer serialize(Object obj, MemoryBufferPool pool) {
+    return bindingThreadLocal.get().get().serialize(obj, pool);
+  }
+
   @Override
   public void serialize(OutputStream outputStream, Object obj) {
     bindingThreadLocal.get().get().serialize(outputStream, obj);
@@ -132,6 +144,26 @@ public class ThreadLocalFury extends AbstractThreadSafeFury {
     bindingThreadLocal.get().get().serialize(outputStream, obj, callback);
   }
 
+  @Override
+  public void serialize(FileChannel channel, Object obj) {
+    bindingThreadLocal.get().get().serialize(channel, obj);
+  }
+
+  @Override
+  public void serialize(Path path, Object obj) {
+    bindingThreadLocal.get().get().serialize(path, obj);
+  }
+
+  @Override
+  public MemoryBuffer serializeBatch(List<?> objects, MemoryBuffer buffer) {
+    return bindingThreadLocal.get().get().serializeBatch(objects, buffer);
+  }
+
+  @Override
+  public List<Object> deserializeBatch(MemoryBuffer buffer) {
+    return bindingThreadLocal.get().get().deserializeBatch(buffer);
+  }
+
   @Override
   public Object deserialize(byte[] bytes) {
     return bindingThreadLocal.get().get().deserialize(bytes);
@@ -182,6 +214,16 @@ public class ThreadLocalFury extends AbstractThreadSafeFury {
     return bindingThreadLocal.get().get().deserialize(channel, outOfBandBuffers);
   }
 
+  @Override
+  public Object deserialize(FileChannel channel) {
+    return bindingThreadLocal.get().get().deserialize(channel);
+  }
+
+  @Override
+  public Object deserialize(Path path) {
+    return bindingThreadLocal.get().get().deserialize(path);
+  }
+
   @Override
   public byte[] serializeJavaObject(Object obj) {
     return bindingThreadLocal.get().get().serializeJavaObject(obj);
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Deserialize a <code>CharSequence</code> field as a {@link org.apache.fury.serializer.StringView}
+ * over the Latin1/UTF-8 bytes of the input buffer, the string is only created when it's needed.
+ * This saves allocation and copy for fields which are only compared or hashed. Only take effect in
+ * schema consistent mode without meta share.
+ *
+ * <p>The view is valid as long as the input buffer isn't modified or reused, so keep the input
+ * alive and unchanged or call {@link Object#toString()} before reusing it.
+ *
+ * @see org.apache.fury.serializer.StringView
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface CharSequenceView {}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.builder;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.fury.Fury;
+import org.apache.fury.codegen.CodeGenerator;
+import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.config.Config;
+import org.apache.fury.logging.Logger;
+import org.apache.fury.logging.LoggerFactory;
+import org.apache.fury.reflect.TypeRef;
+import org.apache.fury.resolver.FieldResolver;
+import org.apache.fury.type.Descriptor;
+import org.apache.fury.util.MurmurHash3;
+import org.apache.fury.util.Preconditions;
+import org.apache.fury.util.StringUtils;
+
+/**
+ * Generate java sources of serializers at build time, so that they can be compiled by javac and
+ * packaged with the application. At runtime, {@link CodecUtils} will load the packaged serializer
+ * class instead of generating and compiling it by janino, which saves the warm-up time and works in
+ * environments where runtime class definition is not allowed.
+ *
+ * <p>Packaged serializers are only used by a fury built with {@link
+ * org.apache.fury.config.FuryBuilder#withAotCodec}. The generated class name contains a hash of
+ * fury config, class registrations and class layout, and the generated class records the serializer
+ * classes which its field serializers are cast to. A packaged serializer will only be used if it is
+ * generated by a fury with same config and registrations for same class layout, and the field
+ * serializers are still of the recorded classes, otherwise fury will fall back to jit.
+ *
+ * <p>In meta share mode, only serializers for writing are generated. Serializers for reading are
+ * generated at runtime for the class definitions sent from peer.
+ *
+ * <p>This class can be invoked by {@code exec-maven-plugin} in {@code generate-sources} phase:
+ *
+ * <pre>{@code
+ * java org.apache.fury.builder.AotCodecGenerator <outputDir> <furySupplierClass> <class>...
+ * }</pre>
+ *
+ * <p>where {@code furySupplierClass} is a {@link Supplier} of {@link Fury} with a public no-arg
+ * constructor, and {@code outputDir} can be added as a source root by {@code
+ * build-helper-maven-plugin}.
+ */
+public class AotCodecGenerator {
+  private static final Logger LOG = LoggerFactory.getLogger(AotCodecGenerator.class);
+
+  /**
+   * Name of the static field in generated class which records field types and the serializer
+   * classes that their serializers are cast to, as {@code type=serializer} separated by {@code ;}.
+   */
+  static final String SERIALIZERS_FIELD = "furyAotSerializers";
+
+  /**
+   * Generate serializer sources for <code>classes</code> into <code>outputDir</code>.
+   *
+   * @return paths of generated sources.
+   */
+  public static List<Path> generate(Fury fury, Path outputDir, Class<?>... classes)
+      throws IOException {
+    Preconditions.checkNotNull(fury);
+    Preconditions.checkArgument(fury.getConfig().isCodeGenEnabled(), "Codegen is disabled");
+    List<Path> paths = new ArrayList<>(classes.length);
+    for (Class<?> cls : classes) {
+      BaseObjectCodecBuilder builder = newCodecBuilder(fury, cls);
+      builder.generateAotCodec();
+      String code = builder.genCode();
+      String pkg = CodeGenerator.getPackage(cls);
+      Path dir = outputDir;
+      if (StringUtils.isNotBlank(pkg)) {
+        dir = outputDir.resolve(pkg.replace('.', '/'));
+      }
+      Files.createDirectories(dir);
+      Path path = dir.resolve(builder.codecClassName(cls) + ".java");
+      Files.write(path, code.getBytes(StandardCharsets.UTF_8));
+      LOG.info("Generate serializer {} for {}", path, cls);
+      paths.add(path);
+    }
+    return paths;
+  }
+
+  private static BaseObjectCodecBuilder newCodecBuilder(Fury fury, Class<?> cls) {
+    Config config = fury.getConfig();
+    if (config.getCompatibleMode() == CompatibleMode.COMPATIBLE && !config.isMetaShareEnabled()) {
+      return new CompatibleCodecBuilder(
+          TypeRef.of(cls),
+          fury,
+          FieldResolver.of(fury, cls, true, false),
+          Generated.GeneratedSerializer.class);
+    }
+    return new ObjectCodecBuilder(cls, fury);
+  }
+
+  /**
+   * Returns a hash of fury config, class registrations and class layout which is stable across
+   * JVMs, used as the suffix of generated serializer class name.
+   */
+  static String layoutHash(Fury fury, Class<?> beanClass, Class<?> parentSerializerClass) {
+    StringBuilder builder = new StringBuilder();
+    appendConfig(builder, fury.getConfig());
+    builder.append(fury.getClassResolver().getRegistrationHash()).append('\n');
+    builder.append(parentSerializerClass.getName()).append('\n');
+    builder.append(beanClass.getName()).append('\n');
+    for (Descriptor d : fury.getClassResolver().getAllDescriptorsMap(beanClass, true).values()) {
+      builder.append(d.getDeclaringClass()).append('.').append(d.getName()).append(':');
+      builder.append(d.getTypeRef().getType().getTypeName());
+      Field field = d.getField();
+      if (field != null) {
+        for (Annotation annotation : field.getDeclaredAnnotations()) {
+          builder.append('@').append(annotation.annotationType().getName());
+        }
+      }
+      builder.append('\n');
+    }
+    byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+    long[] hash = MurmurHash3.murmurhash3_x64_128(bytes, 0, bytes.length, 47);
+    return Long.toHexString(hash[0] & Long.MAX_VALUE);
+  }
+
+  private static void appendConfig(StringBuilder builder, Config config) {
+    Field[] fields = Config.class.getDeclaredFields();
+    Arrays.sort(fields, Comparator.comparing(Field::getName));
+    for (Field field : fields) {
+      int modifiers = field.getModifiers();
+      // name is not part of serialization format, transient fields are derived, and generated
+      // code doesn't depend on whether it's loaded ahead of time.
+      if (Modifier.isStatic(modifiers)
+          || Modifier.isTransient(modifiers)
+          || field.getName().equals("name")
+          || field.getName().equals("aotCodecEnabled")) {
+        continue;
+      }
+      field.setAccessible(true);
+      Object value;
+      try {
+        value = field.get(config);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+      builder.append(field.getName()).append('=');
+      if (value == null || value instanceof Boolean || value instanceof Number) {
+        builder.append(value);
+      } else if (value instanceof Enum) {
+        builder.append(((Enum<?>) value).name());
+      } else if (value instanceof Class) {
+        builder.append(((Class<?>) value).getName());
+      } else {
+        builder.append(value.getClass().getName());
+      }
+      builder.append('\n');
+    }
+  }
+
+  /**
+   * Returns whether serializers of field types recorded in <code>codecClass</code> by {@link
+   * #SERIALIZERS_FIELD} can still be cast to the recorded serializer classes.
+   */
+  static boolean checkSerializers(Fury fury, Class<?> codecClass) {
+    String serializers;
+    try {
+      Field field = codecClass.getDeclaredField(SERIALIZERS_FIELD);
+      field.setAccessible(true);
+      serializers = (String) field.get(null);
+    } catch (ReflectiveOperationException e) {
+      LOG.warn("Serializers of {} are not recorded", codecClass);
+      return false;
+    }
+    ClassLoader classLoader = codecClass.getClassLoader();
+    for (String entry : serializers.split(";")) {
+      if (entry.isEmpty()) {
+        continue;
+      }
+      int index = entry.indexOf('=');
+      try {
+        Class<?> type = Class.forName(entry.substring(0, index), false, classLoader);
+        Class<?> serializerClass = Class.forName(entry.substring(index + 1), false, classLoader);
+        Class<?> currentClass = fury.getClassResolver().getSerializerClass(type);
+        if (!serializerClass.isAssignableFrom(currentClass)) {
+          LOG.info(
+              "Serializer {} of {} is not {} used by {}",
+              currentClass,
+              type,
+              serializerClass,
+              codecClass);
+          return false;
+        }
+      } catch (ClassNotFoundException e) {
+        LOG.info("Can't load {} used by {}", entry, codecClass);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static void main(String[] args) throws Exception {
+    Preconditions.checkArgument(
+        args.length >= 3, "Usage: AotCodecGenerator <outputDir> <furySupplierClass> <class>...");
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    Supplier<Fury> supplier =
+        (Supplier<Fury>) Class.forName(args[1], true, loader).getConstructor().newInstance();
+    Class<?>[] classes = new Class<?>[args.length - 2];
+    for (int i = 2; i < args.length; i++) {
+      classes[i - 2] = Class.forName(args[i], false, loader);
+    }
+    generate(supplier.get(), Paths.get(args[0]), classes);
+  }
+}
@@ -75,6 +75,7 @@ import org.apache.fury.codegen.Expression.ListExpression;
 import org.apache.fury.codegen.Expression.Literal;
 import org.apache.fury.codegen.Expression.Reference;
 import org.apache.fury.codegen.Expression.Return;
+import org.apache.fury.codegen.Expression.StaticInvoke;
 import org.apache.fury.codegen.ExpressionUtils;
 import org.apache.fury.codegen.ExpressionVisitor.ExprHolder;
 import org.apache.fury.collection.Tuple2;
@@ -88,6 +89,7 @@ import org.apache.fury.resolver.ClassResolver;
 import org.apache.fury.resolver.RefResolver;
 import org.apache.fury.serializer.CompatibleSerializer;
 import org.apache.fury.serializer.EnumSerializer;
+import org.apache.fury.serializer.FieldRefMode;
 import org.apache.fury.serializer.ObjectSerializer;
 import org.apache.fury.serializer.PrimitiveSerializers.LongSerializer;
 import org.apache.fury.serializer.Serializer;
@@ -95,6 +97,7 @@ import org.apache.fury.serializer.StringSerializer;
 import org.apache.fury.serializer.collection.AbstractCollectionSerializer;
 import org.apache.fury.serializer.collection.AbstractMapSerializer;
 import org.apache.fury.serializer.collection.CollectionFlags;
+import org.apache.fury.type.Descriptor;
 import org.apache.fury.type.TypeUtils;
 import org.apache.fury.util.GraalvmSupport;
 import org.apache.fury.util.Preconditions;
@@ -162,7 +165,20 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
   // Must be static to be shared across the whole process life.
   private static final Map<String, Map<String, Integer>> idGenerator = new ConcurrentHashMap<>();
 
+  private boolean aotCodec;
+  // Field types and serializer classes which their serializers are cast to in generated code,
+  // checked when loading the ahead-of-time generated class.
+  private final StringJoiner aotSerializers = new StringJoiner(";");
+
+  /** Use {@link #aotCodecClassName} as the name of generated class. */
+  void generateAotCodec() {
+    aotCodec = true;
+  }
+
   public String codecClassName(Class<?> beanClass) {
+    if (aotCodec) {
+      return aotCodecClassName(beanClass);
+    }
     String name = ReflectionUtils.getClassNameWithoutPackage(beanClass).replace("$", "_");
     StringBuilder nameBuilder = new StringBuilder(name);
     if (fury.trackingRef()) {
@@ -186,6 +202,21 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     return nameBuilder.toString();
   }
 
+  /**
+   * Returns the name of serializer class generated by {@link AotCodecGenerator} at build time, or
+   * null if this serializer can't be generated ahead of time. The name is stable across JVMs and
+   * changes when fury config or class layout changes.
+   */
+  public String aotCodecClassName(Class<?> beanClass) {
+    String name = ReflectionUtils.getClassNameWithoutPackage(beanClass).replace("$", "_");
+    return name
+        + (fury.trackingRef() ? "FuryRef" : "Fury")
+        + "AotCodec"
+        + codecSuffix()
+        + '_'
+        + AotCodecGenerator.layoutHash(fury, beanClass, parentSerializerClass);
+  }
+
   public String codecQualifiedClassName(Class<?> beanClass) {
     String pkg = getPackage(beanClass);
     if (StringUtils.isNotBlank(pkg)) {
@@ -240,6 +271,14 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     ctx.overrideMethod("read", decodeCode, Object.class, MemoryBuffer.class, BUFFER_NAME);
     registerJITNotifyCallback();
     ctx.addConstructor(constructorCode, Fury.class, "fury", Class.class, POJO_CLASS_TYPE_NAME);
+    if (aotCodec) {
+      ctx.addField(
+          true,
+          true,
+          ctx.type(String.class),
+          AotCodecGenerator.SERIALIZERS_FIELD,
+          Literal.ofString(aotSerializers.toString()));
+    }
     return ctx.genCode();
   }
 
@@ -344,6 +383,29 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     return inlineInvoke(refResolverRef, "writeRefOrNull", PRIMITIVE_BOOLEAN_TYPE, buffer, object);
   }
 
+  /**
+   * Returns an expression that serialize a nullable field value to <code>buffer</code>, the
+   * ref/null flag of the value is decided by field annotations, see {@link FieldRefMode}.
+   */
+  protected Expression serializeForField(
+      Expression fieldValue, Expression buffer, Descriptor descriptor) {
+    byte refMode = visitFury(f -> FieldRefMode.of(f, descriptor));
+    TypeRef<?> typeRef = descriptor.getTypeRef();
+    if (refMode == FieldRefMode.DEFAULT) {
+      return serializeFor(fieldValue, buffer, typeRef);
+    }
+    Expression needWrite =
+        new StaticInvoke(
+            FieldRefMode.class,
+            "writeRefOrNull",
+            PRIMITIVE_BOOLEAN_TYPE,
+            refResolverRef,
+            buffer,
+            fieldValue,
+            new Literal(refMode, PRIMITIVE_BYTE_TYPE));
+    return new If(needWrite, serializeForNotNull(fieldValue, buffer, typeRef));
+  }
+
   protected Expression serializeForNotNull(
       Expression inputObject, Expression buffer, TypeRef<?> typeRef) {
     return serializeForNotNull(inputObject, buffer, typeRef, null, false);
@@ -539,6 +601,9 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
         ctx.addField(
             true, ctx.type(serializerClass), name, new Cast(newSerializerExpr, serializerTypeRef));
         serializerRef = fieldRef(name, serializerTypeRef);
+        if (aotCodec && serializerClass != Serializer.class) {
+          aotSerializers.add(cls.getName() + "=" + serializerClass.getName());
+        }
       }
       serializerMap.put(cls, serializerRef);
     }
@@ -1012,6 +1077,18 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     Invoke onMapWrite =
         new Invoke(serializer, "onMapWrite", TypeUtils.mapOf(keyType, valueType), buffer, map);
     map = onMapWrite;
+    if (!isMonomorphic(getRawType(keyType)) || !isMonomorphic(getRawType(valueType))) {
+      // Must keep consistent with `AbstractMapSerializer#writeElements`.
+      Expression writeChunks =
+          new Invoke(
+              serializer,
+              "writeChunks",
+              buffer,
+              map,
+              chunkElementSerializer(keyType),
+              chunkElementSerializer(valueType));
+      return new ListExpression(onMapWrite, writeChunks);
+    }
     Invoke size = new Invoke(map, "size", PRIMITIVE_INT_TYPE);
     Invoke entrySet = new Invoke(map, "entrySet", "entrySet", SET_TYPE);
     ExprHolder exprHolder = ExprHolder.of("buffer", buffer);
@@ -1041,6 +1118,15 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     return new ListExpression(onMapWrite, writeKeyValues);
   }
 
+  /** Serializer for final key/value type of a map chunk, or null if the type is not final. */
+  private Expression chunkElementSerializer(TypeRef<?> typeRef) {
+    Class<?> cls = getRawType(typeRef);
+    if (isMonomorphic(cls)) {
+      return getOrCreateSerializer(cls);
+    }
+    return nullValue(SERIALIZER_TYPE);
+  }
+
   protected Expression readRefOrNull(Expression buffer) {
     return new Invoke(refResolverRef, "readRefOrNull", "tag", PRIMITIVE_BYTE_TYPE, false, buffer);
   }
@@ -1068,7 +1154,10 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
       CutPoint cutPoint) {
     Class<?> rawType = getRawType(typeRef);
     if (visitFury(f -> f.getClassResolver().needToWriteRef(rawType))) {
-      return readRef(buffer, callback, () -> deserializeForNotNull(buffer, typeRef, cutPoint));
+      return readRef(
+          tryPreserveRefId(buffer),
+          callback,
+          () -> deserializeForNotNull(buffer, typeRef, cutPoint));
     } else {
       if (typeRef.isPrimitive()) {
         Expression value = deserializeForNotNull(buffer, typeRef, cutPoint);
@@ -1080,11 +1169,46 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     }
   }
 
+  /**
+   * Returns an expression that deserialize a nullable field value from <code>buffer</code>, the
+   * ref/null flag of the value is decided by field annotations, see {@link FieldRefMode}.
+   */
+  protected Expression deserializeForField(
+      Expression buffer, Descriptor descriptor, Function<Expression, Expression> callback) {
+    byte refMode = visitFury(f -> FieldRefMode.of(f, descriptor));
+    TypeRef<?> typeRef = descriptor.getTypeRef();
+    if (refMode == FieldRefMode.DEFAULT) {
+      return deserializeFor(buffer, typeRef, callback);
+    }
+    if (refMode == FieldRefMode.NOT_NULL) {
+      Expression value = deserializeForNotNull(buffer, typeRef, null);
+      return new ListExpression(value, callback.apply(value));
+    }
+    Expression refId =
+        new StaticInvoke(
+            FieldRefMode.class,
+            "preserveRefId",
+            "refId",
+            PRIMITIVE_INT_TYPE,
+            false,
+            refResolverRef,
+            buffer,
+            new Literal(refMode, PRIMITIVE_BYTE_TYPE));
+    if (refMode == FieldRefMode.NOT_NULL_REF_ID) {
+      Expression value = deserializeForNotNull(buffer, typeRef, null);
+      return new ListExpression(
+          refId,
+          value,
+          new Invoke(refResolverRef, "setReadObject", refId, value),
+          callback.apply(value));
+    }
+    return readRef(refId, callback, () -> deserializeForNotNull(buffer, typeRef, null));
+  }
+
   private Expression readRef(
-      Expression buffer,
+      Expression refId,
       Function<Expression, Expression> callback,
       Supplier<Expression> deserializeForNotNull) {
-    Expression refId = tryPreserveRefId(buffer);
     // indicates that the object is first read.
     Expression needDeserialize =
         ExpressionUtils.egt(refId, new Literal(Fury.NOT_NULL_VALUE_FLAG, PRIMITIVE_BYTE_TYPE));
@@ -1385,7 +1509,7 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
         // eager callback, no need to use ExprHolder.
         read =
             readRef(
-                buffer,
+                tryPreserveRefId(buffer),
                 callback,
                 () -> deserializeForNotNull(buffer, elementType, elemSerializer, cutPoint));
       } else {
@@ -1435,28 +1559,20 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     Expression start = new Literal(0, PRIMITIVE_INT_TYPE);
     Expression step = new Literal(1, PRIMITIVE_INT_TYPE);
     ExprHolder exprHolder = ExprHolder.of("map", newMap, "buffer", buffer);
-    ForLoop readKeyValues =
-        new ForLoop(
-            start,
-            size,
-            step,
-            i -> {
-              boolean genKeyMethod =
-                  useCollectionSerialization(keyType) || useMapSerialization(keyType);
-              boolean genValueMethod =
-                  useCollectionSerialization(valueType) || useMapSerialization(valueType);
-              walkPath.add("key:" + keyType);
-              Expression keyAction =
-                  deserializeFor(
-                      exprHolder.get("buffer"), keyType, e -> e, new CutPoint(genKeyMethod));
-              walkPath.removeLast();
-              walkPath.add("value:" + valueType);
-              Expression valueAction =
-                  deserializeFor(
-                      exprHolder.get("buffer"), valueType, e -> e, new CutPoint(genValueMethod));
-              walkPath.removeLast();
-              return new Invoke(exprHolder.get("map"), "put", keyAction, valueAction);
-            });
+    Expression readKeyValues;
+    if (!isMonomorphic(getRawType(keyType)) || !isMonomorphic(getRawType(valueType))) {
+      readKeyValues =
+          new Invoke(
+              serializer,
+              "readChunks",
+              buffer,
+              newMap,
+              size,
+              chunkElementSerializer(keyType),
+              chunkElementSerializer(valueType));
+    } else {
+      readKeyValues = readMapKeyValues(exprHolder, keyType, valueType, start, size, step);
+    }
     // first newMap to create map, last newMap as expr value
     Expression hookRead = new ListExpression(newMap, size, readKeyValues, newMap);
     hookRead = new Invoke(serializer, "onMapRead", OBJECT_TYPE, hookRead);
@@ -1474,6 +1590,35 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     return action;
   }
 
+  private ForLoop readMapKeyValues(
+      ExprHolder exprHolder,
+      TypeRef<?> keyType,
+      TypeRef<?> valueType,
+      Expression start,
+      Expression size,
+      Expression step) {
+    return new ForLoop(
+        start,
+        size,
+        step,
+        i -> {
+          boolean genKeyMethod =
+              useCollectionSerialization(keyType) || useMapSerialization(keyType);
+          boolean genValueMethod =
+              useCollectionSerialization(valueType) || useMapSerialization(valueType);
+          walkPath.add("key:" + keyType);
+          Expression keyAction =
+              deserializeFor(exprHolder.get("buffer"), keyType, e -> e, new CutPoint(genKeyMethod));
+          walkPath.removeLast();
+          walkPath.add("value:" + valueType);
+          Expression valueAction =
+              deserializeFor(
+                  exprHolder.get("buffer"), valueType, e -> e, new CutPoint(genValueMethod));
+          walkPath.removeLast();
+          return new Invoke(exprHolder.get("map"), "put", keyAction, valueAction);
+        });
+  }
+
   @Override
   protected Expression beanClassExpr() {
     if (GraalvmSupport.isGraalBuildtime()) {
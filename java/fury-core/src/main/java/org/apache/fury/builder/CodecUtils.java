@@ -20,18 +20,23 @@
 package org.apache.fury.builder;
 
 import java.util.Collections;
+import java.util.function.Supplier;
 import org.apache.fury.Fury;
 import org.apache.fury.codegen.CodeGenerator;
 import org.apache.fury.codegen.CompileUnit;
+import org.apache.fury.logging.Logger;
+import org.apache.fury.logging.LoggerFactory;
 import org.apache.fury.meta.ClassDef;
 import org.apache.fury.reflect.TypeRef;
 import org.apache.fury.resolver.ClassResolver;
 import org.apache.fury.resolver.FieldResolver;
 import org.apache.fury.serializer.Serializer;
 import org.apache.fury.util.Preconditions;
+import org.apache.fury.util.StringUtils;
 
 /** Codec util to create and load jit serializer class. */
 public class CodecUtils {
+  private static final Logger LOG = LoggerFactory.getLogger(CodecUtils.class);
 
   // TODO(chaokunyang) how to uninstall org.apache.fury.codegen/builder classes for graalvm build
   // time
@@ -39,8 +44,8 @@ public class CodecUtils {
   public static <T> Class<? extends Serializer<T>> loadOrGenObjectCodecClass(
       Class<T> cls, Fury fury) {
     Preconditions.checkNotNull(fury);
-    BaseObjectCodecBuilder codecBuilder = new ObjectCodecBuilder(cls, fury);
-    return loadOrGenCodecClass(cls, fury, codecBuilder);
+    return loadOrGenSharedCodecClass(
+        cls, fury, "ObjectCodec", () -> new ObjectCodecBuilder(cls, fury));
   }
 
   public static <T> Class<? extends Serializer<T>> loadOrGenMetaSharedCodecClass(
@@ -53,8 +58,38 @@ public class CodecUtils {
 
   public static <T> Class<? extends Serializer<T>> loadOrGenCompatibleCodecClass(
       Class<T> cls, Fury fury) {
-    FieldResolver resolver = FieldResolver.of(fury, cls, true, false);
-    return loadOrGenCompatibleCodecClass(cls, fury, resolver, Generated.GeneratedSerializer.class);
+    return loadOrGenSharedCodecClass(
+        cls,
+        fury,
+        "CompatibleCodec",
+        () ->
+            new CompatibleCodecBuilder(
+                TypeRef.of(cls),
+                fury,
+                FieldResolver.of(fury, cls, true, false),
+                Generated.GeneratedSerializer.class));
+  }
+
+  /**
+   * Returns the jit serializer class of <code>cls</code> shared by fury instances with same config.
+   * The ahead-of-time generated serializer is looked up for every fury instance first, since class
+   * registrations and field serializers may differ between fury instances with same config.
+   */
+  private static <T> Class<? extends Serializer<T>> loadOrGenSharedCodecClass(
+      Class<T> cls,
+      Fury fury,
+      String codecType,
+      Supplier<? extends BaseObjectCodecBuilder> codecBuilderFactory) {
+    if (fury.getConfig().isAotCodecEnabled()) {
+      Class<? extends Serializer<T>> aotCodecClass =
+          loadAotCodecClass(cls, fury, codecBuilderFactory.get());
+      if (aotCodecClass != null) {
+        return aotCodecClass;
+      }
+    }
+    // Generated class is shared by fury instances with same config, skip building codec.
+    return fury.getSharedRegistry()
+        .getCodecClass(cls, codecType, () -> genCodecClass(cls, fury, codecBuilderFactory.get()));
   }
 
   public static <T> Class<? extends Serializer<T>> loadOrGenCompatibleCodecClass(
@@ -68,6 +103,19 @@ public class CodecUtils {
   @SuppressWarnings("unchecked")
   static <T> Class<? extends Serializer<T>> loadOrGenCodecClass(
       Class<T> beanClass, Fury fury, BaseObjectCodecBuilder codecBuilder) {
+    if (fury.getConfig().isAotCodecEnabled()) {
+      Class<? extends Serializer<T>> aotCodecClass =
+          loadAotCodecClass(beanClass, fury, codecBuilder);
+      if (aotCodecClass != null) {
+        return aotCodecClass;
+      }
+    }
+    return genCodecClass(beanClass, fury, codecBuilder);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Class<? extends Serializer<T>> genCodecClass(
+      Class<T> beanClass, Fury fury, BaseObjectCodecBuilder codecBuilder) {
     // use genCodeFunc to avoid gen code repeatedly
     CompileUnit compileUnit =
         new CompileUnit(
@@ -116,4 +164,35 @@ public class CodecUtils {
       throw new IllegalStateException("Impossible because we just compiled class", e);
     }
   }
+
+  /**
+   * Load serializer class generated by {@link AotCodecGenerator} if it's packaged and the field
+   * serializers it uses are still compatible.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> Class<? extends Serializer<T>> loadAotCodecClass(
+      Class<T> beanClass, Fury fury, BaseObjectCodecBuilder codecBuilder) {
+    String className = codecBuilder.aotCodecClassName(beanClass);
+    if (className == null) {
+      return null;
+    }
+    String pkg = CodeGenerator.getPackage(beanClass);
+    if (StringUtils.isNotBlank(pkg)) {
+      className = pkg + "." + className;
+    }
+    ClassLoader classLoader = beanClass.getClassLoader();
+    if (classLoader == null) {
+      classLoader = Thread.currentThread().getContextClassLoader();
+    }
+    try {
+      Class<?> cls = Class.forName(className, false, classLoader);
+      if (!AotCodecGenerator.checkSerializers(fury, cls)) {
+        return null;
+      }
+      LOG.info("Use ahead-of-time generated serializer {} for {}", className, beanClass);
+      return (Class<? extends Serializer<T>>) cls;
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
 }
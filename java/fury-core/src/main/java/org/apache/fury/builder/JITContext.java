@@ -19,11 +19,21 @@
 
 package org.apache.fury.builder;
 
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
@@ -32,6 +42,10 @@ import org.apache.fury.annotation.Internal;
 import org.apache.fury.codegen.CodeGenerator;
 import org.apache.fury.config.Config;
 import org.apache.fury.memory.Platform;
+import org.apache.fury.reflect.ReflectionUtils;
+import org.apache.fury.resolver.ClassResolver;
+import org.apache.fury.serializer.CodegenSerializer;
+import org.apache.fury.type.Descriptor;
 import org.apache.fury.util.Preconditions;
 
 /** A context for managing jit serialization code generation in async multithreaded environment. */
@@ -45,6 +59,7 @@ public class JITContext {
   private int furyVisitState;
   private int numRunningTask;
   private final Map<Object, List<NotifyCallback>> hasJITResult;
+  private final Map<Object, CompletableFuture<Void>> runningTasks;
 
   public JITContext(Fury fury) {
     this.fury = fury;
@@ -53,6 +68,7 @@ public class JITContext {
     // It's ok the cost for fail lock is slightly higher than no-fair lock.
     jitLock = new ReentrantLock(true);
     hasJITResult = new HashMap<>();
+    runningTasks = new HashMap<>();
   }
 
   /**
@@ -84,6 +100,9 @@ public class JITContext {
           // is really needed.
           ExecutorService compilationService = CodeGenerator.getCompilationService();
           hasJITResult.put(callback.id(), new ArrayList<>());
+          if (callback.id() != null) {
+            runningTasks.put(callback.id(), new CompletableFuture<>());
+          }
           numRunningTask++;
           compilationService.execute(
               () -> {
@@ -95,6 +114,7 @@ public class JITContext {
                     for (NotifyCallback notifyCallback : hasJITResult.get(callback.id())) {
                       notifyCallback.onNotifyResult(result);
                     }
+                    finishTask(callback.id(), null);
                   } finally {
                     numRunningTask--;
                     if (numRunningTask == 0) {
@@ -105,6 +125,7 @@ public class JITContext {
                 } catch (Throwable t) {
                   try {
                     lock();
+                    finishTask(callback.id(), t);
                     callback.onFailure(t);
                     // ignore onNotifyResult in failed case.
                   } finally {
@@ -131,6 +152,99 @@ public class JITContext {
     }
   }
 
+  private void finishTask(Object id, Throwable t) {
+    CompletableFuture<Void> future = id == null ? null : runningTasks.remove(id);
+    if (future != null) {
+      if (t == null) {
+        future.complete(null);
+      } else {
+        future.completeExceptionally(t);
+      }
+    }
+  }
+
+  /**
+   * Create serializers for <code>classes</code> and the classes of their fields transitively, and
+   * return a future which will be completed when all serializers are switched to jit serializers.
+   * If async compilation is enabled, every class will be compiled by a separate task in the
+   * compilation thread pool, otherwise the serializers are generated in current thread and the
+   * returned future is completed already.
+   *
+   * <p>This method must be invoked in the thread which owns the {@link Fury}.
+   */
+  public CompletableFuture<Void> warmUp(Collection<Class<?>> classes) {
+    ClassResolver classResolver = fury.getClassResolver();
+    Set<Class<?>> visited = new HashSet<>();
+    Deque<Class<?>> queue = new ArrayDeque<>(classes);
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    while (!queue.isEmpty()) {
+      Class<?> cls = queue.poll();
+      if (!visited.add(cls)) {
+        continue;
+      }
+      try {
+        // hold the lock until serializer is set, otherwise it may override the jit serializer.
+        lock();
+        classResolver.getSerializer(cls);
+        CompletableFuture<Void> future = runningTasks.get(cls);
+        if (future != null) {
+          futures.add(future);
+        }
+      } finally {
+        unlock();
+      }
+      if (needWarmUp(cls)) {
+        for (Descriptor descriptor : classResolver.getAllDescriptorsMap(cls, true).values()) {
+          List<Class<?>> fieldClasses = new ArrayList<>();
+          collectClasses(descriptor.getTypeRef().getType(), fieldClasses);
+          for (Class<?> fieldClass : fieldClasses) {
+            if (!visited.contains(fieldClass) && needWarmUp(fieldClass)) {
+              queue.add(fieldClass);
+            }
+          }
+        }
+      }
+    }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+  }
+
+  private boolean needWarmUp(Class<?> cls) {
+    if (cls.isPrimitive()
+        || cls.isArray()
+        || cls.isEnum()
+        || cls.isInterface()
+        || ReflectionUtils.isAbstract(cls)
+        || cls.getName().startsWith("java.")
+        || !CodegenSerializer.supportCodegenForJavaSerialization(cls)) {
+      return false;
+    }
+    return !fury.getConfig().requireClassRegistration()
+        || fury.getClassResolver().isRegistered(cls);
+  }
+
+  private static void collectClasses(Type type, List<Class<?>> classes) {
+    if (type instanceof Class) {
+      Class<?> cls = (Class<?>) type;
+      if (cls.isArray()) {
+        collectClasses(cls.getComponentType(), classes);
+      } else {
+        classes.add(cls);
+      }
+    } else if (type instanceof ParameterizedType) {
+      ParameterizedType parameterizedType = (ParameterizedType) type;
+      collectClasses(parameterizedType.getRawType(), classes);
+      for (Type typeArgument : parameterizedType.getActualTypeArguments()) {
+        collectClasses(typeArgument, classes);
+      }
+    } else if (type instanceof GenericArrayType) {
+      collectClasses(((GenericArrayType) type).getGenericComponentType(), classes);
+    } else if (type instanceof WildcardType) {
+      for (Type bound : ((WildcardType) type).getUpperBounds()) {
+        collectClasses(bound, classes);
+      }
+    }
+  }
+
   /** Subscribe jit notify callback to be invoked after target jit finished. */
   public void registerJITNotifyCallback(Object id, NotifyCallback notifyCallback) {
     Preconditions.checkNotNull(id);
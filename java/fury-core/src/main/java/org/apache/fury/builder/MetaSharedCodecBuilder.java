@@ -104,6 +104,12 @@ public class MetaSharedCodecBuilder extends ObjectCodecBuilder {
     return "MetaShared" + id;
   }
 
+  @Override
+  public String aotCodecClassName(Class<?> beanClass) {
+    // serializer is generated for class def sent from peer, which is unknown at build time.
+    return null;
+  }
+
   @Override
   public String genCode() {
     ctx.setPackage(CodeGenerator.getPackage(beanClass));
@@ -23,10 +23,14 @@ import static org.apache.fury.codegen.Code.LiteralValue.FalseLiteral;
 import static org.apache.fury.codegen.Expression.Invoke.inlineInvoke;
 import static org.apache.fury.codegen.ExpressionUtils.add;
 import static org.apache.fury.collection.Collections.ofHashSet;
+import static org.apache.fury.type.TypeUtils.CHAR_SEQUENCE_TYPE;
+import static org.apache.fury.type.TypeUtils.COLLECTION_TYPE;
+import static org.apache.fury.type.TypeUtils.MAP_TYPE;
 import static org.apache.fury.type.TypeUtils.OBJECT_ARRAY_TYPE;
 import static org.apache.fury.type.TypeUtils.OBJECT_TYPE;
 import static org.apache.fury.type.TypeUtils.PRIMITIVE_BYTE_ARRAY_TYPE;
 import static org.apache.fury.type.TypeUtils.PRIMITIVE_INT_TYPE;
+import static org.apache.fury.type.TypeUtils.PRIMITIVE_LONG_ARRAY_TYPE;
 import static org.apache.fury.type.TypeUtils.PRIMITIVE_LONG_TYPE;
 import static org.apache.fury.type.TypeUtils.PRIMITIVE_VOID_TYPE;
 import static org.apache.fury.type.TypeUtils.getRawType;
@@ -42,9 +46,12 @@ import java.util.Objects;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import org.apache.fury.Fury;
+import org.apache.fury.annotation.CharSequenceView;
+import org.apache.fury.annotation.DeltaEncoded;
 import org.apache.fury.codegen.Code;
 import org.apache.fury.codegen.CodegenContext;
 import org.apache.fury.codegen.Expression;
+import org.apache.fury.codegen.Expression.Cast;
 import org.apache.fury.codegen.Expression.Inlineable;
 import org.apache.fury.codegen.Expression.Invoke;
 import org.apache.fury.codegen.Expression.ListExpression;
@@ -56,10 +63,15 @@ import org.apache.fury.codegen.Expression.StaticInvoke;
 import org.apache.fury.codegen.ExpressionVisitor;
 import org.apache.fury.memory.Platform;
 import org.apache.fury.reflect.TypeRef;
+import org.apache.fury.resolver.ClassResolver;
+import org.apache.fury.serializer.DeltaEncoding;
 import org.apache.fury.serializer.ObjectSerializer;
 import org.apache.fury.serializer.PrimitiveSerializers.LongSerializer;
+import org.apache.fury.serializer.StringView;
+import org.apache.fury.serializer.collection.PrimitiveCollectionSerializers;
 import org.apache.fury.type.Descriptor;
 import org.apache.fury.type.DescriptorGrouper;
+import org.apache.fury.type.TypeUtils;
 import org.apache.fury.util.Preconditions;
 import org.apache.fury.util.function.SerializableSupplier;
 import org.apache.fury.util.record.RecordUtils;
@@ -209,7 +221,10 @@ public class ObjectCodecBuilder extends BaseObjectCodecBuilder {
             // `bean` will be replaced by `Reference` to cut-off expr dependency.
             Expression fieldValue = getFieldValue(bean, d);
             walkPath.add(d.getDeclaringClass() + d.getName());
-            Expression fieldExpr = serializeFor(fieldValue, buffer, d.getTypeRef());
+            Expression fieldExpr = serializeForAnnotatedField(fieldValue, buffer, d);
+            if (fieldExpr == null) {
+              fieldExpr = serializeForField(fieldValue, buffer, d);
+            }
             walkPath.removeLast();
             groupExpressions.add(fieldExpr);
           }
@@ -555,15 +570,22 @@ public class ObjectCodecBuilder extends BaseObjectCodecBuilder {
           for (Descriptor d : group) {
             ExpressionVisitor.ExprHolder exprHolder = ExpressionVisitor.ExprHolder.of("bean", bean);
             walkPath.add(d.getDeclaringClass() + d.getName());
-            Expression action =
-                deserializeFor(
-                    buffer,
-                    d.getTypeRef(),
-                    // `bean` will be replaced by `Reference` to cut-off expr
-                    // dependency.
-                    expr ->
-                        setFieldValue(
-                            exprHolder.get("bean"), d, tryInlineCast(expr, d.getTypeRef())));
+            Expression action;
+            Expression value = deserializeForAnnotatedField(buffer, d);
+            if (value != null) {
+              action =
+                  setFieldValue(exprHolder.get("bean"), d, tryInlineCast(value, d.getTypeRef()));
+            } else {
+              action =
+                  deserializeForField(
+                      buffer,
+                      d,
+                      // `bean` will be replaced by `Reference` to cut-off expr
+                      // dependency.
+                      expr ->
+                          setFieldValue(
+                              exprHolder.get("bean"), d, tryInlineCast(expr, d.getTypeRef())));
+            }
             walkPath.removeLast();
             groupExpressions.add(action);
           }
@@ -581,13 +603,124 @@ public class ObjectCodecBuilder extends BaseObjectCodecBuilder {
     ListExpression groupExpressions = new ListExpression();
     // use Reference to cut-off expr dependency.
     for (Descriptor d : group) {
-      Expression v = deserializeFor(buffer, d.getTypeRef(), expr -> expr);
+      Expression v = deserializeForAnnotatedField(buffer, d);
+      if (v == null) {
+        v = deserializeForField(buffer, d, expr -> expr);
+      }
       Expression action = setFieldValue(bean, d, tryInlineCast(v, d.getTypeRef()));
       groupExpressions.add(action);
     }
     return groupExpressions;
   }
 
+  /**
+   * Returns an expression that serialize a field annotated by {@link DeltaEncoded} or {@link
+   * CharSequenceView}, or a packed primitive collection field, or null if the field isn't
+   * serialized by its annotation or declared type.
+   */
+  private Expression serializeForAnnotatedField(
+      Expression fieldValue, Expression buffer, Descriptor d) {
+    if (DeltaEncoding.isDeltaEncoded(fury, d)) {
+      return serializeForDeltaEncoded(fieldValue, buffer, d);
+    }
+    if (StringView.isStringViewField(fury, d)) {
+      return new StaticInvoke(
+          StringView.class, "write", buffer, new Cast(fieldValue, CHAR_SEQUENCE_TYPE));
+    }
+    short packedClassId = PrimitiveCollectionSerializers.getPackedClassId(fury, d);
+    if (packedClassId != ClassResolver.NO_CLASS_ID) {
+      if (MAP_TYPE.isSupertypeOf(d.getTypeRef())) {
+        return new StaticInvoke(
+            PrimitiveCollectionSerializers.class,
+            "writeMap",
+            furyRef,
+            buffer,
+            new Cast(fieldValue, MAP_TYPE),
+            Literal.ofShort(packedClassId),
+            getPackedMapValueSerializer(d));
+      }
+      return new StaticInvoke(
+          PrimitiveCollectionSerializers.class,
+          "writeCollection",
+          furyRef,
+          buffer,
+          new Cast(fieldValue, COLLECTION_TYPE),
+          Literal.ofShort(packedClassId));
+    }
+    return null;
+  }
+
+  /**
+   * Returns an expression that deserialize a field annotated by {@link DeltaEncoded} or {@link
+   * CharSequenceView}, or a packed primitive collection field, or null if the field isn't
+   * deserialized by its annotation or declared type.
+   */
+  private Expression deserializeForAnnotatedField(Expression buffer, Descriptor d) {
+    if (DeltaEncoding.isDeltaEncoded(fury, d)) {
+      return deserializeForDeltaEncoded(buffer, d);
+    }
+    if (StringView.isStringViewField(fury, d)) {
+      return new StaticInvoke(StringView.class, "read", CHAR_SEQUENCE_TYPE, true, buffer);
+    }
+    short packedClassId = PrimitiveCollectionSerializers.getPackedClassId(fury, d);
+    if (packedClassId != ClassResolver.NO_CLASS_ID) {
+      if (MAP_TYPE.isSupertypeOf(d.getTypeRef())) {
+        return new StaticInvoke(
+            PrimitiveCollectionSerializers.class,
+            "readMap",
+            MAP_TYPE,
+            true,
+            furyRef,
+            buffer,
+            Literal.ofShort(packedClassId),
+            getPackedMapValueSerializer(d));
+      }
+      return new StaticInvoke(
+          PrimitiveCollectionSerializers.class,
+          "readCollection",
+          COLLECTION_TYPE,
+          true,
+          furyRef,
+          buffer,
+          Literal.ofShort(packedClassId));
+    }
+    return null;
+  }
+
+  private Expression getPackedMapValueSerializer(Descriptor d) {
+    Class<?> valueCls = getRawType(TypeUtils.getMapKeyValueType(d.getTypeRef()).f1);
+    return getOrCreateSerializer(valueCls);
+  }
+
+  /** Returns an expression that serialize a field annotated by {@link DeltaEncoded}. */
+  private Expression serializeForDeltaEncoded(
+      Expression fieldValue, Expression buffer, Descriptor d) {
+    if (d.getRawType() == long[].class) {
+      return new StaticInvoke(
+          DeltaEncoding.class,
+          "writeInt64Array",
+          furyRef,
+          buffer,
+          new Cast(fieldValue, PRIMITIVE_LONG_ARRAY_TYPE));
+    }
+    return new StaticInvoke(
+        DeltaEncoding.class,
+        "writeInt64Collection",
+        furyRef,
+        buffer,
+        new Cast(fieldValue, COLLECTION_TYPE));
+  }
+
+  /** Returns an expression that deserialize a field annotated by {@link DeltaEncoded}. */
+  private Expression deserializeForDeltaEncoded(Expression buffer, Descriptor d) {
+    if (d.getRawType() == long[].class) {
+      return new StaticInvoke(
+          DeltaEncoding.class, "readInt64Array", PRIMITIVE_LONG_ARRAY_TYPE, true, furyRef, buffer);
+    }
+    return new StaticInvoke(
+        DeltaEncoding.class, "readInt64Collection", COLLECTION_TYPE, true, furyRef, buffer);
+  }
+
   private Expression checkClassVersion(Expression buffer) {
     return new StaticInvoke(
         ObjectSerializer.class,
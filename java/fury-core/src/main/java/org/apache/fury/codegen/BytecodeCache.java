@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.codegen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fury.logging.Logger;
+import org.apache.fury.logging.LoggerFactory;
+import org.apache.fury.memory.Platform;
+import org.apache.fury.util.MurmurHash3;
+import org.apache.fury.util.Preconditions;
+
+/**
+ * A persistent cache for bytecode compiled from {@link CompileUnit}, which can be used to skip
+ * compilation for the generated serializers when a JVM starts again.
+ *
+ * <p>The cache key is a hash of the generated code, fury build and java version. The generated code
+ * is derived from class layout and fury config, so the key changes automatically when a class
+ * layout changes, and stale entries are never loaded. Entries are written atomically, unreadable
+ * entries are ignored and overwritten.
+ *
+ * <p>Generated class names must be stable across JVMs for the cache to hit. The class unique id
+ * will be disabled by default if a cache directory is set by {@code FURY_CODE_CACHE_DIR}.
+ *
+ * @see CodeGenerator#setBytecodeCache(BytecodeCache)
+ */
+public class BytecodeCache {
+  private static final Logger LOG = LoggerFactory.getLogger(BytecodeCache.class);
+  private static final int MAGIC_NUMBER = 0x46594243;
+  private static final String FILE_SUFFIX = ".classes";
+  private static final String BUILD_ID = buildId();
+
+  private final Path cacheDir;
+
+  public BytecodeCache(String cacheDir) {
+    this(Paths.get(cacheDir));
+  }
+
+  public BytecodeCache(Path cacheDir) {
+    this.cacheDir = Preconditions.checkNotNull(cacheDir);
+  }
+
+  public Path getCacheDir() {
+    return cacheDir;
+  }
+
+  /** Returns the cache key of <code>compileUnits</code>. */
+  public String key(List<CompileUnit> compileUnits) {
+    StringBuilder builder = new StringBuilder(BUILD_ID);
+    builder.append('\n').append(Platform.JAVA_VERSION);
+    for (CompileUnit unit : compileUnits) {
+      builder.append('\n').append(unit.getQualifiedClassName());
+      builder.append('\n').append(unit.getCode());
+    }
+    byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+    long[] hash = MurmurHash3.murmurhash3_x64_128(bytes, 0, bytes.length, 47);
+    return String.format("%016x%016x", hash[0], hash[1]);
+  }
+
+  /** Returns classes stored with <code>key</code>, or null if not found or unreadable. */
+  public Map<String, byte[]> load(String key) {
+    Path path = cacheDir.resolve(key + FILE_SUFFIX);
+    try (InputStream stream = Files.newInputStream(path);
+        DataInputStream input = new DataInputStream(new BufferedInputStream(stream))) {
+      if (input.readInt() != MAGIC_NUMBER) {
+        LOG.warn("Ignore invalid bytecode cache file {}", path);
+        return null;
+      }
+      int numClasses = input.readInt();
+      Map<String, byte[]> classes = new HashMap<>();
+      for (int i = 0; i < numClasses; i++) {
+        String classFile = input.readUTF();
+        byte[] bytecode = new byte[input.readInt()];
+        input.readFully(bytecode);
+        classes.put(classFile, bytecode);
+      }
+      return classes;
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Read bytecode cache file {} failed", path, e);
+      return null;
+    }
+  }
+
+  /** Store <code>classes</code> with <code>key</code>, failures are logged and ignored. */
+  public void store(String key, Map<String, byte[]> classes) {
+    Path path = cacheDir.resolve(key + FILE_SUFFIX);
+    Path tmpPath = null;
+    try {
+      Files.createDirectories(cacheDir);
+      tmpPath = Files.createTempFile(cacheDir, key, ".tmp");
+      try (OutputStream stream = Files.newOutputStream(tmpPath);
+          DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+        output.writeInt(MAGIC_NUMBER);
+        output.writeInt(classes.size());
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+          output.writeUTF(entry.getKey());
+          output.writeInt(entry.getValue().length);
+          output.write(entry.getValue());
+        }
+      }
+      // Other processes may write same entry concurrently, the content will be same.
+      Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Write bytecode cache file {} failed", path, e);
+      if (tmpPath != null) {
+        tmpPath.toFile().delete();
+      }
+    }
+  }
+
+  /**
+   * Returns an id for current fury build. The generated code invokes fury methods, so bytecode
+   * compiled against a different fury build can't be reused even if the code is the same.
+   */
+  private static String buildId() {
+    Package pkg = BytecodeCache.class.getPackage();
+    String version = pkg == null ? null : pkg.getImplementationVersion();
+    if (version != null && !version.endsWith("SNAPSHOT")) {
+      return version;
+    }
+    // Snapshot version may be rebuilt without changing version.
+    try {
+      CodeSource codeSource = BytecodeCache.class.getProtectionDomain().getCodeSource();
+      if (codeSource != null && codeSource.getLocation() != null) {
+        File file = new File(codeSource.getLocation().toURI());
+        return version + "@" + file.getPath() + ":" + file.length() + ":" + file.lastModified();
+      }
+    } catch (Exception e) {
+      LOG.warn("Get code source of fury failed", e);
+    }
+    return String.valueOf(version);
+  }
+}
@@ -58,6 +58,7 @@ public class CodeGenerator {
 
   private static final String CODE_DIR_KEY = "FURY_CODE_DIR";
   private static final String DELETE_CODE_ON_EXIT_KEY = "FURY_DELETE_CODE_ON_EXIT";
+  private static final String CODE_CACHE_DIR_KEY = "FURY_CODE_CACHE_DIR";
 
   // This is the default value of HugeMethodLimit in the OpenJDK HotSpot JVM,
   // beyond which methods will be rejected from JIT compilation
@@ -81,9 +82,16 @@ public class CodeGenerator {
   public static final boolean ENABLE_FURY_GENERATED_CLASS_UNIQUE_ID;
   private static int maxPoolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
   private static ExecutorService compilationExecutorService;
+  private static volatile BytecodeCache bytecodeCache;
 
   static {
-    boolean useUniqueId = StringUtils.isBlank(CodeGenerator.getCodeDir());
+    String codeCacheDir = getCodeCacheDir();
+    if (StringUtils.isNotBlank(codeCacheDir)) {
+      bytecodeCache = new BytecodeCache(codeCacheDir);
+    }
+    // Generated class names must be stable to write code to files or reuse cached bytecode.
+    boolean useUniqueId =
+        StringUtils.isBlank(CodeGenerator.getCodeDir()) && StringUtils.isBlank(codeCacheDir);
     String flagValue =
         System.getProperty(
             "fury.enable_fury_generated_class_unique_id",
@@ -141,8 +149,7 @@ public class CodeGenerator {
       compileState.lock.unlock();
     } else {
       try {
-        classes =
-            JaninoUtils.toBytecode(parentClassLoader, compileUnits.toArray(new CompileUnit[0]));
+        classes = toBytecode(parentClassLoader, compileUnits);
         compileState.result = classes;
         compileState.finished = true;
       } finally {
@@ -156,6 +163,23 @@ public class CodeGenerator {
     return defineClasses(classes);
   }
 
+  private static Map<String, byte[]> toBytecode(
+      ClassLoader parentClassLoader, List<CompileUnit> compileUnits) {
+    BytecodeCache cache = bytecodeCache;
+    if (cache == null) {
+      return JaninoUtils.toBytecode(parentClassLoader, compileUnits.toArray(new CompileUnit[0]));
+    }
+    String key = cache.key(compileUnits);
+    Map<String, byte[]> classes = cache.load(key);
+    if (classes == null) {
+      classes = JaninoUtils.toBytecode(parentClassLoader, compileUnits.toArray(new CompileUnit[0]));
+      cache.store(key, classes);
+    } else {
+      LOG.info("Load compiled classes {} from bytecode cache {}", compileUnits, key);
+    }
+    return classes;
+  }
+
   /**
    * Define classes in classloader, create a new classloader if classes can' be loaded into previous
    * classloader.
@@ -229,6 +253,19 @@ public class CodeGenerator {
     maxPoolSize = maxCompilationThreadPoolSize;
   }
 
+  /**
+   * Set a persistent cache for compiled bytecode, or null to disable it. A cache will be created at
+   * startup if directory is set by system property or environment variable {@code
+   * FURY_CODE_CACHE_DIR}.
+   */
+  public static void setBytecodeCache(BytecodeCache cache) {
+    bytecodeCache = cache;
+  }
+
+  public static BytecodeCache getBytecodeCache() {
+    return bytecodeCache;
+  }
+
   public static synchronized ExecutorService getCompilationService() {
     if (compilationExecutorService == null) {
       if (GraalvmSupport.isGraalBuildtime()) {
@@ -355,6 +392,10 @@ public class CodeGenerator {
     return System.getProperty(CODE_DIR_KEY, System.getenv(CODE_DIR_KEY));
   }
 
+  public static String getCodeCacheDir() {
+    return System.getProperty(CODE_CACHE_DIR_KEY, System.getenv(CODE_CACHE_DIR_KEY));
+  }
+
   static boolean deleteCodeOnExit() {
     boolean deleteCodeOnExit = StringUtils.isBlank(getCodeDir());
     String deleteCodeOnExitStr =
@@ -23,12 +23,31 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class Collections {
+  private static final int MAX_POWER_OF_TWO = 1 << (Integer.SIZE - 2);
+
+  /**
+   * Returns an initial capacity for {@link HashMap}/{@link HashSet} which can hold {@code
+   * expectedSize} elements without rehashing under the default load factor. Passing {@code
+   * expectedSize} to those constructors directly will trigger a resize once three quarters of the
+   * table are filled.
+   */
+  public static int hashCapacity(int expectedSize) {
+    if (expectedSize < 3) {
+      return expectedSize + 1;
+    }
+    if (expectedSize < MAX_POWER_OF_TWO) {
+      return (int) ((float) expectedSize / 0.75F + 1.0F);
+    }
+    return Integer.MAX_VALUE;
+  }
+
   /**
    * Returns a sequential {@link Stream} of the contents of {@code iterable}, delegating to {@link
    * Collection#stream} if possible.
@@ -84,21 +103,22 @@ public class Collections {
     return list;
   }
 
+  // Use insertion order, so that code generated from those sets is deterministic.
   public static <E> HashSet<E> ofHashSet(E e) {
-    HashSet<E> set = new HashSet<>(1);
+    HashSet<E> set = new LinkedHashSet<>(1);
     set.add(e);
     return set;
   }
 
   public static <E> HashSet<E> ofHashSet(E e1, E e2) {
-    HashSet<E> set = new HashSet<>(2);
+    HashSet<E> set = new LinkedHashSet<>(2);
     set.add(e1);
     set.add(e2);
     return set;
   }
 
   public static <E> HashSet<E> ofHashSet(E e1, E e2, E e3) {
-    HashSet<E> set = new HashSet<>(3);
+    HashSet<E> set = new LinkedHashSet<>(3);
     set.add(e1);
     set.add(e2);
     set.add(e3);
@@ -106,7 +126,7 @@ public class Collections {
   }
 
   public static <E> HashSet<E> ofHashSet(E e1, E e2, E e3, E e4) {
-    HashSet<E> set = new HashSet<>(4);
+    HashSet<E> set = new LinkedHashSet<>(4);
     set.add(e1);
     set.add(e2);
     set.add(e3);
@@ -115,7 +135,7 @@ public class Collections {
   }
 
   public static <E> HashSet<E> ofHashSet(E e1, E e2, E e3, E e4, E e5) {
-    HashSet<E> set = new HashSet<>(5);
+    HashSet<E> set = new LinkedHashSet<>(5);
     set.add(e1);
     set.add(e2);
     set.add(e3);
@@ -125,7 +145,7 @@ public class Collections {
   }
 
   public static <E> HashSet<E> ofHashSet(E[] elements) {
-    HashSet<E> set = new HashSet<>(elements.length);
+    HashSet<E> set = new LinkedHashSet<>(hashCapacity(elements.length));
     java.util.Collections.addAll(set, elements);
     return set;
   }
@@ -156,7 +176,7 @@ public class Collections {
           String.format("entries got %d objects, which aren't pairs", kv.length));
     }
     int size = kv.length >> 1;
-    HashMap map = new HashMap<>(size);
+    HashMap map = new HashMap<>(hashCapacity(size));
     for (int i = 0; i < kv.length; i += 2) {
       map.put(kv[i], kv[i + 1]);
     }
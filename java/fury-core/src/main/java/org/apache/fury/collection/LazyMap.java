@@ -52,7 +52,7 @@ public class LazyMap<K, V> implements Map<K, V> {
     Map<K, V> m = this.map;
     if (m == null) {
       List<Entry<? extends K, ? extends V>> e = this.entries;
-      m = new HashMap<>(e.size());
+      m = new HashMap<>(Collections.hashCapacity(e.size()));
       for (Entry<? extends K, ? extends V> entry : e) {
         m.put(entry.getKey(), entry.getValue());
       }
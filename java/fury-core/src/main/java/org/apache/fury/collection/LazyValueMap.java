@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.collection;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.apache.fury.BaseFury;
+import org.apache.fury.Fury;
+import org.apache.fury.ThreadSafeFury;
+import org.apache.fury.annotation.Internal;
+import org.apache.fury.annotation.Public;
+import org.apache.fury.memory.MemoryBuffer;
+
+/**
+ * A map whose values are decoded on demand after deserialization. The serialized form keeps every
+ * value as a standalone byte segment after the keys, so deserialization only decodes the keys and
+ * builds a key index, and {@link #get}/{@link #containsKey} decode only the values actually
+ * accessed. This is useful for config or feature maps with thousands of entries of which a request
+ * touches a few.
+ *
+ * <p>Values are decoded by the {@link Fury} which deserialized this map. If that fury is managed by
+ * a {@link ThreadSafeFury}, values are decoded through the thread safe fury instead, so the map can
+ * be read by other threads. Otherwise the map must only be accessed by the thread owning that fury,
+ * and an {@link IllegalStateException} is thrown if a value is decoded while the decoding fury is
+ * serializing or deserializing. Like {@link LinkedHashMap}, concurrent access must be synchronized
+ * externally since decoded values are cached in this map. Any mutation or full traversal such as
+ * {@link #entrySet} decodes all remaining values and turns this map into a plain {@link
+ * LinkedHashMap} delegate. Entries keep the serialized order.
+ *
+ * <p>Values are written lazily only if reference tracking, meta share, string dictionary and class
+ * id context are disabled and no key is null, otherwise this map is serialized and deserialized
+ * eagerly like other maps. Values serialized by JDK serialization are not supported in lazy mode.
+ */
+@Public
+public class LazyValueMap<K, V> extends AbstractMap<K, V> {
+  private static final Object UNDECODED = new Object();
+
+  private Map<K, V> map;
+  // Fields below are only set for a deserialized map whose values aren't decoded fully.
+  private BaseFury decoder;
+  private Object[] keys;
+  private ObjectIntMap<Object> keyIndex;
+  private byte[] valueBytes;
+  private int[] valueOffsets;
+  private Object[] values;
+  private int numDecodedValues;
+
+  public LazyValueMap() {
+    map = new LinkedHashMap<>();
+  }
+
+  public LazyValueMap(int initialCapacity) {
+    map = new LinkedHashMap<>(Collections.hashCapacity(initialCapacity));
+  }
+
+  public LazyValueMap(Map<? extends K, ? extends V> map) {
+    this.map = new LinkedHashMap<>(map);
+  }
+
+  /**
+   * Create a map whose value {@code i} is decoded on demand by {@code fury} or the thread safe fury
+   * which manages it from {@code valueBytes} in range {@code [valueOffsets[i], valueOffsets[i +
+   * 1])}.
+   */
+  @Internal
+  public LazyValueMap(Fury fury, Object[] keys, byte[] valueBytes, int[] valueOffsets) {
+    ThreadSafeFury threadSafeFury = fury.getThreadSafeFury();
+    this.decoder = threadSafeFury != null ? threadSafeFury : fury;
+    this.keys = keys;
+    this.valueBytes = valueBytes;
+    this.valueOffsets = valueOffsets;
+    ObjectIntMap<Object> keyIndex = new ObjectIntMap<>(keys.length, 0.5f);
+    for (int i = 0; i < keys.length; i++) {
+      keyIndex.put(keys[i], i);
+    }
+    this.keyIndex = keyIndex;
+    Object[] values = new Object[keys.length];
+    Arrays.fill(values, UNDECODED);
+    this.values = values;
+  }
+
+  /**
+   * Returns the {@link Fury} or {@link ThreadSafeFury} which decodes values of this map, or null if
+   * all values are on heap.
+   */
+  @Internal
+  public BaseFury getDecoder() {
+    return map == null ? decoder : null;
+  }
+
+  /** Returns the key of entry {@code index}, only valid if {@link #getDecoder} isn't null. */
+  @Internal
+  public Object getKey(int index) {
+    return keys[index];
+  }
+
+  /** Returns whether value of entry {@code index} has been decoded. */
+  @Internal
+  public boolean isValueDecoded(int index) {
+    return values[index] != UNDECODED;
+  }
+
+  /** Returns the value of entry {@code index}, decode it if not decoded yet. */
+  @Internal
+  public Object getValue(int index) {
+    Object value = values[index];
+    if (value == UNDECODED) {
+      int offset = valueOffsets[index];
+      MemoryBuffer buffer =
+          MemoryBuffer.fromByteArray(valueBytes, offset, valueOffsets[index + 1] - offset);
+      BaseFury decoder = this.decoder;
+      if (decoder instanceof ThreadSafeFury) {
+        value = ((ThreadSafeFury) decoder).execute(fury -> decode(fury, buffer));
+      } else {
+        value = decode((Fury) decoder, buffer);
+      }
+      values[index] = value;
+      numDecodedValues++;
+    }
+    return value;
+  }
+
+  private static Object decode(Fury fury, MemoryBuffer buffer) {
+    // Check before `deserializeJavaObjectAndClass`, which resets read state of the running
+    // deserialization when it fails.
+    if (fury.getDepth() != 0) {
+      throw new IllegalStateException(
+          "Can't decode LazyValueMap values when its fury is serializing or deserializing");
+    }
+    return fury.deserializeJavaObjectAndClass(buffer);
+  }
+
+  /** Write serialized bytes of value {@code index} to {@code buffer} without decoding it. */
+  @Internal
+  public void writeValueBytes(MemoryBuffer buffer, int index) {
+    int offset = valueOffsets[index];
+    buffer.writeBytes(valueBytes, offset, valueOffsets[index + 1] - offset);
+  }
+
+  /** Returns the number of values which have been decoded from serialized bytes. */
+  public int getNumDecodedValues() {
+    return map == null ? numDecodedValues : size();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<K, V> delegate() {
+    Map<K, V> m = this.map;
+    if (m == null) {
+      Object[] keys = this.keys;
+      m = new LinkedHashMap<>(Collections.hashCapacity(keys.length));
+      for (int i = 0; i < keys.length; i++) {
+        m.put((K) keys[i], (V) getValue(i));
+      }
+      this.map = m;
+      this.decoder = null;
+      this.keys = null;
+      this.keyIndex = null;
+      this.valueBytes = null;
+      this.valueOffsets = null;
+      this.values = null;
+    }
+    return m;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(Object key) {
+    Map<K, V> m = map;
+    if (m != null) {
+      return m.get(key);
+    }
+    if (key == null) {
+      return null;
+    }
+    int index = keyIndex.get(key, -1);
+    return index < 0 ? null : (V) getValue(index);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    Map<K, V> m = map;
+    if (m != null) {
+      return m.containsKey(key);
+    }
+    return key != null && keyIndex.get(key, -1) >= 0;
+  }
+
+  @Override
+  public int size() {
+    Map<K, V> m = map;
+    return m == null ? keys.length : m.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public V put(K key, V value) {
+    return delegate().put(key, value);
+  }
+
+  @Override
+  public V remove(Object key) {
+    return delegate().remove(key);
+  }
+
+  @Override
+  public void clear() {
+    Map<K, V> m = map;
+    if (m == null) {
+      this.map = new LinkedHashMap<>();
+      this.decoder = null;
+      this.keys = null;
+      this.keyIndex = null;
+      this.valueBytes = null;
+      this.valueOffsets = null;
+      this.values = null;
+    } else {
+      m.clear();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    Map<K, V> m = map;
+    if (m == null) {
+      Object[] keys = this.keys;
+      for (int i = 0; i < keys.length; i++) {
+        action.accept((K) keys[i], (V) getValue(i));
+      }
+    } else {
+      m.forEach(action);
+    }
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return delegate().keySet();
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return delegate().entrySet();
+  }
+}
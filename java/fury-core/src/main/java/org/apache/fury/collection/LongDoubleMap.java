@@ -0,0 +1,460 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.collection;
+
+import static org.apache.fury.collection.FuryObjectMap.MASK_NUMBER;
+
+import java.nio.ByteBuffer;
+import org.apache.fury.annotation.Internal;
+import org.apache.fury.annotation.Public;
+import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.memory.MemoryUtils;
+import org.apache.fury.memory.Platform;
+
+/**
+ * An unordered map where the keys are unboxed longs and values are unboxed doubles. The hash table
+ * is stored in two {@link MemoryBuffer}s with 8 bytes per slot, either on heap or off heap by
+ * {@link #offHeap}, so a large map doesn't create any object per entry, and an off-heap map doesn't
+ * add pressure to gc.
+ *
+ * <p>Keys are placed by Fibonacci hashing and linear probing with the backward shift algorithm for
+ * removal, same as {@link LongMap}. The tables are stored in little endian, so a serialized map can
+ * be read back by bulk copying the tables without rehashing any key.
+ */
+@Public
+public class LongDoubleMap {
+  // 8 bytes per slot, so the max table size which fits in a buffer is 2^27.
+  private static final int MAX_TABLE_SIZE = 1 << 27;
+  private static final int COPY_CHUNK_SIZE = 1 << 20;
+  private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+  private final float loadFactor;
+  private final boolean offHeap;
+  private int size;
+  private MemoryBuffer keyTable;
+  private MemoryBuffer valueTable;
+  private int tableSize;
+  private int threshold;
+  private int mask;
+  private int shift;
+  private boolean hasZeroValue;
+  private double zeroValue;
+
+  /** Creates a new on-heap map with an initial capacity of 51 and a load factor of 0.75. */
+  public LongDoubleMap() {
+    this(51, 0.75f);
+  }
+
+  /** Creates a new on-heap map with a load factor of 0.75. */
+  public LongDoubleMap(int initialCapacity) {
+    this(initialCapacity, 0.75f);
+  }
+
+  /**
+   * Creates a new on-heap map which will hold initialCapacity items before growing the backing
+   * table.
+   */
+  public LongDoubleMap(int initialCapacity, float loadFactor) {
+    this(initialCapacity, loadFactor, false);
+  }
+
+  private LongDoubleMap(int initialCapacity, float loadFactor, boolean offHeap) {
+    if (loadFactor <= 0f || loadFactor >= 1f) {
+      throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+    }
+    this.loadFactor = loadFactor;
+    this.offHeap = offHeap;
+    allocateTable(checkTableSize(FuryObjectMap.tableSize(initialCapacity, loadFactor)));
+  }
+
+  /**
+   * Creates a new map whose table is allocated off heap by a direct {@link ByteBuffer}, which is
+   * released when this map is garbage collected.
+   */
+  public static LongDoubleMap offHeap(int initialCapacity) {
+    return offHeap(initialCapacity, 0.75f);
+  }
+
+  /** Creates a new off-heap map, see {@link #offHeap(int)}. */
+  public static LongDoubleMap offHeap(int initialCapacity, float loadFactor) {
+    return new LongDoubleMap(initialCapacity, loadFactor, true);
+  }
+
+  /** Creates a new empty map with given load factor, used by deserialization. */
+  @Internal
+  public static LongDoubleMap newMap(float loadFactor, boolean offHeap) {
+    return new LongDoubleMap(0, loadFactor, offHeap);
+  }
+
+  private static int checkTableSize(int tableSize) {
+    if (tableSize > MAX_TABLE_SIZE) {
+      throw new IllegalArgumentException("The required capacity is too large: " + tableSize);
+    }
+    return tableSize;
+  }
+
+  private void allocateTable(int tableSize) {
+    int numBytes = tableSize << 3;
+    if (offHeap) {
+      keyTable = MemoryUtils.wrap(ByteBuffer.allocateDirect(numBytes));
+      valueTable = MemoryUtils.wrap(ByteBuffer.allocateDirect(numBytes));
+    } else {
+      keyTable = MemoryBuffer.newHeapBuffer(numBytes);
+      valueTable = MemoryBuffer.newHeapBuffer(numBytes);
+    }
+    this.tableSize = tableSize;
+    threshold = (int) (tableSize * loadFactor);
+    mask = tableSize - 1;
+    shift = Long.numberOfLeadingZeros(mask);
+  }
+
+  private int place(long item) {
+    return (int) (item * MASK_NUMBER >>> shift);
+  }
+
+  /**
+   * Returns the index of the key if already present, else -(index + 1) for the next empty index.
+   */
+  private int locateKey(long key) {
+    MemoryBuffer keyTable = this.keyTable;
+    for (int i = place(key); ; i = i + 1 & mask) {
+      long other = keyTable.getInt64(i << 3);
+      if (other == 0) {
+        return -(i + 1); // Empty space is available.
+      }
+      if (other == key) {
+        return i; // Same key was found.
+      }
+    }
+  }
+
+  /** Puts a key/value pair, returns old value or <code>defaultValue</code> if key is absent. */
+  public double put(long key, double value, double defaultValue) {
+    if (key == 0) {
+      double oldValue = hasZeroValue ? zeroValue : defaultValue;
+      zeroValue = value;
+      if (!hasZeroValue) {
+        hasZeroValue = true;
+        size++;
+      }
+      return oldValue;
+    }
+    int i = locateKey(key);
+    if (i >= 0) { // Existing key was found.
+      double oldValue = valueTable.getFloat64(i << 3);
+      valueTable.putFloat64(i << 3, value);
+      return oldValue;
+    }
+    i = -(i + 1); // Empty space was found.
+    keyTable.putInt64(i << 3, key);
+    valueTable.putFloat64(i << 3, value);
+    if (++size >= threshold) {
+      resize(tableSize << 1);
+    }
+    return defaultValue;
+  }
+
+  public void put(long key, double value) {
+    put(key, value, 0);
+  }
+
+  /** Skips checks for existing keys, doesn't increment size, doesn't need to handle key 0. */
+  private void putResize(long key, double value) {
+    MemoryBuffer keyTable = this.keyTable;
+    for (int i = place(key); ; i = (i + 1) & mask) {
+      if (keyTable.getInt64(i << 3) == 0) {
+        keyTable.putInt64(i << 3, key);
+        valueTable.putFloat64(i << 3, value);
+        return;
+      }
+    }
+  }
+
+  /** Returns the value of <code>key</code>, or <code>defaultValue</code> if key is absent. */
+  public double get(long key, double defaultValue) {
+    if (key == 0) {
+      return hasZeroValue ? zeroValue : defaultValue;
+    }
+    int i = locateKey(key);
+    return i >= 0 ? valueTable.getFloat64(i << 3) : defaultValue;
+  }
+
+  public boolean containsKey(long key) {
+    if (key == 0) {
+      return hasZeroValue;
+    }
+    return locateKey(key) >= 0;
+  }
+
+  /** Removes <code>key</code>, returns its value or <code>defaultValue</code> if key is absent. */
+  public double remove(long key, double defaultValue) {
+    if (key == 0) {
+      if (!hasZeroValue) {
+        return defaultValue;
+      }
+      hasZeroValue = false;
+      size--;
+      return zeroValue;
+    }
+    int i = locateKey(key);
+    if (i < 0) {
+      return defaultValue;
+    }
+    MemoryBuffer keyTable = this.keyTable;
+    MemoryBuffer valueTable = this.valueTable;
+    double oldValue = valueTable.getFloat64(i << 3);
+    int mask = this.mask, next = i + 1 & mask;
+    while ((key = keyTable.getInt64(next << 3)) != 0) {
+      int placement = place(key);
+      if ((next - placement & mask) > (i - placement & mask)) {
+        keyTable.putInt64(i << 3, key);
+        valueTable.putFloat64(i << 3, valueTable.getFloat64(next << 3));
+        i = next;
+      }
+      next = next + 1 & mask;
+    }
+    keyTable.putInt64(i << 3, 0);
+    size--;
+    return oldValue;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Returns true if the table of this map is allocated off heap. */
+  public boolean isOffHeap() {
+    return offHeap;
+  }
+
+  public float getLoadFactor() {
+    return loadFactor;
+  }
+
+  public void clear() {
+    if (size == 0) {
+      return;
+    }
+    size = 0;
+    hasZeroValue = false;
+    long numBytes = (long) tableSize << 3;
+    if (offHeap) {
+      Platform.setMemory(keyTable.getUnsafeAddress(), (byte) 0, numBytes);
+    } else {
+      Platform.setMemory(keyTable.getHeapMemory(), Platform.BYTE_ARRAY_OFFSET, numBytes, (byte) 0);
+    }
+  }
+
+  /** Performs the given action for each entry of this map, in no particular order. */
+  public void forEach(LongDoubleConsumer action) {
+    if (hasZeroValue) {
+      action.accept(0, zeroValue);
+    }
+    MemoryBuffer keyTable = this.keyTable;
+    MemoryBuffer valueTable = this.valueTable;
+    for (int i = 0; i < tableSize; i++) {
+      long key = keyTable.getInt64(i << 3);
+      if (key != 0) {
+        action.accept(key, valueTable.getFloat64(i << 3));
+      }
+    }
+  }
+
+  private void resize(int newSize) {
+    int oldTableSize = tableSize;
+    MemoryBuffer oldKeyTable = keyTable;
+    MemoryBuffer oldValueTable = valueTable;
+    allocateTable(checkTableSize(newSize));
+    if (size > 0) {
+      for (int i = 0; i < oldTableSize; i++) {
+        long key = oldKeyTable.getInt64(i << 3);
+        if (key != 0) {
+          putResize(key, oldValueTable.getFloat64(i << 3));
+        }
+      }
+    }
+  }
+
+  /**
+   * Write the hash table of non-zero keys to <code>buffer</code> by bulk copy. The zero key isn't
+   * stored in the table and isn't written. Tables of max size take 2GB and can't be held by a
+   * buffer, so the entries of such a map are written instead.
+   */
+  @Internal
+  public void writeTable(MemoryBuffer buffer) {
+    int numEntries = hasZeroValue ? size - 1 : size;
+    if (numEntries == 0) {
+      buffer.writeVarUint32Small7(0);
+      return;
+    }
+    if (tableSize < MAX_TABLE_SIZE) {
+      buffer.writeVarUint32Small7(tableSize << 1);
+      // Tables are written separately in chunks, so sizes don't overflow and a buffer with stream
+      // writer doesn't need to hold a whole table.
+      writeTable(buffer, keyTable);
+      writeTable(buffer, valueTable);
+    } else {
+      buffer.writeVarUint32Small7(numEntries << 1 | 0b1);
+      checkBufferSize(buffer, (long) numEntries << 4);
+      for (int i = 0; i < tableSize; i++) {
+        long key = keyTable.getInt64(i << 3);
+        if (key != 0) {
+          buffer.writeInt64(key);
+          buffer.writeFloat64(valueTable.getFloat64(i << 3));
+        }
+      }
+    }
+  }
+
+  private void writeTable(MemoryBuffer buffer, MemoryBuffer table) {
+    int numBytes = tableSize << 3;
+    for (int offset = 0; offset < numBytes; offset += COPY_CHUNK_SIZE) {
+      int length = Math.min(COPY_CHUNK_SIZE, numBytes - offset);
+      checkBufferSize(buffer, length);
+      buffer.ensure(buffer.writerIndex() + length);
+      // writer index may be moved by stream writer.
+      int writerIndex = buffer.writerIndex();
+      buffer.copyFrom(writerIndex, table, offset, length);
+      buffer.increaseWriterIndex(length);
+    }
+  }
+
+  private static void checkBufferSize(MemoryBuffer buffer, long numBytes) {
+    int writerIndex = buffer.writerIndex();
+    if (writerIndex + numBytes > MAX_BUFFER_SIZE) {
+      throw new IllegalStateException(
+          String.format(
+              "Writing %d bytes at writer index %d exceeds max buffer size %d",
+              numBytes, writerIndex, MAX_BUFFER_SIZE));
+    }
+  }
+
+  /**
+   * Replace the hash table of this empty map by the table written by {@link #writeTable}, which
+   * holds <code>numEntries</code> non-zero keys.
+   */
+  @Internal
+  public void readTable(MemoryBuffer buffer, int numEntries) {
+    int header = buffer.readVarUint32Small7();
+    if (header == 0) {
+      return;
+    }
+    if ((header & 0b1) == 1) {
+      if (size != 0 || header >>> 1 != numEntries) {
+        throw new IllegalStateException(
+            String.format("Invalid entries number %d, expect %d", header >>> 1, numEntries));
+      }
+      allocateTable(checkTableSize(FuryObjectMap.tableSize(numEntries, loadFactor)));
+      for (int i = 0; i < numEntries; i++) {
+        put(buffer.readInt64(), buffer.readFloat64());
+      }
+      return;
+    }
+    int tableSize = header >>> 1;
+    if (size != 0
+        || Integer.bitCount(tableSize) != 1
+        || numEntries >= tableSize
+        || tableSize > MAX_TABLE_SIZE) {
+      throw new IllegalStateException(
+          String.format("Invalid table size %d for %d entries", tableSize, numEntries));
+    }
+    if (tableSize != this.tableSize) {
+      allocateTable(tableSize);
+    }
+    readTable(buffer, keyTable);
+    readTable(buffer, valueTable);
+    size = numEntries;
+    if (size >= threshold) {
+      resize(tableSize << 1);
+    }
+  }
+
+  private void readTable(MemoryBuffer buffer, MemoryBuffer table) {
+    int numBytes = tableSize << 3;
+    for (int offset = 0; offset < numBytes; offset += COPY_CHUNK_SIZE) {
+      int length = Math.min(COPY_CHUNK_SIZE, numBytes - offset);
+      buffer.checkReadableBytes(length);
+      int readerIndex = buffer.readerIndex();
+      buffer.copyTo(readerIndex, table, offset, length);
+      buffer.increaseReaderIndex(length);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof LongDoubleMap)) {
+      return false;
+    }
+    LongDoubleMap other = (LongDoubleMap) o;
+    if (other.size != size || other.hasZeroValue != hasZeroValue) {
+      return false;
+    }
+    if (hasZeroValue && Double.compare(other.zeroValue, zeroValue) != 0) {
+      return false;
+    }
+    for (int i = 0; i < tableSize; i++) {
+      long key = keyTable.getInt64(i << 3);
+      if (key != 0) {
+        int index = other.locateKey(key);
+        if (index < 0
+            || Double.compare(
+                    other.valueTable.getFloat64(index << 3), valueTable.getFloat64(i << 3))
+                != 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int[] hash = {size};
+    forEach((k, v) -> hash[0] += Long.hashCode(k) ^ Double.hashCode(v));
+    return hash[0];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(32);
+    builder.append('[');
+    forEach(
+        (k, v) -> {
+          if (builder.length() > 1) {
+            builder.append(", ");
+          }
+          builder.append(k).append('=').append(v);
+        });
+    return builder.append(']').toString();
+  }
+
+  /** An operation that accepts an unboxed long key and its unboxed double value. */
+  @FunctionalInterface
+  public interface LongDoubleConsumer {
+    void accept(long key, double value);
+  }
+}
@@ -270,6 +270,27 @@ public class LongMap<V> {
     return oldValue;
   }
 
+  /** Performs the given action for each entry of this map, in no particular order. */
+  public void forEach(LongObjectConsumer<? super V> action) {
+    if (hasZeroValue) {
+      action.accept(0, zeroValue);
+    }
+    long[] keyTable = this.keyTable;
+    V[] valueTable = this.valueTable;
+    for (int i = 0; i < keyTable.length; i++) {
+      long key = keyTable[i];
+      if (key != 0) {
+        action.accept(key, valueTable[i]);
+      }
+    }
+  }
+
+  /** An operation that accepts an unboxed long key and its value. */
+  @FunctionalInterface
+  public interface LongObjectConsumer<V> {
+    void accept(long key, V value);
+  }
+
   /** Returns true if the map has one or more items. */
   public boolean notEmpty() {
     return size > 0;
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.collection;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * An identity object to int map whose {@link #clear} is O(1). Every slot is stamped with the
+ * generation in which it's written, and slots of previous generations are treated as empty, so
+ * clearing the map only increments the generation instead of zeroing the key table.
+ *
+ * <p>Keys are released by {@link #clear} with work proportional to the cleared size: the whole key
+ * table is released if the cleared generation filled at least a quarter of it, otherwise a chunk of
+ * four times the cleared size is released from a cursor which goes around the table. So keys of a
+ * large generation are released at once, and keys of small generations are released after a bounded
+ * number of clears, instead of being kept reachable until overwritten.
+ */
+@SuppressWarnings("unchecked")
+public final class StampedIdentityObjectIntMap<K> {
+  public int size;
+
+  private K[] keyTable;
+  // high 32 bits is the generation stamp of the slot, low 32 bits is the value.
+  private long[] entryTable;
+  private int stamp = 1;
+  // Start of the next chunk of key table to release.
+  private int releaseCursor;
+  private final float loadFactor;
+  private int threshold;
+  private int mask;
+  private MapStatistics stat;
+
+  public StampedIdentityObjectIntMap(int initialCapacity, float loadFactor) {
+    if (loadFactor <= 0f || loadFactor >= 1f) {
+      throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+    }
+    this.loadFactor = loadFactor;
+    allocate(FuryObjectMap.tableSize(initialCapacity, loadFactor));
+    stat = new MapStatistics();
+  }
+
+  private void allocate(int tableSize) {
+    threshold = (int) (tableSize * loadFactor);
+    mask = tableSize - 1;
+    keyTable = (K[]) new Object[tableSize];
+    entryTable = new long[tableSize];
+  }
+
+  private int place(K item) {
+    return System.identityHashCode(item) & mask;
+  }
+
+  private static int stampOf(long entry) {
+    return (int) (entry >>> 32);
+  }
+
+  private long entry(int value) {
+    return ((long) stamp << 32) | (value & 0xFFFFFFFFL);
+  }
+
+  public int get(K key, int defaultValue) {
+    K[] keyTable = this.keyTable;
+    long[] entryTable = this.entryTable;
+    int stamp = this.stamp;
+    int mask = this.mask;
+    for (int i = place(key); ; i = i + 1 & mask) {
+      long entry = entryTable[i];
+      if (stampOf(entry) != stamp) {
+        return defaultValue;
+      }
+      if (keyTable[i] == key) {
+        return (int) entry;
+      }
+    }
+  }
+
+  public void put(K key, int value) {
+    K[] keyTable = this.keyTable;
+    long[] entryTable = this.entryTable;
+    int stamp = this.stamp;
+    int mask = this.mask;
+    for (int i = place(key); ; i = i + 1 & mask) {
+      if (stampOf(entryTable[i]) != stamp) {
+        keyTable[i] = key;
+        entryTable[i] = entry(value);
+        if (++size >= threshold) {
+          resize(keyTable.length << 1);
+        }
+        return;
+      }
+      if (keyTable[i] == key) {
+        entryTable[i] = entry(value);
+        return;
+      }
+    }
+  }
+
+  /**
+   * If key doesn't exist in map, return {@link Integer#MIN_VALUE}, otherwise don't update map, just
+   * return previous value.
+   */
+  public int putOrGet(K key, int value) {
+    K[] keyTable = this.keyTable;
+    long[] entryTable = this.entryTable;
+    int stamp = this.stamp;
+    int mask = this.mask;
+    for (int i = place(key); ; i = i + 1 & mask) {
+      long entry = entryTable[i];
+      if (stampOf(entry) != stamp) {
+        keyTable[i] = key;
+        entryTable[i] = entry(value);
+        if (++size >= threshold) {
+          resize(keyTable.length << 1);
+        }
+        return Integer.MIN_VALUE;
+      }
+      if (keyTable[i] == key) {
+        return (int) entry;
+      }
+    }
+  }
+
+  public int profilingPutOrGet(K key, int value) {
+    K[] keyTable = this.keyTable;
+    long[] entryTable = this.entryTable;
+    int stamp = this.stamp;
+    int mask = this.mask;
+    for (int i = place(key); ; i = i + 1 & mask) {
+      stat.totalProbeProfiled++;
+      long entry = entryTable[i];
+      if (stampOf(entry) != stamp) {
+        keyTable[i] = key;
+        entryTable[i] = entry(value);
+        if (++size >= threshold) {
+          resize(keyTable.length << 1);
+        }
+        int probed = stat.totalProbeProfiled - stat.lastProbeProfiled;
+        stat.maxProbeProfiled = Math.max(probed, stat.maxProbeProfiled);
+        stat.lastProbeProfiled = stat.totalProbeProfiled;
+        return Integer.MIN_VALUE;
+      }
+      if (keyTable[i] == key) {
+        int probed = stat.totalProbeProfiled - stat.lastProbeProfiled;
+        stat.maxProbeProfiled = Math.max(probed, stat.maxProbeProfiled);
+        stat.lastProbeProfiled = stat.totalProbeProfiled;
+        return (int) entry;
+      }
+    }
+  }
+
+  public MapStatistics getAndResetStatistics() {
+    MapStatistics result = stat;
+    stat = new MapStatistics();
+    return result;
+  }
+
+  private void resize(int newSize) {
+    K[] oldKeyTable = keyTable;
+    long[] oldEntryTable = entryTable;
+    int stamp = this.stamp;
+    allocate(newSize);
+    if (size > 0) {
+      K[] keyTable = this.keyTable;
+      long[] entryTable = this.entryTable;
+      int mask = this.mask;
+      for (int i = 0; i < oldKeyTable.length; i++) {
+        long entry = oldEntryTable[i];
+        if (stampOf(entry) == stamp) {
+          K key = oldKeyTable[i];
+          int index = place(key);
+          while (stampOf(entryTable[index]) == stamp) {
+            index = index + 1 & mask;
+          }
+          keyTable[index] = key;
+          entryTable[index] = entry;
+        }
+      }
+    }
+  }
+
+  /**
+   * Remove all entries by starting a new generation, the entry table won't be zeroed. Keys are
+   * released in chunks proportional to the cleared size, see class doc.
+   */
+  public void clear() {
+    int size = this.size;
+    if (size == 0) {
+      return;
+    }
+    this.size = 0;
+    K[] keyTable = this.keyTable;
+    if (++stamp == Integer.MAX_VALUE) {
+      // stamp wrapped, stale entries may be taken as live, zero the table.
+      Arrays.fill(entryTable, 0);
+      ObjectArray.clearObjectArray(keyTable, 0, keyTable.length);
+      stamp = 1;
+      releaseCursor = 0;
+      return;
+    }
+    int length = keyTable.length;
+    if (size >= length >>> 2) {
+      ObjectArray.clearObjectArray(keyTable, 0, length);
+      releaseCursor = 0;
+    } else {
+      // All slots are stale now, so any chunk can be released.
+      int from = releaseCursor;
+      int numSlots = size << 2;
+      int end = from + numSlots;
+      if (end < length) {
+        ObjectArray.clearObjectArray(keyTable, from, numSlots);
+        releaseCursor = end;
+      } else {
+        ObjectArray.clearObjectArray(keyTable, from, length - from);
+        ObjectArray.clearObjectArray(keyTable, 0, end - length);
+        releaseCursor = end - length;
+      }
+    }
+  }
+
+  /**
+   * Remove all entries, and shrink the table if it's much larger than the table needed by <code>
+   * maximumCapacity</code>. The table won't be shrunk if it's less than 4 times of the needed size,
+   * so that the table won't thrash between capacities for messages of mixed size.
+   */
+  public void clearApproximate(int maximumCapacity) {
+    int tableSize = FuryObjectMap.tableSize(maximumCapacity, loadFactor);
+    if (keyTable.length > tableSize << 2) {
+      size = 0;
+      releaseCursor = 0;
+      allocate(tableSize);
+    } else {
+      clear();
+    }
+  }
+
+  public void forEach(BiConsumer<? super K, Integer> action) {
+    K[] keyTable = this.keyTable;
+    long[] entryTable = this.entryTable;
+    int stamp = this.stamp;
+    for (int i = 0, n = keyTable.length; i < n; i++) {
+      long entry = entryTable[i];
+      if (stampOf(entry) == stamp) {
+        action.accept(keyTable[i], (int) entry);
+      }
+    }
+  }
+
+  /** Returns capacity of current table. */
+  public int capacity() {
+    return keyTable.length;
+  }
+}
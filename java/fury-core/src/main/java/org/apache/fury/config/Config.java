@@ -36,6 +36,7 @@ public class Config implements Serializable {
   private final String name;
   private final Language language;
   private final boolean trackingRef;
+  private final boolean adaptiveRefTracking;
   private final boolean basicTypesRefIgnored;
   private final boolean stringRefIgnored;
   private final boolean timeRefIgnored;
@@ -49,13 +50,18 @@ public class Config implements Serializable {
   private final boolean compressInt;
   private final boolean compressLong;
   private final LongEncoding longEncoding;
+  private final boolean compressIntArray;
+  private final boolean compressLongArray;
+  private final boolean packPrimitiveCollection;
   private final boolean requireClassRegistration;
   private final boolean suppressClassRegistrationWarnings;
   private final boolean registerGuavaTypes;
   private final boolean metaShareEnabled;
   private final boolean scopedMetaShareEnabled;
+  private final boolean stringDictionaryEnabled;
   private final MetaCompressor metaCompressor;
   private final boolean asyncCompilationEnabled;
+  private final boolean aotCodecEnabled;
   private final boolean deserializeNonexistentClass;
   private final boolean scalaOptimizationEnabled;
   private transient int configHash;
@@ -66,6 +72,7 @@ public class Config implements Serializable {
     name = builder.name;
     language = builder.language;
     trackingRef = builder.trackingRef;
+    adaptiveRefTracking = trackingRef && builder.adaptiveRefTracking;
     basicTypesRefIgnored = !trackingRef || builder.basicTypesRefIgnored;
     stringRefIgnored = !trackingRef || builder.stringRefIgnored;
     timeRefIgnored = !trackingRef || builder.timeRefIgnored;
@@ -74,6 +81,9 @@ public class Config implements Serializable {
     compressInt = builder.compressInt;
     longEncoding = builder.longEncoding;
     compressLong = longEncoding != LongEncoding.LE_RAW_BYTES;
+    compressIntArray = builder.compressIntArray && language == Language.JAVA;
+    compressLongArray = builder.compressLongArray && language == Language.JAVA;
+    packPrimitiveCollection = builder.packPrimitiveCollection && language == Language.JAVA;
     requireClassRegistration = builder.requireClassRegistration;
     suppressClassRegistrationWarnings = builder.suppressClassRegistrationWarnings;
     registerGuavaTypes = builder.registerGuavaTypes;
@@ -84,6 +94,7 @@ public class Config implements Serializable {
     defaultJDKStreamSerializerType = builder.defaultJDKStreamSerializerType;
     metaShareEnabled = builder.metaShareEnabled;
     scopedMetaShareEnabled = builder.scopedMetaShareEnabled;
+    stringDictionaryEnabled = builder.stringDictionaryEnabled && language == Language.JAVA;
     metaCompressor = builder.metaCompressor;
     deserializeNonexistentClass = builder.deserializeNonexistentClass;
     if (deserializeNonexistentClass) {
@@ -92,6 +103,7 @@ public class Config implements Serializable {
       Preconditions.checkArgument(metaShareEnabled || compatibleMode == CompatibleMode.COMPATIBLE);
     }
     asyncCompilationEnabled = builder.asyncCompilationEnabled;
+    aotCodecEnabled = builder.aotCodecEnabled;
     scalaOptimizationEnabled = builder.scalaOptimizationEnabled;
     deserializeNonexistentEnumValueAsNull = builder.deserializeNonexistentEnumValueAsNull;
     serializeEnumByName = builder.serializeEnumByName;
@@ -110,6 +122,16 @@ public class Config implements Serializable {
     return trackingRef;
   }
 
+  /**
+   * Whether to profile the written object graphs and stop tracking reference for the classes whose
+   * objects are never shared.
+   *
+   * @see org.apache.fury.resolver.MapRefResolver
+   */
+  public boolean isAdaptiveRefTrackingEnabled() {
+    return adaptiveRefTracking;
+  }
+
   /**
    * Returns true if copy value by ref, and false copy by value.
    *
@@ -187,6 +209,21 @@ public class Config implements Serializable {
     return longEncoding;
   }
 
+  /** Whether bit pack int arrays. */
+  public boolean compressIntArray() {
+    return compressIntArray;
+  }
+
+  /** Whether bit pack long arrays. */
+  public boolean compressLongArray() {
+    return compressLongArray;
+  }
+
+  /** Whether write boxed primitive collection fields as packed primitive arrays. */
+  public boolean packPrimitiveCollection() {
+    return packPrimitiveCollection;
+  }
+
   public boolean requireClassRegistration() {
     return requireClassRegistration;
   }
@@ -223,6 +260,16 @@ public class Config implements Serializable {
     return scopedMetaShareEnabled;
   }
 
+  /**
+   * Whether strings are written through a {@link org.apache.fury.resolver.StringDictionary} shared
+   * across multiple serialization.
+   *
+   * @see org.apache.fury.resolver.SerializationContext#setStringDictionary
+   */
+  public boolean isStringDictionaryEnabled() {
+    return stringDictionaryEnabled;
+  }
+
   /**
    * Returns a {@link MetaCompressor} to compress class metadata such as field names and types. The
    * returned {@link MetaCompressor} should be thread safe.
@@ -257,6 +304,14 @@ public class Config implements Serializable {
     return asyncCompilationEnabled;
   }
 
+  /**
+   * Whether to use serializer classes generated by {@link
+   * org.apache.fury.builder.AotCodecGenerator} instead of generating them at runtime.
+   */
+  public boolean isAotCodecEnabled() {
+    return aotCodecEnabled;
+  }
+
   /** Whether enable scala-specific serialization optimization. */
   public boolean isScalaOptimizationEnabled() {
     return scalaOptimizationEnabled;
@@ -273,6 +328,7 @@ public class Config implements Serializable {
     Config config = (Config) o;
     return name == config.name
         && trackingRef == config.trackingRef
+        && adaptiveRefTracking == config.adaptiveRefTracking
         && basicTypesRefIgnored == config.basicTypesRefIgnored
         && stringRefIgnored == config.stringRefIgnored
         && timeRefIgnored == config.timeRefIgnored
@@ -283,13 +339,18 @@ public class Config implements Serializable {
         && compressString == config.compressString
         && compressInt == config.compressInt
         && compressLong == config.compressLong
+        && compressIntArray == config.compressIntArray
+        && compressLongArray == config.compressLongArray
+        && packPrimitiveCollection == config.packPrimitiveCollection
         && requireClassRegistration == config.requireClassRegistration
         && suppressClassRegistrationWarnings == config.suppressClassRegistrationWarnings
         && registerGuavaTypes == config.registerGuavaTypes
         && metaShareEnabled == config.metaShareEnabled
         && scopedMetaShareEnabled == config.scopedMetaShareEnabled
+        && stringDictionaryEnabled == config.stringDictionaryEnabled
         && Objects.equals(metaCompressor, config.metaCompressor)
         && asyncCompilationEnabled == config.asyncCompilationEnabled
+        && aotCodecEnabled == config.aotCodecEnabled
         && deserializeNonexistentClass == config.deserializeNonexistentClass
         && scalaOptimizationEnabled == config.scalaOptimizationEnabled
         && language == config.language
@@ -304,6 +365,7 @@ public class Config implements Serializable {
         name,
         language,
         trackingRef,
+        adaptiveRefTracking,
         basicTypesRefIgnored,
         stringRefIgnored,
         timeRefIgnored,
@@ -317,13 +379,18 @@ public class Config implements Serializable {
         compressInt,
         compressLong,
         longEncoding,
+        compressIntArray,
+        compressLongArray,
+        packPrimitiveCollection,
         requireClassRegistration,
         suppressClassRegistrationWarnings,
         registerGuavaTypes,
         metaShareEnabled,
         scopedMetaShareEnabled,
+        stringDictionaryEnabled,
         metaCompressor,
         asyncCompilationEnabled,
+        aotCodecEnabled,
         deserializeNonexistentClass,
         scalaOptimizationEnabled);
   }
@@ -29,9 +29,12 @@ import org.apache.fury.logging.LoggerFactory;
 import org.apache.fury.memory.Platform;
 import org.apache.fury.meta.DeflaterMetaCompressor;
 import org.apache.fury.meta.MetaCompressor;
+import org.apache.fury.pool.StripedPoolFury;
 import org.apache.fury.pool.ThreadPoolFury;
 import org.apache.fury.reflect.ReflectionUtils;
 import org.apache.fury.resolver.ClassResolver;
+import org.apache.fury.resolver.SerializationContext;
+import org.apache.fury.resolver.StringDictionary;
 import org.apache.fury.serializer.JavaSerializer;
 import org.apache.fury.serializer.ObjectStreamSerializer;
 import org.apache.fury.serializer.Serializer;
@@ -61,6 +64,7 @@ public final class FuryBuilder {
   boolean checkClassVersion = false;
   Language language = Language.JAVA;
   boolean trackingRef = false;
+  boolean adaptiveRefTracking = false;
   boolean copyRef = false;
   boolean basicTypesRefIgnored = true;
   boolean stringRefIgnored = true;
@@ -68,6 +72,9 @@ public final class FuryBuilder {
   ClassLoader classLoader;
   boolean compressInt = true;
   public LongEncoding longEncoding = LongEncoding.SLI;
+  boolean compressIntArray = false;
+  boolean compressLongArray = false;
+  boolean packPrimitiveCollection = false;
   boolean compressString = false;
   CompatibleMode compatibleMode = CompatibleMode.SCHEMA_CONSISTENT;
   boolean checkJdkClassSerializable = true;
@@ -75,9 +82,11 @@ public final class FuryBuilder {
   boolean requireClassRegistration = true;
   Boolean metaShareEnabled;
   Boolean scopedMetaShareEnabled;
+  boolean stringDictionaryEnabled = false;
   boolean codeGenEnabled = true;
   Boolean deserializeNonexistentClass;
   boolean asyncCompilationEnabled = false;
+  boolean aotCodecEnabled = false;
   boolean registerGuavaTypes = true;
   boolean scalaOptimizationEnabled = false;
   boolean suppressClassRegistrationWarnings = true;
@@ -102,6 +111,19 @@ public final class FuryBuilder {
     return this;
   }
 
+  /**
+   * Whether to learn which classes are actually shared from the first serializations, and stop
+   * tracking reference for other classes whose objects can't form a cycle. This saves the cost of
+   * identity map probe when reference tracking is enabled, but an object of such classes will be
+   * deserialized into different objects if it's shared later. Disabled by default, and only take
+   * effect if reference tracking is enabled. The serialized data can be deserialized by any fury
+   * with reference tracking enabled.
+   */
+  public FuryBuilder withAdaptiveRefTracking(boolean adaptiveRefTracking) {
+    this.adaptiveRefTracking = adaptiveRefTracking;
+    return this;
+  }
+
   /**
    * Whether track {@link Fury#copy(Object)} shared or circular references.
    *
@@ -178,6 +200,41 @@ public final class FuryBuilder {
     return this;
   }
 
+  /**
+   * Use block-based bit packing for int arrays, which encodes small or monotonic values with fewer
+   * bits. Disabled by default, and only take effect in java mode.
+   *
+   * @see org.apache.fury.memory.BitPacking
+   */
+  public FuryBuilder withIntArrayCompressed(boolean intArrayCompressed) {
+    this.compressIntArray = intArrayCompressed;
+    return this;
+  }
+
+  /**
+   * Use block-based bit packing for long arrays, which encodes small or monotonic values such as
+   * timestamps with fewer bits. Disabled by default, and only take effect in java mode.
+   *
+   * @see org.apache.fury.memory.BitPacking
+   */
+  public FuryBuilder withLongArrayCompressed(boolean longArrayCompressed) {
+    this.compressLongArray = longArrayCompressed;
+    return this;
+  }
+
+  /**
+   * Write fields declared as a collection of boxed int/long/float/double, or a map with boxed
+   * int/long keys and final value type as packed primitive arrays with an optional null bitmap,
+   * instead of writing elements one by one. Disabled by default, and only take effect in java mode
+   * with {@link CompatibleMode#SCHEMA_CONSISTENT} and without meta share.
+   *
+   * @see org.apache.fury.serializer.collection.PrimitiveCollectionSerializers
+   */
+  public FuryBuilder withPrimitiveCollectionPacked(boolean primitiveCollectionPacked) {
+    this.packPrimitiveCollection = primitiveCollectionPacked;
+    return this;
+  }
+
   /** Whether compress string for small size. */
   public FuryBuilder withStringCompressed(boolean stringCompressed) {
     this.compressString = stringCompressed;
@@ -277,6 +334,19 @@ public final class FuryBuilder {
     return this;
   }
 
+  /**
+   * Whether to write strings through a session-scoped {@link StringDictionary}, so that a string
+   * which has been sent by previous serialization will be written as a small index. Disabled by
+   * default, and only take effect in java mode.
+   *
+   * <p>Please set the dictionary for the peer before every serialization/deserialization by {@link
+   * SerializationContext#setStringDictionary}, strings are written inline if no dictionary is set.
+   */
+  public FuryBuilder withStringDictionary(boolean stringDictionaryEnabled) {
+    this.stringDictionaryEnabled = stringDictionaryEnabled;
+    return this;
+  }
+
   /**
    * Set a compressor for meta compression. Note that the passed {@link MetaCompressor} should be
    * thread-safe. By default, a `Deflater` based compressor {@link DeflaterMetaCompressor} will be
@@ -321,6 +391,19 @@ public final class FuryBuilder {
     return this;
   }
 
+  /**
+   * Whether to use serializer classes generated by {@link
+   * org.apache.fury.builder.AotCodecGenerator} at build time and packaged with the application.
+   * Disabled by default, so that jit doesn't look up packaged classes for every generated
+   * serializer.
+   *
+   * @see Config#isAotCodecEnabled()
+   */
+  public FuryBuilder withAotCodec(boolean aotCodec) {
+    this.aotCodecEnabled = aotCodec;
+    return this;
+  }
+
   /** Whether enable scala-specific serialization optimization. */
   public FuryBuilder withScalaOptimizationEnabled(boolean enableScalaOptimization) {
     this.scalaOptimizationEnabled = enableScalaOptimization;
@@ -473,6 +556,29 @@ public final class FuryBuilder {
    */
   public ThreadSafeFury buildThreadSafeFuryPool(
       int minPoolSize, int maxPoolSize, long expireTime, TimeUnit timeUnit) {
+    return buildThreadSafeFuryPool(
+        minPoolSize, maxPoolSize, expireTime, timeUnit, -1, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Build pooled ThreadSafeFury.
+   *
+   * @param minPoolSize min pool size
+   * @param maxPoolSize max pool size
+   * @param expireTime cache expire time, default 5's
+   * @param timeUnit TimeUnit, default SECONDS
+   * @param maxWaitTime max time to wait for an idle fury when pool reaches max size, negative for
+   *     waiting forever, 0 for failing fast
+   * @param maxWaitTimeUnit TimeUnit of max wait time
+   * @return ThreadSafeFuryPool
+   */
+  public ThreadSafeFury buildThreadSafeFuryPool(
+      int minPoolSize,
+      int maxPoolSize,
+      long expireTime,
+      TimeUnit timeUnit,
+      long maxWaitTime,
+      TimeUnit maxWaitTimeUnit) {
     if (minPoolSize < 0 || maxPoolSize < 0 || minPoolSize > maxPoolSize) {
       throw new IllegalArgumentException(
           String.format(
@@ -488,7 +594,39 @@ public final class FuryBuilder {
             minPoolSize,
             maxPoolSize,
             expireTime,
-            timeUnit);
+            timeUnit,
+            maxWaitTime,
+            maxWaitTimeUnit);
+    threadSafeFury.setClassLoader(loader);
+    return threadSafeFury;
+  }
+
+  /**
+   * Build thread safe fury backed by {@link StripedPoolFury}, whose pool size is bounded by
+   * available processors instead of threads. Prefer this when fury is used by many short-lived or
+   * virtual threads.
+   */
+  public ThreadSafeFury buildStripedThreadSafeFury() {
+    return buildStripedThreadSafeFury(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Build thread safe fury backed by {@link StripedPoolFury}.
+   *
+   * @param numStripes number of stripes, rounded up to power of two. At most the same number of
+   *     fury instances are kept for overflow when all stripes are full
+   * @return StripedPoolFury
+   */
+  public ThreadSafeFury buildStripedThreadSafeFury(int numStripes) {
+    if (numStripes <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Striped fury pool's stripes number should be positive: %s", numStripes));
+    }
+    finish();
+    ClassLoader loader = this.classLoader;
+    this.classLoader = null;
+    ThreadSafeFury threadSafeFury =
+        new StripedPoolFury(classLoader -> newFury(this, classLoader), numStripes);
     threadSafeFury.setClassLoader(loader);
     return threadSafeFury;
   }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.fury.exception.DeserializationException;
+import org.apache.fury.memory.MemoryBuffer;
+
+/**
+ * A non-blocking decoder for the length-prefixed frames written by {@link
+ * BlockedStreamUtils#serialize}. Partial chunks read from a non-blocking channel can be passed to
+ * {@link #decode} as they arrive, and the decoder returns a complete frame once all bytes of the
+ * frame are received, so the deserialization won't block on reading data.
+ *
+ * <pre>{@code
+ * MemoryBuffer frame;
+ * while ((frame = decoder.decode(chunk)) != null) {
+ *   Object o = fury.deserialize(frame);
+ * }
+ * }</pre>
+ */
+@NotThreadSafe
+public class BlockedFrameDecoder {
+  private final int maxFrameSize;
+  private final ByteBuffer header = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+  private byte[] frame;
+  private int frameReadBytes;
+
+  public BlockedFrameDecoder() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Create a decoder which rejects frames bigger than {@code maxFrameSize}, so a corrupted or
+   * malicious peer can't make the decoder allocate huge memory.
+   */
+  public BlockedFrameDecoder(int maxFrameSize) {
+    this.maxFrameSize = maxFrameSize;
+  }
+
+  /**
+   * Consume bytes from {@code src} until current frame is complete.
+   *
+   * @return the buffer holding data of current frame, or null if more bytes are needed. The bytes
+   *     of following frames will be left in {@code src}.
+   */
+  public MemoryBuffer decode(ByteBuffer src) {
+    byte[] frame = this.frame;
+    if (frame == null) {
+      ByteBuffer header = this.header;
+      while (header.hasRemaining() && src.hasRemaining()) {
+        header.put(src.get());
+      }
+      if (header.hasRemaining()) {
+        return null;
+      }
+      int size = header.getInt(0);
+      if (size < 0 || size > maxFrameSize) {
+        throw new DeserializationException(
+            String.format("Invalid frame size %s, max frame size is %s", size, maxFrameSize));
+      }
+      frame = this.frame = new byte[size];
+      frameReadBytes = 0;
+    }
+    int length = Math.min(src.remaining(), frame.length - frameReadBytes);
+    src.get(frame, frameReadBytes, length);
+    frameReadBytes += length;
+    if (frameReadBytes < frame.length) {
+      return null;
+    }
+    this.frame = null;
+    header.clear();
+    return MemoryBuffer.fromByteArray(frame);
+  }
+
+  /** Returns true if some bytes of an incomplete frame are buffered by this decoder. */
+  public boolean hasPartialFrame() {
+    return header.position() > 0;
+  }
+}
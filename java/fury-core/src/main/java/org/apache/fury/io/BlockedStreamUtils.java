@@ -24,9 +24,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.CompletionHandler;
 import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import org.apache.fury.BaseFury;
 import org.apache.fury.Fury;
 import org.apache.fury.exception.DeserializationException;
 import org.apache.fury.memory.MemoryBuffer;
@@ -44,6 +48,9 @@ import org.apache.fury.util.Preconditions;
  * <p>Note that this mode will disable streaming in essence. It's just a helper for make the usage
  * in streaming interface more easily. The deserialization will read whole bytes before do the
  * actual deserialization, which don't have any streaming behaviour under the hood.
+ *
+ * <p>Since every object is written as a length-prefixed frame, the frames can also be read without
+ * blocking by {@link #deserializeAsync} or {@link BlockedFrameDecoder}.
  */
 public class BlockedStreamUtils {
   public static void serialize(Fury fury, OutputStream outputStream, Object obj) {
@@ -81,6 +88,83 @@ public class BlockedStreamUtils {
     return readFromChannel(fury, channel, b -> fury.deserialize(b, outOfBandBuffers));
   }
 
+  /**
+   * Read a frame written by {@link #serialize} from {@code channel} asynchronously, the returned
+   * future will be completed with the deserialized object in the completion thread of the channel
+   * once all bytes of the frame are read, so no thread will be blocked by reading data. Use a
+   * {@link org.apache.fury.ThreadSafeFury} if multiple frames may be read concurrently.
+   */
+  public static CompletableFuture<Object> deserializeAsync(
+      BaseFury fury, AsynchronousByteChannel channel) {
+    return deserializeAsync(fury, channel, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Same as {@link #deserializeAsync(BaseFury, AsynchronousByteChannel)}, but the returned future
+   * will be completed exceptionally if the frame is bigger than {@code maxFrameSize}, so a
+   * corrupted or malicious peer can't make it allocate huge memory.
+   */
+  public static CompletableFuture<Object> deserializeAsync(
+      BaseFury fury, AsynchronousByteChannel channel, int maxFrameSize) {
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    ByteBuffer header = ByteBuffer.allocate(4);
+    header.order(ByteOrder.LITTLE_ENDIAN);
+    readFullyAsync(
+        channel,
+        header,
+        future,
+        h -> {
+          int size = h.getInt(0);
+          if (size < 0 || size > maxFrameSize) {
+            throw new DeserializationException(
+                String.format("Invalid frame size %s, max frame size is %s", size, maxFrameSize));
+          }
+          ByteBuffer data = ByteBuffer.allocate(size);
+          readFullyAsync(
+              channel,
+              data,
+              future,
+              d -> future.complete(fury.deserialize(MemoryBuffer.fromByteArray(d.array()))));
+        });
+    return future;
+  }
+
+  private static void readFullyAsync(
+      AsynchronousByteChannel channel,
+      ByteBuffer dst,
+      CompletableFuture<?> future,
+      Consumer<ByteBuffer> action) {
+    CompletionHandler<Integer, Void> handler =
+        new CompletionHandler<Integer, Void>() {
+          @Override
+          public void completed(Integer read, Void attachment) {
+            try {
+              if (read < 0) {
+                throw new DeserializationException(
+                    String.format("Channel closed, but still need %s bytes", dst.remaining()));
+              }
+              if (dst.hasRemaining()) {
+                channel.read(dst, null, this);
+              } else {
+                action.accept(dst);
+              }
+            } catch (Throwable t) {
+              future.completeExceptionally(t);
+            }
+          }
+
+          @Override
+          public void failed(Throwable exc, Void attachment) {
+            future.completeExceptionally(exc);
+          }
+        };
+    try {
+      channel.read(dst, null, handler);
+    } catch (Throwable t) {
+      future.completeExceptionally(t);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public static <T> T deserializeJavaObject(Fury fury, InputStream inputStream, Class<T> type) {
     return (T)
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.util.Preconditions;
+
+/**
+ * A buffered output stream by fury. Serialization into this stream will flush the data to the
+ * original {@link OutputStream} every time the buffer chunk is full, instead of building the whole
+ * serialized data in memory. Do not write to the original {@link OutputStream} before this stream
+ * is flushed, the data will be interleaved with the data buffered by this stream otherwise.
+ *
+ * <p>Note that the writer index of the underlying buffer keeps increasing until this stream is
+ * flushed, so a single serialized object still can't exceed 2GB.
+ */
+@NotThreadSafe
+public class FuryOutputStream extends OutputStream implements FuryStreamWriter {
+  private final OutputStream stream;
+  private final int bufferSize;
+  private final MemoryBuffer buffer;
+  // Buffer index of the first byte in current buffer chunk.
+  private int windowStart;
+
+  public FuryOutputStream(OutputStream stream) {
+    this(stream, 4096);
+  }
+
+  public FuryOutputStream(OutputStream stream, int bufferSize) {
+    Preconditions.checkArgument(bufferSize > 0, "Buffer size must be positive");
+    this.stream = stream;
+    this.bufferSize = bufferSize;
+    this.buffer = MemoryBuffer.fromByteArray(new byte[bufferSize], this);
+  }
+
+  @Override
+  public void flushBuffer(int minWritableBytes) {
+    MemoryBuffer buffer = this.buffer;
+    int writerIndex = buffer.writerIndex();
+    byte[] heapMemory = buffer.getHeapMemory();
+    try {
+      stream.write(heapMemory, 0, writerIndex - windowStart);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    int bufferSize = this.bufferSize;
+    if (minWritableBytes > heapMemory.length) {
+      // Big writes such as primitive arrays need a continuous memory region.
+      heapMemory = new byte[minWritableBytes];
+    } else if (minWritableBytes <= bufferSize && heapMemory.length > bufferSize) {
+      // Release the memory allocated by previous big writes.
+      heapMemory = new byte[bufferSize];
+    }
+    windowStart = writerIndex;
+    buffer.initHeapWindow(heapMemory, writerIndex);
+  }
+
+  @Override
+  public MemoryBuffer getBuffer() {
+    return buffer;
+  }
+
+  public OutputStream getStream() {
+    return stream;
+  }
+
+  @Override
+  public void write(int b) {
+    buffer.writeByte((byte) b);
+  }
+
+  @Override
+  public void write(byte[] b) {
+    buffer.writeBytes(b, 0, b.length);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    buffer.writeBytes(b, off, len);
+  }
+
+  /**
+   * Write all buffered data to the original stream and flush it. The buffer will be reset to start
+   * writing from index 0.
+   */
+  @Override
+  public void flush() throws IOException {
+    MemoryBuffer buffer = this.buffer;
+    byte[] heapMemory = buffer.getHeapMemory();
+    stream.write(heapMemory, 0, buffer.writerIndex() - windowStart);
+    if (heapMemory.length > bufferSize) {
+      heapMemory = new byte[bufferSize];
+    }
+    windowStart = 0;
+    buffer.initHeapBuffer(heapMemory, 0, heapMemory.length);
+    buffer.writerIndex(0);
+    stream.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      stream.close();
+    }
+  }
+}
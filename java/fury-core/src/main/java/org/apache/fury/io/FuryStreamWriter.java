@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.io;
+
+import java.io.OutputStream;
+import org.apache.fury.memory.MemoryBuffer;
+
+/**
+ * A streaming writer to make {@link MemoryBuffer} to support streaming writing. When the buffer
+ * returned by {@link #getBuffer} is full, written data will be flushed to the sink instead of
+ * growing the buffer, so the buffer memory is bounded by the chunk size of the writer.
+ */
+public interface FuryStreamWriter {
+
+  /**
+   * Flush the written data of the underlying {@link MemoryBuffer} to the sink if needed, and make
+   * at least {@code minWritableBytes} bytes writable from current writer index. The writer index of
+   * the buffer won't be changed, so writes into the buffer can continue from the same index.
+   */
+  void flushBuffer(int minWritableBytes);
+
+  /**
+   * Returns the underlying {@link MemoryBuffer}. This method will return same instance of buffer
+   * for same {@link FuryStreamWriter} instance.
+   */
+  MemoryBuffer getBuffer();
+
+  /**
+   * Create a {@link FuryOutputStream} from the provided {@link OutputStream}. Note that data
+   * written to the returned stream are buffered, {@link FuryOutputStream#flush} must be invoked
+   * before writing to the provided {@link OutputStream} directly.
+   */
+  static FuryOutputStream of(OutputStream stream) {
+    return new FuryOutputStream(stream);
+  }
+}
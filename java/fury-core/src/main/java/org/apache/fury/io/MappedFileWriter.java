@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.fury.memory.ByteBufferUtil;
+import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.util.Preconditions;
+
+/**
+ * A writer which writes serialized data into a memory-mapped region of a file directly, so no heap
+ * copy is needed for the data. When the mapped region is full, a bigger region starting from the
+ * same file position will be mapped, so data written previously are still addressable and the
+ * serialized data can be updated after written.
+ *
+ * <p>Note that the size of the mapped region is limited by {@link MemoryBuffer}, a single
+ * serialized object can't exceed 2GB.
+ */
+@NotThreadSafe
+public class MappedFileWriter implements FuryStreamWriter {
+  private final FileChannel channel;
+  private final long start;
+  private final long initialFileSize;
+  private final MemoryBuffer buffer;
+
+  public MappedFileWriter(FileChannel channel) {
+    this(channel, 1024 * 1024);
+  }
+
+  /**
+   * Create a writer which writes data from current position of {@code channel}.
+   *
+   * @param channel a channel opened for both reading and writing.
+   * @param mapSize initial size of the mapped region.
+   */
+  public MappedFileWriter(FileChannel channel, int mapSize) {
+    Preconditions.checkArgument(mapSize > 0, "Map size must be positive");
+    this.channel = channel;
+    try {
+      start = channel.position();
+      initialFileSize = channel.size();
+      MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_WRITE, start, mapSize);
+      buffer = MemoryBuffer.fromDirectByteBuffer(mappedBuffer, this);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public void flushBuffer(int minWritableBytes) {
+    MemoryBuffer buffer = this.buffer;
+    long length = (long) buffer.writerIndex() + minWritableBytes;
+    if (length > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException(
+          String.format("Mapped region size %s exceeds max size %s", length, Integer.MAX_VALUE));
+    }
+    int newSize =
+        length < MemoryBuffer.BUFFER_GROW_STEP_THRESHOLD
+            ? (int) length << 2
+            : (int) Math.min(length * 1.5d, Integer.MAX_VALUE - 8);
+    try {
+      // Data are already in the mapped file, remap a bigger region won't copy data.
+      MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_WRITE, start, newSize);
+      buffer.initDirectBuffer(ByteBufferUtil.getAddress(mappedBuffer), newSize, mappedBuffer);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public MemoryBuffer getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * Move the position of the channel to the end of written data, and truncate the space which is
+   * allocated for the mapped region but not written.
+   *
+   * @return the number of bytes written.
+   */
+  public int finish() {
+    int written = buffer.writerIndex();
+    long end = start + written;
+    try {
+      channel.truncate(Math.max(end, initialFileSize));
+      channel.position(end);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return written;
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.memory;
+
+/**
+ * Util class for block-based bit packing of int/long arrays. Values are split into blocks of {@link
+ * #BLOCK_SIZE} elements, every block is encoded by zigzag of values or zigzag of deltas between
+ * adjacent values, whichever needs fewer bits, and all values of the block are packed with the same
+ * bit width. Small or monotonic values can be packed into much fewer bytes than fixed-width
+ * encoding, and encoding/decoding works on 64-bit words without per-value branches of varint.
+ *
+ * <p>Data format: <code>| varuint32 length | block header | packed words | ... |</code>, the header
+ * byte of a block stores bit width in the low 7 bits and whether delta encoded in the high bit.
+ * Packed bits of a block take <code>ceil(numValues * width / 8)</code> bytes in little-endian
+ * order.
+ */
+public class BitPacking {
+  public static final int BLOCK_SIZE = 64;
+  private static final int DELTA_FLAG = 0x80;
+  private static final int WIDTH_MASK = 0x7F;
+
+  public static void writeInt32s(MemoryBuffer buffer, int[] values) {
+    int length = values.length;
+    buffer.writeVarUint32Small7(length);
+    int prev = 0;
+    for (int start = 0; start < length; start += BLOCK_SIZE) {
+      int end = Math.min(start + BLOCK_SIZE, length);
+      int rawBits = 0;
+      int deltaBits = 0;
+      int last = prev;
+      for (int i = start; i < end; i++) {
+        int v = values[i];
+        rawBits |= (v << 1) ^ (v >> 31);
+        int d = v - last;
+        deltaBits |= (d << 1) ^ (d >> 31);
+        last = v;
+      }
+      int rawWidth = 32 - Integer.numberOfLeadingZeros(rawBits);
+      int deltaWidth = 32 - Integer.numberOfLeadingZeros(deltaBits);
+      boolean delta = deltaWidth < rawWidth;
+      int width = delta ? deltaWidth : rawWidth;
+      buffer.writeByte((byte) (delta ? width | DELTA_FLAG : width));
+      long acc = 0;
+      int bits = 0;
+      for (int i = start; i < end; i++) {
+        int v = values[i];
+        int d = delta ? v - prev : v;
+        prev = v;
+        long x = ((d << 1) ^ (d >> 31)) & 0xFFFFFFFFL;
+        acc |= x << bits;
+        bits += width;
+        if (bits >= 64) {
+          buffer.writeInt64(acc);
+          bits -= 64;
+          acc = bits == 0 ? 0 : x >>> (width - bits);
+        }
+      }
+      writeRemainingBits(buffer, acc, bits);
+    }
+  }
+
+  public static int[] readInt32s(MemoryBuffer buffer) {
+    int length = buffer.readVarUint32Small7();
+    int[] values = new int[length];
+    int prev = 0;
+    for (int start = 0; start < length; start += BLOCK_SIZE) {
+      int end = Math.min(start + BLOCK_SIZE, length);
+      int header = buffer.readByte() & 0xFF;
+      int width = header & WIDTH_MASK;
+      boolean delta = (header & DELTA_FLAG) != 0;
+      int remainingBytes = ((end - start) * width + 7) >>> 3;
+      long mask = (1L << width) - 1;
+      long acc = 0;
+      int bits = 0;
+      for (int i = start; i < end; i++) {
+        long x;
+        if (bits >= width) {
+          x = acc & mask;
+          acc >>>= width;
+          bits -= width;
+        } else {
+          long next;
+          int nextBits;
+          if (remainingBytes >= 8) {
+            next = buffer.readInt64();
+            nextBits = 64;
+          } else {
+            next = readRemainingBits(buffer, remainingBytes);
+            nextBits = remainingBytes << 3;
+          }
+          remainingBytes -= nextBits >>> 3;
+          x = (acc | next << bits) & mask;
+          int used = width - bits;
+          acc = next >>> used;
+          bits = nextBits - used;
+        }
+        int v = ((int) x >>> 1) ^ -((int) x & 1);
+        if (delta) {
+          v += prev;
+        }
+        values[i] = v;
+        prev = v;
+      }
+    }
+    return values;
+  }
+
+  public static void writeInt64s(MemoryBuffer buffer, long[] values) {
+    int length = values.length;
+    buffer.writeVarUint32Small7(length);
+    long prev = 0;
+    for (int start = 0; start < length; start += BLOCK_SIZE) {
+      int end = Math.min(start + BLOCK_SIZE, length);
+      long rawBits = 0;
+      long deltaBits = 0;
+      long last = prev;
+      for (int i = start; i < end; i++) {
+        long v = values[i];
+        rawBits |= (v << 1) ^ (v >> 63);
+        long d = v - last;
+        deltaBits |= (d << 1) ^ (d >> 63);
+        last = v;
+      }
+      int rawWidth = 64 - Long.numberOfLeadingZeros(rawBits);
+      int deltaWidth = 64 - Long.numberOfLeadingZeros(deltaBits);
+      boolean delta = deltaWidth < rawWidth;
+      int width = delta ? deltaWidth : rawWidth;
+      buffer.writeByte((byte) (delta ? width | DELTA_FLAG : width));
+      long acc = 0;
+      int bits = 0;
+      for (int i = start; i < end; i++) {
+        long v = values[i];
+        long d = delta ? v - prev : v;
+        prev = v;
+        long x = (d << 1) ^ (d >> 63);
+        acc |= x << bits;
+        bits += width;
+        if (bits >= 64) {
+          buffer.writeInt64(acc);
+          bits -= 64;
+          acc = bits == 0 ? 0 : x >>> (width - bits);
+        }
+      }
+      writeRemainingBits(buffer, acc, bits);
+    }
+  }
+
+  public static long[] readInt64s(MemoryBuffer buffer) {
+    int length = buffer.readVarUint32Small7();
+    long[] values = new long[length];
+    long prev = 0;
+    for (int start = 0; start < length; start += BLOCK_SIZE) {
+      int end = Math.min(start + BLOCK_SIZE, length);
+      int header = buffer.readByte() & 0xFF;
+      int width = header & WIDTH_MASK;
+      boolean delta = (header & DELTA_FLAG) != 0;
+      int remainingBytes = ((end - start) * width + 7) >>> 3;
+      long mask = width == 64 ? -1L : (1L << width) - 1;
+      long acc = 0;
+      int bits = 0;
+      for (int i = start; i < end; i++) {
+        long x;
+        if (bits >= width) {
+          x = acc & mask;
+          acc >>>= width;
+          bits -= width;
+        } else {
+          long next;
+          int nextBits;
+          if (remainingBytes >= 8) {
+            next = buffer.readInt64();
+            nextBits = 64;
+          } else {
+            next = readRemainingBits(buffer, remainingBytes);
+            nextBits = remainingBytes << 3;
+          }
+          remainingBytes -= nextBits >>> 3;
+          x = (acc | next << bits) & mask;
+          int used = width - bits;
+          // `>>> 64` is a no-op in java.
+          acc = used == 64 ? 0 : next >>> used;
+          bits = nextBits - used;
+        }
+        long v = (x >>> 1) ^ -(x & 1);
+        if (delta) {
+          v += prev;
+        }
+        values[i] = v;
+        prev = v;
+      }
+    }
+    return values;
+  }
+
+  private static void writeRemainingBits(MemoryBuffer buffer, long acc, int bits) {
+    for (; bits > 0; bits -= 8) {
+      buffer.writeByte((byte) acc);
+      acc >>>= 8;
+    }
+  }
+
+  private static long readRemainingBits(MemoryBuffer buffer, int numBytes) {
+    long value = 0;
+    for (int i = 0; i < numBytes; i++) {
+      value |= (buffer.readByte() & 0xFFL) << (i << 3);
+    }
+    return value;
+  }
+}
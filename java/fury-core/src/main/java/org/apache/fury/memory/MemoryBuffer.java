@@ -23,9 +23,11 @@ import static org.apache.fury.util.Preconditions.checkArgument;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import org.apache.fury.annotation.CodegenInvoke;
 import org.apache.fury.io.AbstractStreamReader;
 import org.apache.fury.io.FuryStreamReader;
+import org.apache.fury.io.FuryStreamWriter;
 import sun.misc.Unsafe;
 
 /**
@@ -63,6 +65,8 @@ public final class MemoryBuffer {
   public static final int BUFFER_GROW_STEP_THRESHOLD = 100 * 1024 * 1024;
   private static final Unsafe UNSAFE = Platform.UNSAFE;
   private static final boolean LITTLE_ENDIAN = (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
+  private static final AtomicIntegerFieldUpdater<MemoryBuffer> REF_COUNT_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(MemoryBuffer.class, "refCount");
 
   // If the data in on the heap, `heapMemory` will be non-null, and its' the object relative to
   // which we access the memory.
@@ -88,6 +92,11 @@ public final class MemoryBuffer {
   private int readerIndex;
   private int writerIndex;
   private final FuryStreamReader streamReader;
+  // If not null, written data will be flushed by this writer instead of growing buffer.
+  private FuryStreamWriter streamWriter;
+  // If not null, memory of this buffer is allocated from this pool and reference counted.
+  private MemoryBufferPool pool;
+  private volatile int refCount;
 
   /**
    * Creates a new memory buffer that represents the memory of the byte array.
@@ -194,6 +203,21 @@ public final class MemoryBuffer {
     }
   }
 
+  /**
+   * Point this buffer to a byte array which holds the data of buffer index range {@code
+   * [windowStart, windowStart + buffer.length)}. Data before {@code windowStart} are not
+   * addressable anymore, which is used by {@link FuryStreamWriter} to drop flushed data without
+   * changing buffer indexes.
+   */
+  public void initHeapWindow(byte[] buffer, int windowStart) {
+    checkArgument(windowStart >= 0 && windowStart <= Integer.MAX_VALUE - buffer.length);
+    this.heapMemory = buffer;
+    this.heapOffset = -windowStart;
+    this.address = Platform.BYTE_ARRAY_OFFSET - windowStart;
+    this.size = windowStart + buffer.length;
+    this.addressLimit = address + size;
+  }
+
   public void initHeapBuffer(byte[] buffer, int offset, int length) {
     if (buffer == null) {
       throw new NullPointerException("buffer");
@@ -1227,6 +1251,16 @@ public final class MemoryBuffer {
   }
 
   private void growBuffer(int length) {
+    FuryStreamWriter writer = streamWriter;
+    if (writer != null) {
+      writer.flushBuffer(length - writerIndex);
+      return;
+    }
+    MemoryBufferPool pool = this.pool;
+    if (pool != null) {
+      pool.grow(this, length);
+      return;
+    }
     int newSize =
         length < BUFFER_GROW_STEP_THRESHOLD
             ? length << 2
@@ -2540,6 +2574,70 @@ public final class MemoryBuffer {
     return streamReader;
   }
 
+  /**
+   * Returns true if this buffer is filled by a stream, whose content will be overwritten when more
+   * data is read from the stream.
+   */
+  public boolean isStreamBacked() {
+    return !(streamReader instanceof BoundChecker);
+  }
+
+  public FuryStreamWriter getStreamWriter() {
+    return streamWriter;
+  }
+
+  void initPool(MemoryBufferPool pool) {
+    this.pool = pool;
+    REF_COUNT_UPDATER.set(this, 1);
+  }
+
+  /** Returns the pool which this buffer is allocated from, or null if not pooled. */
+  public MemoryBufferPool getPool() {
+    return pool;
+  }
+
+  /** Returns reference count of this buffer if it's allocated from a pool, or 0 otherwise. */
+  public int refCount() {
+    return refCount;
+  }
+
+  /** Increase reference count of this pooled buffer by 1. */
+  public MemoryBuffer retain() {
+    if (pool != null) {
+      int count;
+      do {
+        count = refCount;
+        if (count <= 0) {
+          throw new IllegalStateException("Buffer has been released: " + this);
+        }
+      } while (!REF_COUNT_UPDATER.compareAndSet(this, count, count + 1));
+    }
+    return this;
+  }
+
+  /**
+   * Decrease reference count of this pooled buffer by 1, and return memory of this buffer to the
+   * pool if the count reaches 0. This buffer must not be used after its memory is returned.
+   *
+   * @return true if memory of this buffer is returned to the pool.
+   */
+  public boolean release() {
+    MemoryBufferPool pool = this.pool;
+    if (pool == null) {
+      return false;
+    }
+    int count = REF_COUNT_UPDATER.decrementAndGet(this);
+    if (count > 0) {
+      return false;
+    }
+    if (count < 0) {
+      REF_COUNT_UPDATER.incrementAndGet(this);
+      throw new IllegalStateException("Buffer has been released: " + this);
+    }
+    pool.release(this);
+    return true;
+  }
+
   /**
    * Equals two memory buffer regions.
    *
@@ -2594,6 +2692,16 @@ public final class MemoryBuffer {
     return new MemoryBuffer(buffer, offset, length, streamReader);
   }
 
+  /**
+   * Creates a new memory buffer that targets to the given heap memory. Written data will be flushed
+   * by {@code streamWriter} when the buffer is full instead of growing the buffer.
+   */
+  public static MemoryBuffer fromByteArray(byte[] buffer, FuryStreamWriter streamWriter) {
+    MemoryBuffer memoryBuffer = new MemoryBuffer(buffer, 0, buffer.length);
+    memoryBuffer.streamWriter = streamWriter;
+    return memoryBuffer;
+  }
+
   /** Creates a new memory buffer that targets to the given heap memory region. */
   public static MemoryBuffer fromByteArray(byte[] buffer) {
     return new MemoryBuffer(buffer, 0, buffer.length);
@@ -2622,6 +2730,19 @@ public final class MemoryBuffer {
     return new MemoryBuffer(offHeapAddress, size, buffer, streamReader);
   }
 
+  /**
+   * Creates a new memory buffer that represents the remaining region of given direct buffer. When
+   * the buffer is full, {@code streamWriter} will be used to make more space instead of growing the
+   * buffer into a heap buffer.
+   */
+  public static MemoryBuffer fromDirectByteBuffer(
+      ByteBuffer buffer, FuryStreamWriter streamWriter) {
+    long offHeapAddress = ByteBufferUtil.getAddress(buffer) + buffer.position();
+    MemoryBuffer memoryBuffer = new MemoryBuffer(offHeapAddress, buffer.remaining(), buffer);
+    memoryBuffer.streamWriter = streamWriter;
+    return memoryBuffer;
+  }
+
   /**
    * Creates a new memory buffer that represents the provided native memory. The buffer will change
    * into a heap buffer automatically if not enough.
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.memory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.fury.util.Preconditions;
+
+/**
+ * A pool of {@link MemoryBuffer} memory organized by power-of-two size classes. Buffers acquired
+ * from this pool are reference counted, the memory will be returned to this pool when {@link
+ * MemoryBuffer#release} decreases the count to zero. Returned memory will be cached in a
+ * thread-local cache of the releasing thread first, and a shared arena when the thread-local cache
+ * is full, so buffers can be released by a different thread from the acquiring thread.
+ *
+ * <p>A buffer must not be used after it's released, its memory may be reused by another buffer
+ * already.
+ */
+@ThreadSafe
+public final class MemoryBufferPool {
+  static final int MIN_CHUNK_SHIFT = 9;
+  static final int MAX_CHUNK_SHIFT = 22;
+
+  /** Chunks bigger than this size won't be pooled. */
+  public static final int MAX_CHUNK_SIZE = 1 << MAX_CHUNK_SHIFT;
+
+  private static final int NUM_SIZE_CLASSES = MAX_CHUNK_SHIFT - MIN_CHUNK_SHIFT + 1;
+  private static final byte[] EMPTY = new byte[0];
+
+  private final boolean offHeap;
+  private final int threadCacheSize;
+  private final int arenaSize;
+  private final ThreadLocal<ThreadCache> threadCache;
+  private final ConcurrentLinkedQueue<Object>[] arena;
+  private final AtomicIntegerArray arenaCounts;
+
+  /** Create a pool which caches at most 8 chunks per thread and 64 chunks in shared arena. */
+  public MemoryBufferPool(boolean offHeap) {
+    this(offHeap, 8, 64);
+  }
+
+  /**
+   * Create a memory buffer pool.
+   *
+   * @param offHeap whether allocate direct memory for buffers.
+   * @param threadCacheSize max number of chunks cached by every thread for each size class.
+   * @param arenaSize max number of chunks cached in shared arena for each size class.
+   */
+  @SuppressWarnings("unchecked")
+  public MemoryBufferPool(boolean offHeap, int threadCacheSize, int arenaSize) {
+    Preconditions.checkArgument(threadCacheSize >= 0 && arenaSize >= 0);
+    this.offHeap = offHeap;
+    this.threadCacheSize = threadCacheSize;
+    this.arenaSize = arenaSize;
+    threadCache = ThreadLocal.withInitial(() -> new ThreadCache(threadCacheSize));
+    arena = new ConcurrentLinkedQueue[NUM_SIZE_CLASSES];
+    for (int i = 0; i < NUM_SIZE_CLASSES; i++) {
+      arena[i] = new ConcurrentLinkedQueue<>();
+    }
+    arenaCounts = new AtomicIntegerArray(NUM_SIZE_CLASSES);
+  }
+
+  /**
+   * Acquire a buffer whose size is at least {@code minSize} with reference count 1. The buffer will
+   * grow by memory from this pool if not enough.
+   */
+  public MemoryBuffer acquire(int minSize) {
+    Object chunk = allocateChunk(minSize);
+    MemoryBuffer buffer;
+    if (offHeap) {
+      buffer = MemoryBuffer.fromByteBuffer((ByteBuffer) chunk);
+    } else {
+      buffer = MemoryBuffer.fromByteArray((byte[]) chunk);
+    }
+    buffer.initPool(this);
+    return buffer;
+  }
+
+  public boolean isOffHeap() {
+    return offHeap;
+  }
+
+  /** Replace memory of {@code buffer} by a bigger chunk which can hold {@code length} bytes. */
+  void grow(MemoryBuffer buffer, int length) {
+    Object oldChunk = chunkOf(buffer);
+    int size = buffer.size();
+    if (length > MAX_CHUNK_SIZE) {
+      // Unpooled chunks must grow geometrically like `MemoryBuffer#growBuffer`, otherwise every
+      // write past the end will copy the whole buffer.
+      length = (int) Math.min(length + (long) (size >> 1), Integer.MAX_VALUE - 8);
+    }
+    Object chunk = allocateChunk(length);
+    if (offHeap) {
+      ByteBuffer byteBuffer = (ByteBuffer) chunk;
+      long address = ByteBufferUtil.getAddress(byteBuffer);
+      buffer.copyToUnsafe(0, null, address, size);
+      buffer.initDirectBuffer(address, byteBuffer.capacity(), byteBuffer);
+    } else {
+      byte[] bytes = (byte[]) chunk;
+      buffer.copyToUnsafe(0, bytes, Platform.BYTE_ARRAY_OFFSET, size);
+      buffer.initHeapBuffer(bytes, 0, bytes.length);
+    }
+    releaseChunk(oldChunk);
+  }
+
+  /** Return memory of {@code buffer} to this pool, the buffer will point to an empty array. */
+  void release(MemoryBuffer buffer) {
+    Object chunk = chunkOf(buffer);
+    buffer.initHeapBuffer(EMPTY, 0, 0);
+    buffer.readerIndex(0);
+    buffer.writerIndex(0);
+    releaseChunk(chunk);
+  }
+
+  private Object chunkOf(MemoryBuffer buffer) {
+    return offHeap ? buffer.getOffHeapBuffer() : buffer.getHeapMemory();
+  }
+
+  private Object allocateChunk(int minSize) {
+    int sizeClass = sizeClass(minSize);
+    if (sizeClass < 0) {
+      return newChunk(minSize);
+    }
+    Object chunk = threadCache.get().poll(sizeClass);
+    if (chunk == null) {
+      chunk = arena[sizeClass].poll();
+      if (chunk != null) {
+        arenaCounts.decrementAndGet(sizeClass);
+      } else {
+        chunk = newChunk(1 << (sizeClass + MIN_CHUNK_SHIFT));
+      }
+    }
+    return chunk;
+  }
+
+  private Object newChunk(int size) {
+    return offHeap ? ByteBuffer.allocateDirect(size) : new byte[size];
+  }
+
+  private void releaseChunk(Object chunk) {
+    int capacity = offHeap ? ((ByteBuffer) chunk).capacity() : ((byte[]) chunk).length;
+    int sizeClass = sizeClass(capacity);
+    // Chunks which are not allocated from size classes are dropped.
+    if (sizeClass < 0 || capacity != 1 << (sizeClass + MIN_CHUNK_SHIFT)) {
+      return;
+    }
+    if (!threadCache.get().offer(sizeClass, chunk)) {
+      if (arenaCounts.incrementAndGet(sizeClass) <= arenaSize) {
+        arena[sizeClass].offer(chunk);
+      } else {
+        arenaCounts.decrementAndGet(sizeClass);
+      }
+    }
+  }
+
+  /** Returns index of the smallest size class which can hold {@code size} bytes, or -1. */
+  static int sizeClass(int size) {
+    if (size > MAX_CHUNK_SIZE) {
+      return -1;
+    }
+    if (size <= 1 << MIN_CHUNK_SHIFT) {
+      return 0;
+    }
+    return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_CHUNK_SHIFT;
+  }
+
+  @Override
+  public String toString() {
+    return "MemoryBufferPool{"
+        + "offHeap="
+        + offHeap
+        + ", threadCacheSize="
+        + threadCacheSize
+        + ", arenaSize="
+        + arenaSize
+        + '}';
+  }
+
+  private static final class ThreadCache {
+    private final Object[][] chunks;
+    private final int[] counts;
+
+    private ThreadCache(int cacheSize) {
+      chunks = new Object[NUM_SIZE_CLASSES][cacheSize];
+      counts = new int[NUM_SIZE_CLASSES];
+    }
+
+    private Object poll(int sizeClass) {
+      int count = counts[sizeClass];
+      if (count == 0) {
+        return null;
+      }
+      Object[] stack = chunks[sizeClass];
+      Object chunk = stack[--count];
+      stack[count] = null;
+      counts[sizeClass] = count;
+      return chunk;
+    }
+
+    private boolean offer(int sizeClass, Object chunk) {
+      int count = counts[sizeClass];
+      Object[] stack = chunks[sizeClass];
+      if (count == stack.length) {
+        return false;
+      }
+      stack[count] = chunk;
+      counts[sizeClass] = count + 1;
+      return true;
+    }
+  }
+}
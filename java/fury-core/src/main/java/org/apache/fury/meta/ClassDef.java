@@ -112,7 +112,7 @@ public class ClassDef implements Serializable {
   // be same too.
   private final long id;
   private final byte[] encoded;
-  private transient List<Descriptor> descriptors;
+  private transient volatile List<Descriptor> descriptors;
 
   ClassDef(
       ClassSpec classSpec,
@@ -221,6 +221,7 @@ public class ClassDef implements Serializable {
    * @param cls class load in current process.
    */
   public List<Descriptor> getDescriptors(ClassResolver resolver, Class<?> cls) {
+    List<Descriptor> descriptors = this.descriptors;
     if (descriptors == null) {
       SortedMap<Field, Descriptor> allDescriptorsMap = resolver.getAllDescriptorsMap(cls, true);
       Map<String, Descriptor> descriptorsMap = new HashMap<>();
@@ -254,6 +255,8 @@ public class ClassDef implements Serializable {
           descriptors.add(newDesc);
         }
       }
+      // class def may be shared by multiple fury instances, publish the list after it is built.
+      this.descriptors = descriptors;
     }
     return descriptors;
   }
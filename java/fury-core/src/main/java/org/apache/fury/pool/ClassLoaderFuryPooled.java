@@ -19,24 +19,29 @@
 
 package org.apache.fury.pool;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.fury.Fury;
-import org.apache.fury.logging.Logger;
-import org.apache.fury.logging.LoggerFactory;
+import org.apache.fury.exception.PoolExhaustedException;
 
-/** A thread-safe object pool of {@link Fury}. */
+/**
+ * A thread-safe object pool of {@link Fury}. Borrow and return are lock-free: idle furies are kept
+ * in a lock-free queue, new furies are created by reserving pool size with CAS, and borrowers of a
+ * saturated pool are parked in a lock-free waiter queue until a fury is returned or the max wait
+ * time elapsed.
+ */
 public class ClassLoaderFuryPooled {
-
-  private static final Logger LOG = LoggerFactory.getLogger(ClassLoaderFuryPooled.class);
+  /** Max wait time which makes borrowers of a saturated pool wait until a fury is returned. */
+  public static final long WAIT_FOREVER = -1;
 
   private final Function<ClassLoader, Fury> furyFactory;
   private Consumer<Fury> factoryCallback = f -> {};
@@ -49,80 +54,184 @@ public class ClassLoaderFuryPooled {
    */
   private final Queue<Fury> idleCacheQueue;
 
-  final WeakHashMap<Fury, Object> allFury = new WeakHashMap<>();
+  final Map<Fury, Object> allFury = Collections.synchronizedMap(new WeakHashMap<>());
 
   /** active cache size's number change by : 1. getLoaderBind() 2. returnObject(LoaderBinding). */
   private final AtomicInteger activeCacheNumber = new AtomicInteger(0);
 
+  /** Number of created furies, reserved before creation to keep it within `maxPoolSize`. */
+  private final AtomicInteger poolSize = new AtomicInteger(0);
+
   /**
    * Dynamic capacity expansion and contraction The user sets the maximum number of object pools.
    * Math.max(maxPoolSize, CPU * 2)
    */
   private final int maxPoolSize;
 
-  private final Lock lock = new ReentrantLock();
-  private final Condition furyCondition = lock.newCondition();
+  /**
+   * Max nanoseconds to wait for an idle fury when pool is saturated, {@link #WAIT_FOREVER} for no
+   * limit, 0 for failing fast.
+   */
+  private final long maxWaitNanos;
+
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+  private final PoolMetrics metrics;
+
+  /** A parked borrower, set to true once it's notified or has given up. */
+  private static final class Waiter extends AtomicBoolean {
+    private final Thread thread;
+
+    private Waiter(Thread thread) {
+      this.thread = thread;
+    }
+  }
 
   public ClassLoaderFuryPooled(
       ClassLoader classLoader,
       Function<ClassLoader, Fury> furyFactory,
       int minPoolSize,
       int maxPoolSize) {
+    this(classLoader, furyFactory, minPoolSize, maxPoolSize, WAIT_FOREVER, new PoolMetrics());
+  }
+
+  public ClassLoaderFuryPooled(
+      ClassLoader classLoader,
+      Function<ClassLoader, Fury> furyFactory,
+      int minPoolSize,
+      int maxPoolSize,
+      long maxWaitNanos,
+      PoolMetrics metrics) {
     Objects.requireNonNull(furyFactory);
     this.maxPoolSize = maxPoolSize;
     this.furyFactory = furyFactory;
     this.classLoader = classLoader;
+    this.maxWaitNanos = maxWaitNanos;
+    this.metrics = Objects.requireNonNull(metrics);
     idleCacheQueue = new ConcurrentLinkedQueue<>();
-    while (idleCacheQueue.size() < minPoolSize) {
-      addFury();
+    while (poolSize.get() < minPoolSize) {
+      poolSize.incrementAndGet();
+      idleCacheQueue.add(newFury());
     }
   }
 
   public Fury getFury() {
-    try {
-      lock.lock();
+    long start = System.nanoTime();
+    Fury fury = idleCacheQueue.poll();
+    if (fury == null) {
+      fury = createOrWait(start);
+    }
+    activeCacheNumber.incrementAndGet();
+    metrics.recordBorrow(System.nanoTime() - start);
+    return fury;
+  }
+
+  private Fury createOrWait(long start) {
+    int size;
+    while ((size = poolSize.get()) < maxPoolSize) {
+      if (poolSize.compareAndSet(size, size + 1)) {
+        try {
+          return newFury();
+        } catch (Throwable t) {
+          poolSize.decrementAndGet();
+          throw t;
+        }
+      }
+    }
+    if (maxWaitNanos == 0) {
+      metrics.recordTimeout();
+      throw new PoolExhaustedException(
+          String.format("Fury pool of max size %s is exhausted", maxPoolSize));
+    }
+    metrics.recordWait();
+    Thread thread = Thread.currentThread();
+    while (true) {
+      Waiter waiter = new Waiter(thread);
+      waiters.add(waiter);
+      // Poll after enqueued, so a fury returned before we park won't be missed.
       Fury fury = idleCacheQueue.poll();
-      while (fury == null) {
-        if (activeCacheNumber.get() < maxPoolSize) {
-          addFury();
+      if (fury == null) {
+        if (maxWaitNanos < 0) {
+          LockSupport.park(this);
         } else {
-          furyCondition.await();
+          long remaining = start + maxWaitNanos - System.nanoTime();
+          if (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+          }
         }
         fury = idleCacheQueue.poll();
       }
-      activeCacheNumber.incrementAndGet();
-      return fury;
-    } catch (Exception e) {
-      LOG.error(e.getMessage(), e);
-      throw new RuntimeException(e);
-    } finally {
-      lock.unlock();
+      if (waiter.compareAndSet(false, true)) {
+        waiters.remove(waiter);
+      } else if (!idleCacheQueue.isEmpty()) {
+        // Notified but another fury is idle, pass notification on.
+        signalWaiter();
+      }
+      if (fury != null) {
+        return fury;
+      }
+      if (Thread.interrupted()) {
+        thread.interrupt();
+        throw new RuntimeException(new InterruptedException("Interrupted when waiting for fury"));
+      }
+      if (maxWaitNanos > 0 && System.nanoTime() - start >= maxWaitNanos) {
+        metrics.recordTimeout();
+        throw new PoolExhaustedException(
+            String.format(
+                "No idle fury in %s ms from pool of max size %s",
+                maxWaitNanos / 1_000_000, maxPoolSize));
+      }
     }
   }
 
   public void returnFury(Fury fury) {
     Objects.requireNonNull(fury);
-    try {
-      lock.lock();
-      idleCacheQueue.add(fury);
-      activeCacheNumber.decrementAndGet();
-      furyCondition.signalAll();
-    } catch (Exception e) {
-      LOG.error(e.getMessage(), e);
-      throw new RuntimeException(e);
-    } finally {
-      lock.unlock();
+    idleCacheQueue.add(fury);
+    activeCacheNumber.decrementAndGet();
+    signalWaiter();
+  }
+
+  private void signalWaiter() {
+    Waiter waiter;
+    while ((waiter = waiters.poll()) != null) {
+      if (waiter.compareAndSet(false, true)) {
+        LockSupport.unpark(waiter.thread);
+        return;
+      }
     }
   }
 
-  private void addFury() {
+  private Fury newFury() {
     Fury fury = furyFactory.apply(classLoader);
     factoryCallback.accept(fury);
-    idleCacheQueue.add(fury);
     allFury.put(fury, null);
+    metrics.recordCreation();
+    return fury;
+  }
+
+  /** Returns number of furies created by this pool. */
+  public int getPoolSize() {
+    return poolSize.get();
+  }
+
+  /** Returns number of borrowed furies. */
+  public int getActiveCount() {
+    return activeCacheNumber.get();
+  }
+
+  /** Returns number of idle furies, this is a linear-time operation. */
+  public int getIdleCount() {
+    return idleCacheQueue.size();
+  }
+
+  public PoolMetrics getMetrics() {
+    return metrics;
   }
 
   void setFactoryCallback(Consumer<Fury> factoryCallback) {
     this.factoryCallback = factoryCallback;
+    // Furies of `minPoolSize` are created before the callback is set.
+    synchronized (allFury) {
+      allFury.keySet().forEach(factoryCallback);
+    }
   }
 }
@@ -78,6 +78,12 @@ public class FuryPooledObjectFactory {
   /** factoryCallback will be set in every new classLoaderFuryPooled so that can deal every fury. */
   private final Consumer<Fury> factoryCallback;
 
+  /** Max nanoseconds to wait for an idle fury, see {@link ClassLoaderFuryPooled#WAIT_FOREVER}. */
+  private final long maxWaitNanos;
+
+  /** Metrics shared by pools of all classloaders. */
+  private final PoolMetrics metrics = new PoolMetrics();
+
   public FuryPooledObjectFactory(
       Function<ClassLoader, Fury> furyFactory,
       int minPoolSize,
@@ -85,8 +91,27 @@ public class FuryPooledObjectFactory {
       long expireTime,
       TimeUnit timeUnit,
       Consumer<Fury> factoryCallback) {
+    this(
+        furyFactory,
+        minPoolSize,
+        maxPoolSize,
+        expireTime,
+        timeUnit,
+        ClassLoaderFuryPooled.WAIT_FOREVER,
+        factoryCallback);
+  }
+
+  public FuryPooledObjectFactory(
+      Function<ClassLoader, Fury> furyFactory,
+      int minPoolSize,
+      int maxPoolSize,
+      long expireTime,
+      TimeUnit timeUnit,
+      long maxWaitNanos,
+      Consumer<Fury> factoryCallback) {
     this.minPoolSize = minPoolSize;
     this.maxPoolSize = maxPoolSize;
+    this.maxWaitNanos = maxWaitNanos;
     this.furyFactory = furyFactory;
     this.factoryCallback = factoryCallback;
     classLoaderFuryPooledCache =
@@ -130,13 +155,18 @@ public class FuryPooledObjectFactory {
     classLoaderLocal.remove();
   }
 
+  public PoolMetrics getMetrics() {
+    return metrics;
+  }
+
   /** Get cache or put new added pooledFury. */
   private synchronized ClassLoaderFuryPooled getOrAddCache(ClassLoader classLoader) {
     ClassLoaderFuryPooled classLoaderFuryPooled =
         classLoaderFuryPooledCache.getIfPresent(classLoader);
     if (classLoaderFuryPooled == null) {
       classLoaderFuryPooled =
-          new ClassLoaderFuryPooled(classLoader, furyFactory, minPoolSize, maxPoolSize);
+          new ClassLoaderFuryPooled(
+              classLoader, furyFactory, minPoolSize, maxPoolSize, maxWaitNanos, metrics);
       classLoaderFuryPooled.setFactoryCallback(factoryCallback);
       classLoaderFuryPooledCache.put(classLoader, classLoaderFuryPooled);
     }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.pool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a fury pool, which can be used to tune pool size. All counters are cumulative since
+ * the pool is created; sample them periodically to compute rates.
+ */
+public class PoolMetrics {
+  private final LongAdder borrowCount = new LongAdder();
+  private final LongAdder borrowNanos = new LongAdder();
+  private final AtomicLong maxBorrowNanos = new AtomicLong();
+  private final LongAdder waitCount = new LongAdder();
+  private final LongAdder timeoutCount = new LongAdder();
+  private final LongAdder creationCount = new LongAdder();
+
+  void recordBorrow(long nanos) {
+    borrowCount.increment();
+    borrowNanos.add(nanos);
+    long max;
+    while (nanos > (max = maxBorrowNanos.get())) {
+      if (maxBorrowNanos.compareAndSet(max, nanos)) {
+        break;
+      }
+    }
+  }
+
+  void recordWait() {
+    waitCount.increment();
+  }
+
+  void recordTimeout() {
+    timeoutCount.increment();
+  }
+
+  void recordCreation() {
+    creationCount.increment();
+  }
+
+  /** Returns number of successful borrows. */
+  public long getBorrowCount() {
+    return borrowCount.sum();
+  }
+
+  /** Returns total time spent in successful borrows, including waiting for an idle fury. */
+  public long getTotalBorrowNanos() {
+    return borrowNanos.sum();
+  }
+
+  /** Returns average borrow latency in nanoseconds. */
+  public long getAvgBorrowNanos() {
+    long count = borrowCount.sum();
+    return count == 0 ? 0 : borrowNanos.sum() / count;
+  }
+
+  /** Returns max borrow latency in nanoseconds. */
+  public long getMaxBorrowNanos() {
+    return maxBorrowNanos.get();
+  }
+
+  /** Returns number of borrows which had to wait because the pool reached max size. */
+  public long getWaitCount() {
+    return waitCount.sum();
+  }
+
+  /** Returns number of borrows which failed because no fury got idle in max wait time. */
+  public long getTimeoutCount() {
+    return timeoutCount.sum();
+  }
+
+  /** Returns number of created fury instances. */
+  public long getCreationCount() {
+    return creationCount.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "PoolMetrics{"
+        + "borrowCount="
+        + getBorrowCount()
+        + ", avgBorrowNanos="
+        + getAvgBorrowNanos()
+        + ", maxBorrowNanos="
+        + getMaxBorrowNanos()
+        + ", waitCount="
+        + getWaitCount()
+        + ", timeoutCount="
+        + getTimeoutCount()
+        + ", creationCount="
+        + getCreationCount()
+        + '}';
+  }
+}
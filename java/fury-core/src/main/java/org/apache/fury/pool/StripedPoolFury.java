@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.pool;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.fury.AbstractThreadSafeFury;
+import org.apache.fury.Fury;
+import org.apache.fury.annotation.Internal;
+import org.apache.fury.collection.FuryObjectMap;
+import org.apache.fury.io.FuryInputStream;
+import org.apache.fury.io.FuryReadableChannel;
+import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.memory.MemoryBufferPool;
+import org.apache.fury.memory.MemoryUtils;
+import org.apache.fury.serializer.BufferCallback;
+import org.apache.fury.util.LoaderBinding;
+import org.apache.fury.util.Preconditions;
+
+/**
+ * A thread safe fury which is friendly to virtual threads. Fury instances are pooled in a fixed
+ * number of stripes sized to available processors rather than threads, and borrowed/returned by CAS
+ * on the stripes, so borrowing never blocks or pins the carrier thread:
+ *
+ * <ul>
+ *   <li>If the stripes are full when a fury is returned, it's kept in a shared overflow queue
+ *       bounded by the number of stripes, so bursts of concurrent borrows reuse it instead of
+ *       creating new fury. A new fury is only created if all stripes and the overflow queue are
+ *       empty, and it will be discarded when returned if both are full.
+ *   <li>Register callbacks are recorded and applied to a fury when it's borrowed, so a fury is
+ *       never modified when it's used by other threads.
+ * </ul>
+ *
+ * <p>Different from {@link ThreadPoolFury}, {@link #setClassLoader} switches class loader for all
+ * threads.
+ */
+@ThreadSafe
+public class StripedPoolFury extends AbstractThreadSafeFury {
+  private final Function<ClassLoader, Fury> furyFactory;
+  private final int numStripes;
+  private final List<Consumer<Fury>> callbacks = new CopyOnWriteArrayList<>();
+  private volatile Stripes stripes;
+
+  public StripedPoolFury(Function<ClassLoader, Fury> furyFactory) {
+    this(furyFactory, Runtime.getRuntime().availableProcessors());
+  }
+
+  public StripedPoolFury(Function<ClassLoader, Fury> furyFactory, int numStripes) {
+    Preconditions.checkArgument(
+        numStripes > 0, "Stripes number should be positive: %s", numStripes);
+    this.furyFactory = furyFactory;
+    this.numStripes = FuryObjectMap.nextPowerOfTwo(numStripes);
+    callbacks.add(f -> f.setThreadSafeFury(this));
+    stripes = new Stripes(null);
+  }
+
+  private static final class PooledFury {
+    private final Fury fury;
+    // Number of `callbacks` which have been applied to `fury`.
+    private int numCallbacks;
+
+    private PooledFury(Fury fury) {
+      this.fury = fury;
+    }
+  }
+
+  private final class Stripes {
+    private final ClassLoader classLoader;
+    private final AtomicReferenceArray<PooledFury> slots;
+    // Lock-free and bounded by `overflowSize`, used only when stripes are empty or full.
+    private final ConcurrentLinkedQueue<PooledFury> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+
+    private Stripes(ClassLoader classLoader) {
+      if (classLoader == null) {
+        classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+          classLoader = Fury.class.getClassLoader();
+        }
+      }
+      this.classLoader = classLoader;
+      slots = new AtomicReferenceArray<>(numStripes);
+    }
+
+    private PooledFury borrow() {
+      AtomicReferenceArray<PooledFury> slots = this.slots;
+      int mask = slots.length() - 1;
+      int start = probe();
+      for (int i = 0; i <= mask; i++) {
+        int index = (start + i) & mask;
+        PooledFury pooledFury = slots.get(index);
+        if (pooledFury != null && slots.compareAndSet(index, pooledFury, null)) {
+          return pooledFury;
+        }
+      }
+      PooledFury pooledFury = overflow.poll();
+      if (pooledFury != null) {
+        overflowSize.decrementAndGet();
+        return pooledFury;
+      }
+      return new PooledFury(furyFactory.apply(classLoader));
+    }
+
+    private void giveBack(PooledFury pooledFury) {
+      AtomicReferenceArray<PooledFury> slots = this.slots;
+      int mask = slots.length() - 1;
+      int start = probe();
+      for (int i = 0; i <= mask; i++) {
+        int index = (start + i) & mask;
+        if (slots.get(index) == null && slots.compareAndSet(index, null, pooledFury)) {
+          return;
+        }
+      }
+      if (overflowSize.incrementAndGet() <= slots.length()) {
+        overflow.offer(pooledFury);
+      } else {
+        // stripes and overflow queue are full, discard this fury.
+        overflowSize.decrementAndGet();
+      }
+    }
+  }
+
+  private static int probe() {
+    // spread thread ids, virtual threads ids are sequential too.
+    long id = Thread.currentThread().getId();
+    return (int) (id ^ (id >>> 16)) * 0x9E3779B9;
+  }
+
+  @Internal
+  @Override
+  public void registerCallback(Consumer<Fury> callback) {
+    callbacks.add(callback);
+  }
+
+  @Override
+  public <R> R execute(Function<Fury, R> action) {
+    Stripes stripes = this.stripes;
+    PooledFury pooledFury = stripes.borrow();
+    try {
+      List<Consumer<Fury>> callbacks = this.callbacks;
+      while (pooledFury.numCallbacks < callbacks.size()) {
+        callbacks.get(pooledFury.numCallbacks++).accept(pooledFury.fury);
+      }
+      return action.apply(pooledFury.fury);
+    } finally {
+      // fury of previous class loader will be discarded.
+      if (stripes == this.stripes) {
+        stripes.giveBack(pooledFury);
+      }
+    }
+  }
+
+  @Override
+  public byte[] serialize(Object obj) {
+    return execute(fury -> fury.serialize(obj));
+  }
+
+  @Override
+  public byte[] serialize(Object obj, BufferCallback callback) {
+    return execute(fury -> fury.serialize(obj, callback));
+  }
+
+  @Override
+  public MemoryBuffer serialize(Object obj, long address, int size) {
+    return execute(fury -> fury.serialize(obj, address, size));
+  }
+
+  @Override
+  public MemoryBuffer serialize(MemoryBuffer buffer, Object obj) {
+    return execute(fury -> fury.serialize(buffer, obj));
+  }
+
+  @Override
+  public MemoryBuffer serialize(MemoryBuffer buffer, Object obj, BufferCallback callback) {
+    return execute(fury -> fury.serialize(buffer, obj, callback));
+  }
+
+  @Override
+  public MemoryBuffer serialize(Object obj, MemoryBufferPool pool) {
+    return execute(fury -> fury.serialize(obj, pool));
+  }
+
+  @Override
+  public void serialize(OutputStream outputStream, Object obj) {
+    execute(
+        fury -> {
+          fury.serialize(outputStream, obj);
+          return null;
+        });
+  }
+
+  @Override
+  public void serialize(OutputStream outputStream, Object obj, BufferCallback callback) {
+    execute(
+        fury -> {
+          fury.serialize(outputStream, obj, callback);
+          return null;
+        });
+  }
+
+  @Override
+  public void serialize(FileChannel channel, Object obj) {
+    execute(
+        fury -> {
+          fury.serialize(channel, obj);
+          return null;
+        });
+  }
+
+  @Override
+  public void serialize(Path path, Object obj) {
+    execute(
+        fury -> {
+          fury.serialize(path, obj);
+          return null;
+        });
+  }
+
+  @Override
+  public MemoryBuffer serializeBatch(List<?> objects, MemoryBuffer buffer) {
+    return execute(fury -> fury.serializeBatch(objects, buffer));
+  }
+
+  @Override
+  public List<Object> deserializeBatch(MemoryBuffer buffer) {
+    return execute(fury -> fury.deserializeBatch(buffer));
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) {
+    return execute(fury -> fury.deserialize(bytes));
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes, Iterable<MemoryBuffer> outOfBandBuffers) {
+    return execute(fury -> fury.deserialize(bytes, outOfBandBuffers));
+  }
+
+  @Override
+  public Object deserialize(long address, int size) {
+    return execute(fury -> fury.deserialize(address, size));
+  }
+
+  @Override
+  public Object deserialize(MemoryBuffer buffer) {
+    return execute(fury -> fury.deserialize(buffer));
+  }
+
+  @Override
+  public Object deserialize(ByteBuffer byteBuffer) {
+    return execute(fury -> fury.deserialize(MemoryUtils.wrap(byteBuffer)));
+  }
+
+  @Override
+  public Object deserialize(MemoryBuffer buffer, Iterable<MemoryBuffer> outOfBandBuffers) {
+    return execute(fury -> fury.deserialize(buffer, outOfBandBuffers));
+  }
+
+  @Override
+  public Object deserialize(FuryInputStream inputStream) {
+    return execute(fury -> fury.deserialize(inputStream));
+  }
+
+  @Override
+  public Object deserialize(FuryInputStream inputStream, Iterable<MemoryBuffer> outOfBandBuffers) {
+    return execute(fury -> fury.deserialize(inputStream, outOfBandBuffers));
+  }
+
+  @Override
+  public Object deserialize(FuryReadableChannel channel) {
+    return execute(fury -> fury.deserialize(channel));
+  }
+
+  @Override
+  public Object deserialize(FuryReadableChannel channel, Iterable<MemoryBuffer> outOfBandBuffers) {
+    return execute(fury -> fury.deserialize(channel, outOfBandBuffers));
+  }
+
+  @Override
+  public Object deserialize(FileChannel channel) {
+    return execute(fury -> fury.deserialize(channel));
+  }
+
+  @Override
+  public Object deserialize(Path path) {
+    return execute(fury -> fury.deserialize(path));
+  }
+
+  @Override
+  public byte[] serializeJavaObject(Object obj) {
+    return execute(fury -> fury.serializeJavaObject(obj));
+  }
+
+  @Override
+  public void serializeJavaObject(MemoryBuffer buffer, Object obj) {
+    execute(
+        fury -> {
+          fury.serializeJavaObject(buffer, obj);
+          return null;
+        });
+  }
+
+  @Override
+  public void serializeJavaObject(OutputStream outputStream, Object obj) {
+    execute(
+        fury -> {
+          fury.serializeJavaObject(outputStream, obj);
+          return null;
+        });
+  }
+
+  @Override
+  public <T> T deserializeJavaObject(byte[] data, Class<T> cls) {
+    return execute(fury -> fury.deserializeJavaObject(data, cls));
+  }
+
+  @Override
+  public <T> T deserializeJavaObject(MemoryBuffer buffer, Class<T> cls) {
+    return execute(fury -> fury.deserializeJavaObject(buffer, cls));
+  }
+
+  @Override
+  public <T> T deserializeJavaObject(FuryInputStream inputStream, Class<T> cls) {
+    return execute(fury -> fury.deserializeJavaObject(inputStream, cls));
+  }
+
+  @Override
+  public <T> T deserializeJavaObject(FuryReadableChannel channel, Class<T> cls) {
+    return execute(fury -> fury.deserializeJavaObject(channel, cls));
+  }
+
+  @Override
+  public byte[] serializeJavaObjectAndClass(Object obj) {
+    return execute(fury -> fury.serializeJavaObjectAndClass(obj));
+  }
+
+  @Override
+  public void serializeJavaObjectAndClass(MemoryBuffer buffer, Object obj) {
+    execute(
+        fury -> {
+          fury.serializeJavaObjectAndClass(buffer, obj);
+          return null;
+        });
+  }
+
+  @Override
+  public void serializeJavaObjectAndClass(OutputStream outputStream, Object obj) {
+    execute(
+        fury -> {
+          fury.serializeJavaObjectAndClass(outputStream, obj);
+          return null;
+        });
+  }
+
+  @Override
+  public Object deserializeJavaObjectAndClass(byte[] data) {
+    return execute(fury -> fury.deserializeJavaObjectAndClass(data));
+  }
+
+  @Override
+  public Object deserializeJavaObjectAndClass(MemoryBuffer buffer) {
+    return execute(fury -> fury.deserializeJavaObjectAndClass(buffer));
+  }
+
+  @Override
+  public Object deserializeJavaObjectAndClass(FuryInputStream inputStream) {
+    return execute(fury -> fury.deserializeJavaObjectAndClass(inputStream));
+  }
+
+  @Override
+  public Object deserializeJavaObjectAndClass(FuryReadableChannel channel) {
+    return execute(fury -> fury.deserializeJavaObjectAndClass(channel));
+  }
+
+  @Override
+  public <T> T copy(T obj) {
+    return execute(fury -> fury.copy(obj));
+  }
+
+  @Override
+  public void setClassLoader(ClassLoader classLoader) {
+    setClassLoader(classLoader, LoaderBinding.StagingType.SOFT_STAGING);
+  }
+
+  @Override
+  public void setClassLoader(ClassLoader classLoader, LoaderBinding.StagingType stagingType) {
+    if (classLoader != stripes.classLoader) {
+      stripes = new Stripes(classLoader);
+    }
+  }
+
+  @Override
+  public ClassLoader getClassLoader() {
+    return stripes.classLoader;
+  }
+
+  @Override
+  public void clearClassLoader(ClassLoader loader) {
+    if (loader == stripes.classLoader) {
+      stripes = new Stripes(null);
+    }
+  }
+}
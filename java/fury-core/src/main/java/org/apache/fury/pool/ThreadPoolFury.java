@@ -21,6 +21,9 @@ package org.apache.fury.pool;
 
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -33,6 +36,7 @@ import org.apache.fury.io.FuryReadableChannel;
 import org.apache.fury.logging.Logger;
 import org.apache.fury.logging.LoggerFactory;
 import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.memory.MemoryBufferPool;
 import org.apache.fury.memory.MemoryUtils;
 import org.apache.fury.resolver.ClassChecker;
 import org.apache.fury.serializer.BufferCallback;
@@ -44,7 +48,7 @@ public class ThreadPoolFury extends AbstractThreadSafeFury {
   private static final Logger LOG = LoggerFactory.getLogger(ThreadPoolFury.class);
 
   private final FuryPooledObjectFactory furyPooledObjectFactory;
-  private Consumer<Fury> factoryCallback = f -> {};
+  private Consumer<Fury> factoryCallback = f -> f.setThreadSafeFury(this);
 
   public ThreadPoolFury(
       Function<ClassLoader, Fury> furyFactory,
@@ -52,6 +56,31 @@ public class ThreadPoolFury extends AbstractThreadSafeFury {
       int maxPoolSize,
       long expireTime,
       TimeUnit timeUnit) {
+    this(
+        furyFactory,
+        minPoolSize,
+        maxPoolSize,
+        expireTime,
+        timeUnit,
+        ClassLoaderFuryPooled.WAIT_FOREVER,
+        TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Create a fury pool.
+   *
+   * @param maxWaitTime max time to wait for an idle fury when the pool reaches max size, negative
+   *     for waiting forever, 0 for failing fast. A {@link
+   *     org.apache.fury.exception.PoolExhaustedException} will be thrown when timeout.
+   */
+  public ThreadPoolFury(
+      Function<ClassLoader, Fury> furyFactory,
+      int minPoolSize,
+      int maxPoolSize,
+      long expireTime,
+      TimeUnit timeUnit,
+      long maxWaitTime,
+      TimeUnit maxWaitTimeUnit) {
     this.furyPooledObjectFactory =
         new FuryPooledObjectFactory(
             furyFactory,
@@ -59,6 +88,9 @@ public class ThreadPoolFury extends AbstractThreadSafeFury {
             maxPoolSize,
             expireTime,
             timeUnit,
+            maxWaitTime < 0
+                ? ClassLoaderFuryPooled.WAIT_FOREVER
+                : maxWaitTimeUnit.toNanos(maxWaitTime),
             fury -> factoryCallback.accept(fury));
   }
 
@@ -68,25 +100,49 @@ public class ThreadPoolFury extends AbstractThreadSafeFury {
     factoryCallback = factoryCallback.andThen(callback);
     for (ClassLoaderFuryPooled furyPooled :
         furyPooledObjectFactory.classLoaderFuryPooledCache.asMap().values()) {
-      furyPooled.allFury.keySet().forEach(callback);
+      synchronized (furyPooled.allFury) {
+        furyPooled.allFury.keySet().forEach(callback);
+      }
+    }
+  }
+
+  /** Returns borrow metrics of pools for all classloaders. */
+  public PoolMetrics getMetrics() {
+    return furyPooledObjectFactory.getMetrics();
+  }
+
+  /** Returns number of created furies in pools for all classloaders. */
+  public int getPoolSize() {
+    int size = 0;
+    for (ClassLoaderFuryPooled furyPooled :
+        furyPooledObjectFactory.classLoaderFuryPooledCache.asMap().values()) {
+      size += furyPooled.getPoolSize();
     }
+    return size;
+  }
+
+  /** Returns number of borrowed furies in pools for all classloaders. */
+  public int getActiveCount() {
+    int size = 0;
+    for (ClassLoaderFuryPooled furyPooled :
+        furyPooledObjectFactory.classLoaderFuryPooledCache.asMap().values()) {
+      size += furyPooled.getActiveCount();
+    }
+    return size;
   }
 
   @Override
   public <R> R execute(Function<Fury, R> action) {
-    ClassLoaderFuryPooled pooledCache = null;
-    Fury fury = null;
+    ClassLoaderFuryPooled pooledCache = furyPooledObjectFactory.getPooledCache();
+    // Borrow failures such as `PoolExhaustedException` are thrown as is.
+    Fury fury = pooledCache.getFury();
     try {
-      pooledCache = furyPooledObjectFactory.getPooledCache();
-      fury = pooledCache.getFury();
       return action.apply(fury);
     } catch (Exception e) {
       LOG.error(e.getMessage(), e);
       throw new RuntimeException(e);
     } finally {
-      if (pooledCache != null) {
-        pooledCache.returnFury(fury);
-      }
+      pooledCache.returnFury(fury);
     }
   }
 
@@ -115,6 +171,11 @@ public class ThreadPoolFury extends AbstractThreadSafeFury {
     return execute(fury -> fury.serialize(buffer, obj, callback));
   }
 
+  @Override
+  public MemoryBuffer serialize(Object obj, MemoryBufferPool pool) {
+    return execute(fury -> fury.serialize(obj, pool));
+  }
+
   @Override
   public void serialize(OutputStream outputStream, Object obj) {
     execute(
@@ -133,6 +194,34 @@ public class ThreadPoolFury extends AbstractThreadSafeFury {
         });
   }
 
+  @Override
+  public void serialize(FileChannel channel, Object obj) {
+    execute(
+        fury -> {
+          fury.serialize(channel, obj);
+          return null;
+        });
+  }
+
+  @Override
+  public void serialize(Path path, Object obj) {
+    execute(
+        fury -> {
+          fury.serialize(path, obj);
+          return null;
+        });
+  }
+
+  @Override
+  public MemoryBuffer serializeBatch(List<?> objects, MemoryBuffer buffer) {
+    return execute(fury -> fury.serializeBatch(objects, buffer));
+  }
+
+  @Override
+  public List<Object> deserializeBatch(MemoryBuffer buffer) {
+    return execute(fury -> fury.deserializeBatch(buffer));
+  }
+
   @Override
   public Object deserialize(byte[] bytes) {
     return execute(fury -> fury.deserialize(bytes));
@@ -183,6 +272,16 @@ public class ThreadPoolFury extends AbstractThreadSafeFury {
     return execute(fury -> fury.deserialize(channel, outOfBandBuffers));
   }
 
+  @Override
+  public Object deserialize(FileChannel channel) {
+    return execute(fury -> fury.deserialize(channel));
+  }
+
+  @Override
+  public Object deserialize(Path path) {
+    return execute(fury -> fury.deserialize(path));
+  }
+
   @Override
   public byte[] serializeJavaObject(Object obj) {
     return execute(fury -> fury.serializeJavaObject(obj));
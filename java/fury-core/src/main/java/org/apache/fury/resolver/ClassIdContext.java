@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.resolver;
+
+import org.apache.fury.collection.IdentityObjectIntMap;
+import org.apache.fury.collection.ObjectArray;
+
+/**
+ * Context for assigning compact ids to unregistered classes across multiple serialization on a
+ * connection. The first time a class is written, a new session id is assigned and sent with the
+ * class name; later occurrences in this or following messages are written as the id only. So peers
+ * keep a stable class id mapping without keeping {@code Fury#register(Class, short)} ids in sync
+ * manually.
+ *
+ * <p>This only applies to classes without a registered id when meta share is disabled, since meta
+ * share mode already shares class ids by {@link MetaContext}.
+ *
+ * <p>Writer and reader must use a dedicated context for every peer, and messages must be
+ * deserialized in the same order as they are serialized. If a message is lost or a
+ * serialization/deserialization fails, both sides should {@link #clear} their context or create a
+ * new one.
+ *
+ * @see SerializationContext#setClassIdContext(ClassIdContext)
+ */
+public class ClassIdContext {
+  /** Classes which have been announced to peer, and their session ids. */
+  final IdentityObjectIntMap<Class<?>> writtenClassIds = new IdentityObjectIntMap<>(8, 0.4f);
+
+  /** Classes announced by peer, indexed by session id. */
+  final ObjectArray<ClassInfo> readClassInfos = new ObjectArray<>();
+
+  /** Returns number of classes announced to peer. */
+  public int getWrittenClassCount() {
+    return writtenClassIds.size;
+  }
+
+  /** Returns number of classes announced by peer. */
+  public int getReadClassCount() {
+    return readClassInfos.size;
+  }
+
+  /** Clear all class ids, so that this context can be used for a new connection. */
+  public void clear() {
+    writtenClassIds.clear();
+    readClassInfos.clear();
+  }
+}
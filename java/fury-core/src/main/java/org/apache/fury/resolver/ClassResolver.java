@@ -94,6 +94,7 @@ import org.apache.fury.collection.ObjectMap;
 import org.apache.fury.collection.Tuple2;
 import org.apache.fury.config.CompatibleMode;
 import org.apache.fury.config.Language;
+import org.apache.fury.exception.DeserializationException;
 import org.apache.fury.exception.InsecureException;
 import org.apache.fury.logging.Logger;
 import org.apache.fury.logging.LoggerFactory;
@@ -139,6 +140,7 @@ import org.apache.fury.serializer.collection.GuavaCollectionSerializers;
 import org.apache.fury.serializer.collection.ImmutableCollectionSerializers;
 import org.apache.fury.serializer.collection.MapSerializer;
 import org.apache.fury.serializer.collection.MapSerializers;
+import org.apache.fury.serializer.collection.PrimitiveCollectionSerializers;
 import org.apache.fury.serializer.collection.SubListSerializers;
 import org.apache.fury.serializer.collection.SynchronizedSerializers;
 import org.apache.fury.serializer.collection.UnmodifiableSerializers;
@@ -166,6 +168,9 @@ public class ClassResolver {
   public static final byte USE_CLASS_VALUE_FLAG = 0b1;
   // preserve 0 as flag for class id not set in ClassInfo`
   public static final short NO_CLASS_ID = (short) 0;
+  // Header of a class written by `ClassIdContext`, which is a meta string header
+  // with dynamic id 0.
+  static final int SESSION_CLASS_HEADER = 0b11;
   public static final short LAMBDA_STUB_ID = 1;
   public static final short JDK_PROXY_STUB_ID = 2;
   public static final short REPLACE_STUB_ID = 3;
@@ -251,9 +256,9 @@ public class ClassResolver {
     private final Map<Class<?>, FieldResolver> fieldResolverMap = new HashMap<>();
     private final LongMap<Tuple2<ClassDef, ClassInfo>> classIdToDef = new LongMap<>();
     private final Map<Class<?>, ClassDef> currentLayerClassDef = new HashMap<>();
-    // TODO(chaokunyang) Better to  use soft reference, see ObjectStreamClass.
-    private final ConcurrentHashMap<Tuple2<Class<?>, Boolean>, SortedMap<Field, Descriptor>>
-        descriptorsCache = new ConcurrentHashMap<>();
+    // Hash of registered classes and ids, class defs are shared only by fury instances with
+    // same registrations.
+    private long registrationHash;
     private ClassChecker classChecker = (classResolver, className) -> true;
     private GenericType objectGenericType;
     private Map<List<ClassLoader>, CodeGenerator> codeGeneratorMap = new HashMap<>();
@@ -325,6 +330,7 @@ public class ClassResolver {
     OptionalSerializers.registerDefaultSerializers(fury);
     CollectionSerializers.registerDefaultSerializers(fury);
     MapSerializers.registerDefaultSerializers(fury);
+    PrimitiveCollectionSerializers.registerDefaultSerializers(fury);
     addDefaultSerializer(Locale.class, new LocaleSerializer(fury));
     addDefaultSerializer(
         LambdaSerializer.ReplaceStub.class,
@@ -467,6 +473,8 @@ public class ClassResolver {
               registeredId2ClassInfo[id].getCls(), id, cls.getName()));
     }
     extRegistry.registeredClassIdMap.put(cls, id);
+    extRegistry.registrationHash =
+        extRegistry.registrationHash * 1000003 + ((long) id << 32 ^ cls.getName().hashCode());
     if (registeredId2ClassInfo.length <= id) {
       ClassInfo[] tmp = new ClassInfo[(id + 1) * 2];
       System.arraycopy(registeredId2ClassInfo, 0, tmp, 0, registeredId2ClassInfo.length);
@@ -502,6 +510,12 @@ public class ClassResolver {
     register(loadClass(className, false, 0, false), classId, createSerializer);
   }
 
+  /** Returns a hash of registered classes and their ids, in registration order. */
+  @Internal
+  public long getRegistrationHash() {
+    return extRegistry.registrationHash;
+  }
+
   public boolean isRegistered(Class<?> cls) {
     return extRegistry.registeredClassIdMap.get(cls) != null;
   }
@@ -1075,9 +1089,7 @@ public class ClassResolver {
 
   // thread safe
   public SortedMap<Field, Descriptor> getAllDescriptorsMap(Class<?> clz, boolean searchParent) {
-    // when jit thread query this, it is already built by serialization main thread.
-    return extRegistry.descriptorsCache.computeIfAbsent(
-        Tuple2.of(clz, searchParent), t -> Descriptor.getAllDescriptorsMap(clz, searchParent));
+    return fury.getSharedRegistry().getAllDescriptorsMap(clz, searchParent);
   }
 
   /**
@@ -1319,6 +1331,11 @@ public class ClassResolver {
       writeClassWithMetaShare(buffer, classInfo);
     } else {
       if (classInfo.classId == NO_CLASS_ID) { // no class id provided.
+        ClassIdContext classIdContext = fury.getSerializationContext().getClassIdContext();
+        if (classIdContext != null) {
+          writeClassWithSessionId(buffer, classInfo, classIdContext);
+          return;
+        }
         // use classname
         // if it's null, it's a bug.
         assert classInfo.packageNameBytes != null;
@@ -1332,6 +1349,58 @@ public class ClassResolver {
     }
   }
 
+  /**
+   * Write class by an id assigned in {@link ClassIdContext}. The header {@link
+   * #SESSION_CLASS_HEADER} is never written by {@link MetaStringResolver} for a class name, since
+   * dynamic meta string ids start from 1.
+   */
+  private void writeClassWithSessionId(
+      MemoryBuffer buffer, ClassInfo classInfo, ClassIdContext classIdContext) {
+    buffer.writeVarUint32Small7(SESSION_CLASS_HEADER);
+    IdentityObjectIntMap<Class<?>> writtenClassIds = classIdContext.writtenClassIds;
+    int newId = writtenClassIds.size;
+    int id = writtenClassIds.putOrGet(classInfo.cls, newId);
+    if (id >= 0) {
+      buffer.writeVarUint32(id << 1);
+    } else {
+      buffer.writeVarUint32(newId << 1 | 0b1);
+      metaStringResolver.writeMetaStringBytes(buffer, classInfo.packageNameBytes);
+      metaStringResolver.writeMetaStringBytes(buffer, classInfo.classNameBytes);
+    }
+  }
+
+  private ClassInfo readClassWithSessionId(MemoryBuffer buffer) {
+    ClassIdContext classIdContext = fury.getSerializationContext().getClassIdContext();
+    if (classIdContext == null) {
+      throw new DeserializationException(
+          "Class is written by session id, please set class id context by "
+              + "SerializationContext.setClassIdContext");
+    }
+    int header = buffer.readVarUint32Small7();
+    int id = header >>> 1;
+    ObjectArray<ClassInfo> readClassInfos = classIdContext.readClassInfos;
+    if ((header & 0b1) == 0) {
+      if (id >= readClassInfos.size) {
+        throw new DeserializationException(
+            String.format(
+                "Class session id %s isn't announced by peer, only %s classes are known",
+                id, readClassInfos.size));
+      }
+      return readClassInfos.get(id);
+    }
+    if (id != readClassInfos.size) {
+      throw new DeserializationException(
+          String.format(
+              "Expect class session id %s from peer, but got %s", readClassInfos.size, id));
+    }
+    MetaStringBytes packageBytes = metaStringResolver.readMetaStringBytes(buffer);
+    MetaStringBytes simpleClassNameBytes = metaStringResolver.readMetaStringBytes(buffer);
+    // Serializer is not created here, since the class may be written by `writeClassInternal`.
+    ClassInfo classInfo = loadBytesToClassInfo(packageBytes, simpleClassNameBytes);
+    readClassInfos.add(classInfo);
+    return classInfo;
+  }
+
   public void writeClassWithMetaShare(MemoryBuffer buffer, ClassInfo classInfo) {
     if (classInfo.classId != NO_CLASS_ID && !classInfo.needToWriteClassDef) {
       buffer.writeVarUint32(classInfo.classId << 1);
@@ -1359,8 +1428,7 @@ public class ClassResolver {
     Serializer<?> serializer = classInfo.serializer;
     Preconditions.checkArgument(serializer.getClass() != NonexistentClassSerializer.class);
     if (needToWriteClassDef(serializer)) {
-      classDef =
-          classDefMap.computeIfAbsent(classInfo.cls, cls -> ClassDef.buildClassDef(fury, cls));
+      classDef = classDefMap.computeIfAbsent(classInfo.cls, this::buildSharedClassDef);
     } else {
       // Some type will use other serializers such MapSerializer and so on.
       classDef =
@@ -1552,9 +1620,14 @@ public class ClassResolver {
     return tuple2;
   }
 
+  private ClassDef buildSharedClassDef(Class<?> cls) {
+    return fury.getSharedRegistry()
+        .getClassDef(cls, extRegistry.registrationHash, () -> ClassDef.buildClassDef(fury, cls));
+  }
+
   public ClassDef getClassDef(Class<?> cls, boolean resolveParent) {
     if (resolveParent) {
-      return classDefMap.computeIfAbsent(cls, k -> ClassDef.buildClassDef(fury, cls));
+      return classDefMap.computeIfAbsent(cls, this::buildSharedClassDef);
     }
     ClassDef classDef = extRegistry.currentLayerClassDef.get(cls);
     if (classDef == null) {
@@ -1616,8 +1689,11 @@ public class ClassResolver {
       // ReplaceResolveSerializer.ReplaceStub
       classInfo.classId = NO_CLASS_ID;
     }
+    ClassIdContext classIdContext;
     if (classInfo.classId != NO_CLASS_ID) {
       buffer.writeVarUint32(classInfo.classId << 1);
+    } else if ((classIdContext = fury.getSerializationContext().getClassIdContext()) != null) {
+      writeClassWithSessionId(buffer, classInfo, classIdContext);
     } else {
       // let the lowermost bit of next byte be set, so the deserialization can know
       // whether need to read class by name in advance
@@ -1635,7 +1711,9 @@ public class ClassResolver {
   public Class<?> readClassInternal(MemoryBuffer buffer) {
     int header = buffer.readVarUint32Small14();
     final ClassInfo classInfo;
-    if ((header & 0b1) != 0) {
+    if (header == SESSION_CLASS_HEADER) {
+      classInfo = readClassWithSessionId(buffer);
+    } else if ((header & 0b1) != 0) {
       // let the lowermost bit of next byte be set, so the deserialization can know
       // whether need to read class by name in advance
       MetaStringBytes packageBytes = metaStringResolver.readMetaStringBytesWithFlag(buffer, header);
@@ -1720,6 +1798,10 @@ public class ClassResolver {
 
   private ClassInfo readClassInfoFromBytes(
       MemoryBuffer buffer, ClassInfo classInfoCache, int header) {
+    if (header == SESSION_CLASS_HEADER) {
+      ClassInfo classInfo = readClassWithSessionId(buffer);
+      return classInfo.serializer == null ? getClassInfo(classInfo.cls) : classInfo;
+    }
     MetaStringBytes simpleClassNameBytesCache = classInfoCache.classNameBytes;
     MetaStringBytes packageBytes;
     MetaStringBytes simpleClassNameBytes;
@@ -19,27 +19,45 @@
 
 package org.apache.fury.resolver;
 
+import java.io.Externalizable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.fury.Fury;
+import org.apache.fury.collection.IdentityMap;
 import org.apache.fury.collection.IdentityObjectIntMap;
 import org.apache.fury.collection.IntArray;
 import org.apache.fury.collection.MapStatistics;
 import org.apache.fury.collection.ObjectArray;
+import org.apache.fury.collection.StampedIdentityObjectIntMap;
 import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.type.Descriptor;
+import org.apache.fury.type.TypeUtils;
 import org.apache.fury.util.Preconditions;
 
-/** Resolving reference by tracking reference by an IdentityMap. */
+/**
+ * Resolving reference by tracking reference by an IdentityMap.
+ *
+ * <p>If adaptive reference tracking is enabled, the first {@link #PROFILING_WRITES} serializations
+ * will be profiled to find the classes whose objects are shared in an object graph. Then the
+ * reference of other classes won't be tracked if their fields can't reference other objects, so
+ * they can't be part of a cycle. Such objects are still written with {@link Fury#REF_VALUE_FLAG}
+ * and take a reference id, so the data can be read by every reference resolver without any change,
+ * but the identity map probe is skipped.
+ *
+ * @see org.apache.fury.config.FuryBuilder#withAdaptiveRefTracking
+ */
 // FIXME Will binding a separate reference resolver to every type have better performance?
 //  If so, we can have sophisticated reference control for every type.
 public final class MapRefResolver implements RefResolver {
   private static final boolean ENABLE_FURY_REF_PROFILING =
       "true".equalsIgnoreCase(System.getProperty("fury.enable_ref_profiling"));
 
-  // Map clean will zero all key array elements, which is unnecessary for
+  // Written objects map is cleared by a generation stamp, so reset won't zero the key array.
   private static final int DEFAULT_MAP_CAPACITY = 4;
   private static final int DEFAULT_ARRAY_CAPACITY = 4;
   // use average size to amortise resize/clear cost.
@@ -52,15 +70,36 @@ public final class MapRefResolver implements RefResolver {
   private long writeTotalObjectSize = 0;
   private long readCounter;
   private long readTotalObjectSize = 0;
-  private final IdentityObjectIntMap<Object> writtenObjects =
-      new IdentityObjectIntMap<>(DEFAULT_MAP_CAPACITY, 0.51f);
+  private final StampedIdentityObjectIntMap<Object> writtenObjects =
+      new StampedIdentityObjectIntMap<>(DEFAULT_MAP_CAPACITY, 0.51f);
   private final ObjectArray readObjects = new ObjectArray(DEFAULT_ARRAY_CAPACITY);
   private final IntArray readRefIds = new IntArray(DEFAULT_ARRAY_CAPACITY);
 
   // last read object which is not a reference
   private Object readObject;
 
-  public MapRefResolver() {}
+  static final int PROFILING_WRITES = 128;
+  private final Fury fury;
+  private int remainingProfilingWrites;
+  // class -> 1 if its objects are shared, 0 otherwise. Null if not profiling.
+  private IdentityObjectIntMap<Class<?>> profiledClasses;
+  // Null if adaptive reference tracking is disabled or still profiling.
+  private IdentityMap<Class<?>, Boolean> untrackedClasses;
+  private Class<?> lastClass;
+  private boolean lastClassUntracked;
+  // number of reference ids taken by untracked objects in current serialization.
+  private int untrackedRefIds;
+
+  public MapRefResolver() {
+    fury = null;
+  }
+
+  /** Create a reference resolver with adaptive reference tracking enabled. */
+  public MapRefResolver(Fury fury) {
+    this.fury = fury;
+    remainingProfilingWrites = PROFILING_WRITES;
+    profiledClasses = new IdentityObjectIntMap<>(8, 0.5f);
+  }
 
   @Override
   public boolean writeRefOrNull(MemoryBuffer buffer, Object obj) {
@@ -69,8 +108,13 @@ public final class MapRefResolver implements RefResolver {
       buffer._unsafeWriteByte(Fury.NULL_FLAG);
       return true;
     } else {
+      if (untrackedClasses != null && isUntracked(obj.getClass())) {
+        untrackedRefIds++;
+        buffer._unsafeWriteByte(Fury.REF_VALUE_FLAG);
+        return false;
+      }
       // The id should be consistent with `#nextReadRefId`
-      int newWriteRefId = writtenObjects.size;
+      int newWriteRefId = writtenObjects.size + untrackedRefIds;
       int writtenRefId;
       if (ENABLE_FURY_REF_PROFILING) {
         // replaceRef is rare, just ignore it for profiling.
@@ -78,6 +122,9 @@ public final class MapRefResolver implements RefResolver {
       } else {
         writtenRefId = writtenObjects.putOrGet(obj, newWriteRefId);
       }
+      if (profiledClasses != null) {
+        profile(obj.getClass(), writtenRefId >= 0);
+      }
       if (writtenRefId >= 0) {
         // The obj has been written previously.
         buffer._unsafeWriteByte(Fury.REF_FLAG);
@@ -95,8 +142,13 @@ public final class MapRefResolver implements RefResolver {
   public boolean writeRefValueFlag(MemoryBuffer buffer, Object obj) {
     assert obj != null;
     buffer.grow(10);
+    if (untrackedClasses != null && isUntracked(obj.getClass())) {
+      untrackedRefIds++;
+      buffer._unsafeWriteByte(Fury.REF_VALUE_FLAG);
+      return true;
+    }
     // The id should be consistent with `#nextReadRefId`
-    int newWriteRefId = writtenObjects.size;
+    int newWriteRefId = writtenObjects.size + untrackedRefIds;
     int writtenRefId;
     if (ENABLE_FURY_REF_PROFILING) {
       // replaceRef is rare, just ignore it for profiling.
@@ -104,6 +156,9 @@ public final class MapRefResolver implements RefResolver {
     } else {
       writtenRefId = writtenObjects.putOrGet(obj, newWriteRefId);
     }
+    if (profiledClasses != null) {
+      profile(obj.getClass(), writtenRefId >= 0);
+    }
     if (writtenRefId >= 0) {
       // The obj has been written previously.
       buffer._unsafeWriteByte(Fury.REF_FLAG);
@@ -116,6 +171,72 @@ public final class MapRefResolver implements RefResolver {
     }
   }
 
+  private boolean isUntracked(Class<?> cls) {
+    if (cls == lastClass) {
+      return lastClassUntracked;
+    }
+    boolean untracked = untrackedClasses.containsKey(cls);
+    lastClass = cls;
+    lastClassUntracked = untracked;
+    return untracked;
+  }
+
+  private void profile(Class<?> cls, boolean shared) {
+    IdentityObjectIntMap<Class<?>> profiledClasses = this.profiledClasses;
+    if (shared) {
+      profiledClasses.put(cls, 1);
+    } else if (profiledClasses.get(cls, -1) == -1) {
+      profiledClasses.put(cls, 0);
+    }
+  }
+
+  private void finishProfiling() {
+    IdentityMap<Class<?>, Boolean> untrackedClasses = new IdentityMap<>();
+    ClassResolver classResolver = fury.getClassResolver();
+    profiledClasses.forEach(
+        (cls, shared) -> {
+          if (shared == 0 && isAcyclic(classResolver, cls)) {
+            untrackedClasses.put(cls, true);
+          }
+        });
+    profiledClasses = null;
+    this.untrackedClasses = untrackedClasses;
+  }
+
+  /** Returns true if objects of <code>cls</code> can't reference other objects. */
+  private static boolean isAcyclic(ClassResolver classResolver, Class<?> cls) {
+    if (cls.isArray()) {
+      return cls.getComponentType().isPrimitive();
+    }
+    if (cls.getName().startsWith("java.")
+        || cls.isEnum()
+        || Externalizable.class.isAssignableFrom(cls)) {
+      // jdk classes and externalizable classes may be written by custom serializers.
+      return false;
+    }
+    for (Descriptor descriptor : classResolver.getAllDescriptorsMap(cls, true).values()) {
+      Class<?> type = descriptor.getRawType();
+      if (!type.isPrimitive()
+          && !TypeUtils.isBoxed(type)
+          && type != String.class
+          && !type.isEnum()
+          && !(type.isArray() && type.getComponentType().isPrimitive())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns classes whose reference is no longer tracked, or null if still profiling. */
+  public Set<Class<?>> getUntrackedClasses() {
+    if (untrackedClasses == null) {
+      return null;
+    }
+    Set<Class<?>> classes = new HashSet<>();
+    untrackedClasses.forEach((cls, v) -> classes.add(cls));
+    return classes;
+  }
+
   @Override
   public boolean writeNullFlag(MemoryBuffer buffer, Object obj) {
     if (obj == null) {
@@ -125,8 +246,18 @@ public final class MapRefResolver implements RefResolver {
     return false;
   }
 
+  @Override
+  public void skipWriteRefId() {
+    untrackedRefIds++;
+  }
+
   @Override
   public void replaceRef(Object original, Object newObject) {
+    if (untrackedClasses != null
+        && (isUntracked(original.getClass()) || isUntracked(newObject.getClass()))) {
+      // reader binds the id of original object to the new object too.
+      return;
+    }
     int newObjectId = writtenObjects.get(newObject, -1);
     Preconditions.checkArgument(newObjectId != -1);
     writtenObjects.put(original, newObjectId);
@@ -222,7 +353,7 @@ public final class MapRefResolver implements RefResolver {
 
   @Override
   public void resetWrite() {
-    IdentityObjectIntMap<Object> writtenObjects = this.writtenObjects;
+    StampedIdentityObjectIntMap<Object> writtenObjects = this.writtenObjects;
     // TODO handle outlier big size.
     long writeTotalObjectSize = this.writeTotalObjectSize + writtenObjects.size;
     long writeCounter = this.writeCounter + 1;
@@ -237,6 +368,10 @@ public final class MapRefResolver implements RefResolver {
       avg = DEFAULT_MAP_CAPACITY;
     }
     writtenObjects.clearApproximate(avg);
+    untrackedRefIds = 0;
+    if (profiledClasses != null && --remainingProfilingWrites == 0) {
+      finishProfiling();
+    }
   }
 
   @Override
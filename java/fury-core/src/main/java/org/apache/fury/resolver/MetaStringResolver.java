@@ -55,8 +55,14 @@ public final class MetaStringResolver {
   private MetaStringBytes[] dynamicReadStringIds = new MetaStringBytes[32];
   private short dynamicWriteStringId;
   private short dynamicReadStringId;
+  private final SharedRegistry sharedRegistry;
 
   public MetaStringResolver() {
+    this(null);
+  }
+
+  public MetaStringResolver(SharedRegistry sharedRegistry) {
+    this.sharedRegistry = sharedRegistry;
     dynamicWriteStringId = 0;
     dynamicReadStringId = 0;
   }
@@ -64,7 +70,8 @@ public final class MetaStringResolver {
   public MetaStringBytes getOrCreateMetaStringBytes(MetaString str) {
     MetaStringBytes metaStringBytes = metaString2BytesMap.get(str);
     if (metaStringBytes == null) {
-      metaStringBytes = MetaStringBytes.of(str);
+      metaStringBytes =
+          sharedRegistry != null ? sharedRegistry.newMetaStringBytes(str) : MetaStringBytes.of(str);
       metaString2BytesMap.put(str, metaStringBytes);
     }
     return metaStringBytes;
@@ -296,6 +303,39 @@ public final class MetaStringResolver {
     }
   }
 
+  /**
+   * Start a write scope in which meta strings written before aren't referenced by id, so that data
+   * written in this scope can be read by a fresh {@link #resetRead() reset} reader. Strings written
+   * before the scope are returned and must be passed to {@link #endIsolatedWrite}.
+   */
+  public MetaStringBytes[] startIsolatedWrite() {
+    int size = dynamicWriteStringId;
+    if (size == 0) {
+      return null;
+    }
+    MetaStringBytes[] outerStrings = Arrays.copyOf(dynamicWrittenString, size);
+    resetWrite();
+    return outerStrings;
+  }
+
+  /** End write scope started by {@link #startIsolatedWrite} and restore outer written strings. */
+  public void endIsolatedWrite(MetaStringBytes[] outerStrings) {
+    resetWrite();
+    if (outerStrings != null) {
+      short size = (short) outerStrings.length;
+      MetaStringBytes[] dynamicWrittenMetaString = this.dynamicWrittenString;
+      if (dynamicWrittenMetaString.length <= size) {
+        dynamicWrittenMetaString = growWrite(size);
+      }
+      for (short i = 0; i < size; i++) {
+        MetaStringBytes byteString = outerStrings[i];
+        byteString.dynamicWriteStringId = i;
+        dynamicWrittenMetaString[i] = byteString;
+      }
+      dynamicWriteStringId = size;
+    }
+  }
+
   public void resetWrite() {
     int dynamicWriteStringId = this.dynamicWriteStringId;
     if (dynamicWriteStringId != 0) {
@@ -52,6 +52,9 @@ public final class NoRefResolver implements RefResolver {
     return false;
   }
 
+  @Override
+  public void skipWriteRefId() {}
+
   @Override
   public void replaceRef(Object original, Object newObject) {}
 
@@ -51,6 +51,13 @@ public interface RefResolver {
    */
   boolean writeNullFlag(MemoryBuffer buffer, Object obj);
 
+  /**
+   * Take a reference id for a not-null object which is written without tracking its reference, so
+   * that the reference ids are still consistent with the reader which preserves an id for every
+   * first read object.
+   */
+  void skipWriteRefId();
+
   /**
    * Replace reference id of <code>original</code> with <code>newObject</code>.
    *
@@ -32,6 +32,8 @@ public final class SerializationContext {
   private final IdentityHashMap<Object, Object> objects = new IdentityHashMap<>();
   private final boolean scopedMetaShareEnabled;
   private MetaContext metaContext;
+  private StringDictionary stringDictionary;
+  private ClassIdContext classIdContext;
 
   public SerializationContext(Config config) {
     scopedMetaShareEnabled = config.isScopedMetaShareEnabled();
@@ -68,10 +70,40 @@ public final class SerializationContext {
     this.metaContext = metaContext;
   }
 
+  public StringDictionary getStringDictionary() {
+    return stringDictionary;
+  }
+
+  /**
+   * Set string dictionary, which can be used to share string values across multiple serialization
+   * call. Note that {@code stringDictionary} will be cleared after the serialization is finished.
+   * Please set the dictionary before every serialization if it's enabled by {@link
+   * FuryBuilder#withStringDictionary(boolean)}, otherwise strings will be written inline.
+   */
+  public void setStringDictionary(StringDictionary stringDictionary) {
+    this.stringDictionary = stringDictionary;
+  }
+
+  public ClassIdContext getClassIdContext() {
+    return classIdContext;
+  }
+
+  /**
+   * Set class id context, which can be used to share ids of unregistered classes across multiple
+   * serialization call. Note that {@code classIdContext} will be cleared after the serialization is
+   * finished. Please set the context before every serialization, otherwise classes will be written
+   * by name.
+   */
+  public void setClassIdContext(ClassIdContext classIdContext) {
+    this.classIdContext = classIdContext;
+  }
+
   public void resetWrite() {
     if (!objects.isEmpty()) {
       objects.clear();
     }
+    stringDictionary = null;
+    classIdContext = null;
     if (scopedMetaShareEnabled) {
       metaContext.classMap.clear();
       metaContext.writingClassDefs.size = 0;
@@ -84,6 +116,8 @@ public final class SerializationContext {
     if (!objects.isEmpty()) {
       objects.clear();
     }
+    stringDictionary = null;
+    classIdContext = null;
     if (scopedMetaShareEnabled) {
       metaContext.readClassInfos.size = 0;
       metaContext.readClassDefs.size = 0;
@@ -96,6 +130,8 @@ public final class SerializationContext {
     if (!objects.isEmpty()) {
       objects.clear();
     }
+    stringDictionary = null;
+    classIdContext = null;
     if (scopedMetaShareEnabled) {
       metaContext.classMap.clear();
       metaContext.writingClassDefs.size = 0;
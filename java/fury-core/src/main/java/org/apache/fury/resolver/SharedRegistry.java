@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.resolver;
+
+import java.lang.reflect.Field;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.apache.fury.config.Config;
+import org.apache.fury.meta.ClassDef;
+import org.apache.fury.meta.MetaString;
+import org.apache.fury.serializer.Serializer;
+import org.apache.fury.type.Descriptor;
+
+/**
+ * Immutable class metadata shared by all {@link org.apache.fury.Fury} instances with the same
+ * {@link Config}, such as the instances of a fury pool: descriptors, {@link ClassDef}, meta string
+ * bytes and generated serializer classes. Every fury instance still holds its own mutable state
+ * such as {@link ClassInfo}, serializers and meta string write ids.
+ *
+ * <p>Metadata is cached by {@link ClassValue}, so reading is lock-free and the cache won't prevent
+ * classes from being unloaded. Values may be computed more than once by concurrent threads, but
+ * only one of them will be shared.
+ */
+public final class SharedRegistry {
+  // Different config instance with equality will be hold only one registry, no memory
+  // leak will happen.
+  private static final ConcurrentMap<Config, SharedRegistry> registries = new ConcurrentHashMap<>();
+
+  private final ClassValue<SortedMap<Field, Descriptor>> allDescriptors =
+      new ClassValue<SortedMap<Field, Descriptor>>() {
+        @Override
+        protected SortedMap<Field, Descriptor> computeValue(Class<?> type) {
+          return Descriptor.getAllDescriptorsMap(type, true);
+        }
+      };
+  private final ClassValue<SortedMap<Field, Descriptor>> currentLayerDescriptors =
+      new ClassValue<SortedMap<Field, Descriptor>>() {
+        @Override
+        protected SortedMap<Field, Descriptor> computeValue(Class<?> type) {
+          return Descriptor.getAllDescriptorsMap(type, false);
+        }
+      };
+  // class def depends on registered class ids, so it's shared by registration hash.
+  private final ClassValue<ConcurrentMap<Long, ClassDef>> classDefs =
+      new ClassValue<ConcurrentMap<Long, ClassDef>>() {
+        @Override
+        protected ConcurrentMap<Long, ClassDef> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>(2);
+        }
+      };
+  private final ClassValue<ConcurrentMap<String, Class<? extends Serializer>>> codecClasses =
+      new ClassValue<ConcurrentMap<String, Class<? extends Serializer>>>() {
+        @Override
+        protected ConcurrentMap<String, Class<? extends Serializer>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>(2);
+        }
+      };
+  private final ConcurrentMap<MetaString, MetaStringBytes> metaStringBytes =
+      new ConcurrentHashMap<>();
+
+  private SharedRegistry() {}
+
+  /** Returns the registry shared by fury instances with <code>config</code>. */
+  public static SharedRegistry of(Config config) {
+    return registries.computeIfAbsent(config, k -> new SharedRegistry());
+  }
+
+  public SortedMap<Field, Descriptor> getAllDescriptorsMap(Class<?> cls, boolean searchParent) {
+    return searchParent ? allDescriptors.get(cls) : currentLayerDescriptors.get(cls);
+  }
+
+  /**
+   * Returns the class def of <code>cls</code> shared by fury instances with same class
+   * registrations, <code>builder</code> will be invoked to build it if absent.
+   */
+  public ClassDef getClassDef(Class<?> cls, long registrationHash, Supplier<ClassDef> builder) {
+    ConcurrentMap<Long, ClassDef> defs = classDefs.get(cls);
+    ClassDef classDef = defs.get(registrationHash);
+    if (classDef == null) {
+      // Don't use `computeIfAbsent`, building class def may build other class defs recursively.
+      classDef = builder.get();
+      ClassDef prev = defs.putIfAbsent(registrationHash, classDef);
+      if (prev != null) {
+        classDef = prev;
+      }
+    }
+    return classDef;
+  }
+
+  /**
+   * Returns the generated serializer class of <code>cls</code> with specified <code>codecType
+   * </code>, <code>loader</code> will be invoked to load or generate it if absent.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Serializer> Class<T> getCodecClass(
+      Class<?> cls, String codecType, Supplier<Class<T>> loader) {
+    ConcurrentMap<String, Class<? extends Serializer>> classes = codecClasses.get(cls);
+    Class<? extends Serializer> codecClass = classes.get(codecType);
+    if (codecClass == null) {
+      // Don't use `computeIfAbsent`, code generation may load other serializer classes recursively.
+      codecClass = loader.get();
+      Class<? extends Serializer> prev = classes.putIfAbsent(codecType, codecClass);
+      if (prev != null) {
+        codecClass = prev;
+      }
+    }
+    return (Class<T>) codecClass;
+  }
+
+  /**
+   * Returns a new {@link MetaStringBytes} of <code>metaString</code>, the encoded bytes and hash
+   * are shared to avoid computing them for every fury instance.
+   */
+  MetaStringBytes newMetaStringBytes(MetaString metaString) {
+    MetaStringBytes bytes = metaStringBytes.get(metaString);
+    if (bytes == null) {
+      bytes = MetaStringBytes.of(metaString);
+      MetaStringBytes prev = metaStringBytes.putIfAbsent(metaString, bytes);
+      if (prev != null) {
+        bytes = prev;
+      }
+    }
+    // `MetaStringBytes` holds write id of fury instance, so it can't be shared.
+    return new MetaStringBytes(bytes.bytes, bytes.hashCode);
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.resolver;
+
+import java.util.Arrays;
+import org.apache.fury.collection.ObjectIntMap;
+import org.apache.fury.config.FuryBuilder;
+import org.apache.fury.exception.DeserializationException;
+import org.apache.fury.util.Preconditions;
+
+/**
+ * Context for sharing string values across multiple serialization. After a string is written once,
+ * later occurrences in this or following messages are written as a small dictionary index instead
+ * of the string bytes. This is useful for streams which send the same small set of values such as
+ * tag names, host names or status codes in every message.
+ *
+ * <p>The dictionary holds at most {@code capacity} strings; when it's full, an entry which hasn't
+ * been used recently is evicted by a clock(second-chance) policy. The writer sends the slot of
+ * every new entry, so the reader never needs to replay the eviction policy.
+ *
+ * <p>Writer and reader must use a dedicated dictionary for every peer, and messages must be
+ * deserialized in the same order as they are serialized. If a message is lost or a serialization
+ * fails, both sides should {@link #clear} their dictionary or create a new one.
+ *
+ * @see FuryBuilder#withStringDictionary(boolean)
+ * @see SerializationContext#setStringDictionary(StringDictionary)
+ */
+public class StringDictionary {
+  public static final int DEFAULT_CAPACITY = 4096;
+  public static final int DEFAULT_MAX_STRING_LENGTH = 256;
+
+  private final int capacity;
+  private final int maxStringLength;
+  // Write state.
+  private final ObjectIntMap<String> writtenSlots;
+  private String[] writtenStrings;
+  private boolean[] accessed;
+  private int writtenSize;
+  private int clockHand;
+  // Read state.
+  private String[] readStrings;
+
+  public StringDictionary() {
+    this(DEFAULT_CAPACITY, DEFAULT_MAX_STRING_LENGTH);
+  }
+
+  /**
+   * Create a dictionary.
+   *
+   * @param capacity max number of strings held by this dictionary.
+   * @param maxStringLength strings whose length is greater than this will always be written inline.
+   */
+  public StringDictionary(int capacity, int maxStringLength) {
+    Preconditions.checkArgument(capacity > 0, "Capacity must be positive: %s", capacity);
+    Preconditions.checkArgument(
+        maxStringLength >= 0, "Max string length must be non-negative: %s", maxStringLength);
+    this.capacity = capacity;
+    this.maxStringLength = maxStringLength;
+    int initialSize = Math.min(capacity, 16);
+    writtenSlots = new ObjectIntMap<>(initialSize, 0.5f);
+    writtenStrings = new String[initialSize];
+    accessed = new boolean[initialSize];
+    readStrings = new String[initialSize];
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  public int maxStringLength() {
+    return maxStringLength;
+  }
+
+  /** Returns the number of strings which have been sent to peer and not evicted yet. */
+  public int writtenSize() {
+    return writtenSize;
+  }
+
+  /** Returns the slot of <code>str</code> if it has been sent to peer, otherwise -1. */
+  public int lookup(String str) {
+    int slot = writtenSlots.get(str, -1);
+    if (slot >= 0) {
+      accessed[slot] = true;
+    }
+    return slot;
+  }
+
+  /**
+   * Add <code>str</code> which is not in this dictionary, returns the slot assigned to it, or -1 if
+   * the string is too long to be cached.
+   */
+  public int add(String str) {
+    if (str.length() > maxStringLength) {
+      return -1;
+    }
+    int slot;
+    if (writtenSize < capacity) {
+      slot = writtenSize++;
+      if (slot == writtenStrings.length) {
+        int newSize = (int) Math.min((long) slot << 1, capacity);
+        writtenStrings = Arrays.copyOf(writtenStrings, newSize);
+        accessed = Arrays.copyOf(accessed, newSize);
+      }
+    } else {
+      slot = evict();
+      writtenSlots.remove(writtenStrings[slot], -1);
+    }
+    writtenStrings[slot] = str;
+    accessed[slot] = false;
+    writtenSlots.put(str, slot);
+    return slot;
+  }
+
+  private int evict() {
+    boolean[] accessed = this.accessed;
+    int hand = clockHand;
+    // give recently used entries a second chance, terminates in at most two rounds.
+    while (accessed[hand]) {
+      accessed[hand] = false;
+      hand = hand + 1 == capacity ? 0 : hand + 1;
+    }
+    clockHand = hand + 1 == capacity ? 0 : hand + 1;
+    return hand;
+  }
+
+  /** Returns the string stored at <code>slot</code> by peer. */
+  public String get(int slot) {
+    String[] readStrings = this.readStrings;
+    String str;
+    if (slot >= readStrings.length || (str = readStrings[slot]) == null) {
+      throw new DeserializationException("String dictionary slot " + slot + " is not defined");
+    }
+    return str;
+  }
+
+  /** Store a string sent by peer at <code>slot</code>, previous string in the slot is replaced. */
+  public void put(int slot, String str) {
+    if (slot >= capacity) {
+      throw new DeserializationException(
+          "String dictionary slot " + slot + " exceeds capacity " + capacity);
+    }
+    if (slot >= readStrings.length) {
+      int newSize = (int) Math.min(Math.max((long) readStrings.length << 1, slot + 1), capacity);
+      readStrings = Arrays.copyOf(readStrings, newSize);
+    }
+    readStrings[slot] = str;
+  }
+
+  /** Clear write and read state, peer dictionary must be cleared too. */
+  public void clear() {
+    writtenSlots.clear();
+    Arrays.fill(writtenStrings, null);
+    Arrays.fill(accessed, false);
+    writtenSize = 0;
+    clockHand = 0;
+    Arrays.fill(readStrings, null);
+  }
+}
@@ -20,6 +20,7 @@
 package org.apache.fury.serializer;
 
 import static org.apache.fury.type.DescriptorGrouper.createDescriptorGrouper;
+import static org.apache.fury.type.TypeUtils.MAP_TYPE;
 import static org.apache.fury.type.TypeUtils.getRawType;
 
 import java.lang.invoke.MethodHandle;
@@ -41,10 +42,12 @@ import org.apache.fury.resolver.ClassInfo;
 import org.apache.fury.resolver.ClassInfoHolder;
 import org.apache.fury.resolver.ClassResolver;
 import org.apache.fury.resolver.RefResolver;
+import org.apache.fury.serializer.collection.PrimitiveCollectionSerializers;
 import org.apache.fury.type.Descriptor;
 import org.apache.fury.type.DescriptorGrouper;
 import org.apache.fury.type.FinalObjectTypeStub;
 import org.apache.fury.type.GenericType;
+import org.apache.fury.type.TypeUtils;
 import org.apache.fury.util.record.RecordComponent;
 import org.apache.fury.util.record.RecordInfo;
 import org.apache.fury.util.record.RecordUtils;
@@ -376,6 +379,8 @@ public abstract class AbstractObjectSerializer<T> extends Serializer<T> {
               descriptor.getField() != null
                   ? FieldAccessor.createAccessor(descriptor.getField())
                   : null,
+              StringView.isStringViewField(fury, descriptor),
+              FieldRefMode.of(fury, descriptor),
               fury);
       otherFields[cnt++] = genericTypeField;
     }
@@ -398,6 +403,8 @@ public abstract class AbstractObjectSerializer<T> extends Serializer<T> {
         d.getDeclaringClass() + "." + d.getName(),
         // `d.getField()` will be null when peer class doesn't have this field.
         d.getField() != null ? FieldAccessor.createAccessor(d.getField()) : null,
+        DeltaEncoding.isDeltaEncoded(fury, d),
+        FieldRefMode.of(fury, d),
         fury);
   }
 
@@ -406,6 +413,9 @@ public abstract class AbstractObjectSerializer<T> extends Serializer<T> {
         d.getTypeRef(),
         d.getDeclaringClass() + "." + d.getName(),
         d.getField() != null ? FieldAccessor.createAccessor(d.getField()) : null,
+        DeltaEncoding.isDeltaEncoded(fury, d),
+        PrimitiveCollectionSerializers.getPackedClassId(fury, d),
+        FieldRefMode.of(fury, d),
         fury);
   }
 
@@ -413,12 +423,27 @@ public abstract class AbstractObjectSerializer<T> extends Serializer<T> {
     protected final short classId;
     protected final String qualifiedFieldName;
     protected final FieldAccessor fieldAccessor;
+    // Whether field is annotated by `DeltaEncoded` and serialized by `DeltaEncoding`.
+    protected final boolean deltaEncoded;
+    // Ref/null flag mode of field annotated by `Ref`/`NoRef`/`NotNull`, see `FieldRefMode`.
+    protected final byte refMode;
 
     private InternalFieldInfo(
-        short classId, String qualifiedFieldName, FieldAccessor fieldAccessor) {
+        short classId, String qualifiedFieldName, FieldAccessor fieldAccessor, byte refMode) {
+      this(classId, qualifiedFieldName, fieldAccessor, false, refMode);
+    }
+
+    private InternalFieldInfo(
+        short classId,
+        String qualifiedFieldName,
+        FieldAccessor fieldAccessor,
+        boolean deltaEncoded,
+        byte refMode) {
       this.classId = classId;
       this.qualifiedFieldName = qualifiedFieldName;
       this.fieldAccessor = fieldAccessor;
+      this.deltaEncoded = deltaEncoded;
+      this.refMode = refMode;
     }
 
     @Override
@@ -437,8 +462,14 @@ public abstract class AbstractObjectSerializer<T> extends Serializer<T> {
   static final class FinalTypeField extends InternalFieldInfo {
     final ClassInfo classInfo;
 
-    private FinalTypeField(Class<?> type, String fieldName, FieldAccessor accessor, Fury fury) {
-      super(getRegisteredClassId(fury, type), fieldName, accessor);
+    private FinalTypeField(
+        Class<?> type,
+        String fieldName,
+        FieldAccessor accessor,
+        boolean deltaEncoded,
+        byte refMode,
+        Fury fury) {
+      super(getRegisteredClassId(fury, type), fieldName, accessor, deltaEncoded, refMode);
       // invoke `copy` to avoid ObjectSerializer construct clear serializer by `clearSerializer`.
       if (type == FinalObjectTypeStub.class) {
         // `FinalObjectTypeStub` has no fields, using its `classInfo`
@@ -454,23 +485,56 @@ public abstract class AbstractObjectSerializer<T> extends Serializer<T> {
     final GenericType genericType;
     final ClassInfoHolder classInfoHolder;
     final boolean trackingRef;
+    // Whether field is annotated by `CharSequenceView` and serialized by `StringView`.
+    final boolean stringView;
+    // Class id of boxed element/key type if field is serialized by
+    // `PrimitiveCollectionSerializers`, or `NO_CLASS_ID`.
+    final short packedClassId;
+    // Declared value type of packed map field.
+    final Class<?> packedValueClass;
 
     private GenericTypeField(
-        Class<?> cls, String qualifiedFieldName, FieldAccessor accessor, Fury fury) {
-      super(getRegisteredClassId(fury, cls), qualifiedFieldName, accessor);
+        Class<?> cls,
+        String qualifiedFieldName,
+        FieldAccessor accessor,
+        boolean stringView,
+        byte refMode,
+        Fury fury) {
+      super(getRegisteredClassId(fury, cls), qualifiedFieldName, accessor, refMode);
       // TODO support generics <T> in Pojo<T>, see ComplexObjectSerializer.getGenericTypes
       genericType = fury.getClassResolver().buildGenericType(cls);
       classInfoHolder = fury.getClassResolver().nilClassInfoHolder();
       trackingRef = fury.getClassResolver().needToWriteRef(cls);
+      this.stringView = stringView;
+      packedClassId = ClassResolver.NO_CLASS_ID;
+      packedValueClass = null;
     }
 
     private GenericTypeField(
-        TypeRef<?> typeRef, String qualifiedFieldName, FieldAccessor accessor, Fury fury) {
-      super(getRegisteredClassId(fury, getRawType(typeRef)), qualifiedFieldName, accessor);
+        TypeRef<?> typeRef,
+        String qualifiedFieldName,
+        FieldAccessor accessor,
+        boolean deltaEncoded,
+        short packedClassId,
+        byte refMode,
+        Fury fury) {
+      super(
+          getRegisteredClassId(fury, getRawType(typeRef)),
+          qualifiedFieldName,
+          accessor,
+          deltaEncoded,
+          refMode);
       // TODO support generics <T> in Pojo<T>, see ComplexObjectSerializer.getGenericTypes
       genericType = fury.getClassResolver().buildGenericType(typeRef);
       classInfoHolder = fury.getClassResolver().nilClassInfoHolder();
       trackingRef = fury.getClassResolver().needToWriteRef(getRawType(typeRef));
+      stringView = false;
+      this.packedClassId = packedClassId;
+      if (packedClassId != ClassResolver.NO_CLASS_ID && MAP_TYPE.isSupertypeOf(typeRef)) {
+        packedValueClass = getRawType(TypeUtils.getMapKeyValueType(typeRef).f1);
+      } else {
+        packedValueClass = null;
+      }
     }
 
     @Override
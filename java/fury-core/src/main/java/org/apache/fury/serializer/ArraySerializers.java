@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.IdentityHashMap;
 import org.apache.fury.Fury;
 import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.memory.BitPacking;
 import org.apache.fury.memory.MemoryBuffer;
 import org.apache.fury.memory.Platform;
 import org.apache.fury.resolver.ClassInfo;
@@ -445,13 +446,20 @@ public class ArraySerializers {
 
   public static final class IntArraySerializer extends PrimitiveArraySerializer<int[]> {
 
+    private final boolean compressed;
+
     public IntArraySerializer(Fury fury) {
       super(fury, int[].class);
+      compressed = fury.getConfig().compressIntArray();
     }
 
     @Override
     public void write(MemoryBuffer buffer, int[] value) {
       if (fury.getBufferCallback() == null) {
+        if (compressed) {
+          BitPacking.writeInt32s(buffer, value);
+          return;
+        }
         int size = Math.multiplyExact(value.length, elemSize);
         buffer.writePrimitiveArrayWithSize(value, offset, size);
       } else {
@@ -475,6 +483,9 @@ public class ArraySerializers {
         buf.copyToUnsafe(0, values, offset, size);
         return values;
       } else {
+        if (compressed) {
+          return BitPacking.readInt32s(buffer);
+        }
         int size = buffer.readVarUint32Small7();
         int numElements = size / elemSize;
         int[] values = new int[numElements];
@@ -486,13 +497,20 @@ public class ArraySerializers {
 
   public static final class LongArraySerializer extends PrimitiveArraySerializer<long[]> {
 
+    private final boolean compressed;
+
     public LongArraySerializer(Fury fury) {
       super(fury, long[].class);
+      compressed = fury.getConfig().compressLongArray();
     }
 
     @Override
     public void write(MemoryBuffer buffer, long[] value) {
       if (fury.getBufferCallback() == null) {
+        if (compressed) {
+          BitPacking.writeInt64s(buffer, value);
+          return;
+        }
         int size = Math.multiplyExact(value.length, elemSize);
         buffer.writePrimitiveArrayWithSize(value, offset, size);
       } else {
@@ -516,6 +534,9 @@ public class ArraySerializers {
         buf.copyToUnsafe(0, values, offset, size);
         return values;
       } else {
+        if (compressed) {
+          return BitPacking.readInt64s(buffer);
+        }
         int size = buffer.readVarUint32Small7();
         int numElements = size / elemSize;
         long[] values = new long[numElements];
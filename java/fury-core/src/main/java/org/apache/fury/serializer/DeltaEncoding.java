@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.serializer;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import org.apache.fury.Fury;
+import org.apache.fury.annotation.DeltaEncoded;
+import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.config.Config;
+import org.apache.fury.config.Language;
+import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.resolver.ClassInfo;
+import org.apache.fury.resolver.ClassResolver;
+import org.apache.fury.resolver.RefResolver;
+import org.apache.fury.serializer.collection.AbstractCollectionSerializer;
+import org.apache.fury.type.Descriptor;
+import org.apache.fury.util.Preconditions;
+
+/**
+ * Delta encoding for fields annotated by {@link DeltaEncoded}. The first element is written as a
+ * varint, and later elements are written as varint deltas from their previous elements. If all
+ * elements are in ascending order, deltas are written as unsigned varint, otherwise zigzag varint.
+ *
+ * <p>Those methods are invoked by both {@link ObjectSerializer} and generated serializers, so that
+ * the data format is the same.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class DeltaEncoding {
+  private static final byte SORTED = 0;
+  private static final byte UNSORTED = 1;
+  // Collection contains null or non-long elements.
+  private static final byte GENERAL = 2;
+
+  /** Returns true if the field of <code>descriptor</code> should be delta encoded. */
+  public static boolean isDeltaEncoded(Fury fury, Descriptor descriptor) {
+    Field field = descriptor.getField();
+    if (field == null || !field.isAnnotationPresent(DeltaEncoded.class)) {
+      return false;
+    }
+    Class<?> type = field.getType();
+    Preconditions.checkArgument(
+        type == long[].class || Collection.class.isAssignableFrom(type),
+        "@DeltaEncoded is only supported for long[] or Collection<Long>, but got field %s",
+        field);
+    Config config = fury.getConfig();
+    return config.getLanguage() == Language.JAVA
+        && config.getCompatibleMode() == CompatibleMode.SCHEMA_CONSISTENT
+        && !config.isMetaShareEnabled();
+  }
+
+  public static void writeInt64Array(Fury fury, MemoryBuffer buffer, long[] value) {
+    if (fury.getRefResolver().writeRefOrNull(buffer, value)) {
+      return;
+    }
+    int length = value.length;
+    buffer.writeVarUint32Small7(length);
+    if (length == 0) {
+      return;
+    }
+    boolean sorted = true;
+    for (int i = 1; i < length; i++) {
+      if (value[i] < value[i - 1]) {
+        sorted = false;
+        break;
+      }
+    }
+    long prev = value[0];
+    buffer.writeVarInt64(prev);
+    if (sorted) {
+      buffer.writeByte(SORTED);
+      for (int i = 1; i < length; i++) {
+        long v = value[i];
+        buffer.writeVarUint64(v - prev);
+        prev = v;
+      }
+    } else {
+      buffer.writeByte(UNSORTED);
+      for (int i = 1; i < length; i++) {
+        long v = value[i];
+        buffer.writeVarInt64(v - prev);
+        prev = v;
+      }
+    }
+  }
+
+  public static long[] readInt64Array(Fury fury, MemoryBuffer buffer) {
+    RefResolver refResolver = fury.getRefResolver();
+    int nextReadRefId = refResolver.tryPreserveRefId(buffer);
+    if (nextReadRefId < Fury.NOT_NULL_VALUE_FLAG) {
+      return (long[]) refResolver.getReadObject();
+    }
+    int length = buffer.readVarUint32Small7();
+    long[] values = new long[length];
+    if (length > 0) {
+      long prev = buffer.readVarInt64();
+      values[0] = prev;
+      if (buffer.readByte() == SORTED) {
+        for (int i = 1; i < length; i++) {
+          prev += buffer.readVarUint64();
+          values[i] = prev;
+        }
+      } else {
+        for (int i = 1; i < length; i++) {
+          prev += buffer.readVarInt64();
+          values[i] = prev;
+        }
+      }
+    }
+    refResolver.setReadObject(nextReadRefId, values);
+    return values;
+  }
+
+  public static void writeInt64Collection(Fury fury, MemoryBuffer buffer, Collection value) {
+    if (fury.getRefResolver().writeRefOrNull(buffer, value)) {
+      return;
+    }
+    ClassResolver classResolver = fury.getClassResolver();
+    ClassInfo classInfo = classResolver.getClassInfo(value.getClass());
+    classResolver.writeClass(buffer, classInfo);
+    Serializer serializer = classInfo.getSerializer();
+    if (!(serializer instanceof AbstractCollectionSerializer)
+        || !((AbstractCollectionSerializer) serializer).supportCodegenHook()) {
+      serializer.write(buffer, value);
+      return;
+    }
+    Collection collection =
+        ((AbstractCollectionSerializer) serializer).onCollectionWrite(buffer, value);
+    if (collection.isEmpty()) {
+      return;
+    }
+    byte mode = SORTED;
+    long prev = Long.MIN_VALUE;
+    for (Object elem : collection) {
+      if (!(elem instanceof Long)) {
+        mode = GENERAL;
+        break;
+      }
+      long v = (Long) elem;
+      if (v < prev) {
+        mode = UNSORTED;
+      }
+      prev = v;
+    }
+    buffer.writeByte(mode);
+    if (mode == GENERAL) {
+      for (Object elem : collection) {
+        fury.writeRef(buffer, elem);
+      }
+      return;
+    }
+    boolean first = true;
+    for (Object elem : collection) {
+      long v = (Long) elem;
+      if (first) {
+        buffer.writeVarInt64(v);
+        first = false;
+      } else if (mode == SORTED) {
+        buffer.writeVarUint64(v - prev);
+      } else {
+        buffer.writeVarInt64(v - prev);
+      }
+      prev = v;
+    }
+  }
+
+  public static Collection readInt64Collection(Fury fury, MemoryBuffer buffer) {
+    RefResolver refResolver = fury.getRefResolver();
+    int nextReadRefId = refResolver.tryPreserveRefId(buffer);
+    if (nextReadRefId < Fury.NOT_NULL_VALUE_FLAG) {
+      return (Collection) refResolver.getReadObject();
+    }
+    ClassInfo classInfo = fury.getClassResolver().readClassInfo(buffer);
+    Serializer serializer = classInfo.getSerializer();
+    Collection value;
+    if (!(serializer instanceof AbstractCollectionSerializer)
+        || !((AbstractCollectionSerializer) serializer).supportCodegenHook()) {
+      value = (Collection) serializer.read(buffer);
+    } else {
+      AbstractCollectionSerializer collectionSerializer = (AbstractCollectionSerializer) serializer;
+      Collection collection = collectionSerializer.newCollection(buffer);
+      int numElements = collectionSerializer.getAndClearNumElements();
+      if (numElements > 0) {
+        byte mode = buffer.readByte();
+        if (mode == GENERAL) {
+          for (int i = 0; i < numElements; i++) {
+            collection.add(fury.readRef(buffer));
+          }
+        } else {
+          long prev = buffer.readVarInt64();
+          collection.add(prev);
+          if (mode == SORTED) {
+            for (int i = 1; i < numElements; i++) {
+              prev += buffer.readVarUint64();
+              collection.add(prev);
+            }
+          } else {
+            for (int i = 1; i < numElements; i++) {
+              prev += buffer.readVarInt64();
+              collection.add(prev);
+            }
+          }
+        }
+      }
+      value = (Collection) collectionSerializer.onCollectionRead(collection);
+    }
+    refResolver.setReadObject(nextReadRefId, value);
+    return value;
+  }
+}
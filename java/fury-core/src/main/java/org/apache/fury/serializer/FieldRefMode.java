@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.serializer;
+
+import java.lang.reflect.Field;
+import org.apache.fury.Fury;
+import org.apache.fury.annotation.CharSequenceView;
+import org.apache.fury.annotation.DeltaEncoded;
+import org.apache.fury.annotation.NoRef;
+import org.apache.fury.annotation.NotNull;
+import org.apache.fury.annotation.Ref;
+import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.config.Config;
+import org.apache.fury.config.Language;
+import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.resolver.RefResolver;
+import org.apache.fury.type.Descriptor;
+import org.apache.fury.util.Preconditions;
+
+/**
+ * Reference/null flag modes of fields annotated by {@link Ref}, {@link NoRef} or {@link NotNull}.
+ * The mode is resolved against the reference tracking of field type, so an annotation which doesn't
+ * change anything is resolved to {@link #DEFAULT}.
+ *
+ * <p>Those methods are invoked by both {@link ObjectSerializer} and generated serializers, so that
+ * the data format is the same.
+ */
+public final class FieldRefMode {
+  /** Write the field as its type does. */
+  public static final byte DEFAULT = 0;
+
+  /** Write ref/null flag and track reference of a field whose type doesn't track reference. */
+  public static final byte REF = 1;
+
+  /**
+   * Write {@link Fury#REF_VALUE_FLAG} for a not-null value of a field whose type tracks reference,
+   * but skip reference lookup. Reader reads the field as a referencable value.
+   */
+  public static final byte NO_REF = 2;
+
+  /** Write value only for a not-null field whose type doesn't track reference. */
+  public static final byte NOT_NULL = 3;
+
+  /**
+   * Write value only for a not-null field whose type tracks reference, a reference id is still
+   * taken, since serializer of the type will set up reference when reading.
+   */
+  public static final byte NOT_NULL_REF_ID = 4;
+
+  /** Returns the ref/null flag mode of the field of <code>descriptor</code>. */
+  public static byte of(Fury fury, Descriptor descriptor) {
+    Field field = descriptor.getField();
+    if (field == null) {
+      return DEFAULT;
+    }
+    boolean ref = field.isAnnotationPresent(Ref.class);
+    boolean noRef = field.isAnnotationPresent(NoRef.class);
+    boolean notNull = field.isAnnotationPresent(NotNull.class);
+    if (!ref && !noRef && !notNull) {
+      return DEFAULT;
+    }
+    Preconditions.checkArgument(
+        (ref ? 1 : 0) + (noRef ? 1 : 0) + (notNull ? 1 : 0) == 1,
+        "Only one of @Ref/@NoRef/@NotNull can be specified, but got field %s",
+        field);
+    Preconditions.checkArgument(
+        !field.getType().isPrimitive(),
+        "@Ref/@NoRef/@NotNull is not supported for primitive field %s",
+        field);
+    Preconditions.checkArgument(
+        !field.isAnnotationPresent(DeltaEncoded.class)
+            && !field.isAnnotationPresent(CharSequenceView.class),
+        "@Ref/@NoRef/@NotNull can't be used with @DeltaEncoded/@CharSequenceView, but got field %s",
+        field);
+    Config config = fury.getConfig();
+    if (config.getLanguage() != Language.JAVA
+        || config.getCompatibleMode() != CompatibleMode.SCHEMA_CONSISTENT
+        || config.isMetaShareEnabled()) {
+      return DEFAULT;
+    }
+    boolean trackingRef = fury.getClassResolver().needToWriteRef(descriptor.getRawType());
+    if (ref) {
+      return trackingRef || !fury.trackingRef() ? DEFAULT : REF;
+    } else if (noRef) {
+      return trackingRef ? NO_REF : DEFAULT;
+    } else {
+      return trackingRef ? NOT_NULL_REF_ID : NOT_NULL;
+    }
+  }
+
+  /**
+   * Write ref/null flag of field <code>value</code> for <code>refMode</code> other than {@link
+   * #DEFAULT}.
+   *
+   * @return true if the value needs to be written.
+   */
+  public static boolean writeRefOrNull(
+      RefResolver refResolver, MemoryBuffer buffer, Object value, byte refMode) {
+    switch (refMode) {
+      case REF:
+        return !refResolver.writeRefOrNull(buffer, value);
+      case NO_REF:
+        if (value == null) {
+          buffer.writeByte(Fury.NULL_FLAG);
+          return false;
+        }
+        buffer.writeByte(Fury.REF_VALUE_FLAG);
+        refResolver.skipWriteRefId();
+        return true;
+      case NOT_NULL_REF_ID:
+        checkNotNull(value);
+        refResolver.skipWriteRefId();
+        return true;
+      case NOT_NULL:
+        checkNotNull(value);
+        return true;
+      default:
+        throw new IllegalArgumentException("Unsupported ref mode " + refMode);
+    }
+  }
+
+  /**
+   * Read ref/null flag of field for <code>refMode</code> other than {@link #DEFAULT}.
+   *
+   * @return a reference id which is `>=` {@link Fury#NOT_NULL_VALUE_FLAG} if the value needs to be
+   *     read, the value is {@link RefResolver#getReadObject()} otherwise.
+   * @see RefResolver#tryPreserveRefId
+   */
+  public static int preserveRefId(RefResolver refResolver, MemoryBuffer buffer, byte refMode) {
+    switch (refMode) {
+      case REF:
+      case NO_REF:
+        return refResolver.tryPreserveRefId(buffer);
+      case NOT_NULL_REF_ID:
+        return refResolver.preserveRefId();
+      case NOT_NULL:
+        return Fury.NOT_NULL_VALUE_FLAG;
+      default:
+        throw new IllegalArgumentException("Unsupported ref mode " + refMode);
+    }
+  }
+
+  private static void checkNotNull(Object value) {
+    if (value == null) {
+      throw new NullPointerException("Null value for field annotated by @NotNull");
+    }
+  }
+}
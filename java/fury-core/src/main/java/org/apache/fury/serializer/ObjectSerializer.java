@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import org.apache.fury.Fury;
@@ -38,6 +39,7 @@ import org.apache.fury.reflect.FieldAccessor;
 import org.apache.fury.resolver.ClassInfo;
 import org.apache.fury.resolver.ClassResolver;
 import org.apache.fury.resolver.RefResolver;
+import org.apache.fury.serializer.collection.PrimitiveCollectionSerializers;
 import org.apache.fury.type.Descriptor;
 import org.apache.fury.type.DescriptorGrouper;
 import org.apache.fury.type.Generics;
@@ -137,7 +139,16 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
     for (GenericTypeField fieldInfo : otherFields) {
       FieldAccessor fieldAccessor = fieldInfo.fieldAccessor;
       Object fieldValue = fieldAccessor.getObject(value);
-      if (fieldInfo.trackingRef) {
+      if (fieldInfo.stringView) {
+        StringView.write(buffer, (CharSequence) fieldValue);
+      } else if (fieldInfo.refMode != FieldRefMode.DEFAULT) {
+        if (FieldRefMode.writeRefOrNull(refResolver, buffer, fieldValue, fieldInfo.refMode)) {
+          fury.writeNonRef(
+              buffer,
+              fieldValue,
+              classResolver.getClassInfo(fieldValue.getClass(), fieldInfo.classInfoHolder));
+        }
+      } else if (fieldInfo.trackingRef) {
         fury.writeRef(buffer, fieldValue, fieldInfo.classInfoHolder);
       } else {
         fury.writeNullable(buffer, fieldValue, fieldInfo.classInfoHolder);
@@ -157,6 +168,17 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
     for (int i = 0; i < finalFields.length; i++) {
       FinalTypeField fieldInfo = finalFields[i];
       FieldAccessor fieldAccessor = fieldInfo.fieldAccessor;
+      if (fieldInfo.deltaEncoded) {
+        DeltaEncoding.writeInt64Array(fury, buffer, (long[]) fieldAccessor.getObject(value));
+        continue;
+      }
+      if (fieldInfo.refMode != FieldRefMode.DEFAULT) {
+        Object fieldValue = fieldAccessor.getObject(value);
+        if (FieldRefMode.writeRefOrNull(refResolver, buffer, fieldValue, fieldInfo.refMode)) {
+          fieldInfo.classInfo.getSerializer().write(buffer, fieldValue);
+        }
+        continue;
+      }
       short classId = fieldInfo.classId;
       if (writePrimitiveFieldValueFailed(fury, buffer, value, fieldAccessor, classId)) {
         Object fieldValue = fieldAccessor.getObject(value);
@@ -192,6 +214,14 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
     for (GenericTypeField fieldInfo : containerFields) {
       FieldAccessor fieldAccessor = fieldInfo.fieldAccessor;
       Object fieldValue = fieldAccessor.getObject(value);
+      if (fieldInfo.deltaEncoded) {
+        DeltaEncoding.writeInt64Collection(fury, buffer, (Collection) fieldValue);
+        continue;
+      }
+      if (fieldInfo.packedClassId != ClassResolver.NO_CLASS_ID) {
+        writePackedFieldValue(fury, classResolver, fieldInfo, buffer, fieldValue);
+        continue;
+      }
       writeContainerFieldValue(
           fury, refResolver, classResolver, generics, fieldInfo, buffer, fieldValue);
     }
@@ -205,7 +235,15 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
       GenericTypeField fieldInfo,
       MemoryBuffer buffer,
       Object fieldValue) {
-    if (fieldInfo.trackingRef) {
+    if (fieldInfo.refMode != FieldRefMode.DEFAULT) {
+      if (FieldRefMode.writeRefOrNull(refResolver, buffer, fieldValue, fieldInfo.refMode)) {
+        ClassInfo classInfo =
+            classResolver.getClassInfo(fieldValue.getClass(), fieldInfo.classInfoHolder);
+        generics.pushGenericType(fieldInfo.genericType);
+        fury.writeNonRef(buffer, fieldValue, classInfo);
+        generics.popGenericType();
+      }
+    } else if (fieldInfo.trackingRef) {
       if (!refResolver.writeRefOrNull(buffer, fieldValue)) {
         ClassInfo classInfo =
             classResolver.getClassInfo(fieldValue.getClass(), fieldInfo.classInfoHolder);
@@ -264,7 +302,9 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
       FinalTypeField fieldInfo = finalFields[i];
       boolean isFinal = !metaShareEnabled || this.isFinal[i];
       short classId = fieldInfo.classId;
-      if (classId >= ClassResolver.PRIMITIVE_BOOLEAN_CLASS_ID
+      if (fieldInfo.deltaEncoded) {
+        fieldValues[counter++] = DeltaEncoding.readInt64Array(fury, buffer);
+      } else if (classId >= ClassResolver.PRIMITIVE_BOOLEAN_CLASS_ID
           && classId <= ClassResolver.PRIMITIVE_DOUBLE_CLASS_ID) {
         fieldValues[counter++] = Serializers.readPrimitiveValue(fury, buffer, classId);
       } else {
@@ -274,12 +314,15 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
       }
     }
     for (GenericTypeField fieldInfo : otherFields) {
-      Object fieldValue = readOtherFieldValue(fury, fieldInfo, buffer);
+      Object fieldValue =
+          fieldInfo.stringView
+              ? StringView.read(buffer)
+              : readOtherFieldValue(fury, fieldInfo, buffer);
       fieldValues[counter++] = fieldValue;
     }
     Generics generics = fury.getGenerics();
     for (GenericTypeField fieldInfo : containerFields) {
-      Object fieldValue = readContainerFieldValue(fury, generics, fieldInfo, buffer);
+      Object fieldValue = readContainerField(fury, classResolver, generics, fieldInfo, buffer);
       fieldValues[counter++] = fieldValue;
     }
     return fieldValues;
@@ -300,28 +343,77 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
       FinalTypeField fieldInfo = finalFields[i];
       boolean isFinal = !metaShareEnabled || this.isFinal[i];
       FieldAccessor fieldAccessor = fieldInfo.fieldAccessor;
+      if (fieldInfo.deltaEncoded) {
+        fieldAccessor.putObject(obj, DeltaEncoding.readInt64Array(fury, buffer));
+        continue;
+      }
       short classId = fieldInfo.classId;
-      if (readPrimitiveFieldValueFailed(fury, buffer, obj, fieldAccessor, classId)
-          && readBasicObjectFieldValueFailed(fury, buffer, obj, fieldAccessor, classId)) {
+      if (fieldInfo.refMode != FieldRefMode.DEFAULT
+          || (readPrimitiveFieldValueFailed(fury, buffer, obj, fieldAccessor, classId)
+              && readBasicObjectFieldValueFailed(fury, buffer, obj, fieldAccessor, classId))) {
         Object fieldValue =
             readFinalObjectFieldValue(fury, refResolver, classResolver, fieldInfo, isFinal, buffer);
         fieldAccessor.putObject(obj, fieldValue);
       }
     }
     for (GenericTypeField fieldInfo : otherFields) {
-      Object fieldValue = readOtherFieldValue(fury, fieldInfo, buffer);
+      Object fieldValue =
+          fieldInfo.stringView
+              ? StringView.read(buffer)
+              : readOtherFieldValue(fury, fieldInfo, buffer);
       FieldAccessor fieldAccessor = fieldInfo.fieldAccessor;
       fieldAccessor.putObject(obj, fieldValue);
     }
     Generics generics = fury.getGenerics();
     for (GenericTypeField fieldInfo : containerFields) {
-      Object fieldValue = readContainerFieldValue(fury, generics, fieldInfo, buffer);
+      Object fieldValue = readContainerField(fury, classResolver, generics, fieldInfo, buffer);
       FieldAccessor fieldAccessor = fieldInfo.fieldAccessor;
       fieldAccessor.putObject(obj, fieldValue);
     }
     return obj;
   }
 
+  private static void writePackedFieldValue(
+      Fury fury,
+      ClassResolver classResolver,
+      GenericTypeField fieldInfo,
+      MemoryBuffer buffer,
+      Object fieldValue) {
+    if (fieldInfo.packedValueClass == null) {
+      PrimitiveCollectionSerializers.writeCollection(
+          fury, buffer, (Collection) fieldValue, fieldInfo.packedClassId);
+    } else {
+      PrimitiveCollectionSerializers.writeMap(
+          fury,
+          buffer,
+          (Map) fieldValue,
+          fieldInfo.packedClassId,
+          classResolver.getSerializer(fieldInfo.packedValueClass));
+    }
+  }
+
+  private static Object readContainerField(
+      Fury fury,
+      ClassResolver classResolver,
+      Generics generics,
+      GenericTypeField fieldInfo,
+      MemoryBuffer buffer) {
+    if (fieldInfo.deltaEncoded) {
+      return DeltaEncoding.readInt64Collection(fury, buffer);
+    }
+    if (fieldInfo.packedClassId != ClassResolver.NO_CLASS_ID) {
+      if (fieldInfo.packedValueClass == null) {
+        return PrimitiveCollectionSerializers.readCollection(fury, buffer, fieldInfo.packedClassId);
+      }
+      return PrimitiveCollectionSerializers.readMap(
+          fury,
+          buffer,
+          fieldInfo.packedClassId,
+          classResolver.getSerializer(fieldInfo.packedValueClass));
+    }
+    return readContainerFieldValue(fury, generics, fieldInfo, buffer);
+  }
+
   /**
    * Read final object field value. Note that primitive field value can't be read by this method,
    * because primitive field doesn't write null flag.
@@ -335,7 +427,15 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
       MemoryBuffer buffer) {
     Serializer<Object> serializer = fieldInfo.classInfo.getSerializer();
     Object fieldValue;
-    if (isFinal) {
+    if (fieldInfo.refMode != FieldRefMode.DEFAULT) {
+      int nextReadRefId = FieldRefMode.preserveRefId(refResolver, buffer, fieldInfo.refMode);
+      if (nextReadRefId >= Fury.NOT_NULL_VALUE_FLAG) {
+        fieldValue = serializer.read(buffer);
+        refResolver.setReadObject(nextReadRefId, fieldValue);
+      } else {
+        fieldValue = refResolver.getReadObject();
+      }
+    } else if (isFinal) {
       // whether tracking ref is recorded in `fieldInfo.serializer`, so it's still
       // consistent with jit serializer.
       fieldValue = fury.readRef(buffer, serializer);
@@ -364,7 +464,16 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
 
   static Object readOtherFieldValue(Fury fury, GenericTypeField fieldInfo, MemoryBuffer buffer) {
     Object fieldValue;
-    if (fieldInfo.trackingRef) {
+    if (fieldInfo.refMode != FieldRefMode.DEFAULT) {
+      RefResolver refResolver = fury.getRefResolver();
+      int nextReadRefId = FieldRefMode.preserveRefId(refResolver, buffer, fieldInfo.refMode);
+      if (nextReadRefId >= Fury.NOT_NULL_VALUE_FLAG) {
+        fieldValue = fury.readNonRef(buffer, fieldInfo.classInfoHolder);
+        refResolver.setReadObject(nextReadRefId, fieldValue);
+      } else {
+        fieldValue = refResolver.getReadObject();
+      }
+    } else if (fieldInfo.trackingRef) {
       fieldValue = fury.readRef(buffer, fieldInfo.classInfoHolder);
     } else {
       byte headFlag = buffer.readByte();
@@ -380,7 +489,18 @@ public final class ObjectSerializer<T> extends AbstractObjectSerializer<T> {
   static Object readContainerFieldValue(
       Fury fury, Generics generics, GenericTypeField fieldInfo, MemoryBuffer buffer) {
     Object fieldValue;
-    if (fieldInfo.trackingRef) {
+    if (fieldInfo.refMode != FieldRefMode.DEFAULT) {
+      RefResolver refResolver = fury.getRefResolver();
+      int nextReadRefId = FieldRefMode.preserveRefId(refResolver, buffer, fieldInfo.refMode);
+      if (nextReadRefId >= Fury.NOT_NULL_VALUE_FLAG) {
+        generics.pushGenericType(fieldInfo.genericType);
+        fieldValue = fury.readNonRef(buffer, fieldInfo.classInfoHolder);
+        generics.popGenericType();
+        refResolver.setReadObject(nextReadRefId, fieldValue);
+      } else {
+        fieldValue = refResolver.getReadObject();
+      }
+    } else if (fieldInfo.trackingRef) {
       generics.pushGenericType(fieldInfo.genericType);
       fieldValue = fury.readRef(buffer, fieldInfo.classInfoHolder);
       generics.popGenericType();
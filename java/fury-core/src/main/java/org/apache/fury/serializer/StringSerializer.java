@@ -37,10 +37,13 @@ import org.apache.fury.annotation.CodegenInvoke;
 import org.apache.fury.codegen.Expression;
 import org.apache.fury.codegen.Expression.Invoke;
 import org.apache.fury.codegen.Expression.StaticInvoke;
+import org.apache.fury.exception.DeserializationException;
 import org.apache.fury.memory.LittleEndian;
 import org.apache.fury.memory.MemoryBuffer;
 import org.apache.fury.memory.Platform;
 import org.apache.fury.reflect.ReflectionUtils;
+import org.apache.fury.resolver.SerializationContext;
+import org.apache.fury.resolver.StringDictionary;
 import org.apache.fury.type.Type;
 import org.apache.fury.util.MathUtils;
 import org.apache.fury.util.Preconditions;
@@ -107,12 +110,16 @@ public final class StringSerializer extends ImmutableSerializer<String> {
   }
 
   private final boolean compressString;
+  private final boolean stringDictionaryEnabled;
+  private final SerializationContext serializationContext;
   private byte[] byteArray = new byte[DEFAULT_BUFFER_SIZE];
   private int smoothByteArrayLength = DEFAULT_BUFFER_SIZE;
 
   public StringSerializer(Fury fury) {
     super(fury, String.class, fury.trackingRef() && !fury.isStringRefIgnored());
     compressString = fury.compressString();
+    stringDictionaryEnabled = fury.getConfig().isStringDictionaryEnabled();
+    serializationContext = fury.getSerializationContext();
   }
 
   @Override
@@ -150,6 +157,9 @@ public final class StringSerializer extends ImmutableSerializer<String> {
 
   public Expression writeStringExpr(Expression strSerializer, Expression buffer, Expression str) {
     if (isJava) {
+      if (stringDictionaryEnabled) {
+        return new Invoke(strSerializer, "writeJavaString", buffer, str);
+      }
       if (STRING_VALUE_FIELD_IS_BYTES) {
         if (compressString) {
           return new Invoke(strSerializer, "writeCompressedBytesString", buffer, str);
@@ -181,6 +191,9 @@ public final class StringSerializer extends ImmutableSerializer<String> {
 
   public Expression readStringExpr(Expression strSerializer, Expression buffer) {
     if (isJava) {
+      if (stringDictionaryEnabled) {
+        return new Invoke(strSerializer, "readJavaString", STRING_TYPE, buffer);
+      }
       if (STRING_VALUE_FIELD_IS_BYTES) {
         return new Invoke(strSerializer, "readBytesString", STRING_TYPE, buffer);
       } else {
@@ -261,6 +274,36 @@ public final class StringSerializer extends ImmutableSerializer<String> {
 
   // Invoked by fury JIT
   public void writeJavaString(MemoryBuffer buffer, String value) {
+    if (stringDictionaryEnabled) {
+      writeDictionaryString(buffer, value);
+    } else {
+      writeJavaStringValue(buffer, value);
+    }
+  }
+
+  /**
+   * Write a string through the {@link StringDictionary} of current serialization. The header is a
+   * varuint32: an odd header refers to the dictionary slot {@code header >>> 1}, an even header is
+   * followed by the string value, which will be stored in slot {@code (header >>> 1) - 1} if the
+   * slot isn't -1.
+   */
+  private void writeDictionaryString(MemoryBuffer buffer, String value) {
+    StringDictionary dictionary = serializationContext.getStringDictionary();
+    if (dictionary == null) {
+      buffer.writeByte(0);
+    } else {
+      int slot = dictionary.lookup(value);
+      if (slot >= 0) {
+        buffer.writeVarUint32Small7((slot << 1) | 1);
+        return;
+      }
+      slot = dictionary.add(value);
+      buffer.writeVarUint32Small7((slot + 1) << 1);
+    }
+    writeJavaStringValue(buffer, value);
+  }
+
+  private void writeJavaStringValue(MemoryBuffer buffer, String value) {
     if (STRING_VALUE_FIELD_IS_BYTES) {
       if (compressString) {
         writeCompressedBytesString(buffer, value);
@@ -286,6 +329,31 @@ public final class StringSerializer extends ImmutableSerializer<String> {
 
   // Invoked by fury JIT
   public String readJavaString(MemoryBuffer buffer) {
+    if (stringDictionaryEnabled) {
+      return readDictionaryString(buffer);
+    }
+    return readJavaStringValue(buffer);
+  }
+
+  private String readDictionaryString(MemoryBuffer buffer) {
+    int header = buffer.readVarUint32Small7();
+    if (header == 0) {
+      return readJavaStringValue(buffer);
+    }
+    StringDictionary dictionary = serializationContext.getStringDictionary();
+    if (dictionary == null) {
+      throw new DeserializationException(
+          "String dictionary is used by serialization but not set for deserialization");
+    }
+    if ((header & 1) == 1) {
+      return dictionary.get(header >>> 1);
+    }
+    String value = readJavaStringValue(buffer);
+    dictionary.put((header >>> 1) - 1, value);
+    return value;
+  }
+
+  private String readJavaStringValue(MemoryBuffer buffer) {
     if (STRING_VALUE_FIELD_IS_BYTES) {
       if (compressString) {
         return readCompressedBytesString(buffer);
@@ -775,34 +843,16 @@ public final class StringSerializer extends ImmutableSerializer<String> {
     int vectorizedLen = sampleNum >> 2;
     int vectorizedChars = vectorizedLen << 2;
     int endOffset = Platform.CHAR_ARRAY_OFFSET + (vectorizedChars << 1);
-    int asciiCount = 0;
-    int latin1Count = 0;
-    for (int offset = Platform.CHAR_ARRAY_OFFSET, charOffset = 0;
-        offset < endOffset;
-        offset += 8, charOffset += 4) {
+    int nonAsciiCount = 0;
+    int nonLatin1Count = 0;
+    // count 4 chars by a word, no branches in the loop.
+    for (int offset = Platform.CHAR_ARRAY_OFFSET; offset < endOffset; offset += 8) {
       long multiChars = Platform.getLong(chars, offset);
-      if ((multiChars & MULTI_CHARS_NON_ASCII_MASK) == 0) {
-        latin1Count += 4;
-        asciiCount += 4;
-      } else if ((multiChars & MULTI_CHARS_NON_LATIN_MASK) == 0) {
-        latin1Count += 4;
-        for (int i = 0; i < 4; ++i) {
-          if (chars[charOffset + i] < 0x80) {
-            asciiCount++;
-          }
-        }
-      } else {
-        for (int i = 0; i < 4; ++i) {
-          if (chars[charOffset + i] < 0x80) {
-            latin1Count++;
-            asciiCount++;
-          } else if (chars[charOffset + i] <= 0xFF) {
-            latin1Count++;
-          }
-        }
-      }
+      nonAsciiCount += StringUtils.countNonZeroChars(multiChars & MULTI_CHARS_NON_ASCII_MASK);
+      nonLatin1Count += StringUtils.countNonZeroChars(multiChars & MULTI_CHARS_NON_LATIN_MASK);
     }
-
+    int asciiCount = vectorizedChars - nonAsciiCount;
+    int latin1Count = vectorizedChars - nonLatin1Count;
     for (int i = vectorizedChars; i < sampleNum; i++) {
       if (chars[i] < 0x80) {
         latin1Count++;
@@ -830,22 +880,13 @@ public final class StringSerializer extends ImmutableSerializer<String> {
     int vectorizedLen = sampleNum >> 3;
     int vectorizedBytes = vectorizedLen << 3;
     int endOffset = Platform.BYTE_ARRAY_OFFSET + vectorizedBytes;
-    int asciiCount = 0;
-    for (int offset = Platform.BYTE_ARRAY_OFFSET, bytesOffset = 0;
-        offset < endOffset;
-        offset += 8, bytesOffset += 8) {
+    int nonAsciiCount = 0;
+    for (int offset = Platform.BYTE_ARRAY_OFFSET; offset < endOffset; offset += 8) {
       long multiChars = Platform.getLong(bytes, offset);
-      if ((multiChars & MULTI_CHARS_NON_ASCII_MASK) == 0) {
-        asciiCount += 4;
-      } else {
-        for (int i = 0; i < 8; i += 2) {
-          if (Platform.getChar(bytes, offset + i) < 0x80) {
-            asciiCount++;
-          }
-        }
-      }
+      nonAsciiCount += StringUtils.countNonZeroChars(multiChars & MULTI_CHARS_NON_ASCII_MASK);
     }
-    for (int i = vectorizedBytes; vectorizedBytes < sampleNum; vectorizedBytes += 2) {
+    int asciiCount = (vectorizedBytes >> 1) - nonAsciiCount;
+    for (int i = vectorizedBytes; i + 1 < sampleNum; i += 2) {
       if (Platform.getChar(bytes, Platform.BYTE_ARRAY_OFFSET + i) < 0x80) {
         asciiCount++;
       }
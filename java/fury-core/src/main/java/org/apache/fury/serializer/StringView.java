@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.serializer;
+
+import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.apache.fury.Fury;
+import org.apache.fury.annotation.CharSequenceView;
+import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.config.Config;
+import org.apache.fury.config.Language;
+import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.type.Descriptor;
+import org.apache.fury.util.Preconditions;
+
+/**
+ * A {@link CharSequence} view over Latin1 or UTF-8 encoded bytes of a {@link MemoryBuffer}. The
+ * {@link String} is created on first {@link #toString} call, {@link #hashCode}, {@link #equals} and
+ * char access of Latin1 views read the buffer directly without allocation. {@link #hashCode} is the
+ * same as the hash code of the string.
+ *
+ * <p>Views are created for fields annotated by {@link CharSequenceView}. The serialization methods
+ * are invoked by both {@link ObjectSerializer} and generated serializers, so that the data format
+ * is the same.
+ */
+public final class StringView implements CharSequence {
+  private static final byte LATIN1 = 0;
+  private static final byte UTF8 = 1;
+
+  private final MemoryBuffer buffer;
+  private final int offset;
+  private final int numBytes;
+  private final byte coder;
+  private String value;
+  private int hash;
+
+  private StringView(MemoryBuffer buffer, int offset, int numBytes, byte coder) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.numBytes = numBytes;
+    this.coder = coder;
+  }
+
+  @Override
+  public int length() {
+    return coder == LATIN1 ? numBytes : toString().length();
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (coder == LATIN1) {
+      if (index < 0 || index >= numBytes) {
+        throw new StringIndexOutOfBoundsException(index);
+      }
+      return (char) (buffer.getByte(offset + index) & 0xFF);
+    }
+    return toString().charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (coder == LATIN1) {
+      if (start < 0 || start > end || end > numBytes) {
+        throw new StringIndexOutOfBoundsException(
+            String.format("start %s, end %s, length %s", start, end, numBytes));
+      }
+      return new StringView(buffer, offset + start, end - start, LATIN1);
+    }
+    return toString().subSequence(start, end);
+  }
+
+  /** Returns true if this view has the same chars as <code>cs</code>. */
+  public boolean contentEquals(CharSequence cs) {
+    if (coder != LATIN1) {
+      return toString().contentEquals(cs);
+    }
+    int numBytes = this.numBytes;
+    if (cs.length() != numBytes) {
+      return false;
+    }
+    MemoryBuffer buffer = this.buffer;
+    for (int i = 0, offset = this.offset; i < numBytes; i++) {
+      if (cs.charAt(i) != (char) (buffer.getByte(offset + i) & 0xFF)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof StringView)) {
+      return false;
+    }
+    StringView other = (StringView) o;
+    if (coder == other.coder) {
+      return numBytes == other.numBytes
+          && (numBytes == 0 || buffer.equalTo(other.buffer, offset, other.offset, numBytes));
+    }
+    return contentEquals(other);
+  }
+
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0 && numBytes > 0) {
+      if (coder == LATIN1) {
+        MemoryBuffer buffer = this.buffer;
+        for (int i = offset, end = offset + numBytes; i < end; i++) {
+          h = 31 * h + (buffer.getByte(i) & 0xFF);
+        }
+      } else {
+        h = toString().hashCode();
+      }
+      hash = h;
+    }
+    return h;
+  }
+
+  @Override
+  public String toString() {
+    String v = value;
+    if (v == null) {
+      v = new String(buffer.getBytes(offset, numBytes), charset(coder));
+      value = v;
+    }
+    return v;
+  }
+
+  private static Charset charset(byte coder) {
+    return coder == LATIN1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8;
+  }
+
+  /** Returns true if the field of <code>descriptor</code> should be read as a view. */
+  public static boolean isStringViewField(Fury fury, Descriptor descriptor) {
+    Field field = descriptor.getField();
+    if (field == null || !field.isAnnotationPresent(CharSequenceView.class)) {
+      return false;
+    }
+    Preconditions.checkArgument(
+        field.getType() == CharSequence.class,
+        "@CharSequenceView is only supported for CharSequence, but got field %s",
+        field);
+    Config config = fury.getConfig();
+    return config.getLanguage() == Language.JAVA
+        && config.getCompatibleMode() == CompatibleMode.SCHEMA_CONSISTENT
+        && !config.isMetaShareEnabled();
+  }
+
+  public static void write(MemoryBuffer buffer, CharSequence value) {
+    if (value == null) {
+      buffer.writeByte(Fury.NULL_FLAG);
+      return;
+    }
+    buffer.writeByte(Fury.NOT_NULL_VALUE_FLAG);
+    if (value instanceof StringView) {
+      // copy encoded bytes directly, no decoding and encoding needed.
+      StringView view = (StringView) value;
+      int numBytes = view.numBytes;
+      buffer.writeVarUint32Small7((numBytes << 1) | view.coder);
+      int writerIndex = buffer.writerIndex();
+      buffer.ensure(writerIndex + numBytes);
+      view.buffer.copyTo(view.offset, buffer, writerIndex, numBytes);
+      buffer.increaseWriterIndex(numBytes);
+      return;
+    }
+    String str = value.toString();
+    byte coder = LATIN1;
+    for (int i = 0, length = str.length(); i < length; i++) {
+      if (str.charAt(i) > 0xFF) {
+        coder = UTF8;
+        break;
+      }
+    }
+    byte[] bytes = str.getBytes(charset(coder));
+    buffer.writeVarUint32Small7((bytes.length << 1) | coder);
+    buffer.writeBytes(bytes);
+  }
+
+  public static CharSequence read(MemoryBuffer buffer) {
+    if (buffer.readByte() == Fury.NULL_FLAG) {
+      return null;
+    }
+    int header = buffer.readVarUint32Small7();
+    int numBytes = header >>> 1;
+    byte coder = (byte) (header & 0b1);
+    if (buffer.isStreamBacked()) {
+      // buffer content will be overwritten by later reads, a view can't be used.
+      return new String(buffer.readBytes(numBytes), charset(coder));
+    }
+    buffer.checkReadableBytes(numBytes);
+    int offset = buffer.readerIndex();
+    buffer.increaseReaderIndex(numBytes);
+    return new StringView(buffer, offset, numBytes, coder);
+  }
+}
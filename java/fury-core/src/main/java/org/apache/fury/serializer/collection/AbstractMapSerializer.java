@@ -26,6 +26,7 @@ import java.lang.invoke.MethodHandle;
 import java.util.Map;
 import java.util.Map.Entry;
 import org.apache.fury.Fury;
+import org.apache.fury.annotation.CodegenInvoke;
 import org.apache.fury.collection.IdentityMap;
 import org.apache.fury.collection.Tuple2;
 import org.apache.fury.memory.MemoryBuffer;
@@ -129,26 +130,8 @@ public abstract class AbstractMapSerializer<T> extends Serializer<T> {
     this.valueSerializer = null;
     if (keySerializer != null && valueSerializer != null) {
       javaWriteWithKVSerializers(fury, buffer, map, keySerializer, valueSerializer);
-    } else if (keySerializer != null) {
-      ClassResolver classResolver = fury.getClassResolver();
-      RefResolver refResolver = fury.getRefResolver();
-      for (Object object : map.entrySet()) {
-        Map.Entry entry = (Map.Entry) object;
-        fury.writeRef(buffer, entry.getKey(), keySerializer);
-        Object value = entry.getValue();
-        writeJavaRefOptimized(
-            fury, classResolver, refResolver, buffer, value, valueClassInfoWriteCache);
-      }
-    } else if (valueSerializer != null) {
-      ClassResolver classResolver = fury.getClassResolver();
-      RefResolver refResolver = fury.getRefResolver();
-      for (Object object : map.entrySet()) {
-        Map.Entry entry = (Map.Entry) object;
-        Object key = entry.getKey();
-        writeJavaRefOptimized(
-            fury, classResolver, refResolver, buffer, key, keyClassInfoWriteCache);
-        fury.writeRef(buffer, entry.getValue(), valueSerializer);
-      }
+    } else if (keySerializer != null || valueSerializer != null) {
+      writeChunks(buffer, map, keySerializer, valueSerializer);
     } else {
       genericJavaWrite(fury, buffer, map);
     }
@@ -206,12 +189,13 @@ public abstract class AbstractMapSerializer<T> extends Serializer<T> {
       boolean valueGenericTypeFinal = valueGenericType.isMonomorphic();
       if (keyGenericTypeFinal && valueGenericTypeFinal) {
         javaKVTypesFinalWrite(fury, buffer, map, keyGenericType, valueGenericType, generics);
-      } else if (keyGenericTypeFinal) {
-        javaKeyTypeFinalWrite(fury, buffer, map, keyGenericType, valueGenericType, generics);
-      } else if (valueGenericTypeFinal) {
-        javaValueTypeFinalWrite(fury, buffer, map, keyGenericType, valueGenericType, generics);
       } else {
-        javaKVTypesNonFinalWrite(fury, buffer, map, keyGenericType, valueGenericType, generics);
+        ClassResolver classResolver = fury.getClassResolver();
+        writeChunks(
+            buffer,
+            map,
+            keyGenericTypeFinal ? keyGenericType.getSerializer(classResolver) : null,
+            valueGenericTypeFinal ? valueGenericType.getSerializer(classResolver) : null);
       }
     }
   }
@@ -236,109 +220,111 @@ public abstract class AbstractMapSerializer<T> extends Serializer<T> {
     }
   }
 
-  private void javaKeyTypeFinalWrite(
-      Fury fury,
-      MemoryBuffer buffer,
-      Map map,
-      GenericType keyGenericType,
-      GenericType valueGenericType,
-      Generics generics) {
-    ClassResolver classResolver = fury.getClassResolver();
-    RefResolver refResolver = fury.getRefResolver();
-    boolean trackingValueRef = fury.getClassResolver().needToWriteRef(valueGenericType.getCls());
-    Serializer keySerializer = keyGenericType.getSerializer(fury.getClassResolver());
-    for (Object object : map.entrySet()) {
-      Map.Entry entry = (Map.Entry) object;
-      generics.pushGenericType(keyGenericType);
-      fury.writeRef(buffer, entry.getKey(), keySerializer);
-      generics.popGenericType();
-      generics.pushGenericType(valueGenericType);
-      writeJavaRefOptimized(
-          fury,
-          classResolver,
-          refResolver,
-          trackingValueRef,
-          buffer,
-          entry.getValue(),
-          valueClassInfoWriteCache);
-      generics.popGenericType();
-    }
+  private void generalJavaWrite(Fury fury, MemoryBuffer buffer, Map map) {
+    writeChunks(buffer, map, null, null);
   }
 
-  private void javaValueTypeFinalWrite(
-      Fury fury,
-      MemoryBuffer buffer,
-      Map map,
-      GenericType keyGenericType,
-      GenericType valueGenericType,
-      Generics generics) {
+  /**
+   * Write map entries as chunks, see {@link MapFlags}. Entries with same key and value class are
+   * written in one chunk, so key/value class info and ref tracking flags are written once per chunk
+   * instead of per entry.
+   *
+   * @param keySerializer serializer of final declared key type, null if key type is not final.
+   * @param valueSerializer serializer of final declared value type, null if value type is not
+   *     final.
+   */
+  @CodegenInvoke
+  public void writeChunks(
+      MemoryBuffer buffer, Map map, Serializer keySerializer, Serializer valueSerializer) {
+    Fury fury = this.fury;
     ClassResolver classResolver = fury.getClassResolver();
     RefResolver refResolver = fury.getRefResolver();
-    boolean trackingKeyRef = fury.getClassResolver().needToWriteRef(keyGenericType.getCls());
-    Serializer valueSerializer = valueGenericType.getSerializer(fury.getClassResolver());
-    for (Object object : map.entrySet()) {
-      Map.Entry entry = (Map.Entry) object;
-      generics.pushGenericType(keyGenericType);
-      writeJavaRefOptimized(
-          fury,
-          classResolver,
-          refResolver,
-          trackingKeyRef,
-          buffer,
-          entry.getKey(),
-          keyClassInfoWriteCache);
-      generics.popGenericType();
-      generics.pushGenericType(valueGenericType);
-      fury.writeRef(buffer, entry.getValue(), valueSerializer);
-      generics.popGenericType();
+    // Chunk size is computed before the chunk header is written instead of being back-patched,
+    // since a stream backed buffer may have flushed the header already.
+    Object[] entries = map.entrySet().toArray();
+    int size = entries.length;
+    int i = 0;
+    while (i < size) {
+      Map.Entry entry = (Map.Entry) entries[i];
+      Object key = entry.getKey();
+      Object value = entry.getValue();
+      if (key == null || value == null) {
+        buffer.writeByte(MapFlags.NULL_ENTRY);
+        writeNullEntryElement(fury, buffer, key, keySerializer, keyClassInfoWriteCache);
+        writeNullEntryElement(fury, buffer, value, valueSerializer, valueClassInfoWriteCache);
+        i++;
+        continue;
+      }
+      Class<?> keyCls = key.getClass();
+      Class<?> valueCls = value.getClass();
+      int chunkEnd = i + 1;
+      int maxChunkEnd = Math.min(size, i + MapFlags.MAX_CHUNK_SIZE);
+      while (chunkEnd < maxChunkEnd) {
+        Map.Entry next = (Map.Entry) entries[chunkEnd];
+        Object nextKey = next.getKey();
+        Object nextValue = next.getValue();
+        if (nextKey == null
+            || nextValue == null
+            || nextKey.getClass() != keyCls
+            || nextValue.getClass() != valueCls) {
+          break;
+        }
+        chunkEnd++;
+      }
+      ClassInfo keyClassInfo = null;
+      ClassInfo valueClassInfo = null;
+      Serializer chunkKeySerializer = keySerializer;
+      if (chunkKeySerializer == null) {
+        keyClassInfo = classResolver.getClassInfo(keyCls, keyClassInfoWriteCache);
+        chunkKeySerializer = keyClassInfo.getSerializer();
+      }
+      Serializer chunkValueSerializer = valueSerializer;
+      if (chunkValueSerializer == null) {
+        valueClassInfo = classResolver.getClassInfo(valueCls, valueClassInfoWriteCache);
+        chunkValueSerializer = valueClassInfo.getSerializer();
+      }
+      boolean trackingKeyRef = chunkKeySerializer.needToWriteRef();
+      boolean trackingValueRef = chunkValueSerializer.needToWriteRef();
+      int header = 0;
+      if (trackingKeyRef) {
+        header |= MapFlags.TRACKING_KEY_REF;
+      }
+      if (trackingValueRef) {
+        header |= MapFlags.TRACKING_VALUE_REF;
+      }
+      buffer.writeByte(header);
+      buffer.writeByte(chunkEnd - i);
+      if (keyClassInfo != null) {
+        classResolver.writeClass(buffer, keyClassInfo);
+      }
+      if (valueClassInfo != null) {
+        classResolver.writeClass(buffer, valueClassInfo);
+      }
+      for (; i < chunkEnd; i++) {
+        entry = (Map.Entry) entries[i];
+        key = entry.getKey();
+        value = entry.getValue();
+        if (!trackingKeyRef || !refResolver.writeRefOrNull(buffer, key)) {
+          fury.writeNonRef(buffer, key, chunkKeySerializer);
+        }
+        if (!trackingValueRef || !refResolver.writeRefOrNull(buffer, value)) {
+          fury.writeNonRef(buffer, value, chunkValueSerializer);
+        }
+      }
     }
   }
 
-  private void javaKVTypesNonFinalWrite(
+  private void writeNullEntryElement(
       Fury fury,
       MemoryBuffer buffer,
-      Map map,
-      GenericType keyGenericType,
-      GenericType valueGenericType,
-      Generics generics) {
-    ClassResolver classResolver = fury.getClassResolver();
-    RefResolver refResolver = fury.getRefResolver();
-    boolean trackingKeyRef = fury.getClassResolver().needToWriteRef(keyGenericType.getCls());
-    boolean trackingValueRef = fury.getClassResolver().needToWriteRef(valueGenericType.getCls());
-    for (Object object : map.entrySet()) {
-      Map.Entry entry = (Map.Entry) object;
-      generics.pushGenericType(keyGenericType);
-      writeJavaRefOptimized(
-          fury,
-          classResolver,
-          refResolver,
-          trackingKeyRef,
-          buffer,
-          entry.getKey(),
-          keyClassInfoWriteCache);
-      generics.popGenericType();
-      generics.pushGenericType(valueGenericType);
-      writeJavaRefOptimized(
-          fury,
-          classResolver,
-          refResolver,
-          trackingValueRef,
-          buffer,
-          entry.getValue(),
-          valueClassInfoWriteCache);
-      generics.popGenericType();
-    }
-  }
-
-  private void generalJavaWrite(Fury fury, MemoryBuffer buffer, Map map) {
-    ClassResolver classResolver = fury.getClassResolver();
-    RefResolver refResolver = fury.getRefResolver();
-    for (Object object : map.entrySet()) {
-      Map.Entry entry = (Map.Entry) object;
-      writeJavaRefOptimized(
-          fury, classResolver, refResolver, buffer, entry.getKey(), keyClassInfoWriteCache);
+      Object obj,
+      Serializer serializer,
+      ClassInfoHolder classInfoHolder) {
+    if (serializer != null) {
+      fury.writeRef(buffer, obj, serializer);
+    } else {
       writeJavaRefOptimized(
-          fury, classResolver, refResolver, buffer, entry.getValue(), valueClassInfoWriteCache);
+          fury, fury.getClassResolver(), fury.getRefResolver(), buffer, obj, classInfoHolder);
     }
   }
 
@@ -502,17 +488,8 @@ public abstract class AbstractMapSerializer<T> extends Serializer<T> {
         Object value = fury.readRef(buffer, valueSerializer);
         map.put(key, value);
       }
-    } else if (keySerializer != null) {
-      for (int i = 0; i < size; i++) {
-        Object key = fury.readRef(buffer, keySerializer);
-        map.put(key, fury.readRef(buffer, keyClassInfoReadCache));
-      }
-    } else if (valueSerializer != null) {
-      for (int i = 0; i < size; i++) {
-        Object key = fury.readRef(buffer);
-        Object value = fury.readRef(buffer, valueSerializer);
-        map.put(key, value);
-      }
+    } else if (keySerializer != null || valueSerializer != null) {
+      readChunks(buffer, map, size, keySerializer, valueSerializer);
     } else {
       genericJavaRead(fury, buffer, map, size);
     }
@@ -539,13 +516,14 @@ public abstract class AbstractMapSerializer<T> extends Serializer<T> {
       boolean valueGenericTypeFinal = valueGenericType.isMonomorphic();
       if (keyGenericTypeFinal && valueGenericTypeFinal) {
         javaKVTypesFinalRead(fury, buffer, map, keyGenericType, valueGenericType, generics, size);
-      } else if (keyGenericTypeFinal) {
-        javaKeyTypeFinalRead(fury, buffer, map, keyGenericType, valueGenericType, generics, size);
-      } else if (valueGenericTypeFinal) {
-        javaValueTypeFinalRead(fury, buffer, map, keyGenericType, valueGenericType, generics, size);
       } else {
-        javaKVTypesNonFinalRead(
-            fury, buffer, map, keyGenericType, valueGenericType, generics, size);
+        ClassResolver classResolver = fury.getClassResolver();
+        readChunks(
+            buffer,
+            map,
+            size,
+            keyGenericTypeFinal ? keyGenericType.getSerializer(classResolver) : null,
+            valueGenericTypeFinal ? valueGenericType.getSerializer(classResolver) : null);
       }
       generics.popGenericType();
     }
@@ -572,85 +550,84 @@ public abstract class AbstractMapSerializer<T> extends Serializer<T> {
     }
   }
 
-  private void javaKeyTypeFinalRead(
-      Fury fury,
-      MemoryBuffer buffer,
-      Map map,
-      GenericType keyGenericType,
-      GenericType valueGenericType,
-      Generics generics,
-      int size) {
-    RefResolver refResolver = fury.getRefResolver();
-    boolean trackingValueRef = fury.getClassResolver().needToWriteRef(valueGenericType.getCls());
-    Serializer keySerializer = keyGenericType.getSerializer(fury.getClassResolver());
-    for (int i = 0; i < size; i++) {
-      generics.pushGenericType(keyGenericType);
-      Object key = fury.readRef(buffer, keySerializer);
-      generics.popGenericType();
-      generics.pushGenericType(valueGenericType);
-      Object value =
-          readJavaRefOptimized(
-              fury, refResolver, trackingValueRef, buffer, valueClassInfoWriteCache);
-      generics.popGenericType();
-      map.put(key, value);
-    }
+  private void generalJavaRead(Fury fury, MemoryBuffer buffer, Map map, int size) {
+    readChunks(buffer, map, size, null, null);
   }
 
-  private void javaValueTypeFinalRead(
-      Fury fury,
+  /**
+   * Read map entries written by {@link #writeChunks}.
+   *
+   * @param keySerializer serializer of final declared key type, null if key type is not final.
+   * @param valueSerializer serializer of final declared value type, null if value type is not
+   *     final.
+   */
+  @CodegenInvoke
+  public void readChunks(
       MemoryBuffer buffer,
       Map map,
-      GenericType keyGenericType,
-      GenericType valueGenericType,
-      Generics generics,
-      int size) {
-    boolean trackingKeyRef = fury.getClassResolver().needToWriteRef(keyGenericType.getCls());
-    Serializer valueSerializer = valueGenericType.getSerializer(fury.getClassResolver());
-    RefResolver refResolver = fury.getRefResolver();
-    for (int i = 0; i < size; i++) {
-      generics.pushGenericType(keyGenericType);
-      Object key =
-          readJavaRefOptimized(fury, refResolver, trackingKeyRef, buffer, keyClassInfoWriteCache);
-      generics.popGenericType();
-      generics.pushGenericType(valueGenericType);
-      Object value = fury.readRef(buffer, valueSerializer);
-      generics.popGenericType();
-      map.put(key, value);
+      int size,
+      Serializer keySerializer,
+      Serializer valueSerializer) {
+    Fury fury = this.fury;
+    ClassResolver classResolver = fury.getClassResolver();
+    while (size > 0) {
+      byte header = buffer.readByte();
+      if (header == MapFlags.NULL_ENTRY) {
+        Object key =
+            keySerializer != null
+                ? fury.readRef(buffer, keySerializer)
+                : fury.readRef(buffer, keyClassInfoReadCache);
+        Object value =
+            valueSerializer != null
+                ? fury.readRef(buffer, valueSerializer)
+                : fury.readRef(buffer, valueClassInfoReadCache);
+        map.put(key, value);
+        size--;
+        continue;
+      }
+      int chunkSize = buffer.readByte() & 0xff;
+      Serializer chunkKeySerializer = keySerializer;
+      if (chunkKeySerializer == null) {
+        chunkKeySerializer =
+            classResolver.readClassInfo(buffer, keyClassInfoReadCache).getSerializer();
+      }
+      Serializer chunkValueSerializer = valueSerializer;
+      if (chunkValueSerializer == null) {
+        chunkValueSerializer =
+            classResolver.readClassInfo(buffer, valueClassInfoReadCache).getSerializer();
+      }
+      boolean trackingKeyRef = (header & MapFlags.TRACKING_KEY_REF) != 0;
+      boolean trackingValueRef = (header & MapFlags.TRACKING_VALUE_REF) != 0;
+      for (int i = 0; i < chunkSize; i++) {
+        Object key = readChunkElement(fury, buffer, chunkKeySerializer, trackingKeyRef);
+        Object value = readChunkElement(fury, buffer, chunkValueSerializer, trackingValueRef);
+        map.put(key, value);
+      }
+      size -= chunkSize;
     }
   }
 
-  private void javaKVTypesNonFinalRead(
-      Fury fury,
-      MemoryBuffer buffer,
-      Map map,
-      GenericType keyGenericType,
-      GenericType valueGenericType,
-      Generics generics,
-      int size) {
-    ClassResolver classResolver = fury.getClassResolver();
-    RefResolver refResolver = fury.getRefResolver();
-    boolean trackingKeyRef = classResolver.needToWriteRef(keyGenericType.getCls());
-    boolean trackingValueRef = classResolver.needToWriteRef(valueGenericType.getCls());
-    for (int i = 0; i < size; i++) {
-      generics.pushGenericType(keyGenericType);
-      Object key =
-          readJavaRefOptimized(fury, refResolver, trackingKeyRef, buffer, keyClassInfoWriteCache);
-      generics.popGenericType();
-      generics.pushGenericType(valueGenericType);
-      Object value =
-          readJavaRefOptimized(
-              fury, refResolver, trackingValueRef, buffer, valueClassInfoWriteCache);
-      generics.popGenericType();
-      map.put(key, value);
+  private static Object readChunkElement(
+      Fury fury, MemoryBuffer buffer, Serializer serializer, boolean trackingRef) {
+    if (trackingRef) {
+      RefResolver refResolver = fury.getRefResolver();
+      int nextReadRefId = refResolver.tryPreserveRefId(buffer);
+      if (nextReadRefId < Fury.NOT_NULL_VALUE_FLAG) {
+        return refResolver.getReadObject();
+      }
+      Object obj = readChunkElement(fury, buffer, serializer);
+      refResolver.setReadObject(nextReadRefId, obj);
+      return obj;
     }
+    return readChunkElement(fury, buffer, serializer);
   }
 
-  private void generalJavaRead(Fury fury, MemoryBuffer buffer, Map map, int size) {
-    for (int i = 0; i < size; i++) {
-      Object key = fury.readRef(buffer, keyClassInfoReadCache);
-      Object value = fury.readRef(buffer, valueClassInfoReadCache);
-      map.put(key, value);
-    }
+  private static Object readChunkElement(Fury fury, MemoryBuffer buffer, Serializer serializer) {
+    // Keep depth consistent with `Fury#writeNonRef` for nested generics.
+    fury.incDepth(1);
+    Object obj = serializer.read(buffer);
+    fury.incDepth(-1);
+    return obj;
   }
 
   @SuppressWarnings("unchecked")
@@ -742,28 +719,6 @@ public abstract class AbstractMapSerializer<T> extends Serializer<T> {
     }
   }
 
-  private void writeJavaRefOptimized(
-      Fury fury,
-      ClassResolver classResolver,
-      RefResolver refResolver,
-      boolean trackingRef,
-      MemoryBuffer buffer,
-      Object obj,
-      ClassInfoHolder classInfoHolder) {
-    if (trackingRef) {
-      if (!refResolver.writeNullFlag(buffer, obj)) {
-        fury.writeRef(buffer, obj, classResolver.getClassInfo(obj.getClass(), classInfoHolder));
-      }
-    } else {
-      if (obj == null) {
-        buffer.writeByte(Fury.NULL_FLAG);
-      } else {
-        buffer.writeByte(Fury.NOT_NULL_VALUE_FLAG);
-        fury.writeNonRef(buffer, obj, classResolver.getClassInfo(obj.getClass(), classInfoHolder));
-      }
-    }
-  }
-
   @Override
   public abstract T read(MemoryBuffer buffer);
 
@@ -832,29 +787,4 @@ public abstract class AbstractMapSerializer<T> extends Serializer<T> {
   public abstract T onMapCopy(Map map);
 
   public abstract T onMapRead(Map map);
-
-  private Object readJavaRefOptimized(
-      Fury fury,
-      RefResolver refResolver,
-      boolean trackingRef,
-      MemoryBuffer buffer,
-      ClassInfoHolder classInfoHolder) {
-    if (trackingRef) {
-      int nextReadRefId = refResolver.tryPreserveRefId(buffer);
-      if (nextReadRefId >= Fury.NOT_NULL_VALUE_FLAG) {
-        Object obj = fury.readNonRef(buffer, classInfoHolder);
-        refResolver.setReadObject(nextReadRefId, obj);
-        return obj;
-      } else {
-        return refResolver.getReadObject();
-      }
-    } else {
-      byte headFlag = buffer.readByte();
-      if (headFlag == Fury.NULL_FLAG) {
-        return null;
-      } else {
-        return fury.readNonRef(buffer, classInfoHolder);
-      }
-    }
-  }
 }
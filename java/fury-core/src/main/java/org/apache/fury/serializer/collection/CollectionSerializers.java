@@ -19,6 +19,8 @@
 
 package org.apache.fury.serializer.collection;
 
+import static org.apache.fury.collection.Collections.hashCapacity;
+
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
@@ -87,6 +89,11 @@ public class CollectionSerializers {
       fury.getRefResolver().reference(arrayList);
       return arrayList;
     }
+
+    @Override
+    public Collection newCollection(Collection collection) {
+      return new ArrayList(collection.size());
+    }
   }
 
   public static final class ArraysAsListSerializer extends CollectionSerializer<List<?>> {
@@ -171,10 +178,15 @@ public class CollectionSerializers {
     public HashSet newCollection(MemoryBuffer buffer) {
       int numElements = buffer.readVarUint32Small7();
       setNumElements(numElements);
-      HashSet hashSet = new HashSet(numElements);
+      HashSet hashSet = new HashSet(hashCapacity(numElements));
       fury.getRefResolver().reference(hashSet);
       return hashSet;
     }
+
+    @Override
+    public Collection newCollection(Collection collection) {
+      return new HashSet(hashCapacity(collection.size()));
+    }
   }
 
   public static final class LinkedHashSetSerializer extends CollectionSerializer<LinkedHashSet> {
@@ -191,10 +203,15 @@ public class CollectionSerializers {
     public LinkedHashSet newCollection(MemoryBuffer buffer) {
       int numElements = buffer.readVarUint32Small7();
       setNumElements(numElements);
-      LinkedHashSet hashSet = new LinkedHashSet(numElements);
+      LinkedHashSet hashSet = new LinkedHashSet(hashCapacity(numElements));
       fury.getRefResolver().reference(hashSet);
       return hashSet;
     }
+
+    @Override
+    public Collection newCollection(Collection collection) {
+      return new LinkedHashSet(hashCapacity(collection.size()));
+    }
   }
 
   public static class SortedSetSerializer<T extends SortedSet> extends CollectionSerializer<T> {
@@ -703,7 +720,9 @@ public class CollectionSerializers {
       int numElements = buffer.readVarUint32Small7();
       setNumElements(numElements);
       Comparator comparator = (Comparator) fury.readRef(buffer);
-      PriorityQueue queue = new PriorityQueue(comparator);
+      // Cap capacity read from untrusted data, the queue grows if there are more elements.
+      PriorityQueue queue =
+          new PriorityQueue(Math.max(Math.min(numElements, 1 << 16), 1), comparator);
       fury.getRefResolver().reference(queue);
       return queue;
     }
@@ -19,6 +19,8 @@
 
 package org.apache.fury.serializer.collection;
 
+import static org.apache.fury.collection.Collections.hashCapacity;
+
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -279,7 +281,7 @@ public class GuavaCollectionSerializers {
     @Override
     public T xread(MemoryBuffer buffer) {
       int size = buffer.readVarUint32Small7();
-      Map map = new HashMap();
+      Map map = new HashMap(hashCapacity(size));
       xreadElements(fury, buffer, map, size);
       return xnewInstance(map);
     }
@@ -19,6 +19,8 @@
 
 package org.apache.fury.serializer.collection;
 
+import static org.apache.fury.collection.Collections.hashCapacity;
+
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodType;
 import java.util.ArrayList;
@@ -163,7 +165,7 @@ public class ImmutableCollectionSerializers {
       if (Platform.JAVA_VERSION > 8) {
         return new CollectionContainer<>(numElements);
       } else {
-        return new HashSet(numElements);
+        return new HashSet(hashCapacity(numElements));
       }
     }
 
@@ -212,7 +214,7 @@ public class ImmutableCollectionSerializers {
       if (Platform.JAVA_VERSION > 8) {
         return new JDKImmutableMapContainer(numElements);
       } else {
-        return new HashMap(numElements);
+        return new HashMap(hashCapacity(numElements));
       }
     }
 
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.serializer.collection;
+
+/**
+ * Header flags of a map chunk. When key or value type of a map is not final, entries are written as
+ * chunks: every chunk writes its header, size, key class and value class only once, followed by up
+ * to {@link #MAX_CHUNK_SIZE} entries which have same key and value class. The class of a final
+ * key/value type is not written.
+ */
+public class MapFlags {
+  /** A single entry whose key or value is null, which is written with per-entry type info. */
+  public static final int NULL_ENTRY = 0b1;
+
+  /** Whether track keys ref in chunk. */
+  public static final int TRACKING_KEY_REF = 0b10;
+
+  /** Whether track values ref in chunk. */
+  public static final int TRACKING_VALUE_REF = 0b100;
+
+  /** Max number of entries in a chunk, chunk size is written as an unsigned byte. */
+  public static final int MAX_CHUNK_SIZE = 255;
+}
@@ -19,6 +19,8 @@
 
 package org.apache.fury.serializer.collection;
 
+import static org.apache.fury.collection.Collections.hashCapacity;
+
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -31,14 +33,22 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import org.apache.fury.BaseFury;
 import org.apache.fury.Fury;
 import org.apache.fury.collection.LazyMap;
+import org.apache.fury.collection.LazyValueMap;
 import org.apache.fury.config.Language;
 import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.memory.MemoryUtils;
 import org.apache.fury.memory.Platform;
 import org.apache.fury.reflect.ReflectionUtils;
+import org.apache.fury.resolver.ClassIdContext;
 import org.apache.fury.resolver.ClassInfo;
 import org.apache.fury.resolver.ClassResolver;
+import org.apache.fury.resolver.MetaStringBytes;
+import org.apache.fury.resolver.MetaStringResolver;
+import org.apache.fury.resolver.SerializationContext;
+import org.apache.fury.resolver.StringDictionary;
 import org.apache.fury.serializer.ReplaceResolveSerializer;
 import org.apache.fury.serializer.Serializer;
 import org.apache.fury.serializer.Serializers;
@@ -67,14 +77,14 @@ public class MapSerializers {
     public HashMap newMap(MemoryBuffer buffer) {
       int numElements = buffer.readVarUint32Small7();
       setNumElements(numElements);
-      HashMap hashMap = new HashMap(numElements);
+      HashMap hashMap = new HashMap(hashCapacity(numElements));
       fury.getRefResolver().reference(hashMap);
       return hashMap;
     }
 
     @Override
     public Map newMap(Map map) {
-      return new HashMap(map.size());
+      return new HashMap(hashCapacity(map.size()));
     }
   }
 
@@ -92,14 +102,14 @@ public class MapSerializers {
     public LinkedHashMap newMap(MemoryBuffer buffer) {
       int numElements = buffer.readVarUint32Small7();
       setNumElements(numElements);
-      LinkedHashMap hashMap = new LinkedHashMap(numElements);
+      LinkedHashMap hashMap = new LinkedHashMap(hashCapacity(numElements));
       fury.getRefResolver().reference(hashMap);
       return hashMap;
     }
 
     @Override
     public Map newMap(Map map) {
-      return new LinkedHashMap(map.size());
+      return new LinkedHashMap(hashCapacity(map.size()));
     }
   }
 
@@ -128,6 +138,148 @@ public class MapSerializers {
     }
   }
 
+  /**
+   * Serializer for {@link LazyValueMap}. In lazy mode, keys are written as usual, then every value
+   * is written as a standalone segment which doesn't reference meta strings, string dictionary or
+   * class ids written outside it. Segments are written into a scratch buffer first and emitted
+   * after their lengths, so no written bytes are patched and the format works with stream output.
+   * Deserialization retains the segments and decodes them on demand by {@link
+   * Fury#deserializeJavaObjectAndClass(MemoryBuffer)}.
+   */
+  public static final class LazyValueMapSerializer extends MapSerializer<LazyValueMap> {
+    private static final byte EAGER = 0;
+    private static final byte LAZY = 1;
+
+    public LazyValueMapSerializer(Fury fury) {
+      super(fury, LazyValueMap.class, false);
+    }
+
+    @Override
+    public short getXtypeId() {
+      return (short) -Type.MAP.getId();
+    }
+
+    @Override
+    public void write(MemoryBuffer buffer, LazyValueMap value) {
+      // Undecoded values of a map deserialized by this fury or the thread safe fury managing it
+      // can't be decoded during serialization, so they are always copied as segments.
+      BaseFury decoder = value.getDecoder();
+      boolean sameDecoder =
+          decoder != null && (decoder == fury || decoder == fury.getThreadSafeFury());
+      if (!sameDecoder && !supportLazyValues(value)) {
+        buffer.writeByte(EAGER);
+        buffer.writeVarUint32Small7(value.size());
+        for (Object o : value.entrySet()) {
+          Map.Entry entry = (Map.Entry) o;
+          fury.writeRef(buffer, entry.getKey());
+          fury.writeRef(buffer, entry.getValue());
+        }
+        return;
+      }
+      Preconditions.checkArgument(
+          fury.getBufferCallback() == null,
+          "Out-of-band serialization isn't supported for undecoded LazyValueMap");
+      buffer.writeByte(LAZY);
+      int size = value.size();
+      buffer.writeVarUint32Small7(size);
+      Object[] values = null;
+      if (value.getDecoder() != null) {
+        for (int i = 0; i < size; i++) {
+          fury.writeRef(buffer, value.getKey(i));
+        }
+      } else {
+        values = new Object[size];
+        int i = 0;
+        for (Object o : value.entrySet()) {
+          Map.Entry entry = (Map.Entry) o;
+          fury.writeRef(buffer, entry.getKey());
+          values[i++] = entry.getValue();
+        }
+      }
+      int[] lengths = new int[size];
+      MemoryBuffer segments = MemoryUtils.buffer(32);
+      MetaStringResolver metaStringResolver = fury.getMetaStringResolver();
+      SerializationContext context = fury.getSerializationContext();
+      StringDictionary dictionary = context.getStringDictionary();
+      ClassIdContext classIdContext = context.getClassIdContext();
+      context.setStringDictionary(null);
+      context.setClassIdContext(null);
+      MetaStringBytes[] outerStrings = metaStringResolver.startIsolatedWrite();
+      try {
+        for (int i = 0; i < size; i++) {
+          int start = segments.writerIndex();
+          if (values != null) {
+            fury.writeRef(segments, values[i]);
+          } else if (sameDecoder && !value.isValueDecoded(i)) {
+            value.writeValueBytes(segments, i);
+          } else {
+            fury.writeRef(segments, value.getValue(i));
+          }
+          lengths[i] = segments.writerIndex() - start;
+          metaStringResolver.resetWrite();
+        }
+      } finally {
+        metaStringResolver.endIsolatedWrite(outerStrings);
+        context.setStringDictionary(dictionary);
+        context.setClassIdContext(classIdContext);
+      }
+      for (int length : lengths) {
+        buffer.writeVarUint32Small7(length);
+      }
+      buffer.writeBytes(segments.getHeapMemory(), 0, segments.writerIndex());
+    }
+
+    private boolean supportLazyValues(LazyValueMap value) {
+      if (fury.trackingRef()
+          || fury.getConfig().isMetaShareEnabled()
+          || fury.getBufferCallback() != null) {
+        return false;
+      }
+      if (value.getDecoder() != null) {
+        return true;
+      }
+      return !value.containsKey(null);
+    }
+
+    @Override
+    public LazyValueMap read(MemoryBuffer buffer) {
+      byte mode = buffer.readByte();
+      int size = buffer.readVarUint32Small7();
+      if (mode == EAGER) {
+        LazyValueMap map = new LazyValueMap(size);
+        fury.getRefResolver().reference(map);
+        for (int i = 0; i < size; i++) {
+          map.put(fury.readRef(buffer), fury.readRef(buffer));
+        }
+        return map;
+      }
+      Object[] keys = new Object[size];
+      for (int i = 0; i < size; i++) {
+        keys[i] = fury.readRef(buffer);
+      }
+      int[] valueOffsets = new int[size + 1];
+      for (int i = 0; i < size; i++) {
+        valueOffsets[i + 1] = valueOffsets[i] + buffer.readVarUint32Small7();
+      }
+      byte[] valueBytes = buffer.readBytes(valueOffsets[size]);
+      return new LazyValueMap(fury, keys, valueBytes, valueOffsets);
+    }
+
+    @Override
+    public LazyValueMap newMap(MemoryBuffer buffer) {
+      int numElements = buffer.readVarUint32Small7();
+      setNumElements(numElements);
+      LazyValueMap map = new LazyValueMap(numElements);
+      fury.getRefResolver().reference(map);
+      return map;
+    }
+
+    @Override
+    public Map newMap(Map map) {
+      return new LazyValueMap(map.size());
+    }
+  }
+
   public static class SortedMapSerializer<T extends SortedMap> extends MapSerializer<T> {
 
     public SortedMapSerializer(Fury fury, Class<T> cls) {
@@ -539,5 +691,7 @@ public class MapSerializers {
         new ConcurrentSkipListMapSerializer(fury, ConcurrentSkipListMap.class));
     fury.registerSerializer(EnumMap.class, new EnumMapSerializer(fury));
     fury.registerSerializer(LazyMap.class, new LazyMapSerializer(fury));
+    // Not registered to keep class ids of previous versions, it's written by class name.
+    fury.getClassResolver().setSerializer(LazyValueMap.class, new LazyValueMapSerializer(fury));
   }
 }
@@ -0,0 +1,498 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.serializer.collection;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Map;
+import org.apache.fury.Fury;
+import org.apache.fury.collection.IntArray;
+import org.apache.fury.collection.LongDoubleMap;
+import org.apache.fury.collection.LongMap;
+import org.apache.fury.collection.Tuple2;
+import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.config.Config;
+import org.apache.fury.config.LongEncoding;
+import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.memory.Platform;
+import org.apache.fury.reflect.TypeRef;
+import org.apache.fury.resolver.ClassInfo;
+import org.apache.fury.resolver.ClassResolver;
+import org.apache.fury.resolver.RefResolver;
+import org.apache.fury.serializer.DeltaEncoding;
+import org.apache.fury.serializer.PrimitiveSerializers.LongSerializer;
+import org.apache.fury.serializer.Serializer;
+import org.apache.fury.type.Descriptor;
+import org.apache.fury.type.TypeUtils;
+
+/**
+ * Serializers for collections of primitive values without per-element boxing dispatch.
+ *
+ * <p>When {@link Config#packPrimitiveCollection()} is enabled, fields declared as a collection of
+ * {@link Integer}/{@link Long}/{@link Float}/{@link Double} write their elements as a packed
+ * primitive array, preceded by a null bitmap only if the collection has null elements. Fields
+ * declared as a map with {@link Integer}/{@link Long} keys and a final value type write all keys as
+ * a packed primitive array, followed by the values written by the declared value serializer. Those
+ * methods are invoked by both {@link org.apache.fury.serializer.ObjectSerializer} and generated
+ * serializers, so that the data format is the same.
+ *
+ * <p>{@link IntArray}, {@link LongMap} and {@link LongDoubleMap} are serialized by serializers in
+ * this class, so they can be used as field types to deserialize primitive values without boxing at
+ * all.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class PrimitiveCollectionSerializers {
+  private static final byte PACKED = 0;
+  private static final byte PACKED_WITH_NULL = 1;
+  // Collection contains elements of other types, or map contains null or other type keys.
+  private static final byte GENERAL = 2;
+
+  /**
+   * Returns the class id of the boxed primitive element type or key type if the field of <code>
+   * descriptor</code> should be written packed, or {@link ClassResolver#NO_CLASS_ID} otherwise.
+   */
+  public static short getPackedClassId(Fury fury, Descriptor descriptor) {
+    Field field = descriptor.getField();
+    Config config = fury.getConfig();
+    if (field == null
+        || !config.packPrimitiveCollection()
+        || config.getCompatibleMode() != CompatibleMode.SCHEMA_CONSISTENT
+        || config.isMetaShareEnabled()
+        || DeltaEncoding.isDeltaEncoded(fury, descriptor)) {
+      return ClassResolver.NO_CLASS_ID;
+    }
+    TypeRef<?> typeRef = descriptor.getTypeRef();
+    Class<?> cls = descriptor.getRawType();
+    if (Collection.class.isAssignableFrom(cls)) {
+      Class<?> elemCls = TypeUtils.getRawType(TypeUtils.getElementType(typeRef));
+      if (elemCls == Integer.class) {
+        return ClassResolver.INTEGER_CLASS_ID;
+      } else if (elemCls == Long.class) {
+        return ClassResolver.LONG_CLASS_ID;
+      } else if (elemCls == Float.class) {
+        return ClassResolver.FLOAT_CLASS_ID;
+      } else if (elemCls == Double.class) {
+        return ClassResolver.DOUBLE_CLASS_ID;
+      }
+    } else if (Map.class.isAssignableFrom(cls)) {
+      Tuple2<TypeRef<?>, TypeRef<?>> kvType = TypeUtils.getMapKeyValueType(typeRef);
+      Class<?> keyCls = TypeUtils.getRawType(kvType.f0);
+      Class<?> valueCls = TypeUtils.getRawType(kvType.f1);
+      // Nested generics of value are not pushed, skip container values.
+      if (!fury.getClassResolver().isMonomorphic(valueCls)
+          || Collection.class.isAssignableFrom(valueCls)
+          || Map.class.isAssignableFrom(valueCls)) {
+        return ClassResolver.NO_CLASS_ID;
+      }
+      if (keyCls == Integer.class) {
+        return ClassResolver.INTEGER_CLASS_ID;
+      } else if (keyCls == Long.class) {
+        return ClassResolver.LONG_CLASS_ID;
+      }
+    }
+    return ClassResolver.NO_CLASS_ID;
+  }
+
+  public static void writeCollection(
+      Fury fury, MemoryBuffer buffer, Collection value, short elemClassId) {
+    if (fury.getRefResolver().writeRefOrNull(buffer, value)) {
+      return;
+    }
+    ClassResolver classResolver = fury.getClassResolver();
+    ClassInfo classInfo = classResolver.getClassInfo(value.getClass());
+    classResolver.writeClass(buffer, classInfo);
+    Serializer serializer = classInfo.getSerializer();
+    if (!(serializer instanceof AbstractCollectionSerializer)
+        || !((AbstractCollectionSerializer) serializer).supportCodegenHook()) {
+      serializer.write(buffer, value);
+      return;
+    }
+    Collection collection =
+        ((AbstractCollectionSerializer) serializer).onCollectionWrite(buffer, value);
+    int size = collection.size();
+    if (size == 0) {
+      return;
+    }
+    Class<?> elemCls = getBoxedClass(elemClassId);
+    byte mode = PACKED;
+    for (Object elem : collection) {
+      if (elem == null) {
+        mode = PACKED_WITH_NULL;
+      } else if (elem.getClass() != elemCls) {
+        mode = GENERAL;
+        break;
+      }
+    }
+    buffer.writeByte(mode);
+    if (mode == GENERAL) {
+      for (Object elem : collection) {
+        fury.writeRef(buffer, elem);
+      }
+      return;
+    }
+    if (mode == PACKED_WITH_NULL) {
+      byte[] nullBitmap = new byte[(size + 7) >>> 3];
+      int i = 0;
+      for (Object elem : collection) {
+        if (elem == null) {
+          nullBitmap[i >>> 3] |= (byte) (1 << (i & 7));
+        }
+        i++;
+      }
+      buffer.writeBytes(nullBitmap);
+    }
+    writeValues(fury, buffer, collection, elemClassId);
+  }
+
+  public static Collection readCollection(Fury fury, MemoryBuffer buffer, short elemClassId) {
+    RefResolver refResolver = fury.getRefResolver();
+    int nextReadRefId = refResolver.tryPreserveRefId(buffer);
+    if (nextReadRefId < Fury.NOT_NULL_VALUE_FLAG) {
+      return (Collection) refResolver.getReadObject();
+    }
+    ClassInfo classInfo = fury.getClassResolver().readClassInfo(buffer);
+    Serializer serializer = classInfo.getSerializer();
+    Collection value;
+    if (!(serializer instanceof AbstractCollectionSerializer)
+        || !((AbstractCollectionSerializer) serializer).supportCodegenHook()) {
+      value = (Collection) serializer.read(buffer);
+    } else {
+      AbstractCollectionSerializer collectionSerializer = (AbstractCollectionSerializer) serializer;
+      Collection collection = collectionSerializer.newCollection(buffer);
+      int numElements = collectionSerializer.getAndClearNumElements();
+      if (numElements > 0) {
+        byte mode = buffer.readByte();
+        if (mode == GENERAL) {
+          for (int i = 0; i < numElements; i++) {
+            collection.add(fury.readRef(buffer));
+          }
+        } else if (mode == PACKED) {
+          for (int i = 0; i < numElements; i++) {
+            collection.add(readValue(fury, buffer, elemClassId));
+          }
+        } else {
+          byte[] nullBitmap = buffer.readBytes((numElements + 7) >>> 3);
+          for (int i = 0; i < numElements; i++) {
+            if ((nullBitmap[i >>> 3] & (1 << (i & 7))) != 0) {
+              collection.add(null);
+            } else {
+              collection.add(readValue(fury, buffer, elemClassId));
+            }
+          }
+        }
+      }
+      value = (Collection) collectionSerializer.onCollectionRead(collection);
+    }
+    refResolver.setReadObject(nextReadRefId, value);
+    return value;
+  }
+
+  /**
+   * Write a map whose keys are boxed int/long values.
+   *
+   * @param valueSerializer serializer of final declared value type.
+   */
+  public static void writeMap(
+      Fury fury, MemoryBuffer buffer, Map value, short keyClassId, Serializer valueSerializer) {
+    if (fury.getRefResolver().writeRefOrNull(buffer, value)) {
+      return;
+    }
+    ClassResolver classResolver = fury.getClassResolver();
+    ClassInfo classInfo = classResolver.getClassInfo(value.getClass());
+    classResolver.writeClass(buffer, classInfo);
+    Serializer serializer = classInfo.getSerializer();
+    if (!(serializer instanceof AbstractMapSerializer)
+        || !((AbstractMapSerializer) serializer).supportCodegenHook()) {
+      serializer.write(buffer, value);
+      return;
+    }
+    Map map = ((AbstractMapSerializer) serializer).onMapWrite(buffer, value);
+    if (map.isEmpty()) {
+      return;
+    }
+    Class<?> keyCls = getBoxedClass(keyClassId);
+    byte mode = PACKED;
+    for (Object key : map.keySet()) {
+      if (key == null || key.getClass() != keyCls) {
+        mode = GENERAL;
+        break;
+      }
+    }
+    buffer.writeByte(mode);
+    if (mode == GENERAL) {
+      for (Object object : map.entrySet()) {
+        Map.Entry entry = (Map.Entry) object;
+        fury.writeRef(buffer, entry.getKey());
+        fury.writeRef(buffer, entry.getValue(), valueSerializer);
+      }
+      return;
+    }
+    writeValues(fury, buffer, map.keySet(), keyClassId);
+    for (Object mapValue : map.values()) {
+      fury.writeRef(buffer, mapValue, valueSerializer);
+    }
+  }
+
+  public static Map readMap(
+      Fury fury, MemoryBuffer buffer, short keyClassId, Serializer valueSerializer) {
+    RefResolver refResolver = fury.getRefResolver();
+    int nextReadRefId = refResolver.tryPreserveRefId(buffer);
+    if (nextReadRefId < Fury.NOT_NULL_VALUE_FLAG) {
+      return (Map) refResolver.getReadObject();
+    }
+    ClassInfo classInfo = fury.getClassResolver().readClassInfo(buffer);
+    Serializer serializer = classInfo.getSerializer();
+    Map value;
+    if (!(serializer instanceof AbstractMapSerializer)
+        || !((AbstractMapSerializer) serializer).supportCodegenHook()) {
+      value = (Map) serializer.read(buffer);
+    } else {
+      AbstractMapSerializer mapSerializer = (AbstractMapSerializer) serializer;
+      Map map = mapSerializer.newMap(buffer);
+      int numElements = mapSerializer.getAndClearNumElements();
+      if (numElements > 0) {
+        byte mode = buffer.readByte();
+        if (mode == GENERAL) {
+          for (int i = 0; i < numElements; i++) {
+            Object key = fury.readRef(buffer);
+            map.put(key, fury.readRef(buffer, valueSerializer));
+          }
+        } else {
+          Object[] keys = new Object[numElements];
+          for (int i = 0; i < numElements; i++) {
+            keys[i] = readValue(fury, buffer, keyClassId);
+          }
+          for (int i = 0; i < numElements; i++) {
+            map.put(keys[i], fury.readRef(buffer, valueSerializer));
+          }
+        }
+      }
+      value = (Map) mapSerializer.onMapRead(map);
+    }
+    refResolver.setReadObject(nextReadRefId, value);
+    return value;
+  }
+
+  private static Class<?> getBoxedClass(short classId) {
+    switch (classId) {
+      case ClassResolver.INTEGER_CLASS_ID:
+        return Integer.class;
+      case ClassResolver.LONG_CLASS_ID:
+        return Long.class;
+      case ClassResolver.FLOAT_CLASS_ID:
+        return Float.class;
+      case ClassResolver.DOUBLE_CLASS_ID:
+        return Double.class;
+      default:
+        throw new IllegalArgumentException("Unsupported packed class id " + classId);
+    }
+  }
+
+  /** Write non-null <code>values</code> without ref/null flags and class info. */
+  private static void writeValues(Fury fury, MemoryBuffer buffer, Iterable values, short classId) {
+    switch (classId) {
+      case ClassResolver.INTEGER_CLASS_ID:
+        if (fury.compressInt()) {
+          for (Object v : values) {
+            if (v != null) {
+              buffer.writeVarInt32((Integer) v);
+            }
+          }
+        } else {
+          for (Object v : values) {
+            if (v != null) {
+              buffer.writeInt32((Integer) v);
+            }
+          }
+        }
+        break;
+      case ClassResolver.LONG_CLASS_ID:
+        LongEncoding longEncoding = fury.longEncoding();
+        for (Object v : values) {
+          if (v != null) {
+            LongSerializer.writeInt64(buffer, (Long) v, longEncoding);
+          }
+        }
+        break;
+      case ClassResolver.FLOAT_CLASS_ID:
+        for (Object v : values) {
+          if (v != null) {
+            buffer.writeFloat32((Float) v);
+          }
+        }
+        break;
+      case ClassResolver.DOUBLE_CLASS_ID:
+        for (Object v : values) {
+          if (v != null) {
+            buffer.writeFloat64((Double) v);
+          }
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported packed class id " + classId);
+    }
+  }
+
+  private static Object readValue(Fury fury, MemoryBuffer buffer, short classId) {
+    switch (classId) {
+      case ClassResolver.INTEGER_CLASS_ID:
+        return fury.compressInt() ? buffer.readVarInt32() : buffer.readInt32();
+      case ClassResolver.LONG_CLASS_ID:
+        return LongSerializer.readInt64(buffer, fury.longEncoding());
+      case ClassResolver.FLOAT_CLASS_ID:
+        return buffer.readFloat32();
+      case ClassResolver.DOUBLE_CLASS_ID:
+        return buffer.readFloat64();
+      default:
+        throw new IllegalArgumentException("Unsupported packed class id " + classId);
+    }
+  }
+
+  /** Serializer for {@link IntArray}, elements are written as an int array. */
+  public static final class IntArraySerializer extends Serializer<IntArray> {
+    public IntArraySerializer(Fury fury) {
+      super(fury, IntArray.class);
+    }
+
+    @Override
+    public void write(MemoryBuffer buffer, IntArray value) {
+      buffer.writePrimitiveArrayWithSize(
+          value.elementData, Platform.INT_ARRAY_OFFSET, Math.multiplyExact(value.size, 4));
+    }
+
+    @Override
+    public IntArray copy(IntArray value) {
+      IntArray copy = new IntArray(Math.max(value.size, 1));
+      System.arraycopy(value.elementData, 0, copy.elementData, 0, value.size);
+      copy.size = value.size;
+      return copy;
+    }
+
+    @Override
+    public IntArray read(MemoryBuffer buffer) {
+      int numBytes = buffer.readVarUint32Small7();
+      int size = numBytes / 4;
+      // `IntArray#add` can't grow an empty array.
+      IntArray value = new IntArray(Math.max(size, 1));
+      buffer.readToUnsafe(value.elementData, Platform.INT_ARRAY_OFFSET, numBytes);
+      value.size = size;
+      return value;
+    }
+  }
+
+  /** Serializer for {@link LongMap}, keys are written as a packed long array. */
+  public static final class LongMapSerializer extends Serializer<LongMap> {
+    public LongMapSerializer(Fury fury) {
+      super(fury, LongMap.class);
+    }
+
+    @Override
+    public void write(MemoryBuffer buffer, LongMap value) {
+      buffer.writeVarUint32Small7(value.size);
+      LongEncoding longEncoding = fury.longEncoding();
+      value.forEach((k, v) -> LongSerializer.writeInt64(buffer, k, longEncoding));
+      value.forEach((k, v) -> fury.writeRef(buffer, v));
+    }
+
+    @Override
+    public LongMap copy(LongMap value) {
+      LongMap copy = new LongMap<>(value.size);
+      fury.reference(value, copy);
+      value.forEach((k, v) -> copy.put(k, fury.copyObject(v)));
+      return copy;
+    }
+
+    @Override
+    public LongMap read(MemoryBuffer buffer) {
+      int size = buffer.readVarUint32Small7();
+      LongMap value = new LongMap<>(size);
+      fury.getRefResolver().reference(value);
+      LongEncoding longEncoding = fury.longEncoding();
+      long[] keys = new long[size];
+      for (int i = 0; i < size; i++) {
+        keys[i] = LongSerializer.readInt64(buffer, longEncoding);
+      }
+      for (int i = 0; i < size; i++) {
+        value.put(keys[i], fury.readRef(buffer));
+      }
+      return value;
+    }
+  }
+
+  /**
+   * Serializer for {@link LongDoubleMap}. The hash table is written and read by bulk copy, so no
+   * key is rehashed when reading, except for a table of max size whose entries are written instead.
+   * The map is read into off-heap memory if it was off heap.
+   */
+  public static final class LongDoubleMapSerializer extends Serializer<LongDoubleMap> {
+    public LongDoubleMapSerializer(Fury fury) {
+      super(fury, LongDoubleMap.class);
+    }
+
+    @Override
+    public void write(MemoryBuffer buffer, LongDoubleMap value) {
+      buffer.writeBoolean(value.isOffHeap());
+      buffer.writeFloat32(value.getLoadFactor());
+      buffer.writeVarUint32Small7(value.size());
+      boolean hasZeroKey = value.containsKey(0);
+      buffer.writeBoolean(hasZeroKey);
+      if (hasZeroKey) {
+        buffer.writeFloat64(value.get(0, 0));
+      }
+      value.writeTable(buffer);
+    }
+
+    @Override
+    public LongDoubleMap copy(LongDoubleMap value) {
+      LongDoubleMap copy =
+          value.isOffHeap()
+              ? LongDoubleMap.offHeap(value.size(), value.getLoadFactor())
+              : new LongDoubleMap(value.size(), value.getLoadFactor());
+      value.forEach(copy::put);
+      return copy;
+    }
+
+    @Override
+    public LongDoubleMap read(MemoryBuffer buffer) {
+      boolean offHeap = buffer.readBoolean();
+      float loadFactor = buffer.readFloat32();
+      int size = buffer.readVarUint32Small7();
+      LongDoubleMap value = LongDoubleMap.newMap(loadFactor, offHeap);
+      fury.getRefResolver().reference(value);
+      boolean hasZeroKey = buffer.readBoolean();
+      double zeroValue = hasZeroKey ? buffer.readFloat64() : 0;
+      value.readTable(buffer, hasZeroKey ? size - 1 : size);
+      if (hasZeroKey) {
+        value.put(0, zeroValue);
+      }
+      return value;
+    }
+  }
+
+  public static void registerDefaultSerializers(Fury fury) {
+    // Serializers are set without registering classes, since registration takes class ids and
+    // shifts ids of classes registered later, which breaks reading data written by previous
+    // versions. Those classes are written by class name instead.
+    ClassResolver resolver = fury.getClassResolver();
+    resolver.setSerializer(IntArray.class, new IntArraySerializer(fury));
+    resolver.setSerializer(LongMap.class, new LongMapSerializer(fury));
+    resolver.setSerializer(LongDoubleMap.class, new LongDoubleMapSerializer(fury));
+  }
+}
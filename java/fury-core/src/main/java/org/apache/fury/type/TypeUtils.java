@@ -81,6 +81,7 @@ public class TypeUtils {
   public static final TypeRef<?> FLOAT_TYPE = TypeRef.of(Float.class);
   public static final TypeRef<?> DOUBLE_TYPE = TypeRef.of(Double.class);
   public static final TypeRef<?> STRING_TYPE = TypeRef.of(String.class);
+  public static final TypeRef<?> CHAR_SEQUENCE_TYPE = TypeRef.of(CharSequence.class);
   public static final TypeRef<?> BIG_DECIMAL_TYPE = TypeRef.of(BigDecimal.class);
   public static final TypeRef<?> BIG_INTEGER_TYPE = TypeRef.of(BigInteger.class);
   public static final TypeRef<?> DATE_TYPE = TypeRef.of(Date.class);
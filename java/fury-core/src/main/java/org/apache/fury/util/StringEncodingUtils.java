@@ -30,6 +30,22 @@ public class StringEncodingUtils {
   public static int convertUTF16ToUTF8(char[] src, byte[] dst, int dp) {
     int numChars = src.length;
     for (int charOffset = 0, arrayOffset = Platform.CHAR_ARRAY_OFFSET; charOffset < numChars; ) {
+      if (Platform.IS_LITTLE_ENDIAN && charOffset + 16 <= numChars && dp + 16 <= dst.length) {
+        // check 16 chars in a 32-byte lane, and narrow them into 16 bytes by word-level ops.
+        long c1 = Platform.getLong(src, arrayOffset);
+        long c2 = Platform.getLong(src, arrayOffset + 8);
+        long c3 = Platform.getLong(src, arrayOffset + 16);
+        long c4 = Platform.getLong(src, arrayOffset + 24);
+        if (((c1 | c2 | c3 | c4) & MULTI_CHARS_NON_ASCII_MASK) == 0) {
+          int dstOffset = Platform.BYTE_ARRAY_OFFSET + dp;
+          Platform.putLong(dst, dstOffset, narrowChars(c1) | (narrowChars(c2) << 32));
+          Platform.putLong(dst, dstOffset + 8, narrowChars(c3) | (narrowChars(c4) << 32));
+          dp += 16;
+          charOffset += 16;
+          arrayOffset += 32;
+          continue;
+        }
+      }
       if (charOffset + 4 <= numChars
           && (Platform.getLong(src, arrayOffset) & MULTI_CHARS_NON_ASCII_MASK) == 0) {
         // ascii only
@@ -248,6 +264,22 @@ public class StringEncodingUtils {
     int end = offset + len;
     int dp = 0;
     while (offset < end) {
+      if (Platform.IS_LITTLE_ENDIAN && offset + 16 <= end && dp + 16 <= dst.length) {
+        // check 16 bytes at once, and widen them into 16 chars by word-level ops.
+        int srcOffset = Platform.BYTE_ARRAY_OFFSET + offset;
+        long b1 = Platform.getLong(src, srcOffset);
+        long b2 = Platform.getLong(src, srcOffset + 8);
+        if (((b1 | b2) & 0x8080808080808080L) == 0) {
+          int dstOffset = Platform.CHAR_ARRAY_OFFSET + (dp << 1);
+          Platform.putLong(dst, dstOffset, widenBytes(b1));
+          Platform.putLong(dst, dstOffset + 8, widenBytes(b1 >>> 32));
+          Platform.putLong(dst, dstOffset + 16, widenBytes(b2));
+          Platform.putLong(dst, dstOffset + 24, widenBytes(b2 >>> 32));
+          dp += 16;
+          offset += 16;
+          continue;
+        }
+      }
       if (offset + 8 <= end
           && (Platform.getLong(src, Platform.BYTE_ARRAY_OFFSET + offset) & 0x8080808080808080L)
               == 0) {
@@ -379,4 +411,23 @@ public class StringEncodingUtils {
     dst[dp + 2] = (byte) (0x80 | ((uc >> 6) & 0x3f));
     dst[dp + 3] = (byte) (0x80 | (uc & 0x3f));
   }
+
+  /**
+   * Narrow 4 little-endian latin chars in <code>multiChars</code> into the low 4 bytes of the
+   * returned value.
+   */
+  private static long narrowChars(long multiChars) {
+    multiChars = (multiChars | (multiChars >>> 8)) & 0x0000FFFF0000FFFFL;
+    return (multiChars | (multiChars >>> 16)) & 0xFFFFFFFFL;
+  }
+
+  /**
+   * Widen the low 4 bytes of <code>multiBytes</code> into 4 little-endian chars, this is the
+   * inverse of {@link #narrowChars}.
+   */
+  private static long widenBytes(long multiBytes) {
+    multiBytes &= 0xFFFFFFFFL;
+    multiBytes = (multiBytes | (multiBytes << 16)) & 0x0000FFFF0000FFFFL;
+    return (multiBytes | (multiBytes << 8)) & 0x00FF00FF00FF00FFL;
+  }
 }
@@ -278,29 +278,44 @@ public class StringUtils {
     if (start > chars.length) {
       return false;
     }
-    int byteOffset = start << 1;
     int numChars = chars.length;
-    int vectorizedLen = numChars >> 2;
-    int vectorizedChars = vectorizedLen << 2;
-    int endOffset = Platform.CHAR_ARRAY_OFFSET + (vectorizedChars << 1);
-    boolean isLatin = true;
-    for (int offset = Platform.CHAR_ARRAY_OFFSET + byteOffset; offset < endOffset; offset += 8) {
+    int offset = Platform.CHAR_ARRAY_OFFSET + (start << 1);
+    int endOffset = Platform.CHAR_ARRAY_OFFSET + (numChars << 1);
+    // check 16 chars in a 32-byte lane, reduce branches for long strings.
+    for (; offset + 32 <= endOffset; offset += 32) {
+      long multiChars =
+          Platform.getLong(chars, offset)
+              | Platform.getLong(chars, offset + 8)
+              | Platform.getLong(chars, offset + 16)
+              | Platform.getLong(chars, offset + 24);
+      if ((multiChars & MULTI_CHARS_NON_LATIN_MASK) != 0) {
+        return false;
+      }
+    }
+    for (; offset + 8 <= endOffset; offset += 8) {
       // check 4 chars in a vectorized way, 4 times faster than scalar check loop.
       // See benchmark in CompressStringSuite.latinSuperWordCheck.
       long multiChars = Platform.getLong(chars, offset);
       if ((multiChars & MULTI_CHARS_NON_LATIN_MASK) != 0) {
-        isLatin = false;
-        break;
+        return false;
       }
     }
-    if (isLatin) {
-      for (int i = vectorizedChars; i < numChars; i++) {
-        if (chars[i] > 0xFF) {
-          isLatin = false;
-          break;
-        }
+    for (int i = (offset - Platform.CHAR_ARRAY_OFFSET) >> 1; i < numChars; i++) {
+      if (chars[i] > 0xFF) {
+        return false;
       }
     }
-    return isLatin;
+    return true;
+  }
+
+  /**
+   * Returns the number of 16-bit lanes of <code>multiChars</code> which are not zero. It's used
+   * with {@link #MULTI_CHARS_NON_ASCII_MASK} or {@link #MULTI_CHARS_NON_LATIN_MASK} to count non
+   * ascii/latin chars in a word without branches.
+   */
+  public static int countNonZeroChars(long multiChars) {
+    // Low 15 bits of every lane won't carry into next lane.
+    long v = ((multiChars & 0x7fff7fff7fff7fffL) + 0x7fff7fff7fff7fffL) | multiChars;
+    return Long.bitCount(v & 0x8000800080008000L);
   }
 }
@@ -21,6 +21,7 @@ package org.apache.fury;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 
@@ -35,6 +36,7 @@ import java.nio.ByteBuffer;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -55,6 +57,7 @@ import lombok.EqualsAndHashCode;
 import org.apache.fury.annotation.Expose;
 import org.apache.fury.annotation.Ignore;
 import org.apache.fury.builder.Generated;
+import org.apache.fury.config.CompatibleMode;
 import org.apache.fury.config.FuryBuilder;
 import org.apache.fury.config.Language;
 import org.apache.fury.exception.FuryException;
@@ -615,4 +618,50 @@ public class FuryTest extends FuryTestBase {
     Object obj = fury.deserializeJavaObjectAndClass(bytes);
     assertNull(obj);
   }
+
+  @Test(dataProvider = "referenceTrackingConfig")
+  public void testSerializeBatch(boolean referenceTracking) {
+    Fury fury =
+        Fury.builder().withRefTracking(referenceTracking).requireClassRegistration(false).build();
+    List<Object> objects = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      objects.add(BeanA.createBeanA(2));
+      objects.add("str" + i);
+      objects.add(null);
+    }
+    MemoryBuffer buffer = MemoryUtils.buffer(32);
+    buffer.writeInt32(-1);
+    assertSame(fury.serializeBatch(objects, buffer), buffer);
+    int size = 0;
+    for (Object object : objects) {
+      size += fury.serialize(object).length;
+    }
+    // Class info of later elements reuse the first one.
+    assertTrue(buffer.writerIndex() - 4 < size);
+    buffer.readInt32();
+    assertEquals(fury.deserializeBatch(buffer), objects);
+    assertEquals(buffer.readerIndex(), buffer.writerIndex());
+    fury.serializeBatch(new ArrayList<>(), buffer);
+    assertEquals(fury.deserializeBatch(buffer), new ArrayList<>());
+  }
+
+  @Test
+  public void testSerializeBatchMetaShare() {
+    Fury fury =
+        Fury.builder()
+            .requireClassRegistration(false)
+            .withCompatibleMode(CompatibleMode.COMPATIBLE)
+            .withMetaShare(true)
+            .build();
+    List<Object> objects = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      objects.add(BeanA.createBeanA(2));
+    }
+    MemoryBuffer buffer = MemoryUtils.buffer(32);
+    fury.getSerializationContext().setMetaContext(new MetaContext());
+    fury.serializeBatch(objects, buffer);
+    fury.getSerializationContext().setMetaContext(new MetaContext());
+    assertEquals(fury.deserializeBatch(buffer), objects);
+    assertEquals(buffer.readerIndex(), buffer.writerIndex());
+  }
 }
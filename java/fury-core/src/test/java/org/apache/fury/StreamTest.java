@@ -29,15 +29,20 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import org.apache.fury.config.CompatibleMode;
 import org.apache.fury.io.FuryInputStream;
+import org.apache.fury.io.FuryOutputStream;
 import org.apache.fury.io.FuryReadableChannel;
 import org.apache.fury.io.FuryStreamReader;
+import org.apache.fury.io.FuryStreamWriter;
 import org.apache.fury.memory.MemoryBuffer;
 import org.apache.fury.reflect.ReflectionUtils;
 import org.apache.fury.test.bean.BeanA;
@@ -378,4 +383,77 @@ public class StreamTest extends FuryTestBase {
     assertEquals(fury.deserialize(stream), new long[5000]);
     assertEquals(fury.deserialize(stream), new int[5000]);
   }
+
+  @Test
+  public void testFuryOutputStream() throws IOException {
+    Fury fury = Fury.builder().requireClassRegistration(false).withRefTracking(true).build();
+    List<Object> list = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      list.add(BeanA.createBeanA(2));
+      list.add("str" + i);
+    }
+    list.add(new long[10000]);
+    list.add(list);
+    ByteArrayOutputStream bas = new ByteArrayOutputStream();
+    FuryOutputStream stream = new FuryOutputStream(bas, 128);
+    fury.serialize(stream, list);
+    fury.serialize(stream, list);
+    MemoryBuffer buffer = stream.getBuffer();
+    assertEquals(buffer.writerIndex(), 0);
+    assertTrue(buffer.size() <= 128);
+    byte[] bytes = fury.serialize(list);
+    assertEquals(bas.size(), bytes.length * 2);
+    FuryInputStream input = of(new ByteArrayInputStream(bas.toByteArray()));
+    List<?> newList = (List<?>) fury.deserialize(input);
+    assertEquals(newList.size(), list.size());
+    assertEquals(newList.get(0), list.get(0));
+    assertEquals(newList.get(2000), list.get(2000));
+    assertEquals(newList.get(list.size() - 2), new long[10000]);
+    assertTrue(newList.get(list.size() - 1) == newList);
+    assertEquals(((List<?>) fury.deserialize(input)).size(), list.size());
+  }
+
+  @Test
+  public void testFuryOutputStreamMetaShared() throws IOException {
+    Fury fury = builder().withCompatibleMode(CompatibleMode.COMPATIBLE).build();
+    ByteArrayOutputStream bas = new ByteArrayOutputStream();
+    FuryOutputStream stream = FuryStreamWriter.of(bas);
+    BeanA beanA = BeanA.createBeanA(2);
+    fury.serialize(stream, beanA);
+    fury.serializeJavaObject(stream, beanA);
+    FuryInputStream input = of(new ByteArrayInputStream(bas.toByteArray()));
+    assertEquals(fury.deserialize(input), beanA);
+    assertEquals(fury.deserializeJavaObject(input, BeanA.class), beanA);
+  }
+
+  @Test
+  public void testMappedFile() throws IOException {
+    Fury fury = builder().withCompatibleMode(CompatibleMode.COMPATIBLE).build();
+    List<Object> list = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      list.add(BeanA.createBeanA(2));
+    }
+    // bigger than the initial mapped region.
+    long[] longs = new long[300000];
+    Arrays.fill(longs, 1);
+    Path tempFile = Files.createTempFile("mapped_file_test", "data");
+    try {
+      fury.serialize(tempFile, longs);
+      assertEquals(Files.size(tempFile), fury.serialize(longs).length);
+      assertEquals(fury.deserialize(tempFile), longs);
+      try (FileChannel channel =
+          FileChannel.open(tempFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        channel.truncate(0);
+        fury.serialize(channel, list);
+        fury.serialize(channel, longs);
+        assertEquals(channel.position(), channel.size());
+        channel.position(0);
+        assertEquals(fury.deserialize(channel), list);
+        assertEquals(fury.deserialize(channel), longs);
+        assertEquals(channel.position(), channel.size());
+      }
+    } finally {
+      Files.delete(tempFile);
+    }
+  }
 }
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.config.FuryBuilder;
+import org.apache.fury.config.Language;
+import org.apache.fury.memory.MemoryBuffer;
+import org.apache.fury.serializer.Serializer;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class AotCodecGeneratorTest extends FuryTestBase {
+  private static final String BEAN_CODE =
+      ""
+          + "package aottest;\n"
+          + "import java.util.*;\n"
+          + "public class AotBean {\n"
+          + "  public int f1;\n"
+          + "  public String f2;\n"
+          + "  public List<String> f3;\n"
+          + "  public Map<String, Long> f4;\n"
+          + "  private double f5;\n"
+          + "  public java.time.Duration f6;\n"
+          + "  public boolean equals(Object o) {\n"
+          + "    if (!(o instanceof AotBean)) return false;\n"
+          + "    AotBean b = (AotBean) o;\n"
+          + "    return f1 == b.f1 && Objects.equals(f2, b.f2) && Objects.equals(f3, b.f3)\n"
+          + "        && Objects.equals(f4, b.f4) && f5 == b.f5\n"
+          + "        && Objects.equals(f6, b.f6);\n"
+          + "  }\n"
+          + "  public int hashCode() {\n"
+          + "    return f1;\n"
+          + "  }\n"
+          + "}";
+
+  @DataProvider
+  public static Object[][] compatibleMode() {
+    return new Object[][] {
+      {CompatibleMode.SCHEMA_CONSISTENT, false},
+      {CompatibleMode.COMPATIBLE, false},
+      {CompatibleMode.COMPATIBLE, true}
+    };
+  }
+
+  private static class CustomDurationSerializer extends Serializer<Duration> {
+    CustomDurationSerializer(Fury fury) {
+      super(fury, Duration.class);
+    }
+
+    @Override
+    public void write(MemoryBuffer buffer, Duration value) {
+      buffer.writeInt64(value.toMillis());
+    }
+
+    @Override
+    public Duration read(MemoryBuffer buffer) {
+      return Duration.ofMillis(buffer.readInt64());
+    }
+  }
+
+  private static Fury newFury(
+      ClassLoader loader, CompatibleMode mode, boolean shareMeta, boolean trackingRef) {
+    return newFuryBuilder(loader, mode, shareMeta, trackingRef).build();
+  }
+
+  private static FuryBuilder newFuryBuilder(
+      ClassLoader loader, CompatibleMode mode, boolean shareMeta, boolean trackingRef) {
+    return Fury.builder()
+        .withLanguage(Language.JAVA)
+        .withRefTracking(trackingRef)
+        .withCompatibleMode(mode)
+        .withMetaShare(shareMeta)
+        .withScopedMetaShare(shareMeta)
+        .requireClassRegistration(false)
+        .withAotCodec(true)
+        .withClassLoader(loader);
+  }
+
+  private static boolean isAotCodec(Fury fury, Class<?> beanClass) {
+    return fury.getClassResolver()
+        .getSerializerClass(beanClass)
+        .getSimpleName()
+        .contains("AotCodec");
+  }
+
+  private static void compile(Path outputDir, List<Path> sources) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    List<String> args =
+        new ArrayList<>(
+            Arrays.asList(
+                "-classpath",
+                System.getProperty("java.class.path") + java.io.File.pathSeparator + outputDir,
+                "-d",
+                outputDir.toString()));
+    sources.forEach(p -> args.add(p.toString()));
+    int result =
+        compiler.run(null, new ByteArrayOutputStream(), System.err, args.toArray(new String[0]));
+    Assert.assertEquals(result, 0, "Couldn't compile " + sources);
+  }
+
+  @Test(dataProvider = "compatibleMode")
+  public void testGenerate(CompatibleMode mode, boolean shareMeta) throws Exception {
+    Path dir = Files.createTempDirectory("fury_aot");
+    Path beanSource = dir.resolve("src/aottest/AotBean.java");
+    Files.createDirectories(beanSource.getParent());
+    Files.write(beanSource, BEAN_CODE.getBytes(StandardCharsets.UTF_8));
+    Path classesDir = dir.resolve("classes");
+    Files.createDirectories(classesDir);
+    compile(classesDir, Arrays.asList(beanSource));
+    try (URLClassLoader loader =
+        new URLClassLoader(
+            new URL[] {classesDir.toUri().toURL()}, AotCodecGeneratorTest.class.getClassLoader())) {
+      Class<?> beanClass = loader.loadClass("aottest.AotBean");
+      List<Path> sources =
+          AotCodecGenerator.generate(
+              newFury(loader, mode, shareMeta, false), dir.resolve("generated"), beanClass);
+      Assert.assertEquals(sources.size(), 1);
+      compile(classesDir, sources);
+
+      Fury fury = newFury(loader, mode, shareMeta, false);
+      Class<?> serializerClass = fury.getClassResolver().getSerializerClass(beanClass);
+      String sourceName = sources.get(0).getFileName().toString();
+      Assert.assertEquals(
+          serializerClass.getName(),
+          "aottest." + sourceName.substring(0, sourceName.length() - ".java".length()));
+      Assert.assertTrue(serializerClass.getSimpleName().contains("AotCodec"));
+      Assert.assertSame(serializerClass.getClassLoader(), loader);
+      Object bean = beanClass.newInstance();
+      beanClass.getField("f1").setInt(bean, 10);
+      beanClass.getField("f2").set(bean, "abc");
+      beanClass.getField("f3").set(bean, new ArrayList<>(Arrays.asList("a", "b")));
+      beanClass.getField("f6").set(bean, Duration.ofSeconds(5));
+      serDeCheck(fury, bean);
+
+      // Ahead-of-time generated serializers are only looked up when enabled.
+      Fury jitFury = newFuryBuilder(loader, mode, shareMeta, false).withAotCodec(false).build();
+      Assert.assertFalse(isAotCodec(jitFury, beanClass));
+      serDeCheck(jitFury, bean);
+
+      // Generated code casts the field serializer to `DurationSerializer`, fall back to jit. Use
+      // another loader since jit serializers in a loader are shared by fury with same config.
+      try (URLClassLoader customLoader =
+          new URLClassLoader(
+              new URL[] {classesDir.toUri().toURL()},
+              AotCodecGeneratorTest.class.getClassLoader())) {
+        Class<?> customBeanClass = customLoader.loadClass("aottest.AotBean");
+        Fury customFury = newFury(customLoader, mode, shareMeta, false);
+        customFury
+            .getClassResolver()
+            .setSerializer(Duration.class, new CustomDurationSerializer(customFury));
+        Assert.assertFalse(isAotCodec(customFury, customBeanClass));
+        Object customBean = customBeanClass.newInstance();
+        customBeanClass.getField("f6").set(customBean, Duration.ofSeconds(5));
+        serDeCheck(customFury, customBean);
+      }
+
+      // Different registrations may change class ids used by generated code, fall back to jit.
+      Fury registeredFury = newFury(loader, mode, shareMeta, false);
+      registeredFury.register(CustomDurationSerializer.class);
+      Assert.assertFalse(isAotCodec(registeredFury, beanClass));
+      serDeCheck(registeredFury, bean);
+
+      // Different config changes generated code, fall back to jit.
+      Fury refFury = newFury(loader, mode, shareMeta, true);
+      Assert.assertFalse(isAotCodec(refFury, beanClass));
+      serDeCheck(refFury, bean);
+    }
+  }
+}
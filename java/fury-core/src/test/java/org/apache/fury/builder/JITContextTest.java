@@ -24,15 +24,24 @@ import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import lombok.Data;
 import org.apache.fury.Fury;
 import org.apache.fury.FuryTestBase;
+import org.apache.fury.ThreadSafeFury;
 import org.apache.fury.config.CompatibleMode;
 import org.apache.fury.config.Language;
 import org.apache.fury.logging.Logger;
 import org.apache.fury.logging.LoggerFactory;
 import org.apache.fury.reflect.ReflectionUtils;
+import org.apache.fury.resolver.ClassResolver;
 import org.apache.fury.resolver.MetaContext;
 import org.apache.fury.serializer.Serializer;
 import org.apache.fury.test.bean.BeanA;
@@ -135,6 +144,91 @@ public class JITContextTest extends FuryTestBase {
     assertEquals(fury.deserialize(bytes2), beanA);
   }
 
+  @Test(dataProvider = "config1", timeOut = 60_000)
+  public void testWarmUp(
+      boolean referenceTracking, boolean scopedMetaShare, CompatibleMode compatibleMode)
+      throws Exception {
+    Fury fury =
+        Fury.builder()
+            .withLanguage(Language.JAVA)
+            .withRefTracking(referenceTracking)
+            .withCompatibleMode(compatibleMode)
+            .withScopedMetaShare(scopedMetaShare)
+            .requireClassRegistration(false)
+            .withAsyncCompilation(true)
+            .build();
+    // BeanB is a field type of BeanA.
+    fury.warmUp(Collections.singletonList(BeanA.class)).get();
+    Assert.assertTrue(getSerializer(fury, BeanA.class) instanceof Generated);
+    Assert.assertTrue(getSerializer(fury, BeanB.class) instanceof Generated);
+    BeanA beanA = BeanA.createBeanA(2);
+    assertEquals(fury.deserialize(fury.serialize(beanA)), beanA);
+  }
+
+  @Test(timeOut = 60_000)
+  public void testThreadSafeWarmUp() throws Exception {
+    ThreadSafeFury fury =
+        Fury.builder()
+            .withLanguage(Language.JAVA)
+            .requireClassRegistration(false)
+            .withAsyncCompilation(true)
+            .buildThreadSafeFury();
+    fury.warmUp(Arrays.asList(BeanA.class, BeanB.class)).get();
+    fury.execute(
+        f -> {
+          Assert.assertTrue(getSerializer(f, BeanA.class) instanceof Generated);
+          Assert.assertTrue(getSerializer(f, BeanB.class) instanceof Generated);
+          return null;
+        });
+    // sync compilation generates serializers directly.
+    Fury syncFury = Fury.builder().requireClassRegistration(false).build();
+    Assert.assertTrue(syncFury.warmUp(Collections.singletonList(BeanA.class)).isDone());
+    Assert.assertTrue(syncFury.getClassResolver().getSerializer(BeanB.class) instanceof Generated);
+  }
+
+  @DataProvider
+  public static Object[][] threadSafeFury() {
+    return new Object[][] {
+      {Fury.builder().requireClassRegistration(false).buildThreadLocalFury()},
+      {Fury.builder().requireClassRegistration(false).buildThreadSafeFuryPool(1, 4)},
+      {Fury.builder().requireClassRegistration(false).buildStripedThreadSafeFury(2)}
+    };
+  }
+
+  @Test(dataProvider = "threadSafeFury", timeOut = 60_000)
+  public void testWarmUpAllInstances(ThreadSafeFury fury) throws Exception {
+    fury.warmUp(Collections.singletonList(BeanA.class)).get();
+    // Instances used by other threads are created after warm up, they must be warmed up too.
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    CountDownLatch latch = new CountDownLatch(4);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      futures.add(
+          executor.submit(
+              () ->
+                  fury.execute(
+                      f -> {
+                        latch.countDown();
+                        try {
+                          // Hold the instance, so that every thread gets a different one.
+                          latch.await();
+                        } catch (InterruptedException e) {
+                          throw new RuntimeException(e);
+                        }
+                        ClassResolver classResolver = f.getClassResolver();
+                        Assert.assertTrue(
+                            classResolver.getSerializer(BeanA.class, false) instanceof Generated);
+                        Assert.assertTrue(
+                            classResolver.getSerializer(BeanB.class, false) instanceof Generated);
+                        return null;
+                      })));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdownNow();
+  }
+
   @Test(timeOut = 60000)
   public void testAsyncCompilationSwitch() throws InterruptedException {
     final Fury fury =
@@ -19,11 +19,17 @@
 
 package org.apache.fury.codegen;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
@@ -205,4 +211,45 @@ public class CodeGeneratorTest {
     ClassLoader classLoader2 = codeGenerator.compile(unit1, unit2);
     Assert.assertSame(classLoader, classLoader2);
   }
+
+  private static CompileUnit cachedUnit(int value) {
+    String code =
+        "package demo.pkg1;\n"
+            + "public class CachedA {\n"
+            + "  public static int value() { return "
+            + value
+            + "; }\n"
+            + "}";
+    return new CompileUnit("demo.pkg1", "CachedA", code);
+  }
+
+  private static Object compileAndGetValue(CompileUnit unit) throws Exception {
+    CodeGenerator codeGenerator = new CodeGenerator(new ByteArrayClassLoader(new HashMap<>()));
+    ClassLoader loader = codeGenerator.compile(unit);
+    return loader.loadClass("demo.pkg1.CachedA").getMethod("value").invoke(null);
+  }
+
+  @Test
+  public void testBytecodeCache() throws Exception {
+    Path cacheDir = Files.createTempDirectory("fury_code_cache");
+    BytecodeCache cache = new BytecodeCache(cacheDir);
+    BytecodeCache prevCache = CodeGenerator.getBytecodeCache();
+    CodeGenerator.setBytecodeCache(cache);
+    try {
+      assertEquals(compileAndGetValue(cachedUnit(1)), 1);
+      String key = cache.key(Collections.singletonList(cachedUnit(1)));
+      assertNotNull(cache.load(key));
+      assertNotEquals(cache.key(Collections.singletonList(cachedUnit(2))), key);
+      // replace cached bytecode to check that it's loaded instead of compiling code again.
+      cache.store(key, JaninoUtils.toBytecode(getClass().getClassLoader(), cachedUnit(2)));
+      assertEquals(compileAndGetValue(cachedUnit(1)), 2);
+      // unreadable entries are ignored and overwritten.
+      Files.write(cacheDir.resolve(key + ".classes"), new byte[] {1, 2, 3});
+      assertNull(cache.load(key));
+      assertEquals(compileAndGetValue(cachedUnit(1)), 1);
+      assertNotNull(cache.load(key));
+    } finally {
+      CodeGenerator.setBytecodeCache(prevCache);
+    }
+  }
 }
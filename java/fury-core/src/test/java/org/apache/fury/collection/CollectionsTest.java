@@ -38,4 +38,18 @@ public class CollectionsTest {
   public void testOfHashMap() {
     assertEquals(Collections.ofHashMap(1, 2, 3, 4), new HashMap<>(ImmutableMap.of(1, 2, 3, 4)));
   }
+
+  @Test
+  public void testHashCapacity() {
+    assertEquals(Collections.hashCapacity(0), 1);
+    assertEquals(Collections.hashCapacity(2), 3);
+    assertEquals(Collections.hashCapacity(12), 17);
+    assertEquals(Collections.hashCapacity(1000), 1334);
+    assertEquals(Collections.hashCapacity(Integer.MAX_VALUE), Integer.MAX_VALUE);
+    for (int i = 0; i < 1000; i++) {
+      // threshold of the table sized from the capacity must cover all elements.
+      int capacity = Integer.highestOneBit(Collections.hashCapacity(i) - 1) << 1;
+      assertTrue(Math.max(capacity, 1) * 0.75f >= i, String.valueOf(i));
+    }
+  }
 }
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.collection;
+
+import static org.apache.fury.collection.Collections.ofArrayList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.ThreadSafeFury;
+import org.apache.fury.config.FuryBuilder;
+import org.apache.fury.config.Language;
+import org.apache.fury.io.FuryInputStream;
+import org.apache.fury.io.FuryOutputStream;
+import org.apache.fury.resolver.StringDictionary;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class LazyValueMapTest extends FuryTestBase {
+
+  @Data
+  @AllArgsConstructor
+  public static class Feature {
+    public String name;
+    public double[] weights;
+    public List<String> tags;
+  }
+
+  @Data
+  public static class FeatureStruct {
+    public Feature head;
+    public LazyValueMap<String, Feature> features;
+    public Map<String, Feature> plainFeatures;
+    public Feature tail;
+  }
+
+  private static Fury newFury(boolean codegen, boolean trackingRef) {
+    return Fury.builder()
+        .withLanguage(Language.JAVA)
+        .withCodegen(codegen)
+        .withRefTracking(trackingRef)
+        .requireClassRegistration(false)
+        .build();
+  }
+
+  private static Map<String, Feature> createFeatures(int size) {
+    Map<String, Feature> map = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      List<String> tags = new ArrayList<>();
+      tags.add("tag" + (i % 3));
+      map.put("f" + i, new Feature("feature" + i, new double[] {i, i * 0.5}, tags));
+    }
+    return map;
+  }
+
+  @Test
+  public void testMap() {
+    Map<String, Integer> map = new LinkedHashMap<>();
+    map.put("k1", 1);
+    map.put("k2", 2);
+    LazyValueMap<String, Integer> map1 = new LazyValueMap<>(map);
+    assertNull(map1.getDecoder());
+    assertEquals(map1, map);
+    assertNull(map1.put("k3", 3));
+    assertEquals(map1.remove("k1"), Integer.valueOf(1));
+    assertEquals(new ArrayList<>(map1.keySet()), ofArrayList("k2", "k3"));
+    assertEquals(map1.getNumDecodedValues(), 2);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testLazyDecode(boolean codegen) {
+    Fury fury = newFury(codegen, false);
+    // Registering it would shift class ids of classes registered later.
+    assertFalse(fury.getClassResolver().isRegistered(LazyValueMap.class));
+    Map<String, Feature> features = createFeatures(1000);
+    LazyValueMap<String, Feature> map =
+        (LazyValueMap<String, Feature>)
+            fury.deserialize(fury.serialize(new LazyValueMap<>(features)));
+    assertEquals(map.getDecoder(), fury);
+    assertEquals(map.size(), 1000);
+    assertTrue(map.containsKey("f999"));
+    assertFalse(map.containsKey("f1000"));
+    assertNull(map.get("f1000"));
+    assertNull(map.get(null));
+    assertEquals(map.getNumDecodedValues(), 0);
+    assertEquals(map.get("f500"), features.get("f500"));
+    assertEquals(map.get("f3"), features.get("f3"));
+    assertEquals(map.get("f500"), features.get("f500"));
+    assertEquals(map.getNumDecodedValues(), 2);
+    // full traversal decodes all values.
+    assertEquals(map, features);
+    assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(features.keySet()));
+    assertNull(map.getDecoder());
+    assertEquals(map.getNumDecodedValues(), 1000);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testLazyValueMapField(boolean codegen) {
+    Fury fury = newFury(codegen, false);
+    FeatureStruct struct = new FeatureStruct();
+    // Class names written before and after lazy values must still be resolved by id.
+    struct.head = new Feature("head", new double[] {1}, ofArrayList("a"));
+    struct.features = new LazyValueMap<>(createFeatures(10));
+    struct.plainFeatures = createFeatures(3);
+    struct.tail = new Feature("tail", new double[] {2}, ofArrayList("b"));
+    FeatureStruct newStruct = (FeatureStruct) fury.deserialize(fury.serialize(struct));
+    assertEquals(newStruct.head, struct.head);
+    assertEquals(newStruct.plainFeatures, struct.plainFeatures);
+    assertEquals(newStruct.tail, struct.tail);
+    assertEquals(newStruct.features.getDecoder(), fury);
+    assertEquals(newStruct.features.get("f7"), struct.features.get("f7"));
+    assertEquals(newStruct.features.getNumDecodedValues(), 1);
+    assertEquals(newStruct, struct);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testLazyDecodeStream(boolean codegen) throws IOException {
+    Fury fury = newFury(codegen, false);
+    FeatureStruct struct = new FeatureStruct();
+    struct.head = new Feature("head", new double[] {1}, ofArrayList("a"));
+    struct.features = new LazyValueMap<>(createFeatures(200));
+    struct.tail = new Feature("tail", new double[] {2}, ofArrayList("b"));
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    // A small buffer flushes segments to the stream while the map is being written.
+    try (FuryOutputStream out = new FuryOutputStream(bos, 64)) {
+      fury.serialize(out, struct);
+    }
+    FuryInputStream in = new FuryInputStream(new ByteArrayInputStream(bos.toByteArray()));
+    FeatureStruct newStruct = (FeatureStruct) fury.deserialize(in);
+    assertEquals(newStruct.tail, struct.tail);
+    assertEquals(newStruct.features.getNumDecodedValues(), 0);
+    assertEquals(newStruct.features.get("f150"), struct.features.get("f150"));
+    assertEquals(newStruct, struct);
+  }
+
+  @DataProvider
+  public static Object[][] threadSafeFury() {
+    return new Object[][] {
+      {builder().withCodegen(false).buildThreadSafeFury()},
+      {builder().withCodegen(false).buildThreadSafeFuryPool(1, 2)},
+      {builder().withCodegen(false).buildStripedThreadSafeFury(2)},
+    };
+  }
+
+  @Test(dataProvider = "threadSafeFury")
+  public void testThreadSafeFury(ThreadSafeFury fury) throws Exception {
+    Map<String, Feature> features = createFeatures(100);
+    LazyValueMap<String, Feature> map =
+        (LazyValueMap<String, Feature>)
+            fury.deserialize(fury.serialize(new LazyValueMap<>(features)));
+    // values are decoded by the thread safe fury instead of the fury which read the map.
+    assertEquals(map.getDecoder(), fury);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Feature> future = executor.submit(() -> map.get("f10"));
+      assertEquals(future.get(), features.get("f10"));
+    } finally {
+      executor.shutdown();
+    }
+    // undecoded values are still copied as serialized bytes.
+    LazyValueMap<String, Feature> map2 =
+        (LazyValueMap<String, Feature>) fury.deserialize(fury.serialize(map));
+    assertEquals(map.getNumDecodedValues(), 1);
+    assertEquals(map2, features);
+  }
+
+  @Test
+  public void testDecodeInsideSerialization() {
+    Fury fury = newFury(false, false);
+    Map<String, Feature> features = createFeatures(10);
+    LazyValueMap<String, Feature> map =
+        (LazyValueMap<String, Feature>)
+            fury.deserialize(fury.serialize(new LazyValueMap<>(features)));
+    fury.incDepth(1);
+    assertThrows(IllegalStateException.class, () -> map.get("f1"));
+    fury.incDepth(-1);
+    assertEquals(map.get("f1"), features.get("f1"));
+  }
+
+  @Test
+  public void testReserialize() {
+    Fury fury = newFury(true, false);
+    Map<String, Feature> features = createFeatures(100);
+    byte[] bytes = fury.serialize(new LazyValueMap<>(features));
+    LazyValueMap<String, Feature> map = (LazyValueMap<String, Feature>) fury.deserialize(bytes);
+    map.get("f1").name = "updated";
+    // undecoded values are copied as serialized bytes, decoded values are written again.
+    LazyValueMap<String, Feature> map2 =
+        (LazyValueMap<String, Feature>) fury.deserialize(fury.serialize(map));
+    assertEquals(map.getNumDecodedValues(), 1);
+    assertEquals(map2.get("f1").name, "updated");
+    assertEquals(map2.get("f2"), features.get("f2"));
+    Fury fury2 = newFury(false, false);
+    LazyValueMap<String, Feature> map3 =
+        (LazyValueMap<String, Feature>) fury2.deserialize(fury2.serialize(map2));
+    assertEquals(map3.getDecoder(), fury2);
+    assertNotEquals(map3, features);
+    features.get("f1").name = "updated";
+    assertEquals(map3, features);
+  }
+
+  @Test
+  public void testEagerMode() {
+    Fury fury = newFury(true, true);
+    Map<String, Feature> features = createFeatures(10);
+    LazyValueMap<String, Feature> map =
+        (LazyValueMap<String, Feature>)
+            fury.deserialize(fury.serialize(new LazyValueMap<>(features)));
+    assertNull(map.getDecoder());
+    assertEquals(map, features);
+    Fury fury2 = newFury(true, false);
+    LazyValueMap<String, Feature> nullKeyMap = new LazyValueMap<>(features);
+    nullKeyMap.put(null, features.get("f1"));
+    LazyValueMap<String, Feature> map2 =
+        (LazyValueMap<String, Feature>) fury2.deserialize(fury2.serialize(nullKeyMap));
+    assertNull(map2.getDecoder());
+    assertEquals(map2, nullKeyMap);
+  }
+
+  @Test
+  public void testStringDictionary() {
+    FuryBuilder builder =
+        Fury.builder()
+            .withLanguage(Language.JAVA)
+            .withStringDictionary(true)
+            .requireClassRegistration(false);
+    Fury writer = builder.build();
+    Fury reader = builder.build();
+    StringDictionary writeDictionary = new StringDictionary();
+    StringDictionary readDictionary = new StringDictionary();
+    Map<String, Feature> features = createFeatures(10);
+    writer.getSerializationContext().setStringDictionary(writeDictionary);
+    byte[] bytes = writer.serialize(new LazyValueMap<>(features));
+    assertTrue(writeDictionary.writtenSize() > 0);
+    reader.getSerializationContext().setStringDictionary(readDictionary);
+    LazyValueMap<String, Feature> map = (LazyValueMap<String, Feature>) reader.deserialize(bytes);
+    // values are written without dictionary, so they can be decoded after deserialization.
+    assertEquals(map.get("f1"), features.get("f1"));
+    assertEquals(map, features);
+  }
+
+  @Test
+  public void testCopy() {
+    Fury fury = builder().withRefCopy(true).withCodegen(false).build();
+    Map<String, Feature> features = createFeatures(10);
+    LazyValueMap<String, Feature> map =
+        (LazyValueMap<String, Feature>)
+            fury.deserialize(fury.serialize(new LazyValueMap<>(features)));
+    LazyValueMap<String, Feature> copy = fury.copy(map);
+    assertEquals(copy, features);
+    assertTrue(copy.get("f1") != map.get("f1"));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.collection;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class LongDoubleMapTest {
+
+  @DataProvider
+  public static Object[][] offHeap() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  private static LongDoubleMap newMap(boolean offHeap, int capacity) {
+    return offHeap ? LongDoubleMap.offHeap(capacity) : new LongDoubleMap(capacity);
+  }
+
+  @Test(dataProvider = "offHeap")
+  public void testPutGetRemove(boolean offHeap) {
+    LongDoubleMap map = newMap(offHeap, 2);
+    Assert.assertEquals(map.isOffHeap(), offHeap);
+    Map<Long, Double> expected = new HashMap<>();
+    Random random = new Random(7);
+    for (int i = 0; i < 10000; i++) {
+      long key = i % 100 == 0 ? 0 : random.nextInt(5000) - 2500;
+      double value = random.nextDouble();
+      Assert.assertEquals(
+          map.put(key, value, Double.NaN), expected.getOrDefault(key, Double.NaN), 0.0);
+      expected.put(key, value);
+      if (i % 3 == 0) {
+        long removed = random.nextInt(5000) - 2500;
+        Assert.assertEquals(
+            map.remove(removed, Double.NaN), expected.getOrDefault(removed, Double.NaN), 0.0);
+        expected.remove(removed);
+      }
+    }
+    Assert.assertEquals(map.size(), expected.size());
+    expected.forEach((k, v) -> Assert.assertEquals(map.get(k, Double.NaN), v, 0.0));
+    Map<Long, Double> entries = new HashMap<>();
+    map.forEach(entries::put);
+    Assert.assertEquals(entries, expected);
+    Assert.assertFalse(map.containsKey(100000));
+    Assert.assertEquals(map.get(100000, -1), -1.0);
+  }
+
+  @Test(dataProvider = "offHeap")
+  public void testClear(boolean offHeap) {
+    LongDoubleMap map = newMap(offHeap, 10);
+    for (int i = 0; i < 100; i++) {
+      map.put(i, i);
+    }
+    map.clear();
+    Assert.assertTrue(map.isEmpty());
+    Assert.assertFalse(map.containsKey(0));
+    Assert.assertFalse(map.containsKey(10));
+    map.put(10, 1);
+    Assert.assertEquals(map.size(), 1);
+    Assert.assertEquals(map.toString(), "[10=1.0]");
+  }
+
+  @Test
+  public void testEquals() {
+    LongDoubleMap map1 = new LongDoubleMap(4);
+    LongDoubleMap map2 = LongDoubleMap.offHeap(100);
+    for (int i = 0; i < 50; i++) {
+      map1.put(i * 17L, i / 2.0);
+      map2.put(i * 17L, i / 2.0);
+    }
+    Assert.assertEquals(map1, map2);
+    Assert.assertEquals(map1.hashCode(), map2.hashCode());
+    map2.put(1, 1);
+    Assert.assertNotEquals(map1, map2);
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.collection;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.fury.reflect.ReflectionUtils;
+import org.testng.annotations.Test;
+
+public class StampedIdentityObjectIntMapTest {
+
+  @Test
+  public void testPutOrGet() {
+    StampedIdentityObjectIntMap<Object> map = new StampedIdentityObjectIntMap<>(4, 0.51f);
+    List<Object> objects = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      Object o = new Object();
+      objects.add(o);
+      assertEquals(map.putOrGet(o, i), Integer.MIN_VALUE);
+    }
+    assertEquals(map.size, 1000);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(map.putOrGet(objects.get(i), -1), i);
+      assertEquals(map.get(objects.get(i), -1), i);
+    }
+    map.put(objects.get(0), 2000);
+    assertEquals(map.get(objects.get(0), -1), 2000);
+    assertEquals(map.size, 1000);
+    Map<Object, Integer> copied = new IdentityHashMap<>();
+    map.forEach(copied::put);
+    assertEquals(copied.size(), 1000);
+  }
+
+  @Test
+  public void testClear() {
+    StampedIdentityObjectIntMap<Object> map = new StampedIdentityObjectIntMap<>(4, 0.51f);
+    List<Object> objects = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      objects.add(new Object());
+    }
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < 100; i++) {
+        assertEquals(map.get(objects.get(i), -1), -1);
+        assertEquals(map.putOrGet(objects.get(i), i + round), Integer.MIN_VALUE);
+      }
+      for (int i = 0; i < 100; i++) {
+        assertEquals(map.get(objects.get(i), -1), i + round);
+      }
+      int capacity = map.capacity();
+      map.clear();
+      assertEquals(map.size, 0);
+      assertEquals(map.capacity(), capacity);
+      map.forEach(
+          (k, v) -> {
+            throw new AssertionError();
+          });
+    }
+  }
+
+  private static long numKeys(StampedIdentityObjectIntMap<Object> map) {
+    Object[] keyTable = (Object[]) ReflectionUtils.getObjectFieldValue(map, "keyTable");
+    return Arrays.stream(keyTable).filter(Objects::nonNull).count();
+  }
+
+  @Test
+  public void testReleaseKeys() {
+    StampedIdentityObjectIntMap<Object> map = new StampedIdentityObjectIntMap<>(4, 0.51f);
+    for (int i = 0; i < 1000; i++) {
+      map.put(new Object(), i);
+    }
+    // keys of a large generation are released at once.
+    map.clear();
+    assertEquals(numKeys(map), 0);
+    // keys of small generations are released after a bounded number of clears.
+    int numClears = map.capacity() / 8 + 1;
+    for (int round = 0; round < numClears * 3; round++) {
+      map.put(new Object(), 1);
+      map.put(new Object(), 2);
+      map.clear();
+      assertTrue(numKeys(map) <= 2L * numClears, String.valueOf(numKeys(map)));
+    }
+  }
+
+  @Test
+  public void testClearApproximate() {
+    StampedIdentityObjectIntMap<Object> map = new StampedIdentityObjectIntMap<>(4, 0.5f);
+    Object first = new Object();
+    map.put(first, 1);
+    for (int i = 0; i < 1000; i++) {
+      map.put(new Object(), i);
+    }
+    int capacity = map.capacity();
+    // table won't be shrunk for moderate size.
+    map.clearApproximate(300);
+    assertEquals(map.capacity(), capacity);
+    assertEquals(map.get(first, -1), -1);
+    map.put(first, 1);
+    map.clearApproximate(4);
+    assertEquals(map.capacity(), FuryObjectMap.tableSize(4, 0.5f));
+    assertEquals(map.size, 0);
+    assertEquals(map.get(first, -1), -1);
+  }
+}
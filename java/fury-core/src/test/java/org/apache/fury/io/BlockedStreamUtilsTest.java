@@ -23,8 +23,17 @@ import static org.testng.Assert.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import org.apache.fury.Fury;
 import org.apache.fury.FuryTestBase;
+import org.apache.fury.exception.DeserializationException;
 import org.apache.fury.memory.MemoryBuffer;
 import org.apache.fury.test.bean.Foo;
 import org.testng.annotations.Test;
@@ -56,4 +65,98 @@ public class BlockedStreamUtilsTest extends FuryTestBase {
       assertEquals(BlockedStreamUtils.deserializeJavaObject(fury, channel, Foo.class), foo);
     }
   }
+
+  @Test
+  public void testFrameDecoder() {
+    Fury fury = getJavaFury();
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    Foo foo = Foo.create();
+    BlockedStreamUtils.serialize(fury, stream, foo);
+    BlockedStreamUtils.serialize(fury, stream, "abc");
+    byte[] bytes = stream.toByteArray();
+    BlockedFrameDecoder decoder = new BlockedFrameDecoder();
+    List<Object> objects = new ArrayList<>();
+    for (int i = 0; i < bytes.length; i += 3) {
+      ByteBuffer chunk = ByteBuffer.wrap(bytes, i, Math.min(3, bytes.length - i));
+      MemoryBuffer frame;
+      while ((frame = decoder.decode(chunk)) != null) {
+        objects.add(fury.deserialize(frame));
+      }
+    }
+    assertFalse(decoder.hasPartialFrame());
+    assertEquals(objects, Arrays.asList(foo, "abc"));
+    assertThrows(
+        DeserializationException.class,
+        () -> new BlockedFrameDecoder(10).decode(ByteBuffer.wrap(bytes)));
+  }
+
+  @Test
+  public void testDeserializeAsync() throws Exception {
+    Fury fury = getJavaFury();
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    Foo foo = Foo.create();
+    BlockedStreamUtils.serialize(fury, stream, foo);
+    BlockedStreamUtils.serialize(fury, stream, "abc");
+    AsynchronousByteChannel channel = new ChunkedAsyncChannel(stream.toByteArray(), 5);
+    assertEquals(BlockedStreamUtils.deserializeAsync(fury, channel).get(), foo);
+    assertEquals(BlockedStreamUtils.deserializeAsync(fury, channel).get(), "abc");
+    CompletableFuture<Object> future = BlockedStreamUtils.deserializeAsync(fury, channel);
+    assertTrue(future.isCompletedExceptionally());
+    // Frame bigger than max frame size is rejected before allocating its buffer.
+    channel = new ChunkedAsyncChannel(stream.toByteArray(), 5);
+    future = BlockedStreamUtils.deserializeAsync(fury, channel, 10);
+    assertTrue(future.isCompletedExceptionally());
+    channel = new ChunkedAsyncChannel(stream.toByteArray(), 5);
+    assertEquals(BlockedStreamUtils.deserializeAsync(fury, channel, 1 << 20).get(), foo);
+  }
+
+  /** A channel which completes reads immediately with at most `chunkSize` bytes. */
+  private static class ChunkedAsyncChannel implements AsynchronousByteChannel {
+    private final ByteBuffer data;
+    private final int chunkSize;
+
+    private ChunkedAsyncChannel(byte[] data, int chunkSize) {
+      this.data = ByteBuffer.wrap(data);
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public <A> void read(
+        ByteBuffer dst, A attachment, CompletionHandler<Integer, ? super A> handler) {
+      if (!data.hasRemaining()) {
+        handler.completed(-1, attachment);
+        return;
+      }
+      int n = Math.min(Math.min(chunkSize, dst.remaining()), data.remaining());
+      ByteBuffer slice = data.duplicate();
+      slice.limit(slice.position() + n);
+      dst.put(slice);
+      data.position(data.position() + n);
+      handler.completed(n, attachment);
+    }
+
+    @Override
+    public Future<Integer> read(ByteBuffer dst) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <A> void write(
+        ByteBuffer src, A attachment, CompletionHandler<Integer, ? super A> handler) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Future<Integer> write(ByteBuffer src) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.memory;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+
+public class BitPackingTest {
+
+  @Test
+  public void testInt32s() {
+    Random random = new Random(7);
+    int[][] arrays = {
+      {},
+      {0},
+      {-1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE},
+      random.ints(63).toArray(),
+      random.ints(1000, -100, 100).toArray(),
+      random.ints(130, 0, 1 << 20).sorted().toArray(),
+      new int[200],
+    };
+    for (int[] values : arrays) {
+      MemoryBuffer buffer = MemoryUtils.buffer(8);
+      BitPacking.writeInt32s(buffer, values);
+      buffer.writeByte(-1);
+      assertEquals(BitPacking.readInt32s(buffer), values);
+      assertEquals(buffer.readByte(), -1);
+    }
+    int[] ids = new int[1024];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = 10000 + i;
+    }
+    MemoryBuffer buffer = MemoryUtils.buffer(8);
+    BitPacking.writeInt32s(buffer, ids);
+    // First delta takes 15 bits, later zigzag deltas take 2 bits, plus a header byte per block.
+    assertEquals(buffer.writerIndex(), 2 + (1 + 15 * 8) + 15 * (1 + 2 * 8));
+    assertEquals(BitPacking.readInt32s(buffer), ids);
+  }
+
+  @Test
+  public void testInt64s() {
+    Random random = new Random(7);
+    long[] timestamps = new long[1000];
+    long ts = System.currentTimeMillis();
+    for (int i = 0; i < timestamps.length; i++) {
+      ts += random.nextInt(1000);
+      timestamps[i] = ts;
+    }
+    long[][] arrays = {
+      {},
+      {0},
+      {-1, 1, Long.MIN_VALUE, Long.MAX_VALUE, 0},
+      random.longs(63).toArray(),
+      random.longs(1000, -100, 100).toArray(),
+      timestamps,
+      new long[200],
+    };
+    for (long[] values : arrays) {
+      MemoryBuffer buffer = MemoryUtils.buffer(8);
+      BitPacking.writeInt64s(buffer, values);
+      buffer.writeByte(-1);
+      assertEquals(BitPacking.readInt64s(buffer), values);
+      assertEquals(buffer.readByte(), -1);
+    }
+    MemoryBuffer buffer = MemoryUtils.buffer(8);
+    BitPacking.writeInt64s(buffer, timestamps);
+    assertTrue(buffer.writerIndex() < timestamps.length * 2);
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.memory;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.fury.BaseFury;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.ThreadSafeFury;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class MemoryBufferPoolTest extends FuryTestBase {
+
+  @DataProvider
+  public static Object[][] offHeap() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  @Test
+  public void testSizeClass() {
+    assertEquals(MemoryBufferPool.sizeClass(0), 0);
+    assertEquals(MemoryBufferPool.sizeClass(512), 0);
+    assertEquals(MemoryBufferPool.sizeClass(513), 1);
+    assertEquals(MemoryBufferPool.sizeClass(1024), 1);
+    assertEquals(MemoryBufferPool.sizeClass(MemoryBufferPool.MAX_CHUNK_SIZE), 13);
+    assertEquals(MemoryBufferPool.sizeClass(MemoryBufferPool.MAX_CHUNK_SIZE + 1), -1);
+  }
+
+  @Test(dataProvider = "offHeap")
+  public void testAcquireRelease(boolean offHeap) {
+    MemoryBufferPool pool = new MemoryBufferPool(offHeap, 1, 1);
+    MemoryBuffer buffer = pool.acquire(100);
+    assertEquals(buffer.size(), 512);
+    assertEquals(buffer.isOffHeap(), offHeap);
+    assertEquals(buffer.refCount(), 1);
+    Object chunk = offHeap ? buffer.getOffHeapBuffer() : buffer.getHeapMemory();
+    buffer.retain();
+    assertFalse(buffer.release());
+    assertTrue(buffer.release());
+    assertEquals(buffer.size(), 0);
+    assertThrows(IllegalStateException.class, buffer::release);
+    assertThrows(IllegalStateException.class, buffer::retain);
+    MemoryBuffer buffer2 = pool.acquire(200);
+    assertSame(offHeap ? buffer2.getOffHeapBuffer() : buffer2.getHeapMemory(), chunk);
+    assertNotSame(buffer2, buffer);
+    assertTrue(buffer2.release());
+    // Unpooled buffer can't be released.
+    assertFalse(MemoryBuffer.newHeapBuffer(10).release());
+  }
+
+  @Test(dataProvider = "offHeap")
+  public void testGrow(boolean offHeap) {
+    MemoryBufferPool pool = new MemoryBufferPool(offHeap);
+    MemoryBuffer buffer = pool.acquire(10);
+    for (int i = 0; i < 1000; i++) {
+      buffer.writeInt64(i);
+    }
+    assertEquals(buffer.size(), 8192);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(buffer.readInt64(), i);
+    }
+    assertTrue(buffer.release());
+    // Chunk bigger than max size class isn't pooled.
+    MemoryBuffer big = pool.acquire(MemoryBufferPool.MAX_CHUNK_SIZE + 1);
+    big.writeBytes(new byte[MemoryBufferPool.MAX_CHUNK_SIZE + 2]);
+    assertTrue(big.release());
+  }
+
+  @Test(dataProvider = "offHeap", timeOut = 60000)
+  public void testGrowPastMaxChunkSize(boolean offHeap) {
+    MemoryBufferPool pool = new MemoryBufferPool(offHeap);
+    MemoryBuffer buffer = pool.acquire(10);
+    int numLongs = MemoryBufferPool.MAX_CHUNK_SIZE / 8 * 2;
+    for (int i = 0; i < numLongs; i++) {
+      buffer.writeInt64(i);
+    }
+    for (int i = 0; i < numLongs; i++) {
+      assertEquals(buffer.readInt64(), i);
+    }
+    assertTrue(buffer.release());
+    Fury fury = Fury.builder().requireClassRegistration(false).build();
+    List<Long> list = new ArrayList<>();
+    for (int i = 0; i < 1_000_000; i++) {
+      list.add((long) i << 32);
+    }
+    MemoryBuffer serialized = fury.serialize(list, pool);
+    assertTrue(serialized.writerIndex() > MemoryBufferPool.MAX_CHUNK_SIZE);
+    assertEquals(fury.deserialize(serialized), list);
+    assertTrue(serialized.release());
+  }
+
+  @Test
+  public void testReleaseByOtherThread() throws InterruptedException {
+    MemoryBufferPool pool = new MemoryBufferPool(false, 0, 2);
+    List<MemoryBuffer> buffers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      buffers.add(pool.acquire(1000));
+    }
+    List<byte[]> chunks = new ArrayList<>();
+    buffers.forEach(b -> chunks.add(b.getHeapMemory()));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.execute(() -> buffers.forEach(MemoryBuffer::release));
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    // Arena holds two chunks at most.
+    assertTrue(chunks.contains(pool.acquire(1000).getHeapMemory()));
+    assertTrue(chunks.contains(pool.acquire(1000).getHeapMemory()));
+    assertFalse(chunks.contains(pool.acquire(1000).getHeapMemory()));
+  }
+
+  @Test(dataProvider = "offHeap")
+  public void testSerialize(boolean offHeap) {
+    MemoryBufferPool pool = new MemoryBufferPool(offHeap);
+    Fury fury = Fury.builder().requireClassRegistration(false).build();
+    ThreadSafeFury threadSafeFury =
+        Fury.builder().requireClassRegistration(false).buildThreadSafeFury();
+    long[] longs = new long[10000];
+    Arrays.fill(longs, 1);
+    for (Object obj : new Object[] {"abc", Arrays.asList(1, 2, 3), longs}) {
+      for (BaseFury f : new BaseFury[] {fury, threadSafeFury}) {
+        MemoryBuffer buffer = f.serialize(obj, pool);
+        Object newObj = f.deserialize(buffer);
+        if (obj instanceof long[]) {
+          assertEquals((long[]) newObj, longs);
+        } else {
+          assertEquals(newObj, obj);
+        }
+        assertTrue(buffer.release());
+      }
+    }
+  }
+}
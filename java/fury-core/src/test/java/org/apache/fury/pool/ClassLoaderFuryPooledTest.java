@@ -19,9 +19,16 @@
 
 package org.apache.fury.pool;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import org.apache.fury.Fury;
 import org.apache.fury.config.Language;
+import org.apache.fury.exception.PoolExhaustedException;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -124,4 +131,64 @@ public class ClassLoaderFuryPooledTest {
     ClassLoaderFuryPooled pooled = getPooled(4, 9);
     Assert.assertThrows(NullPointerException.class, () -> pooled.returnFury(null));
   }
+
+  @Test
+  public void testGetFuryFailFast() {
+    ClassLoaderFuryPooled pooled =
+        new ClassLoaderFuryPooled(
+            getClass().getClassLoader(), getFuryFactory(), 1, 1, 0, new PoolMetrics());
+    Fury fury = pooled.getFury();
+    Assert.assertThrows(PoolExhaustedException.class, pooled::getFury);
+    pooled.returnFury(fury);
+    Assert.assertSame(pooled.getFury(), fury);
+    Assert.assertEquals(pooled.getMetrics().getTimeoutCount(), 1);
+  }
+
+  @Test
+  public void testGetFuryBoundedWait() {
+    ClassLoaderFuryPooled pooled =
+        new ClassLoaderFuryPooled(
+            getClass().getClassLoader(),
+            getFuryFactory(),
+            1,
+            1,
+            TimeUnit.MILLISECONDS.toNanos(50),
+            new PoolMetrics());
+    pooled.getFury();
+    long start = System.nanoTime();
+    Assert.assertThrows(PoolExhaustedException.class, pooled::getFury);
+    Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    PoolMetrics metrics = pooled.getMetrics();
+    Assert.assertEquals(metrics.getWaitCount(), 1);
+    Assert.assertEquals(metrics.getTimeoutCount(), 1);
+  }
+
+  @Test
+  public void testConcurrentBorrow() throws Exception {
+    ClassLoaderFuryPooled pooled = getPooled(0, 2);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                for (int j = 0; j < 200; j++) {
+                  Fury fury = pooled.getFury();
+                  Assert.assertEquals(fury.deserialize(fury.serialize(j)), j);
+                  pooled.returnFury(fury);
+                }
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    executor.shutdownNow();
+    PoolMetrics metrics = pooled.getMetrics();
+    Assert.assertTrue(pooled.getPoolSize() <= 2);
+    Assert.assertEquals(pooled.getActiveCount(), 0);
+    Assert.assertEquals(pooled.getIdleCount(), pooled.getPoolSize());
+    Assert.assertEquals(metrics.getBorrowCount(), 8 * 200);
+    Assert.assertEquals(metrics.getCreationCount(), pooled.getPoolSize());
+    Assert.assertTrue(metrics.getMaxBorrowNanos() >= metrics.getAvgBorrowNanos());
+  }
 }
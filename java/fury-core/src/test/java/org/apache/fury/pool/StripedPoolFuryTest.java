@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.pool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.ThreadSafeFury;
+import org.apache.fury.test.bean.BeanA;
+import org.apache.fury.test.bean.BeanB;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class StripedPoolFuryTest extends FuryTestBase {
+
+  @Test
+  public void testConcurrentSerialize() throws Exception {
+    BeanA beanA = BeanA.createBeanA(2);
+    ThreadSafeFury fury =
+        Fury.builder()
+            .withRefTracking(true)
+            .requireClassRegistration(false)
+            .buildStripedThreadSafeFury(2);
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                for (int j = 0; j < 20; j++) {
+                  Assert.assertEquals(fury.deserialize(fury.serialize(beanA)), beanA);
+                }
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testPoolBounded() throws Exception {
+    StripedPoolFury fury =
+        (StripedPoolFury)
+            Fury.builder().requireClassRegistration(false).buildStripedThreadSafeFury(2);
+    Set<Fury> instances =
+        Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 32; i++) {
+      futures.add(executor.submit(() -> fury.execute(instances::add)));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdownNow();
+    instances.clear();
+    // Sequential borrows must be served by pooled instances only.
+    for (int i = 0; i < 100; i++) {
+      fury.execute(instances::add);
+    }
+    Assert.assertTrue(instances.size() <= 2, String.valueOf(instances.size()));
+  }
+
+  @Test
+  public void testOverflowReused() {
+    AtomicInteger created = new AtomicInteger();
+    StripedPoolFury fury =
+        new StripedPoolFury(
+            classLoader -> {
+              created.incrementAndGet();
+              return Fury.builder()
+                  .requireClassRegistration(false)
+                  .withClassLoader(classLoader)
+                  .build();
+            },
+            1);
+    // Nested borrows take two instances while there is only one stripe, the second instance
+    // returned must be kept in overflow queue instead of being discarded.
+    for (int i = 0; i < 10; i++) {
+      fury.execute(
+          outer ->
+              fury.execute(
+                  inner -> {
+                    Assert.assertNotSame(inner, outer);
+                    return inner.deserialize(inner.serialize("abc"));
+                  }));
+    }
+    Assert.assertEquals(created.get(), 2);
+  }
+
+  @Test
+  public void testRegisterAfterBuild() throws Exception {
+    BeanB bean = BeanB.createBeanB(2);
+    ThreadSafeFury fury =
+        Fury.builder().requireClassRegistration(true).buildStripedThreadSafeFury(4);
+    fury.register(BeanB.class);
+    Assert.assertEquals(fury.deserialize(fury.serialize(bean)), bean);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      futures.add(
+          executor.submit(() -> Assert.assertEquals(fury.deserialize(fury.serialize(bean)), bean)));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testClassLoader() {
+    ThreadSafeFury fury =
+        Fury.builder().requireClassRegistration(false).buildStripedThreadSafeFury();
+    ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {};
+    fury.setClassLoader(loader);
+    Assert.assertSame(fury.getClassLoader(), loader);
+    fury.execute(
+        f -> {
+          Assert.assertSame(f.getClassLoader(), loader);
+          return null;
+        });
+    fury.clearClassLoader(loader);
+    Assert.assertNotSame(fury.getClassLoader(), loader);
+    Assert.assertEquals(fury.deserialize(fury.serialize("abc")), "abc");
+  }
+}
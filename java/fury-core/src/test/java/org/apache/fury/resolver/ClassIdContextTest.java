@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.resolver;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.config.Language;
+import org.apache.fury.exception.DeserializationException;
+import org.apache.fury.test.bean.BeanA;
+import org.testng.annotations.Test;
+
+public class ClassIdContextTest extends FuryTestBase {
+
+  @Data
+  @AllArgsConstructor
+  public static class Order {
+    public long id;
+    public Item item;
+    public Object attachment;
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class Item {
+    public String name;
+    public int count;
+  }
+
+  private static Fury createFury(boolean enableCodegen) {
+    return Fury.builder()
+        .withLanguage(Language.JAVA)
+        .withCodegen(enableCodegen)
+        .requireClassRegistration(false)
+        .build();
+  }
+
+  private static byte[] serialize(Fury fury, ClassIdContext context, Object obj) {
+    fury.getSerializationContext().setClassIdContext(context);
+    return fury.serialize(obj);
+  }
+
+  private static Object deserialize(Fury fury, ClassIdContext context, byte[] bytes) {
+    fury.getSerializationContext().setClassIdContext(context);
+    return fury.deserialize(bytes);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testShareClassIds(boolean enableCodegen) {
+    Fury writer = createFury(enableCodegen);
+    Fury reader = createFury(enableCodegen);
+    ClassIdContext writeContext = new ClassIdContext();
+    ClassIdContext readContext = new ClassIdContext();
+    Order order = new Order(1, new Item("a", 1), new Item("b", 2));
+    byte[] bytes = serialize(writer, writeContext, order);
+    assertEquals(deserialize(reader, readContext, bytes), order);
+    assertEquals(writeContext.getWrittenClassCount(), readContext.getReadClassCount());
+    int numClasses = writeContext.getWrittenClassCount();
+    assertTrue(numClasses > 0);
+    byte[] bytes1 = serialize(writer, writeContext, order);
+    assertTrue(bytes1.length < bytes.length, bytes1.length + " " + bytes.length);
+    assertEquals(deserialize(reader, readContext, bytes1), order);
+    // New classes are announced in later messages.
+    order.attachment = BeanA.createBeanA(2);
+    byte[] bytes2 = serialize(writer, writeContext, order);
+    assertEquals(deserialize(reader, readContext, bytes2), order);
+    assertTrue(writeContext.getWrittenClassCount() > numClasses);
+    assertEquals(writeContext.getWrittenClassCount(), readContext.getReadClassCount());
+    // classes are written by name if no context is set.
+    byte[] bytes3 = writer.serialize(order);
+    assertEquals(reader.deserialize(bytes3), order);
+    // context is required to read session class ids.
+    assertThrows(DeserializationException.class, () -> reader.deserialize(bytes1));
+  }
+
+  @Test
+  public void testClassValues() {
+    Fury writer = createFury(false);
+    Fury reader = createFury(false);
+    ClassIdContext writeContext = new ClassIdContext();
+    ClassIdContext readContext = new ClassIdContext();
+    for (int i = 0; i < 3; i++) {
+      List<Object> list = new ArrayList<>();
+      list.add(Order.class);
+      list.add(new Item("a", i));
+      list.add(Item.class);
+      assertEquals(deserialize(reader, readContext, serialize(writer, writeContext, list)), list);
+    }
+    assertEquals(readContext.getReadClassCount(), 2);
+  }
+
+  @Test
+  public void testUnknownClassId() {
+    Fury writer = createFury(false);
+    Fury reader = createFury(false);
+    ClassIdContext writeContext = new ClassIdContext();
+    Item item = new Item("a", 1);
+    serialize(writer, writeContext, item);
+    byte[] bytes = serialize(writer, writeContext, item);
+    assertThrows(
+        DeserializationException.class, () -> deserialize(reader, new ClassIdContext(), bytes));
+    writeContext.clear();
+    assertEquals(
+        deserialize(reader, new ClassIdContext(), serialize(writer, writeContext, item)), item);
+  }
+}
@@ -24,6 +24,9 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Map;
+import java.util.Set;
+import org.apache.fury.Fury;
+import org.apache.fury.config.Language;
 import org.apache.fury.memory.MemoryBuffer;
 import org.testng.annotations.Test;
 
@@ -67,4 +70,111 @@ public class MapRefResolverTest {
     // assertTrue(referenceStatistics.mapStatistics.maxProbeProfiled > 0);
     // assertTrue(referenceStatistics.referenceCount > 0);
   }
+
+  public static class Leaf {
+    public int id;
+    public String name;
+  }
+
+  public static class Node {
+    public Leaf shared;
+    public Leaf sharedCopy;
+    public Leaf unique;
+    public Node next;
+  }
+
+  private static Node createGraph() {
+    Node node = new Node();
+    node.shared = new Leaf();
+    node.sharedCopy = node.shared;
+    node.next = new Node();
+    node.next.unique = new Leaf();
+    node.next.unique.id = 1;
+    node.next.next = node;
+    return node;
+  }
+
+  @Test
+  public void testAdaptiveRefTracking() {
+    Fury fury =
+        Fury.builder()
+            .withLanguage(Language.JAVA)
+            .withRefTracking(true)
+            .withAdaptiveRefTracking(true)
+            .requireClassRegistration(false)
+            .build();
+    Fury reader =
+        Fury.builder()
+            .withLanguage(Language.JAVA)
+            .withRefTracking(true)
+            .requireClassRegistration(false)
+            .build();
+    MapRefResolver refResolver = (MapRefResolver) fury.getRefResolver();
+    Node unused = new Node();
+    unused.unique = new Leaf();
+    for (int i = 0; i < MapRefResolver.PROFILING_WRITES; i++) {
+      // objects of leaf are shared in one graph, but not shared in another graph.
+      fury.serialize(i % 2 == 0 ? createGraph() : unused);
+    }
+    Set<Class<?>> untrackedClasses = refResolver.getUntrackedClasses();
+    // leaf is shared in some graph, node can be part of a cycle.
+    assertFalse(untrackedClasses.contains(Leaf.class));
+    assertFalse(untrackedClasses.contains(Node.class));
+    for (Fury f : new Fury[] {fury, reader}) {
+      Node node = (Node) f.deserialize(fury.serialize(createGraph()));
+      assertTrue(node.next.next == node);
+      assertTrue(node.shared == node.sharedCopy);
+    }
+  }
+
+  public static class Value {
+    public int id;
+    public long[] values;
+  }
+
+  public static class Holder {
+    public Value value1;
+    public Value value2;
+    public Holder self;
+  }
+
+  @Test
+  public void testAdaptiveRefTrackingUntracked() {
+    Fury fury =
+        Fury.builder()
+            .withLanguage(Language.JAVA)
+            .withRefTracking(true)
+            .withAdaptiveRefTracking(true)
+            .requireClassRegistration(false)
+            .build();
+    MapRefResolver refResolver = (MapRefResolver) fury.getRefResolver();
+    Holder holder = new Holder();
+    holder.value1 = new Value();
+    holder.value2 = new Value();
+    holder.value2.values = new long[] {1, 2};
+    holder.self = holder;
+    byte[] bytes = null;
+    for (int i = 0; i < MapRefResolver.PROFILING_WRITES; i++) {
+      assertTrue(refResolver.getUntrackedClasses() == null);
+      bytes = fury.serialize(holder);
+    }
+    Set<Class<?>> untrackedClasses = refResolver.getUntrackedClasses();
+    assertTrue(untrackedClasses.contains(Value.class));
+    assertTrue(untrackedClasses.contains(long[].class));
+    assertFalse(untrackedClasses.contains(Holder.class));
+    byte[] newBytes = fury.serialize(holder);
+    // identity map is skipped for value, but data is still readable.
+    assertEquals(newBytes.length, bytes.length);
+    Fury reader =
+        Fury.builder()
+            .withLanguage(Language.JAVA)
+            .withRefTracking(true)
+            .requireClassRegistration(false)
+            .build();
+    for (Fury f : new Fury[] {fury, reader}) {
+      Holder newHolder = (Holder) f.deserialize(newBytes);
+      assertTrue(newHolder.self == newHolder);
+      assertEquals(newHolder.value2.values, new long[] {1, 2});
+    }
+  }
 }
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.resolver;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.Data;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.ThreadSafeFury;
+import org.apache.fury.builder.CodecUtils;
+import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.config.FuryBuilder;
+import org.apache.fury.meta.Encoders;
+import org.apache.fury.meta.MetaString;
+import org.testng.annotations.Test;
+
+public class SharedRegistryTest extends FuryTestBase {
+
+  @Data
+  public static class Foo {
+    int f1;
+    String f2;
+    List<Bar> f3;
+  }
+
+  @Data
+  public static class Bar {
+    long f1;
+  }
+
+  private static Foo createFoo() {
+    Foo foo = new Foo();
+    foo.f1 = 1;
+    foo.f2 = "abc";
+    foo.f3 = new ArrayList<>();
+    Bar bar = new Bar();
+    bar.f1 = 10;
+    foo.f3.add(bar);
+    return foo;
+  }
+
+  @Test
+  public void testShareMetadata() {
+    FuryBuilder builder = builder();
+    Fury fury1 = builder.build();
+    Fury fury2 = builder.build();
+    assertSame(fury1.getSharedRegistry(), fury2.getSharedRegistry());
+    assertSame(
+        fury1.getClassResolver().getAllDescriptorsMap(Foo.class, true),
+        fury2.getClassResolver().getAllDescriptorsMap(Foo.class, true));
+    assertSame(
+        CodecUtils.loadOrGenObjectCodecClass(Foo.class, fury1),
+        CodecUtils.loadOrGenObjectCodecClass(Foo.class, fury2));
+    serDeCheck(fury1, createFoo());
+    assertEquals(fury2.deserialize(fury1.serialize(createFoo())), createFoo());
+    // builders with equal config share metadata too.
+    assertSame(builder().build().getSharedRegistry(), fury1.getSharedRegistry());
+    assertNotSame(
+        builder().withRefTracking(true).build().getSharedRegistry(), fury1.getSharedRegistry());
+  }
+
+  @Test
+  public void testShareClassDef() {
+    FuryBuilder builder =
+        builder().withCompatibleMode(CompatibleMode.COMPATIBLE).withScopedMetaShare(true);
+    Fury fury1 = builder.build();
+    Fury fury2 = builder.build();
+    assertSame(
+        fury1.getClassResolver().getClassDef(Foo.class, true),
+        fury2.getClassResolver().getClassDef(Foo.class, true));
+    // class def depends on registered class ids.
+    Fury fury3 = builder.build();
+    fury3.register(Bar.class);
+    fury3.register(Foo.class);
+    assertNotEquals(
+        fury3.getClassResolver().getClassDef(Foo.class, true).getId(),
+        fury1.getClassResolver().getClassDef(Foo.class, true).getId());
+    serDeCheck(fury1, createFoo());
+    serDeCheck(fury3, createFoo());
+    assertEquals(fury2.deserialize(fury1.serialize(createFoo())), createFoo());
+  }
+
+  @Test
+  public void testMetaStringBytes() {
+    SharedRegistry registry = builder().build().getSharedRegistry();
+    MetaStringResolver resolver1 = new MetaStringResolver(registry);
+    MetaStringResolver resolver2 = new MetaStringResolver(registry);
+    MetaString metaString = Encoders.encodePackage(Foo.class.getPackage().getName());
+    MetaStringBytes bytes1 = resolver1.getOrCreateMetaStringBytes(metaString);
+    MetaStringBytes bytes2 = resolver2.getOrCreateMetaStringBytes(metaString);
+    // write ids are held by `MetaStringBytes`, so it's not shared.
+    assertNotSame(bytes1, bytes2);
+    assertSame(bytes1.bytes, bytes2.bytes);
+    assertEquals(bytes1.hashCode, bytes2.hashCode);
+    assertEquals(bytes1, MetaStringBytes.of(metaString));
+  }
+
+  @Test
+  public void testThreadSafeFury() throws Exception {
+    ThreadSafeFury fury = builder().buildThreadSafeFuryPool(4, 8);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      futures.add(
+          executor.submit(
+              () -> assertEquals(fury.deserialize(fury.serialize(createFoo())), createFoo())));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+}
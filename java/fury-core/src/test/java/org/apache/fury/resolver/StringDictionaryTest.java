@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.resolver;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.config.Language;
+import org.apache.fury.exception.DeserializationException;
+import org.apache.fury.util.StringUtils;
+import org.testng.annotations.Test;
+
+public class StringDictionaryTest extends FuryTestBase {
+
+  @Test
+  public void testEviction() {
+    StringDictionary dictionary = new StringDictionary(3, 8);
+    assertEquals(dictionary.add("a"), 0);
+    assertEquals(dictionary.add("b"), 1);
+    assertEquals(dictionary.add("c"), 2);
+    assertEquals(dictionary.add("too long string"), -1);
+    assertEquals(dictionary.lookup("a"), 0);
+    assertEquals(dictionary.lookup("c"), 2);
+    // `b` is the only entry which isn't used recently.
+    assertEquals(dictionary.add("d"), 1);
+    assertEquals(dictionary.lookup("b"), -1);
+    assertEquals(dictionary.lookup("d"), 1);
+    assertEquals(dictionary.writtenSize(), 3);
+    dictionary.clear();
+    assertEquals(dictionary.writtenSize(), 0);
+    assertEquals(dictionary.lookup("a"), -1);
+  }
+
+  @Test
+  public void testReadSlots() {
+    StringDictionary dictionary = new StringDictionary(100, 8);
+    dictionary.put(50, "a");
+    assertEquals(dictionary.get(50), "a");
+    assertThrows(DeserializationException.class, () -> dictionary.get(49));
+    assertThrows(DeserializationException.class, () -> dictionary.get(200));
+    assertThrows(DeserializationException.class, () -> dictionary.put(100, "b"));
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class Metric {
+    public String region;
+    public String host;
+    public String status;
+    public List<String> tags;
+    public long value;
+  }
+
+  private static Fury createFury(boolean enableCodegen) {
+    return Fury.builder()
+        .withLanguage(Language.JAVA)
+        .withStringDictionary(true)
+        .withCodegen(enableCodegen)
+        .requireClassRegistration(false)
+        .build();
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testShareStrings(boolean enableCodegen) {
+    Fury writer = createFury(enableCodegen);
+    Fury reader = createFury(enableCodegen);
+    StringDictionary writeDictionary = new StringDictionary();
+    StringDictionary readDictionary = new StringDictionary();
+    Metric metric =
+        new Metric("us-east-1", "host-001", "OK", Arrays.asList("tag-a", "tag-b", "tag-a"), 1);
+    writer.getSerializationContext().setStringDictionary(writeDictionary);
+    byte[] bytes = writer.serialize(metric);
+    reader.getSerializationContext().setStringDictionary(readDictionary);
+    assertEquals(reader.deserialize(bytes), metric);
+    metric.value = 2;
+    writer.getSerializationContext().setStringDictionary(writeDictionary);
+    byte[] bytes1 = writer.serialize(metric);
+    assertTrue(bytes1.length < bytes.length);
+    reader.getSerializationContext().setStringDictionary(readDictionary);
+    assertEquals(reader.deserialize(bytes1), metric);
+    // strings are written inline if no dictionary is set.
+    byte[] bytes2 = writer.serialize(metric);
+    assertEquals(reader.deserialize(bytes2), metric);
+    // dictionary is required to read shared strings.
+    assertThrows(Exception.class, () -> reader.deserialize(bytes1));
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testShareStringsWithEviction(boolean enableCodegen) {
+    Fury writer = createFury(enableCodegen);
+    Fury reader = createFury(enableCodegen);
+    StringDictionary writeDictionary = new StringDictionary(8, 16);
+    StringDictionary readDictionary = new StringDictionary(8, 16);
+    List<String> hot = Arrays.asList("hot-1", "hot-2", "hot-3");
+    for (int i = 0; i < 50; i++) {
+      List<String> strings = new ArrayList<>(hot);
+      strings.add("cold-" + i);
+      strings.add(StringUtils.random(20));
+      writer.getSerializationContext().setStringDictionary(writeDictionary);
+      byte[] bytes = writer.serialize(strings);
+      reader.getSerializationContext().setStringDictionary(readDictionary);
+      assertEquals(reader.deserialize(bytes), strings);
+      assertTrue(writeDictionary.writtenSize() <= 8);
+    }
+  }
+}
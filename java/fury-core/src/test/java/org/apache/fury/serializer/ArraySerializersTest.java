@@ -170,6 +170,32 @@ public class ArraySerializersTest extends FuryTestBase {
             new double[] {1.0, 1.0}, (double[]) serDe(fury1, fury2, new double[] {1.0, 1.0})));
   }
 
+  @Test(dataProvider = "enableCodegen")
+  public void testCompressedPrimitiveArray(boolean enableCodegen) {
+    Supplier<FuryBuilder> builder =
+        () ->
+            Fury.builder()
+                .withCodegen(enableCodegen)
+                .withIntArrayCompressed(true)
+                .withLongArrayCompressed(true)
+                .requireClassRegistration(false);
+    Fury fury1 = builder.get().build();
+    Fury fury2 = builder.get().build();
+    testPrimitiveArray(fury1, fury2);
+    long[] timestamps = new long[1000];
+    int[] ids = new int[1000];
+    for (int i = 0; i < timestamps.length; i++) {
+      timestamps[i] = 1700000000000L + i * 10;
+      ids[i] = i % 100;
+    }
+    assertEquals(serDe(fury1, fury2, timestamps), timestamps);
+    assertEquals(serDe(fury1, fury2, ids), ids);
+    assertTrue(fury1.serialize(timestamps).length < timestamps.length);
+    assertTrue(fury1.serialize(ids).length < ids.length);
+    ArraysData arraysData = new ArraysData(100);
+    assertEquals(serDe(fury1, fury2, arraysData), arraysData);
+  }
+
   @Test(dataProvider = "referenceTrackingConfig")
   public void testArrayZeroCopy(boolean referenceTracking) {
     FuryBuilder builder =
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.serializer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.Data;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.annotation.DeltaEncoded;
+import org.apache.fury.config.CompatibleMode;
+import org.testng.annotations.Test;
+
+public class DeltaEncodingTest extends FuryTestBase {
+
+  @Data
+  public static class Events {
+    @DeltaEncoded long[] timestamps;
+    @DeltaEncoded List<Long> ids;
+    @DeltaEncoded Set<Long> sortedIds;
+    @DeltaEncoded Collection<Long> others;
+  }
+
+  @Data
+  public static class PlainEvents {
+    long[] timestamps;
+    List<Long> ids;
+    Set<Long> sortedIds;
+    Collection<Long> others;
+  }
+
+  private static Events createEvents(int size) {
+    Events events = new Events();
+    long ts = 1700000000000L;
+    events.timestamps = new long[size];
+    events.ids = new ArrayList<>();
+    events.sortedIds = new TreeSet<>();
+    for (int i = 0; i < size; i++) {
+      ts += i % 7;
+      events.timestamps[i] = ts;
+      events.ids.add(100000L + i * 3);
+      events.sortedIds.add((long) i * i);
+    }
+    events.others = new ArrayList<>(Arrays.asList(5L, -3L, 9L, Long.MIN_VALUE, Long.MAX_VALUE));
+    return events;
+  }
+
+  @Test(dataProvider = "javaFury")
+  public void testDeltaEncodedFields(Fury fury) {
+    Events events = createEvents(1000);
+    serDeCheck(fury, events);
+    // unsorted arrays.
+    events.timestamps[10] = 0;
+    events.ids.set(10, -1L);
+    serDeCheck(fury, events);
+    // null and non-long elements.
+    events.ids.set(10, null);
+    ((List) events.others).add("abc");
+    serDeCheck(fury, events);
+    // empty and null fields.
+    events.timestamps = new long[0];
+    events.ids = new ArrayList<>();
+    events.sortedIds = null;
+    events.others = Arrays.asList(1L, 2L);
+    serDeCheck(fury, events);
+    serDeCheck(fury, new Events());
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testDeltaEncodedSize(boolean enableCodegen) {
+    Fury fury = Fury.builder().withCodegen(enableCodegen).requireClassRegistration(false).build();
+    Events events = createEvents(1000);
+    PlainEvents plainEvents = new PlainEvents();
+    plainEvents.timestamps = events.timestamps;
+    plainEvents.ids = events.ids;
+    plainEvents.sortedIds = events.sortedIds;
+    plainEvents.others = events.others;
+    int size = fury.serialize(events).length;
+    assertTrue(size * 3 < fury.serialize(plainEvents).length, String.valueOf(size));
+  }
+
+  @Test
+  public void testDeltaEncodedIgnoredInCompatibleMode() {
+    Fury fury =
+        Fury.builder()
+            .withCompatibleMode(CompatibleMode.COMPATIBLE)
+            .requireClassRegistration(false)
+            .build();
+    Events events = createEvents(10);
+    assertEquals(fury.deserialize(fury.serialize(events)), events);
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.serializer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.annotation.NoRef;
+import org.apache.fury.annotation.NotNull;
+import org.apache.fury.annotation.Ref;
+import org.apache.fury.config.CompatibleMode;
+import org.testng.annotations.Test;
+
+public class FieldRefModeTest extends FuryTestBase {
+
+  @Data
+  public static class Item {
+    int id;
+    String name;
+  }
+
+  @Data
+  public static class Order {
+    @Ref String tag1;
+    @Ref String tag2;
+    @NotNull String name;
+    @NotNull Integer count;
+    @Ref Long amount;
+    @NoRef Item item1;
+    @NoRef Item item2;
+    @NotNull Item item3;
+    // shared with `item1`, reference ids must be consistent after untracked values.
+    Item sharedItem;
+    Item sharedItem2;
+    @NoRef Object object;
+    @NotNull Object object2;
+    @NoRef List<Item> items;
+    @NotNull Map<String, Integer> counts;
+    @NotNull List<String> names;
+  }
+
+  @Data
+  public static class PlainOrder {
+    String name;
+    Integer count;
+    Item item3;
+    Map<String, Integer> counts;
+    List<String> names;
+  }
+
+  @Data
+  public static class NotNullOrder {
+    @NotNull String name;
+    @NotNull Integer count;
+    @NotNull Item item3;
+    @NotNull Map<String, Integer> counts;
+    @NotNull List<String> names;
+  }
+
+  private static Fury buildFury(boolean codegen, boolean trackingRef) {
+    return Fury.builder()
+        .withCodegen(codegen)
+        .withRefTracking(trackingRef)
+        .ignoreStringRef(true)
+        .requireClassRegistration(false)
+        .build();
+  }
+
+  private static Item createItem(int id) {
+    Item item = new Item();
+    item.id = id;
+    item.name = "item" + id;
+    return item;
+  }
+
+  private static Order createOrder() {
+    Order order = new Order();
+    order.tag1 = new String("tag");
+    order.tag2 = order.tag1;
+    order.name = "order";
+    order.count = 10;
+    order.amount = 1000L;
+    order.item1 = createItem(1);
+    order.item2 = order.item1;
+    order.item3 = createItem(3);
+    order.sharedItem = order.item1;
+    order.sharedItem2 = order.item1;
+    order.object = createItem(4);
+    order.object2 = "abc";
+    order.items = new ArrayList<>(Arrays.asList(order.item1, createItem(5)));
+    order.counts = ImmutableMap.of("a", 1, "b", 2);
+    order.names = new ArrayList<>(Arrays.asList("a", "b"));
+    return order;
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testFieldRefMode(boolean enableCodegen) {
+    Fury fury = buildFury(enableCodegen, true);
+    Order order = createOrder();
+    Order newOrder = serDe(fury, order);
+    assertEquals(newOrder, order);
+    assertSame(newOrder.tag1, newOrder.tag2);
+    assertNotSame(newOrder.item1, newOrder.item2);
+    assertSame(newOrder.sharedItem, newOrder.sharedItem2);
+    assertNotSame(newOrder.item1, newOrder.sharedItem);
+    // null values of nullable fields.
+    order.tag1 = null;
+    order.amount = null;
+    order.item1 = null;
+    order.object = null;
+    order.items = null;
+    serDeCheck(fury, order);
+    // `@NotNull` field and shared values in `@NoRef` fields without ref tracking.
+    serDeCheck(buildFury(enableCodegen, false), createOrder());
+  }
+
+  @Test
+  public void testInterpreterAndCodegenConsistent() {
+    Fury interpreterFury = buildFury(false, true);
+    Fury codegenFury = buildFury(true, true);
+    Order order = createOrder();
+    assertEquals(codegenFury.deserialize(interpreterFury.serialize(order)), order);
+    assertEquals(interpreterFury.deserialize(codegenFury.serialize(order)), order);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testNotNullSize(boolean enableCodegen) {
+    Fury fury = buildFury(enableCodegen, true);
+    PlainOrder plainOrder = new PlainOrder();
+    plainOrder.name = "order";
+    plainOrder.count = 10;
+    plainOrder.item3 = createItem(3);
+    plainOrder.counts = ImmutableMap.of("a", 1, "b", 2);
+    plainOrder.names = new ArrayList<>(Arrays.asList("a", "b"));
+    NotNullOrder notNullOrder = new NotNullOrder();
+    notNullOrder.name = plainOrder.name;
+    notNullOrder.count = plainOrder.count;
+    notNullOrder.item3 = plainOrder.item3;
+    notNullOrder.counts = plainOrder.counts;
+    notNullOrder.names = plainOrder.names;
+    byte[] bytes = fury.serializeJavaObject(notNullOrder);
+    assertEquals(fury.deserializeJavaObject(bytes, NotNullOrder.class), notNullOrder);
+    // one flag byte is skipped for every field.
+    assertEquals(bytes.length, fury.serializeJavaObject(plainOrder).length - 5);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testNotNullFieldWithNullValue(boolean enableCodegen) {
+    Fury fury = buildFury(enableCodegen, true);
+    Order order = createOrder();
+    order.name = null;
+    assertThrows(NullPointerException.class, () -> fury.serialize(order));
+  }
+
+  @Test
+  public void testFieldRefModeIgnoredInCompatibleMode() {
+    Fury fury =
+        Fury.builder()
+            .withCompatibleMode(CompatibleMode.COMPATIBLE)
+            .withRefTracking(true)
+            .requireClassRegistration(false)
+            .build();
+    Order order = createOrder();
+    Order newOrder = serDe(fury, order);
+    assertEquals(newOrder, order);
+    assertSame(newOrder.item1, newOrder.item2);
+  }
+
+  @Data
+  public static class InvalidBean {
+    @Ref @NoRef Item item;
+  }
+
+  @Test
+  public void testInvalidAnnotations() {
+    Fury fury = buildFury(false, true);
+    assertThrows(IllegalArgumentException.class, () -> fury.serialize(new InvalidBean()));
+  }
+}
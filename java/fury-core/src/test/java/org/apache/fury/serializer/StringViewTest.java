@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.serializer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.annotation.CharSequenceView;
+import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.io.FuryInputStream;
+import org.testng.annotations.Test;
+
+public class StringViewTest extends FuryTestBase {
+
+  public static class Route {
+    @CharSequenceView CharSequence region;
+    @CharSequenceView CharSequence name;
+    @CharSequenceView CharSequence empty;
+    @CharSequenceView CharSequence missing;
+    CharSequence plain;
+    int weight;
+  }
+
+  private static Route createRoute() {
+    Route route = new Route();
+    route.region = "us-east-1/é";
+    route.name = "路由-route";
+    route.empty = "";
+    route.plain = "plain";
+    route.weight = 10;
+    return route;
+  }
+
+  private static Fury createFury(boolean enableCodegen, CompatibleMode mode) {
+    return Fury.builder()
+        .withCodegen(enableCodegen)
+        .withCompatibleMode(mode)
+        .requireClassRegistration(false)
+        .build();
+  }
+
+  private static void checkRoute(Route route, Route expected) {
+    assertEquals(route.region.toString(), expected.region.toString());
+    assertEquals(route.name.toString(), expected.name.toString());
+    assertEquals(route.empty.toString(), expected.empty.toString());
+    assertNull(route.missing);
+    assertEquals(route.plain, expected.plain);
+    assertEquals(route.weight, expected.weight);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testView(boolean enableCodegen) {
+    Fury fury = createFury(enableCodegen, CompatibleMode.SCHEMA_CONSISTENT);
+    Route route = createRoute();
+    Route newRoute = serDe(fury, route);
+    checkRoute(newRoute, route);
+    assertTrue(newRoute.region instanceof StringView);
+    assertTrue(newRoute.name instanceof StringView);
+    assertFalse(newRoute.plain instanceof StringView);
+    StringView region = (StringView) newRoute.region;
+    assertEquals(region.length(), route.region.length());
+    assertEquals(region.charAt(10), 'é');
+    assertEquals(region.hashCode(), route.region.hashCode());
+    assertTrue(region.contentEquals(route.region));
+    assertFalse(region.contentEquals("us-east-2/é"));
+    assertEquals(region.subSequence(0, 9).toString(), "us-east-1");
+    assertEquals(newRoute.name.hashCode(), route.name.hashCode());
+    assertEquals(newRoute.name.length(), route.name.length());
+    assertEquals(newRoute.empty.hashCode(), 0);
+    assertEquals(newRoute.empty.length(), 0);
+    // views are written by copying encoded bytes directly.
+    Route route2 = serDe(fury, newRoute);
+    checkRoute(route2, route);
+    assertEquals(route2.region, newRoute.region);
+    assertEquals(route2.name, newRoute.name);
+    assertEquals(route2.empty, newRoute.empty);
+    assertEquals(route2.region.hashCode(), newRoute.region.hashCode());
+  }
+
+  @Test
+  public void testStreamBacked() {
+    Fury fury = createFury(true, CompatibleMode.SCHEMA_CONSISTENT);
+    Route route = createRoute();
+    byte[] bytes = fury.serialize(route);
+    Route newRoute = (Route) fury.deserialize(new FuryInputStream(new ByteArrayInputStream(bytes)));
+    checkRoute(newRoute, route);
+    // stream buffer will be overwritten, strings are created eagerly.
+    assertTrue(newRoute.region instanceof String);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testCompatibleMode(boolean enableCodegen) {
+    Fury fury = createFury(enableCodegen, CompatibleMode.COMPATIBLE);
+    Route route = createRoute();
+    Route newRoute = serDe(fury, route);
+    checkRoute(newRoute, route);
+    assertTrue(newRoute.region instanceof String);
+  }
+}
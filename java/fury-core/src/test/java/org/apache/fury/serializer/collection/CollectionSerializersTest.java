@@ -362,6 +362,34 @@ public class CollectionSerializersTest extends FuryTestBase {
     copyCheck(fury, BitSet.valueOf(LongStream.range(0, 128).toArray()));
   }
 
+  @Test(dataProvider = "javaFury")
+  public void testPresizedHashCollections(Fury fury) {
+    for (int size : new int[] {0, 1, 12, 13, 1000}) {
+      List<String> list = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        list.add("s" + i);
+      }
+      serDeCheck(fury, new ArrayList<>(list));
+      serDeCheck(fury, new HashSet<>(list));
+      serDeCheck(fury, new LinkedHashSet<>(list));
+      Assert.assertEquals(
+          ImmutableList.copyOf(serDe(fury, new LinkedHashSet<>(list))), ImmutableList.copyOf(list));
+      PriorityQueue<String> queue = serDe(fury, new PriorityQueue<>(list));
+      Assert.assertEquals(queue.size(), size);
+      copyCheck(fury, new ArrayList<>(list));
+      copyCheck(fury, new HashSet<>(list));
+      copyCheck(fury, new LinkedHashSet<>(list));
+    }
+    // Presized capacity of queue is capped, more elements grow the queue.
+    PriorityQueue<Integer> queue = new PriorityQueue<>();
+    for (int i = 0; i < (1 << 16) + 100; i++) {
+      queue.add(i);
+    }
+    PriorityQueue<Integer> newQueue = serDe(fury, queue);
+    Assert.assertEquals(newQueue.size(), queue.size());
+    Assert.assertEquals(newQueue.peek(), Integer.valueOf(0));
+  }
+
   @Test
   public void tesPriorityQueueSerializer() {
     serDe(getJavaFury(), new PriorityQueue<>(Arrays.asList("a", "b", "c")));
@@ -26,9 +26,13 @@ import static org.apache.fury.collection.Collections.ofHashMap;
 import static org.testng.Assert.assertEquals;
 
 import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -50,6 +54,8 @@ import org.apache.fury.FuryTestBase;
 import org.apache.fury.collection.LazyMap;
 import org.apache.fury.collection.MapEntry;
 import org.apache.fury.config.Language;
+import org.apache.fury.io.FuryInputStream;
+import org.apache.fury.io.FuryOutputStream;
 import org.apache.fury.reflect.TypeRef;
 import org.apache.fury.serializer.collection.CollectionSerializersTest.TestEnum;
 import org.apache.fury.test.bean.Cyclic;
@@ -92,6 +98,23 @@ public class MapSerializersTest extends FuryTestBase {
         });
   }
 
+  @Test(dataProvider = "javaFury")
+  public void testPresizedHashMaps(Fury fury) {
+    for (int size : new int[] {0, 1, 12, 13, 1000}) {
+      Map<String, Integer> data = new LinkedHashMap<>();
+      for (int i = 0; i < size; i++) {
+        data.put("k" + i, i);
+      }
+      serDeCheck(fury, new HashMap<>(data));
+      serDeCheck(fury, new LinkedHashMap<>(data));
+      Assert.assertEquals(
+          new ArrayList<>(serDe(fury, new LinkedHashMap<>(data)).keySet()),
+          new ArrayList<>(data.keySet()));
+      copyCheck(fury, new HashMap<>(data));
+      copyCheck(fury, new LinkedHashMap<>(data));
+    }
+  }
+
   @Test(dataProvider = "referenceTrackingConfig")
   public void testBasicMapNested(boolean referenceTrackingConfig) {
     Fury fury =
@@ -126,7 +149,9 @@ public class MapSerializersTest extends FuryTestBase {
     byte[] bytes1 = fury.serialize(data);
     fury.getGenerics().pushGenericType(GenericType.build(new TypeRef<Map<String, Integer>>() {}));
     byte[] bytes2 = fury.serialize(data);
-    Assert.assertTrue(bytes1.length > bytes2.length);
+    // Untyped entries are written in chunks which share key/value class info, so the generic
+    // format isn't necessarily smaller, but it must differ.
+    Assert.assertFalse(Arrays.equals(bytes1, bytes2));
     fury.getGenerics().popGenericType();
     Assert.assertThrows(RuntimeException.class, () -> fury.deserialize(bytes2));
   }
@@ -144,11 +169,104 @@ public class MapSerializersTest extends FuryTestBase {
     byte[] bytes1 = fury.serialize(data);
     fury.getGenerics().pushGenericType(GenericType.build(new TypeRef<Map<String, Integer>>() {}));
     byte[] bytes2 = fury.serialize(data);
-    Assert.assertTrue(bytes1.length > bytes2.length);
+    // Untyped entries are written in chunks which share key/value class info, so the generic
+    // format isn't necessarily smaller, but it must differ.
+    Assert.assertFalse(Arrays.equals(bytes1, bytes2));
     fury.getGenerics().popGenericType();
     Assert.assertThrows(RuntimeException.class, () -> fury.deserialize(bytes2));
   }
 
+  @Data
+  public static class MapChunkStruct {
+    public Map<String, Object> valueNonFinal;
+    public Map<Object, Integer> keyNonFinal;
+    public Map rawMap;
+  }
+
+  private static Map<Object, Object> createChunkedMap() {
+    Map<Object, Object> map = new LinkedHashMap<>();
+    // more than one chunk for same key/value types.
+    for (int i = 0; i < MapFlags.MAX_CHUNK_SIZE + 10; i++) {
+      map.put("k" + i, i);
+    }
+    List<String> shared = ofArrayList("a", "b");
+    map.put("list1", shared);
+    map.put("list2", shared);
+    map.put("nullValue", null);
+    map.put(null, "nullKey");
+    map.put(1L, "v");
+    map.put("str", "v");
+    return map;
+  }
+
+  @Test(dataProvider = "referenceTrackingConfig")
+  public void testChunkedMap(boolean referenceTrackingConfig) {
+    Fury fury = builder().withRefTracking(referenceTrackingConfig).build();
+    Map<Object, Object> map = createChunkedMap();
+    Map<Object, Object> newMap = serDeCheck(fury, map);
+    if (referenceTrackingConfig) {
+      Assert.assertSame(newMap.get("list1"), newMap.get("list2"));
+    }
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testChunkedMapFields(boolean enableCodegen) {
+    Fury fury = builder().withRefTracking(true).withCodegen(enableCodegen).build();
+    MapChunkStruct struct = new MapChunkStruct();
+    struct.valueNonFinal = new LinkedHashMap<>();
+    struct.keyNonFinal = new LinkedHashMap<>();
+    for (int i = 0; i < 300; i++) {
+      struct.valueNonFinal.put("k" + i, i % 3 == 0 ? "v" + i : i);
+      struct.keyNonFinal.put(i % 2 == 0 ? "k" + i : (long) i, i);
+    }
+    struct.valueNonFinal.put("null", null);
+    struct.keyNonFinal.put(null, 1);
+    struct.rawMap = createChunkedMap();
+    serDeCheck(fury, struct);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testChunkedMapStream(boolean enableCodegen) throws IOException {
+    Fury fury = builder().withRefTracking(false).withCodegen(enableCodegen).build();
+    Map<String, Object> map = new HashMap<>();
+    for (int i = 0; i < 200; i++) {
+      map.put("k" + i, i);
+    }
+    MapChunkStruct struct = new MapChunkStruct();
+    struct.valueNonFinal = new LinkedHashMap<>(map);
+    struct.keyNonFinal = new LinkedHashMap<>();
+    for (int i = 0; i < 300; i++) {
+      struct.keyNonFinal.put(i % 2 == 0 ? "k" + i : (long) i, i);
+    }
+    struct.rawMap = createChunkedMap();
+    // A small stream buffer flushes chunk headers before the chunk entries are written.
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    FuryOutputStream stream = new FuryOutputStream(bos, 64);
+    fury.serialize(stream, map);
+    fury.serialize(stream, struct);
+    stream.flush();
+    FuryInputStream input = new FuryInputStream(new ByteArrayInputStream(bos.toByteArray()));
+    assertEquals(fury.deserialize(input), map);
+    assertEquals(fury.deserialize(input), struct);
+  }
+
+  @Test
+  public void testChunkedMapSize() {
+    Fury fury = builder().withRefTracking(false).build();
+    Map<String, Object> map = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      map.put("k" + i, i);
+    }
+    // key/value class info are written once per chunk instead of per entry.
+    byte[] bytes = fury.serialize(map);
+    int entriesSize = 0;
+    for (Map.Entry<String, Object> entry : map.entrySet()) {
+      entriesSize += fury.serialize(entry.getKey()).length - 1;
+      entriesSize += fury.serialize(entry.getValue()).length - 1;
+    }
+    Assert.assertTrue(bytes.length < entriesSize, bytes.length + " " + entriesSize);
+  }
+
   @Test(dataProvider = "furyCopyConfig")
   public void testSortedMap(Fury fury) {
     Map<String, Integer> data = new TreeMap<>(ImmutableMap.of("a", 1, "b", 2));
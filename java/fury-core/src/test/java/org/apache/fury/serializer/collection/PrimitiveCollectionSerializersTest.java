@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fury.serializer.collection;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.Data;
+import org.apache.fury.Fury;
+import org.apache.fury.FuryTestBase;
+import org.apache.fury.collection.IntArray;
+import org.apache.fury.collection.LongDoubleMap;
+import org.apache.fury.collection.LongMap;
+import org.apache.fury.config.CompatibleMode;
+import org.apache.fury.io.FuryInputStream;
+import org.apache.fury.io.FuryOutputStream;
+import org.testng.annotations.Test;
+
+public class PrimitiveCollectionSerializersTest extends FuryTestBase {
+
+  @Data
+  public static class PrimitiveContainers {
+    List<Integer> ints;
+    Set<Long> longs;
+    List<Float> floats;
+    Collection<Double> doubles;
+    Map<Long, String> longKeyMap;
+    Map<Integer, Integer> intKeyMap;
+    Map<Long, Object> nonFinalValueMap;
+  }
+
+  private static PrimitiveContainers createContainers(int size) {
+    PrimitiveContainers containers = new PrimitiveContainers();
+    containers.ints = new ArrayList<>();
+    containers.longs = new HashSet<>();
+    containers.floats = new ArrayList<>();
+    containers.doubles = new ArrayList<>();
+    containers.longKeyMap = new HashMap<>();
+    containers.intKeyMap = new TreeMap<>();
+    containers.nonFinalValueMap = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      containers.ints.add(i * 7 - 100);
+      containers.longs.add(Long.MAX_VALUE - i);
+      containers.floats.add(i / 3.0f);
+      containers.doubles.add(i * 1.5);
+      containers.longKeyMap.put((long) i * i, "v" + i);
+      containers.intKeyMap.put(i, i % 3 == 0 ? null : i);
+      containers.nonFinalValueMap.put((long) i, i % 2 == 0 ? "v" + i : i);
+    }
+    return containers;
+  }
+
+  private static Fury newFury(boolean codegen, boolean packed) {
+    return Fury.builder()
+        .withCodegen(codegen)
+        .withPrimitiveCollectionPacked(packed)
+        .requireClassRegistration(false)
+        .build();
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testPackedFields(boolean enableCodegen) {
+    Fury fury = newFury(enableCodegen, true);
+    PrimitiveContainers containers = createContainers(100);
+    serDeCheck(fury, containers);
+    // null elements.
+    containers.ints.set(10, null);
+    containers.floats.add(null);
+    containers.longKeyMap.put(1L, null);
+    serDeCheck(fury, containers);
+    // null keys and elements of other types.
+    containers.longKeyMap.put(null, "nullKey");
+    ((List) containers.doubles).add("abc");
+    serDeCheck(fury, containers);
+    // empty and null fields.
+    containers.ints = new ArrayList<>();
+    containers.longs = null;
+    containers.intKeyMap = new HashMap<>();
+    containers.longKeyMap = null;
+    serDeCheck(fury, containers);
+    serDeCheck(fury, new PrimitiveContainers());
+  }
+
+  @Test
+  public void testPackedFieldsInteroperability() {
+    Fury fury = newFury(false, true);
+    Fury furyJIT = newFury(true, true);
+    PrimitiveContainers containers = createContainers(100);
+    containers.ints.set(10, null);
+    assertEquals(furyJIT.deserialize(fury.serialize(containers)), containers);
+    assertEquals(fury.deserialize(furyJIT.serialize(containers)), containers);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testPackedSize(boolean enableCodegen) {
+    PrimitiveContainers containers = createContainers(1000);
+    for (int i = 0; i < containers.ints.size(); i += 10) {
+      containers.ints.set(i, null);
+    }
+    int packedSize = newFury(enableCodegen, true).serialize(containers).length;
+    int size = newFury(enableCodegen, false).serialize(containers).length;
+    assertTrue(packedSize < size, packedSize + " " + size);
+  }
+
+  @Test
+  public void testPackedIgnoredInCompatibleMode() {
+    Fury fury =
+        Fury.builder()
+            .withPrimitiveCollectionPacked(true)
+            .withCompatibleMode(CompatibleMode.COMPATIBLE)
+            .requireClassRegistration(false)
+            .build();
+    PrimitiveContainers containers = createContainers(10);
+    assertEquals(fury.deserialize(fury.serialize(containers)), containers);
+  }
+
+  @Test(dataProvider = "referenceTrackingConfig")
+  public void testIntArray(boolean referenceTracking) {
+    Fury fury = builder().withRefTracking(referenceTracking).build();
+    IntArray array = new IntArray(4);
+    for (int i = 0; i < 100; i++) {
+      array.add(i - 50);
+    }
+    IntArray newArray = serDe(fury, array);
+    assertEquals(newArray.size, array.size);
+    assertEquals(
+        Arrays.copyOf(newArray.elementData, newArray.size),
+        Arrays.copyOf(array.elementData, array.size));
+    newArray.add(1);
+    IntArray emptyArray = serDe(fury, new IntArray(2));
+    assertEquals(emptyArray.size, 0);
+    emptyArray.add(1);
+    assertEquals(emptyArray.get(0), 1);
+  }
+
+  @Test(dataProvider = "referenceTrackingConfig")
+  public void testLongMap(boolean referenceTracking) {
+    Fury fury = builder().withRefTracking(referenceTracking).build();
+    LongMap<Object> map = new LongMap<>();
+    for (int i = 0; i < 100; i++) {
+      map.put(i * 31L - 50, i % 2 == 0 ? "v" + i : i);
+    }
+    map.put(3L, null);
+    LongMap<Object> newMap = serDe(fury, map);
+    assertEquals(newMap.size, map.size);
+    map.forEach((k, v) -> assertEquals(newMap.get(k), v));
+    assertNull(newMap.get(3L));
+    assertEquals(serDe(fury, new LongMap<>()).size, 0);
+  }
+
+  @Test
+  public void testDefaultSerializersNotRegistered() {
+    Fury fury = Fury.builder().requireClassRegistration(true).build();
+    // Registering them would shift class ids of classes registered later.
+    assertFalse(fury.getClassResolver().isRegistered(IntArray.class));
+    assertFalse(fury.getClassResolver().isRegistered(LongMap.class));
+    assertFalse(fury.getClassResolver().isRegistered(LongDoubleMap.class));
+    IntArray array = new IntArray(2);
+    array.add(1);
+    assertEquals(serDe(fury, array).get(0), 1);
+    LongMap<Object> map = new LongMap<>();
+    map.put(1L, 2);
+    assertEquals(serDe(fury, map).get(1L), 2);
+    LongDoubleMap doubleMap = new LongDoubleMap(2);
+    doubleMap.put(1L, 0.5);
+    assertEquals(serDe(fury, doubleMap).get(1L, 0), 0.5);
+  }
+
+  @Data
+  public static class Scores {
+    LongDoubleMap heapScores;
+    LongDoubleMap offHeapScores;
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testLongDoubleMap(boolean enableCodegen) {
+    Fury fury = builder().withCodegen(enableCodegen).build();
+    Scores scores = new Scores();
+    scores.heapScores = new LongDoubleMap();
+    scores.offHeapScores = LongDoubleMap.offHeap(10);
+    for (int i = 0; i < 1000; i++) {
+      scores.heapScores.put(i * 31L - 500, i / 7.0);
+      scores.offHeapScores.put(-i * 31L, i / 3.0);
+    }
+    Scores newScores = serDeCheck(fury, scores);
+    assertFalse(newScores.heapScores.isOffHeap());
+    assertTrue(newScores.offHeapScores.isOffHeap());
+    // read map can still grow after bulk copy.
+    for (int i = 0; i < 1000; i++) {
+      newScores.heapScores.put(i * 1000003L, i);
+    }
+    assertEquals(newScores.heapScores.size(), 2000);
+    assertEquals(newScores.heapScores.get(-500, -1), 0.0);
+    assertEquals(serDe(fury, new LongDoubleMap()), new LongDoubleMap());
+    LongDoubleMap zeroKeyOnly = new LongDoubleMap();
+    zeroKeyOnly.put(0, 1.5);
+    assertEquals(serDe(fury, zeroKeyOnly), zeroKeyOnly);
+  }
+
+  @Test
+  public void testLongDoubleMapSize() {
+    Fury fury = builder().build();
+    LongDoubleMap map = new LongDoubleMap(10000);
+    Map<Long, Double> boxedMap = new HashMap<>();
+    for (int i = 0; i < 10000; i++) {
+      map.put(i * 7919L, i);
+      boxedMap.put(i * 7919L, (double) i);
+    }
+    byte[] bytes = fury.serialize(map);
+    // tables are bulk copied, including empty slots.
+    assertTrue(bytes.length < 10000 * 16 * 2, String.valueOf(bytes.length));
+    assertEquals(fury.deserialize(bytes), map);
+    assertEquals(fury.deserialize(fury.serialize(boxedMap)), boxedMap);
+  }
+
+  @Test
+  public void testLongDoubleMapStream() throws IOException {
+    Fury fury = builder().build();
+    // Tables of 4MB are copied in multiple chunks.
+    LongDoubleMap map = LongDoubleMap.offHeap(300000);
+    for (int i = 0; i < 300000; i++) {
+      map.put(i * 7919L + 1, i);
+    }
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (FuryOutputStream out = new FuryOutputStream(bos, 64)) {
+      fury.serialize(out, map);
+    }
+    byte[] bytes = bos.toByteArray();
+    assertEquals(fury.deserialize(bytes), map);
+    assertEquals(fury.deserialize(new FuryInputStream(new ByteArrayInputStream(bytes))), map);
+  }
+
+  @Test
+  public void testCopy() {
+    Fury fury = builder().withRefCopy(true).build();
+    IntArray array = new IntArray(2);
+    array.add(1);
+    array.add(2);
+    IntArray newArray = fury.copy(array);
+    assertEquals(newArray.toString(), array.toString());
+    LongMap<List<String>> map = new LongMap<>();
+    map.put(0, new ArrayList<>(Arrays.asList("a", "b")));
+    map.put(10, new ArrayList<>());
+    LongMap<List<String>> newMap = fury.copy(map);
+    assertEquals(newMap.get(0), map.get(0));
+    assertTrue(newMap.get(0) != map.get(0));
+    LongDoubleMap scores = LongDoubleMap.offHeap(2);
+    scores.put(1, 0.5);
+    scores.put(0, 2);
+    LongDoubleMap newScores = fury.copy(scores);
+    assertEquals(newScores, scores);
+    assertTrue(newScores.isOffHeap());
+  }
+}
@@ -56,4 +56,22 @@ public class StringEncodingUtilsTest extends FuryTestBase {
     result = new String(utf8, 0, readLen, StandardCharsets.UTF_8);
     assertEquals(result, input);
   }
+
+  @Test
+  public void testLongAsciiRuns() {
+    String ascii = StringUtils.random(40);
+    for (int i = 0; i < ascii.length(); i++) {
+      // place a non-ascii char at every position to cover block boundaries.
+      String input = ascii.substring(0, i) + "\u00e9你" + ascii.substring(i);
+      char[] utf16 = input.toCharArray();
+      byte[] utf8 = new byte[utf16.length * 3];
+      int len = StringEncodingUtils.convertUTF16ToUTF8(utf16, utf8, 0);
+      assertEquals(new String(utf8, 0, len, StandardCharsets.UTF_8), input);
+      byte[] encoded = input.getBytes(StandardCharsets.UTF_8);
+      char[] chars = new char[utf16.length];
+      int readLen = StringEncodingUtils.convertUTF8ToUTF16(encoded, 0, encoded.length, chars);
+      assertEquals(readLen, utf16.length);
+      assertEquals(new String(chars), input);
+    }
+  }
 }
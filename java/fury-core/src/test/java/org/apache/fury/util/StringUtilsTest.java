@@ -170,4 +170,34 @@ public class StringUtilsTest extends FuryTestBase {
     assertFalse(StringUtils.isLatin("abcd\u1234".toCharArray()));
     assertFalse(StringUtils.isLatin("Javaone Keynote\u1234".toCharArray()));
   }
+
+  @Test
+  public void testCountNonZeroChars() {
+    char[] chars = new char[4];
+    for (int i = 0; i < 16; i++) {
+      int expected = 0;
+      for (int j = 0; j < 4; j++) {
+        boolean nonZero = (i & (1 << j)) != 0;
+        chars[j] = nonZero ? (char) (j == 0 ? 0x8000 : 0x1) : 0;
+        expected += nonZero ? 1 : 0;
+      }
+      long multiChars = Platform.getLong(chars, Platform.CHAR_ARRAY_OFFSET);
+      assertEquals(StringUtils.countNonZeroChars(multiChars), expected);
+    }
+    assertEquals(StringUtils.countNonZeroChars(-1L), 4);
+    assertEquals(StringUtils.countNonZeroChars(0xFF00FF00FF00FF00L), 4);
+  }
+
+  @Test
+  public void testLatinCheckLongLanes() {
+    String latin = StringUtils.random(64) + "\u00ff\u00e9";
+    for (int i = 0; i <= latin.length(); i++) {
+      assertTrue(StringUtils.isLatin(latin.substring(0, i).toCharArray()));
+      char[] chars = latin.toCharArray();
+      if (i < chars.length) {
+        chars[i] = '\u0100';
+        assertFalse(StringUtils.isLatin(chars));
+      }
+    }
+  }
 }